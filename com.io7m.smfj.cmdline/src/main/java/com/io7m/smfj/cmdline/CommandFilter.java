@@ -20,28 +20,54 @@ package com.io7m.smfj.cmdline;
 
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFErrorType;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.core.SMFWarningType;
+import com.io7m.smfj.frontend.SMFCompressedStreams;
+import com.io7m.smfj.frontend.SMFFCopier;
+import com.io7m.smfj.frontend.SMFFCopierType;
 import com.io7m.smfj.frontend.SMFFilterCommandFile;
 import com.io7m.smfj.frontend.SMFParserProviders;
 import com.io7m.smfj.frontend.SMFSerializerProviders;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyIgnoringReceiver;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
+import com.io7m.smfj.parser.api.SMFParserEventsHeaderType;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.parser.api.SMFParserProviderType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFFilterCommandModuleResolver;
 import com.io7m.smfj.processing.api.SMFFilterCommandModuleResolverType;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterExecutor;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterExecutorType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterPlan;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterPlanner;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFootprint;
+import com.io7m.smfj.processing.api.SMFMemoryMeshMappedProducer;
 import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerConfiguration;
 import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshSerializer;
 import com.io7m.smfj.serializer.api.SMFSerializerProviderType;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -87,6 +113,32 @@ public final class CommandFilter extends CommandRoot
     description = "The source directory")
   private Path sourceDirectory = Paths.get("");
 
+  @Parameter(
+    names = "--memory-budget",
+    description = "Refuse to load meshes with an estimated memory footprint larger than the given number of octets")
+  private Long memoryBudget;
+
+  @Parameter(
+    names = "--out-of-core",
+    description = "Hold mesh data in memory-mapped temporary files rather than on the heap")
+  private boolean outOfCore;
+
+  @Parameter(
+    names = "--temporary-directory",
+    description = "The directory that will hold temporary files when processing out of core")
+  private Path temporaryDirectory =
+    Paths.get(System.getProperty("java.io.tmpdir"));
+
+  @Parameter(
+    names = "--no-optimize",
+    description = "Evaluate the filters exactly as written, without reordering or eliminating any filters")
+  private boolean noOptimize;
+
+  @Parameter(
+    names = "--threads",
+    description = "The number of threads used to evaluate independent filters concurrently")
+  private int threads = 1;
+
   CommandFilter()
   {
     this.exitCode = 0;
@@ -118,20 +170,88 @@ public final class CommandFilter extends CommandRoot
 
     final SMFParserProviderType providerParser = providerParserOpt.get();
 
-    final Optional<SMFMemoryMesh> meshOpt =
-      this.loadMemoryMesh(providerParser, this.fileIn);
-
-    if (meshOpt.isEmpty()) {
-      return this.fail();
-    }
-
     final SMFFilterCommandContext context =
       SMFFilterCommandContext.of(
         this.sourceDirectory.toAbsolutePath(),
         this.fileCommands.toAbsolutePath());
 
+    /*
+     * The leading filters that support streaming are evaluated on the
+     * parser events as the mesh is read. If every filter supports streaming,
+     * the mesh is never loaded at all. Otherwise, the remaining filters are
+     * evaluated on the loaded mesh. Unless told otherwise, the planner
+     * moves streaming filters ahead of other filters where this cannot
+     * change the result, and drops filters whose results are discarded.
+     */
+
+    final SMFMemoryMeshFilterPlan plan;
+    if (this.noOptimize) {
+      plan = SMFMemoryMeshFilterPlanner.planWithoutOptimization(filters);
+    } else {
+      plan = SMFMemoryMeshFilterPlanner.plan(filters);
+    }
+
+    for (final SMFMemoryMeshFilterType filter : plan.eliminated()) {
+      LOG.debug("eliminated filter {}", filter.name());
+    }
+
+    final List<SMFMemoryMeshFilterStreamingType> streamed = plan.streamed();
+    final List<SMFMemoryMeshFilterType> remaining = plan.materialized();
+    if (remaining.isEmpty()) {
+      return this.processStreaming(context, streamed, providerParser);
+    }
+
+    LOG.debug(
+      "streaming {} filters, loading the mesh for {} filters",
+      Integer.valueOf(streamed.size()),
+      Integer.valueOf(remaining.size()));
+
+    final SMFMemoryMeshProducerConfiguration configuration =
+      this.loaderConfiguration(attributesRequired(remaining));
+
+    /*
+     * An out-of-core mesh is only valid until its producer is closed, and
+     * so must be filtered and serialized within the scope of the producer.
+     */
+
+    if (this.outOfCore) {
+      LOG.debug("temporary directory: {}", this.temporaryDirectory);
+      try (var loader = SMFMemoryMeshMappedProducer.create(
+        configuration, this.temporaryDirectory)) {
+        return this.process(
+          context, streamed, remaining, providerParser, loader);
+      }
+    }
+
+    return this.process(
+      context,
+      streamed,
+      remaining,
+      providerParser,
+      SMFMemoryMeshProducer.create(configuration));
+  }
+
+  private Integer process(
+    final SMFFilterCommandContext context,
+    final List<SMFMemoryMeshFilterStreamingType> streamed,
+    final List<SMFMemoryMeshFilterType> remaining,
+    final SMFParserProviderType providerParser,
+    final SMFMemoryMeshProducerType loader)
+    throws IOException
+  {
+    final SMFParserEventsType events =
+      SMFMemoryMeshFilterStreamingEvents.chain(context, streamed, loader);
+
+    /*
+     * The loaded mesh is deliberately not held in a local variable here.
+     * Each filter stage shares whatever it does not change with the
+     * previous stage, and so arrays dropped by a stage should not be kept
+     * reachable for the duration of serialization by the original mesh.
+     */
+
     final Optional<SMFMemoryMesh> filteredOpt =
-      this.runFilters(context, filters, meshOpt.get());
+      this.loadMemoryMesh(providerParser, this.fileIn, events, loader)
+        .flatMap(mesh -> this.runFilters(context, remaining, mesh));
 
     if (filteredOpt.isEmpty()) {
       return this.fail();
@@ -141,6 +261,111 @@ public final class CommandFilter extends CommandRoot
     return Integer.valueOf(this.exitCode);
   }
 
+  private Integer processStreaming(
+    final SMFFilterCommandContext context,
+    final List<SMFMemoryMeshFilterStreamingType> filters,
+    final SMFParserProviderType providerParser)
+    throws IOException
+  {
+    LOG.debug("streaming all {} filters", Integer.valueOf(filters.size()));
+
+    if (this.fileOut == null) {
+      final DiscardingReceiver receiver = new DiscardingReceiver();
+      this.parseStreaming(
+        providerParser,
+        SMFMemoryMeshFilterStreamingEvents.chain(context, filters, receiver));
+      return this.checkStreamed(receiver.errors, receiver.warnings);
+    }
+
+    final Optional<SMFSerializerProviderType> providerSerializerOpt =
+      SMFSerializerProviders.findSerializerProvider(
+        Optional.ofNullable(this.formatOut),
+        this.fileOut.toString());
+
+    if (providerSerializerOpt.isEmpty()) {
+      return this.fail();
+    }
+
+    final SMFSerializerProviderType serializers =
+      providerSerializerOpt.get();
+
+    LOG.debug("serializing to {}", this.fileOut);
+    final var timeThen = LocalDateTime.now();
+    final SMFFCopierType copier;
+    try (var os = SMFCompressedStreams.openOutput(this.fileOut)) {
+
+      /*
+       * The copier closes the serializer when parsing finishes.
+       */
+
+      copier = SMFFCopier.create(
+        serializers.serializerCreate(
+          serializers.serializerSupportedVersions().last(),
+          this.fileOut.toUri(),
+          os));
+
+      this.parseStreaming(
+        providerParser,
+        SMFMemoryMeshFilterStreamingEvents.chain(context, filters, copier));
+    } catch (final IOException | UncheckedIOException e) {
+      LOG.error("could not serialize mesh: {}", e.getMessage());
+      LOG.debug("i/o error: ", e);
+      Files.deleteIfExists(this.fileOut);
+      return this.fail();
+    }
+
+    final Integer result =
+      this.checkStreamed(copier.errors(), copier.warnings());
+    if (this.exitCode != 0) {
+      Files.deleteIfExists(this.fileOut);
+      return result;
+    }
+
+    final var timeNow = LocalDateTime.now();
+    LOG.debug("serialized in {}", Duration.between(timeThen, timeNow));
+    return result;
+  }
+
+  private void parseStreaming(
+    final SMFParserProviderType parsers,
+    final SMFParserEventsType events)
+    throws IOException
+  {
+    LOG.debug("open {}", this.fileIn);
+    try (var stream = SMFCompressedStreams.openInput(this.fileIn)) {
+      try (var parser = parsers.parserCreateSequential(
+        events, this.fileIn.toUri(), stream)) {
+        parser.parse();
+      }
+    }
+  }
+
+  private Integer checkStreamed(
+    final List<SMFErrorType> errors,
+    final List<SMFWarningType> warnings)
+  {
+    warnings.forEach(e -> {
+      LOG.warn("{}", e.fullMessage());
+      final Optional<Exception> exceptionOpt = e.exception();
+      if (exceptionOpt.isPresent()) {
+        LOG.error("exception: ", exceptionOpt.get());
+      }
+    });
+
+    errors.forEach(e -> {
+      LOG.error("{}", e.fullMessage());
+      final Optional<Exception> exceptionOpt = e.exception();
+      if (exceptionOpt.isPresent()) {
+        LOG.error("exception: ", exceptionOpt.get());
+      }
+    });
+
+    if (!errors.isEmpty()) {
+      return this.fail();
+    }
+    return Integer.valueOf(this.exitCode);
+  }
+
   private void serializeMesh(
     final SMFMemoryMesh filtered)
   {
@@ -160,7 +385,7 @@ public final class CommandFilter extends CommandRoot
 
       LOG.debug("serializing to {}", this.fileOut);
       final var timeThen = LocalDateTime.now();
-      try (var os = Files.newOutputStream(this.fileOut)) {
+      try (var os = SMFCompressedStreams.openOutput(this.fileOut)) {
         try (var serializer =
                serializers.serializerCreate(
                  serializers.serializerSupportedVersions().last(),
@@ -190,53 +415,103 @@ public final class CommandFilter extends CommandRoot
     final List<SMFMemoryMeshFilterType> filters,
     final SMFMemoryMesh mesh)
   {
-    SMFMemoryMesh meshCurrent = mesh;
-    for (int index = 0; index < filters.size(); ++index) {
-      final SMFMemoryMeshFilterType filter = filters.get(index);
-      LOG.debug("evaluating filter: {}", filter.name());
+    if (this.threads <= 1) {
+      return this.runFiltersWith(
+        SMFMemoryMeshFilterExecutor.createSequential(), context, filters, mesh);
+    }
 
-      final SMFPartialLogged<SMFMemoryMesh> result =
-        filter.filter(context, meshCurrent);
+    LOG.debug(
+      "evaluating filters with {} threads", Integer.valueOf(this.threads));
+    final ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+    try {
+      return this.runFiltersWith(
+        SMFMemoryMeshFilterExecutor.create(pool), context, filters, mesh);
+    } finally {
+      pool.shutdown();
+    }
+  }
 
-      result.warnings().forEach(e -> {
-        LOG.warn("{}", e.fullMessage());
-        final Optional<Exception> exceptionOpt = e.exception();
-        if (exceptionOpt.isPresent()) {
-          LOG.error("exception: ", exceptionOpt.get());
-        }
-      });
+  private Optional<SMFMemoryMesh> runFiltersWith(
+    final SMFMemoryMeshFilterExecutorType executor,
+    final SMFFilterCommandContext context,
+    final List<SMFMemoryMeshFilterType> filters,
+    final SMFMemoryMesh mesh)
+  {
+    final SMFPartialLogged<SMFMemoryMesh> result =
+      executor.execute(context, filters, mesh);
+
+    result.warnings().forEach(e -> {
+      LOG.warn("{}", e.fullMessage());
+      final Optional<Exception> exceptionOpt = e.exception();
+      if (exceptionOpt.isPresent()) {
+        LOG.error("exception: ", exceptionOpt.get());
+      }
+    });
 
-      result.errors().forEach(e -> {
-        LOG.error("{}", e.fullMessage());
-        final Optional<Exception> exceptionOpt = e.exception();
-        if (exceptionOpt.isPresent()) {
-          LOG.error("exception: ", exceptionOpt.get());
-        }
-      });
+    result.errors().forEach(e -> {
+      LOG.error("{}", e.fullMessage());
+      final Optional<Exception> exceptionOpt = e.exception();
+      if (exceptionOpt.isPresent()) {
+        LOG.error("exception: ", exceptionOpt.get());
+      }
+    });
 
-      if (result.isSucceeded()) {
-        meshCurrent = result.get();
+    if (result.isSucceeded()) {
+      return Optional.of(result.get());
+    }
+
+    this.exitCode = 1;
+    return Optional.empty();
+  }
+
+  private static Optional<Set<SMFAttributeName>> attributesRequired(
+    final List<SMFMemoryMeshFilterType> filters)
+  {
+    /*
+     * Work backwards from the end of the pipeline: each filter states
+     * which attributes it needs given the attributes needed by the
+     * filters that follow it. The final output needs every attribute.
+     */
+
+    Optional<Set<SMFAttributeName>> required = Optional.empty();
+    for (int index = filters.size() - 1; index >= 0; --index) {
+      required = filters.get(index).attributesRequired(required);
+    }
+    return required;
+  }
+
+  private SMFMemoryMeshProducerConfiguration loaderConfiguration(
+    final Optional<Set<SMFAttributeName>> attributes)
+  {
+    attributes.ifPresent(names -> LOG.debug("loading attributes {}", names));
+
+    final SMFMemoryMeshProducerConfiguration.Builder configuration =
+      SMFMemoryMeshProducerConfiguration.builder()
+        .setAttributesIncluded(attributes);
+
+    if (this.memoryBudget != null) {
+      if (this.outOfCore) {
+        LOG.warn("the memory budget does not apply when processing out of core");
       } else {
-        this.exitCode = 1;
-        return Optional.empty();
+        LOG.debug("memory budget: {} octets", this.memoryBudget);
+        configuration.setFootprintLimit(this.memoryBudget.longValue());
       }
     }
 
-    return Optional.of(meshCurrent);
+    return configuration.build();
   }
 
   private Optional<SMFMemoryMesh> loadMemoryMesh(
     final SMFParserProviderType parsers,
-    final Path path)
+    final Path path,
+    final SMFParserEventsType events,
+    final SMFMemoryMeshProducerType loader)
     throws IOException
   {
-    final SMFMemoryMeshProducerType loader =
-      SMFMemoryMeshProducer.create();
-
     LOG.debug("open {}", path);
-    try (var stream = Files.newInputStream(path)) {
+    try (var stream = SMFCompressedStreams.openInput(path)) {
       try (var parser = parsers.parserCreateSequential(
-        loader, path.toUri(), stream)) {
+        events, path.toUri(), stream)) {
         parser.parse();
       }
 
@@ -261,7 +536,17 @@ public final class CommandFilter extends CommandRoot
         return Optional.empty();
       }
     }
-    return Optional.of(loader.mesh());
+    final SMFMemoryMesh mesh = loader.mesh();
+    final SMFMemoryMeshFootprint footprint = mesh.footprint();
+    LOG.debug(
+      "loaded mesh: {} octets retained ({} triangles, {} metadata)",
+      Long.valueOf(footprint.retained()),
+      Long.valueOf(footprint.triangles()),
+      Long.valueOf(footprint.metadata()));
+    footprint.attributes().forEach((name, size) -> {
+      LOG.debug("attribute {}: {} octets", name.value(), size);
+    });
+    return Optional.of(mesh);
   }
 
   private Optional<List<SMFMemoryMeshFilterType>> parseFilterCommands()
@@ -298,4 +583,62 @@ public final class CommandFilter extends CommandRoot
       return Optional.empty();
     }
   }
+
+  /**
+   * A receiver that accepts and discards all mesh data, used when streaming
+   * filters are evaluated without an output file.
+   */
+
+  private static final class DiscardingReceiver
+    implements SMFParserEventsType, SMFParserEventsHeaderType
+  {
+    private final List<SMFErrorType> errors;
+    private final List<SMFWarningType> warnings;
+
+    DiscardingReceiver()
+    {
+      this.errors = new ArrayList<>();
+      this.warnings = new ArrayList<>();
+    }
+
+    @Override
+    public void onStart()
+    {
+
+    }
+
+    @Override
+    public Optional<SMFParserEventsHeaderType> onVersionReceived(
+      final SMFFormatVersion version)
+    {
+      return Optional.of(this);
+    }
+
+    @Override
+    public void onFinish()
+    {
+
+    }
+
+    @Override
+    public void onError(
+      final SMFErrorType e)
+    {
+      this.errors.add(e);
+    }
+
+    @Override
+    public void onWarning(
+      final SMFWarningType w)
+    {
+      this.warnings.add(w);
+    }
+
+    @Override
+    public Optional<SMFParserEventsBodyType> onHeaderParsed(
+      final SMFHeader header)
+    {
+      return Optional.of(new SMFParserEventsBodyIgnoringReceiver(this));
+    }
+  }
 }
@@ -27,6 +27,7 @@ import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
 import com.io7m.smfj.core.SMFTriangles;
 import com.io7m.smfj.core.SMFWarningType;
+import com.io7m.smfj.frontend.SMFCompressedStreams;
 import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
 import com.io7m.smfj.parser.api.SMFParserEventsHeaderType;
 import com.io7m.smfj.parser.api.SMFParserEventsType;
@@ -35,7 +36,6 @@ import com.io7m.smfj.probe.api.SMFVersionProbeControllerType;
 import com.io7m.smfj.probe.api.SMFVersionProbed;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -77,7 +77,7 @@ public final class CommandProbe extends CommandRoot
     final SMFPartialLogged<SMFVersionProbed> r =
       controller.probe(() -> {
         try {
-          return Files.newInputStream(pathN);
+          return SMFCompressedStreams.openInput(pathN);
         } catch (final IOException e) {
           throw new UncheckedIOException(e);
         }
@@ -107,7 +107,7 @@ public final class CommandProbe extends CommandRoot
       format.mimeType(),
       version.version().toHumanString());
 
-    try (var stream = Files.newInputStream(pathN)) {
+    try (var stream = SMFCompressedStreams.openInput(pathN)) {
       try (var p = version.provider().parserCreateSequential(
         this, pathN.toUri(), stream)) {
         p.parse();
@@ -0,0 +1,228 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.binary2;
+
+import com.io7m.jbssio.api.BSSReaderProviderType;
+import com.io7m.jbssio.vanilla.BSSReaders;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.format.binary2.internal.SMFB2MeshMapper;
+import com.io7m.smfj.format.binary2.internal.SMFB2ParsingContexts;
+import com.io7m.smfj.processing.api.SMFAttributeArrayType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshOffHeap;
+import com.io7m.smfj.processing.api.SMFMetadata;
+import com.io7m.smfj.processing.api.SMFTriangleArrayType;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A read-only view of a mesh in a binary2 file, mapped directly into memory.
+ *
+ * Opening a mesh reads only the file header, the section headers, and any
+ * metadata. The data for each attribute and the triangle data are mapped
+ * read-only from the file and are decoded on demand by the typed accessors,
+ * so opening a mesh costs the same regardless of the amount of vertex data,
+ * nothing is copied until a value is read, and the operating system's page
+ * cache is shared between all processes that open the same file.
+ *
+ * Each attribute and the triangle data are mapped separately, and each is
+ * limited to {@link Integer#MAX_VALUE} octets.
+ */
+
+public final class SMFMappedMesh implements AutoCloseable
+{
+  private final Path path;
+  private final SMFMemoryMeshOffHeap mesh;
+
+  private SMFMappedMesh(
+    final Path in_path,
+    final SMFMemoryMeshOffHeap in_mesh)
+  {
+    this.path = Objects.requireNonNull(in_path, "Path");
+    this.mesh = Objects.requireNonNull(in_mesh, "Mesh");
+  }
+
+  /**
+   * Map the mesh in the given file.
+   *
+   * @param path The file
+   *
+   * @return The mapped mesh, or the errors encountered
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static SMFPartialLogged<SMFMappedMesh> open(
+    final Path path)
+    throws IOException
+  {
+    return open(new BSSReaders(), path);
+  }
+
+  /**
+   * Map the mesh in the given file.
+   *
+   * @param readers A provider of readers
+   * @param path    The file
+   *
+   * @return The mapped mesh, or the errors encountered
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static SMFPartialLogged<SMFMappedMesh> open(
+    final BSSReaderProviderType readers,
+    final Path path)
+    throws IOException
+  {
+    Objects.requireNonNull(readers, "Readers");
+    Objects.requireNonNull(path, "Path");
+
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new SMFB2MeshMapper(
+        new SMFB2ParsingContexts(readers), path.toUri(), channel)
+        .map()
+        .map(mesh -> new SMFMappedMesh(path, mesh));
+    }
+  }
+
+  /**
+   * @return The file from which the mesh was mapped
+   */
+
+  public Path path()
+  {
+    return this.path;
+  }
+
+  /**
+   * @return The mesh header
+   */
+
+  public SMFHeader header()
+  {
+    return this.mesh.header();
+  }
+
+  /**
+   * @return The mesh attribute arrays
+   */
+
+  public Map<SMFAttributeName, SMFAttributeArrayType> arrays()
+  {
+    return this.mesh.arrays();
+  }
+
+  /**
+   * @return The mesh metadata
+   */
+
+  public List<SMFMetadata> metadata()
+  {
+    return this.mesh.metadata();
+  }
+
+  /**
+   * @return The triangles
+   */
+
+  public SMFTriangleArrayType triangles()
+  {
+    return this.mesh.triangles();
+  }
+
+  /**
+   * Retrieve the mapped data for the given attribute. The returned buffer is
+   * a read-only view in the header's data byte order.
+   *
+   * @param name The attribute name
+   *
+   * @return The attribute data
+   *
+   * @throws IllegalArgumentException If the attribute does not exist
+   * @throws IllegalStateException    If the mesh has been closed
+   */
+
+  public ByteBuffer attributeBuffer(
+    final SMFAttributeName name)
+    throws IllegalArgumentException, IllegalStateException
+  {
+    return this.mesh.attributeBuffer(name);
+  }
+
+  /**
+   * Retrieve the mapped triangle data. The returned buffer is a read-only
+   * view in the header's data byte order.
+   *
+   * @return The triangle data
+   *
+   * @throws IllegalStateException If the mesh has been closed
+   */
+
+  public ByteBuffer trianglesBuffer()
+    throws IllegalStateException
+  {
+    return this.mesh.trianglesBuffer();
+  }
+
+  /**
+   * @return The mesh as an off-heap mesh backed by the mapped data
+   */
+
+  public SMFMemoryMeshOffHeap mesh()
+  {
+    return this.mesh;
+  }
+
+  /**
+   * @return {@code true} iff the mesh has been closed
+   */
+
+  public boolean isClosed()
+  {
+    return this.mesh.isClosed();
+  }
+
+  /**
+   * Close the mesh. Any subsequent access to array or triangle data raises
+   * {@link IllegalStateException}. The mappings themselves are released by
+   * the JVM once they become unreachable.
+   */
+
+  @Override
+  public void close()
+  {
+    this.mesh.close();
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format(
+      "SMFMappedMesh{path=%s, vertices=%d, triangles=%d}",
+      this.path,
+      Long.valueOf(this.header().vertexCount()),
+      Long.valueOf(this.header().triangles().triangleCount()));
+  }
+}
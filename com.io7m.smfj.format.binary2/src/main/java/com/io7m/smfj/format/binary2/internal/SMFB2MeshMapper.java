@@ -0,0 +1,332 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.binary2.internal;
+
+import com.io7m.jbssio.api.BSSReaderType;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFErrorType;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
+import com.io7m.smfj.core.SMFWarningType;
+import com.io7m.smfj.parser.api.SMFParseErrors;
+import com.io7m.smfj.parser.api.SMFParserEventsDataMetaOptionalSupplierType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataMetaType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshOffHeap;
+import com.io7m.smfj.processing.api.SMFMetadata;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A mapper that maps the data of a binary2 file directly into memory.
+ *
+ * Only the file header, the 'smf' section, the section headers, and any
+ * metadata are read. The data for each attribute and the triangle data are
+ * mapped read-only from the file, and are never copied.
+ */
+
+public final class SMFB2MeshMapper
+  implements SMFParserEventsDataMetaOptionalSupplierType,
+  SMFParserEventsDataMetaType
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFB2MeshMapper.class);
+
+  private final SMFB2ParsingContexts contexts;
+  private final URI uri;
+  private final FileChannel channel;
+  private final List<SMFErrorType> errors;
+  private final List<SMFWarningType> warnings;
+  private final HashMap<SMFAttributeName, ByteBuffer> attributes;
+  private final List<SMFMetadata> metadata;
+  private ByteBuffer triangles;
+
+  /**
+   * Construct a mapper.
+   *
+   * @param inContexts A provider of parsing contexts
+   * @param inUri      The URI of the file
+   * @param inChannel  The file channel
+   */
+
+  public SMFB2MeshMapper(
+    final SMFB2ParsingContexts inContexts,
+    final URI inUri,
+    final FileChannel inChannel)
+  {
+    this.contexts =
+      Objects.requireNonNull(inContexts, "inContexts");
+    this.uri =
+      Objects.requireNonNull(inUri, "inUri");
+    this.channel =
+      Objects.requireNonNull(inChannel, "inChannel");
+
+    this.errors = new ArrayList<>();
+    this.warnings = new ArrayList<>();
+    this.attributes = new HashMap<>();
+    this.metadata = new ArrayList<>();
+  }
+
+  private static long sizeOf(
+    final long count,
+    final long size)
+  {
+    try {
+      return Math.multiplyExact(count, size);
+    } catch (final ArithmeticException e) {
+      return -1L;
+    }
+  }
+
+  /**
+   * Map the file.
+   *
+   * @return A mesh over the mapped file data, or the errors encountered
+   */
+
+  public SMFPartialLogged<SMFMemoryMeshOffHeap> map()
+  {
+    try (var context =
+           this.contexts.ofChannel(this.uri, this.channel, this)) {
+      final Optional<SMFHeader> headerOpt =
+        context.withReader(
+          "file",
+          reader -> this.mapWithReader(context, reader));
+
+      if (headerOpt.isPresent() && this.errors.isEmpty()) {
+        return this.build(headerOpt.get());
+      }
+    } catch (final IOException | ArithmeticException e) {
+      this.errors.add(SMFParseErrors.errorException(e));
+    }
+    return SMFPartialLogged.failed(this.errors, this.warnings);
+  }
+
+  private SMFPartialLogged<SMFMemoryMeshOffHeap> build(
+    final SMFHeader header)
+  {
+    if (this.triangles == null) {
+      if (header.triangles().triangleCount() != 0L) {
+        this.errors.add(SMFParseErrors.errorWithMessage(String.format(
+          "Expected %s triangles, but the file contains no triangles section",
+          Long.toUnsignedString(header.triangles().triangleCount()))));
+        return SMFPartialLogged.failed(this.errors, this.warnings);
+      }
+      this.triangles = ByteBuffer.allocate(0);
+    }
+
+    for (final SMFAttribute attribute : header.attributesInOrder()) {
+      if (!this.attributes.containsKey(attribute.name())) {
+        this.errors.add(SMFParseErrors.errorWithMessage(String.format(
+          "Attribute %s is specified in the header but the file contains no data for it",
+          attribute.name().value())));
+      }
+    }
+
+    if (!this.errors.isEmpty()) {
+      return SMFPartialLogged.failed(this.errors, this.warnings);
+    }
+
+    try {
+      return SMFPartialLogged.succeeded(
+        List.of(),
+        this.warnings,
+        SMFMemoryMeshOffHeap.wrap(
+          header, this.attributes, this.triangles, this.metadata));
+    } catch (final IllegalArgumentException e) {
+      this.errors.add(SMFParseErrors.errorException(e));
+      return SMFPartialLogged.failed(this.errors, this.warnings);
+    }
+  }
+
+  private Optional<SMFHeader> mapWithReader(
+    final SMFB2ParsingContextType context,
+    final BSSReaderType reader)
+    throws IOException
+  {
+    final var formatVersionOpt = new SMFB2ParsingFileHeader().parse(context);
+    if (formatVersionOpt.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final var smfSectionHeader =
+      new SMFB2ParsingSectionHeader().parse(context);
+    final var smfOpt =
+      new SMFB2ParsingSectionSMF(smfSectionHeader).parse(context);
+    if (smfOpt.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final var smf = smfOpt.get();
+    while (true) {
+      final long offset = reader.offsetCurrentAbsolute();
+      final SMFB2Section section =
+        new SMFB2ParsingSectionHeader().parse(context);
+      final long id = section.id();
+      final long dataOffset = Math.addExact(offset, 16L);
+      final long dataEnd = Math.addExact(dataOffset, section.sizeOfData());
+
+      if (id == SMFB2ParsingSectionVertexDataNI.magic()) {
+        this.mapVertexData(reader, smf, dataOffset, dataEnd);
+        reader.skip(section.sizeOfData());
+      } else if (id == SMFB2ParsingSectionTriangles.magic()) {
+        this.mapTriangles(reader, smf, dataOffset, dataEnd);
+        reader.skip(section.sizeOfData());
+      } else if (id == SMFB2ParsingSectionMetadata.magic()) {
+        new SMFB2ParsingSectionMetadata(this, section).parse(context);
+      } else if (id == SMFB2ParsingSectionEnd.magic()) {
+        new SMFB2ParsingSectionEnd(section).parse(context);
+        return Optional.of(smf);
+      } else {
+        this.onWarning(
+          SMFB2ParseErrors.warningOf(
+            reader,
+            "Unrecognized section with id 0x%s; skipping it",
+            Long.toUnsignedString(id, 16)));
+        reader.skip(section.sizeOfData());
+      }
+
+      if (!this.errors.isEmpty()) {
+        return Optional.empty();
+      }
+    }
+  }
+
+  private void mapVertexData(
+    final BSSReaderType reader,
+    final SMFHeader smf,
+    final long dataOffset,
+    final long dataEnd)
+    throws IOException
+  {
+    long offset = dataOffset;
+    for (final var attribute : smf.attributesInOrder()) {
+      final long sizeOfAll =
+        sizeOf(
+          smf.vertexCount(),
+          Integer.toUnsignedLong(attribute.sizeOctets()));
+
+      final var name = attribute.name();
+      final var bufferOpt =
+        this.mapRegion(reader, name.value(), offset, sizeOfAll, dataEnd);
+      if (bufferOpt.isEmpty()) {
+        return;
+      }
+
+      this.attributes.put(name, bufferOpt.get());
+      offset = Math.addExact(offset, SMFB2Alignment.alignNext(sizeOfAll, 16));
+    }
+  }
+
+  private void mapTriangles(
+    final BSSReaderType reader,
+    final SMFHeader smf,
+    final long dataOffset,
+    final long dataEnd)
+    throws IOException
+  {
+    final var headerTriangles = smf.triangles();
+    final long sizeOfAll =
+      sizeOf(
+        headerTriangles.triangleCount(),
+        3L * (long) (headerTriangles.triangleIndexSizeBits() / 8));
+
+    this.mapRegion(reader, "triangles", dataOffset, sizeOfAll, dataEnd)
+      .ifPresent(buffer -> this.triangles = buffer);
+  }
+
+  private Optional<ByteBuffer> mapRegion(
+    final BSSReaderType reader,
+    final String name,
+    final long offset,
+    final long size,
+    final long limit)
+    throws IOException
+  {
+    if (size < 0L || size > (long) Integer.MAX_VALUE) {
+      this.onError(
+        SMFB2ParseErrors.errorOf(
+          reader,
+          "The data for '%s' exceeds the maximum mappable size of %s octets",
+          name,
+          Integer.valueOf(Integer.MAX_VALUE)));
+      return Optional.empty();
+    }
+
+    final long end = Math.addExact(offset, size);
+    if (end > limit || end > this.channel.size()) {
+      this.onError(
+        SMFB2ParseErrors.errorOf(
+          reader,
+          "The data for '%s' (%s octets at offset 0x%s) extends beyond the end of its section",
+          name,
+          Long.valueOf(size),
+          Long.toUnsignedString(offset, 16)));
+      return Optional.empty();
+    }
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(
+        "map '{}' @ 0x{} ({} octets)",
+        name,
+        Long.toUnsignedString(offset, 16),
+        Long.valueOf(size));
+    }
+
+    return Optional.of(
+      this.channel.map(FileChannel.MapMode.READ_ONLY, offset, size));
+  }
+
+  @Override
+  public Optional<SMFParserEventsDataMetaType> onMeta(
+    final SMFSchemaIdentifier schema)
+  {
+    return Optional.of(this);
+  }
+
+  @Override
+  public void onMetaData(
+    final SMFSchemaIdentifier schema,
+    final byte[] data)
+  {
+    this.metadata.add(SMFMetadata.of(schema, data));
+  }
+
+  @Override
+  public void onError(
+    final SMFErrorType e)
+  {
+    this.errors.add(Objects.requireNonNull(e, "e"));
+  }
+
+  @Override
+  public void onWarning(
+    final SMFWarningType w)
+  {
+    this.warnings.add(Objects.requireNonNull(w, "w"));
+  }
+}
@@ -80,6 +80,9 @@ public final class SMFB2ParsingFile
         triangleTracker,
         eventHandler)
         .parse(context);
+    } else {
+      triangleTracker.addSkipped(smf.triangles().triangleCount());
+      reader.skip(section.sizeOfData());
     }
     return true;
   }
@@ -98,6 +101,8 @@ public final class SMFB2ParsingFile
       final var eventHandler = eventHandlerOpt.get();
       new SMFB2ParsingSectionVertexDataNI(section, smf, eventHandler)
         .parse(context);
+    } else {
+      reader.skip(section.sizeOfData());
     }
     return true;
   }
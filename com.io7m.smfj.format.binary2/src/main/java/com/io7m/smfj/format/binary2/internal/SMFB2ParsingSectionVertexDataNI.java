@@ -145,6 +145,8 @@ public final class SMFB2ParsingSectionVertexDataNI
                 values.onDataAttributeValueFinish();
               }
             });
+        } else {
+          reader.skip(sizeAligned);
         }
       }
     } finally {
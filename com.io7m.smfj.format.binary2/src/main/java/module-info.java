@@ -38,6 +38,7 @@ module com.io7m.smfj.format.binary2
   requires com.io7m.smfj.format.support;
   requires com.io7m.smfj.parser.api;
   requires com.io7m.smfj.probe.api;
+  requires com.io7m.smfj.processing.api;
   requires com.io7m.smfj.serializer.api;
   requires org.slf4j;
 
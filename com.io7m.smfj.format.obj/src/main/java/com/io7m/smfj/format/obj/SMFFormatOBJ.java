@@ -18,26 +18,33 @@ package com.io7m.smfj.format.obj;
 
 import com.io7m.smfj.core.SMFFormatDescription;
 import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.parser.api.SMFParserEventsErrorType;
 import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.parser.api.SMFParserProviderType;
 import com.io7m.smfj.parser.api.SMFParserRandomAccessType;
 import com.io7m.smfj.parser.api.SMFParserSequentialType;
+import com.io7m.smfj.serializer.api.SMFSerializerProviderType;
+import com.io7m.smfj.serializer.api.SMFSerializerType;
 import java.util.Collections;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import org.osgi.service.component.annotations.Component;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 /**
  * A provider for the Wavefront OBJ format.
  */
 
 @Component
-public final class SMFFormatOBJ implements SMFParserProviderType
+public final class SMFFormatOBJ
+  implements SMFParserProviderType, SMFSerializerProviderType
 {
   private static final SMFFormatDescription FORMAT = makeFormat();
   private static final SortedSet<SMFFormatVersion> SUPPORTED = makeSupported();
@@ -97,6 +104,102 @@ public final class SMFFormatOBJ implements SMFParserProviderType
     return SMFOBJImporter.create(Optional.empty(), stream, events);
   }
 
+  /**
+   * Create a parser that parses the given OBJ file in parallel.
+   *
+   * @param events   The event receiver
+   * @param uri      The URI of the file
+   * @param file     The file
+   * @param executor An executor used to parse parts of the file
+   *
+   * @return A new parser
+   *
+   * @see SMFOBJParallelImporter
+   */
+
+  public SMFParserSequentialType parserCreateParallel(
+    final SMFParserEventsType events,
+    final URI uri,
+    final FileChannel file,
+    final ExecutorService executor)
+  {
+    return SMFOBJParallelImporter.create(uri, file, events, executor);
+  }
+
+  /**
+   * Create a parser that parses the given OBJ file in two passes, holding
+   * intermediate data in memory-mapped scratch files rather than on the
+   * heap.
+   *
+   * @param events  The event receiver
+   * @param uri     The URI of the file
+   * @param file    The file
+   * @param scratch The directory that will hold scratch files
+   *
+   * @return A new parser
+   *
+   * @see SMFOBJTwoPassImporter
+   */
+
+  public SMFParserSequentialType parserCreateTwoPass(
+    final SMFParserEventsType events,
+    final URI uri,
+    final FileChannel file,
+    final Path scratch)
+  {
+    return SMFOBJTwoPassImporter.create(uri, file, events, scratch);
+  }
+
+  /**
+   * Create a parser that produces a separate mesh for each group in the
+   * given OBJ file.
+   *
+   * @param errors A receiver of errors and warnings
+   * @param groups A factory of receivers for each group
+   * @param uri    The URI of the file
+   * @param file   The file
+   *
+   * @return A new parser
+   *
+   * @see SMFOBJGroupedImporter
+   */
+
+  public SMFParserSequentialType parserCreateGrouped(
+    final SMFParserEventsErrorType errors,
+    final SMFOBJGroupEventsFactoryType groups,
+    final URI uri,
+    final FileChannel file)
+  {
+    return SMFOBJGroupedImporter.create(uri, file, errors, groups);
+  }
+
+  @Override
+  public SMFFormatDescription serializerFormat()
+  {
+    return FORMAT;
+  }
+
+  @Override
+  public SortedSet<SMFFormatVersion> serializerSupportedVersions()
+  {
+    return SUPPORTED;
+  }
+
+  @Override
+  public SMFSerializerType serializerCreate(
+    final SMFFormatVersion version,
+    final URI uri,
+    final OutputStream stream)
+    throws UnsupportedOperationException
+  {
+    if (SUPPORTED.contains(version)) {
+      return new SMFOBJSerializer(uri, stream);
+    }
+
+    throw new UnsupportedOperationException(
+      String.format("Version %s is not supported", version.toHumanString()));
+  }
+
   @Override
   public SMFParserRandomAccessType parserCreateRandomAccess(
     final SMFParserEventsType events,
@@ -0,0 +1,254 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The records parsed from a line-aligned chunk of an OBJ file.
+ *
+ * Face references are stored exactly as they appear in the file: positive
+ * indices are absolute (and one-based), negative indices are relative to the
+ * number of elements that precede the face, and zero indicates that the
+ * reference is absent. Relative references cannot be resolved until the
+ * number of elements in all preceding chunks is known, so the chunk-local
+ * element count at the time of each relative reference is recorded in
+ * {@link #relatives}.
+ */
+
+final class SMFOBJChunk implements SMFOBJLineReceiverType
+{
+  private final SMFOBJDoubleArray positions;
+  private final SMFOBJDoubleArray normals;
+  private final SMFOBJDoubleArray uvs;
+  private final SMFOBJIntArray faces;
+  private final SMFOBJIntArray face_lines;
+  private final SMFOBJIntArray relatives;
+  private final List<Problem> problems;
+  private int lines;
+
+  SMFOBJChunk()
+  {
+    this.positions = new SMFOBJDoubleArray(1024);
+    this.normals = new SMFOBJDoubleArray(1024);
+    this.uvs = new SMFOBJDoubleArray(1024);
+    this.faces = new SMFOBJIntArray(1024);
+    this.face_lines = new SMFOBJIntArray(128);
+    this.relatives = new SMFOBJIntArray(8);
+    this.problems = new ArrayList<>(0);
+  }
+
+  /**
+   * Parse all of the lines in the remaining part of {@code in_buffer}.
+   *
+   * @param in_buffer The buffer
+   *
+   * @return this
+   */
+
+  SMFOBJChunk parse(
+    final ByteBuffer in_buffer)
+  {
+    this.lines = new SMFOBJLineParser().parse(in_buffer, this);
+    return this;
+  }
+
+  @Override
+  public void onPosition(
+    final double x,
+    final double y,
+    final double z)
+  {
+    this.positions.add(x);
+    this.positions.add(y);
+    this.positions.add(z);
+  }
+
+  @Override
+  public void onNormal(
+    final double x,
+    final double y,
+    final double z)
+  {
+    this.normals.add(x);
+    this.normals.add(y);
+    this.normals.add(z);
+  }
+
+  @Override
+  public void onUV(
+    final double u,
+    final double v)
+  {
+    this.uvs.add(u);
+    this.uvs.add(v);
+  }
+
+  @Override
+  public void onFace(
+    final int line,
+    final int[] references)
+  {
+    for (int index = 0; index < 9; index += 3) {
+      this.relative(references[index], this.positions.size() / 3);
+      this.relative(references[index + 1], this.uvs.size() / 2);
+      this.relative(references[index + 2], this.normals.size() / 3);
+    }
+    for (int index = 0; index < 9; ++index) {
+      this.faces.add(references[index]);
+    }
+    this.face_lines.add(line);
+  }
+
+  private void relative(
+    final int reference,
+    final int count)
+  {
+    if (reference < 0) {
+      this.relatives.add(count);
+    }
+  }
+
+  @Override
+  public void onGroup(
+    final int line,
+    final String name)
+  {
+
+  }
+
+  @Override
+  public void onProblem(
+    final int line,
+    final int column,
+    final String message)
+  {
+    this.problems.add(new Problem(line, column, message));
+  }
+
+  /**
+   * @return The position components (three per position)
+   */
+
+  SMFOBJDoubleArray positions()
+  {
+    return this.positions;
+  }
+
+  /**
+   * @return The normal components (three per normal)
+   */
+
+  SMFOBJDoubleArray normals()
+  {
+    return this.normals;
+  }
+
+  /**
+   * @return The texture coordinate components (two per coordinate)
+   */
+
+  SMFOBJDoubleArray uvs()
+  {
+    return this.uvs;
+  }
+
+  /**
+   * @return The face references (position, uv, normal) for the three vertices
+   * of each face
+   */
+
+  SMFOBJIntArray faces()
+  {
+    return this.faces;
+  }
+
+  /**
+   * @return The chunk-local line number of each face
+   */
+
+  SMFOBJIntArray faceLines()
+  {
+    return this.face_lines;
+  }
+
+  /**
+   * @return The chunk-local element counts for each relative reference, in
+   * the order in which the references appear
+   */
+
+  SMFOBJIntArray relatives()
+  {
+    return this.relatives;
+  }
+
+  /**
+   * @return The problems encountered whilst parsing
+   */
+
+  List<Problem> problems()
+  {
+    return this.problems;
+  }
+
+  /**
+   * @return The number of lines in the chunk
+   */
+
+  int lines()
+  {
+    return this.lines;
+  }
+
+  /**
+   * A problem encountered at a chunk-local line.
+   */
+
+  static final class Problem
+  {
+    private final int line;
+    private final int column;
+    private final String message;
+
+    Problem(
+      final int in_line,
+      final int in_column,
+      final String in_message)
+    {
+      this.line = in_line;
+      this.column = in_column;
+      this.message = in_message;
+    }
+
+    int line()
+    {
+      return this.line;
+    }
+
+    int column()
+    {
+      return this.column;
+    }
+
+    String message()
+    {
+      return this.message;
+    }
+  }
+}
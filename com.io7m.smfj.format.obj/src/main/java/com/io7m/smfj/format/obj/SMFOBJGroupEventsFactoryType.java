@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import com.io7m.smfj.parser.api.SMFParserEventsType;
+import java.util.Optional;
+
+/**
+ * A factory of event receivers for the groups of an OBJ file.
+ *
+ * @see SMFOBJGroupedImporter
+ */
+
+public interface SMFOBJGroupEventsFactoryType
+{
+  /**
+   * A group has been parsed. The function should return a receiver for the
+   * mesh of the group if the group should be delivered, or
+   * {@link Optional#empty()} if the group should be skipped.
+   *
+   * @param name The name of the group
+   *
+   * @return A receiver for the mesh of the group, if any
+   */
+
+  Optional<SMFParserEventsType> onGroup(
+    String name);
+}
@@ -0,0 +1,518 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jlexing.core.LexicalPositions;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.parser.api.SMFParseError;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataTrianglesType;
+import com.io7m.smfj.parser.api.SMFParserEventsErrorType;
+import com.io7m.smfj.parser.api.SMFParserEventsHeaderType;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
+import com.io7m.smfj.parser.api.SMFParserSequentialType;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An OBJ importer that produces a separate mesh for each group.
+ *
+ * Faces are assigned to the group named by the most recent {@code o} or
+ * {@code g} record, or to a group named {@code default} if no such record
+ * precedes them. Faces belonging to groups with the same name are combined.
+ * Each group receives its own compacted set of vertices, and so uses 16-bit
+ * triangle indices whenever its vertex count allows. Groups are delivered to
+ * the receivers returned by a {@link SMFOBJGroupEventsFactoryType} in the
+ * order in which their first faces appear, once the whole file has been
+ * parsed. Groups that contain no faces are not delivered. Errors that are
+ * not specific to any group are delivered to a separate error receiver, and
+ * no groups are delivered if any errors occur. Unlike
+ * {@link SMFOBJImporter}, the importer requires a file channel rather than a
+ * stream, and only supports triangular faces.
+ */
+
+public final class SMFOBJGroupedImporter implements SMFParserSequentialType
+{
+  private static final int WINDOW_SIZE = 32 * 1024 * 1024;
+
+  private static final Logger LOG;
+
+  static {
+    LOG = LoggerFactory.getLogger(SMFOBJGroupedImporter.class);
+  }
+
+  private final URI uri;
+  private final FileChannel channel;
+  private final SMFParserEventsErrorType errors;
+  private final SMFOBJGroupEventsFactoryType groups;
+  private boolean failed;
+
+  private SMFOBJGroupedImporter(
+    final URI in_uri,
+    final FileChannel in_channel,
+    final SMFParserEventsErrorType in_errors,
+    final SMFOBJGroupEventsFactoryType in_groups)
+  {
+    this.uri = Objects.requireNonNull(in_uri, "URI");
+    this.channel = Objects.requireNonNull(in_channel, "Channel");
+    this.errors = Objects.requireNonNull(in_errors, "Errors");
+    this.groups = Objects.requireNonNull(in_groups, "Groups");
+  }
+
+  /**
+   * Create a new grouped OBJ importer.
+   *
+   * @param in_uri     The URI of the file
+   * @param in_channel The file channel
+   * @param in_errors  A receiver of errors and warnings
+   * @param in_groups  A factory of receivers for each group
+   *
+   * @return A new importer
+   */
+
+  public static SMFParserSequentialType create(
+    final URI in_uri,
+    final FileChannel in_channel,
+    final SMFParserEventsErrorType in_errors,
+    final SMFOBJGroupEventsFactoryType in_groups)
+  {
+    return new SMFOBJGroupedImporter(in_uri, in_channel, in_errors, in_groups);
+  }
+
+  @Override
+  public void parse()
+  {
+    try {
+      final Receiver receiver = new Receiver();
+      this.parseFile(receiver);
+      if (!this.failed) {
+        receiver.checkRanges();
+      }
+      if (!this.failed) {
+        LOG.debug(
+          "delivering {} groups", Integer.valueOf(receiver.groups.size()));
+        for (final Group group : receiver.groups.values()) {
+          this.deliverGroup(receiver, group);
+        }
+      }
+    } catch (final IOException e) {
+      this.error(LexicalPositions.zero(), e.getMessage(), Optional.of(e));
+    }
+  }
+
+  private void error(
+    final LexicalPosition<URI> position,
+    final String message,
+    final Optional<Exception> exception)
+  {
+    this.failed = true;
+    this.errors.onError(SMFParseError.of(position, message, exception));
+  }
+
+  private LexicalPosition<URI> position(
+    final int line,
+    final int column)
+  {
+    return LexicalPosition.of(line, column, Optional.of(this.uri));
+  }
+
+  private void parseFile(
+    final Receiver receiver)
+    throws IOException
+  {
+    final SMFOBJLineParser parser = new SMFOBJLineParser();
+    final long size = this.channel.size();
+
+    long start = 0L;
+    while (start < size) {
+      final long end =
+        SMFOBJLineParser.chunkEnd(this.channel, start, size, WINDOW_SIZE);
+      final long length = end - start;
+      if (length > (long) Integer.MAX_VALUE) {
+        throw new IOException(
+          String.format(
+            "Line starting near offset %d is too long", Long.valueOf(start)));
+      }
+
+      final MappedByteBuffer map =
+        this.channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+      receiver.line_base =
+        Math.addExact(receiver.line_base, parser.parse(map, receiver));
+      start = end;
+    }
+  }
+
+  private void deliverGroup(
+    final Receiver receiver,
+    final Group group)
+  {
+    final Optional<SMFParserEventsType> events_opt =
+      this.groups.onGroup(group.name);
+    if (events_opt.isEmpty()) {
+      return;
+    }
+
+    final SMFParserEventsType events = events_opt.get();
+    events.onStart();
+    try {
+      events.onWarning(SMFOBJHeaders.coordinateSystemWarning());
+
+      final int vertex_count = group.vertex_positions.size();
+      final SMFHeader header =
+        SMFOBJHeaders.header(
+          (long) vertex_count,
+          (long) (group.triangles.size() / 3),
+          true,
+          group.has_normal,
+          group.has_uv);
+
+      final Optional<SMFParserEventsHeaderType> events_header_opt =
+        events.onVersionReceived(SMFFormatVersion.of(1, 0));
+      if (events_header_opt.isEmpty()) {
+        return;
+      }
+
+      final Optional<SMFParserEventsBodyType> events_data_opt =
+        events_header_opt.get().onHeaderParsed(header);
+      if (events_data_opt.isEmpty()) {
+        return;
+      }
+
+      final SMFParserEventsBodyType events_data = events_data_opt.get();
+      final SMFParserEventsDataAttributesNonInterleavedType events_ni =
+        events_data.onAttributesNonInterleaved().get();
+
+      deliverAttribute(
+        events_ni.onDataAttributeStart(SMFOBJHeaders.ATTRIBUTE_POSITION),
+        group.vertex_positions,
+        receiver.positions,
+        3);
+
+      if (group.has_normal) {
+        deliverAttribute(
+          events_ni.onDataAttributeStart(SMFOBJHeaders.ATTRIBUTE_NORMAL),
+          group.vertex_normals,
+          receiver.normals,
+          3);
+      }
+
+      if (group.has_uv) {
+        deliverAttribute(
+          events_ni.onDataAttributeStart(SMFOBJHeaders.ATTRIBUTE_UV),
+          group.vertex_uvs,
+          receiver.uvs,
+          2);
+      }
+
+      final Optional<SMFParserEventsDataTrianglesType> events_tri_opt =
+        events_data.onTriangles();
+      if (events_tri_opt.isPresent()) {
+        final SMFParserEventsDataTrianglesType events_tri =
+          events_tri_opt.get();
+        try {
+          final SMFOBJIntArray t = group.triangles;
+          for (int index = 0; index < t.size(); index += 3) {
+            events_tri.onDataTriangle(
+              (long) t.get(index),
+              (long) t.get(index + 1),
+              (long) t.get(index + 2));
+          }
+        } finally {
+          events_tri.onDataTrianglesFinish();
+        }
+      }
+    } finally {
+      events.onFinish();
+    }
+  }
+
+  private static void deliverAttribute(
+    final Optional<SMFParserEventsDataAttributeValuesType> events_opt,
+    final SMFOBJIntArray vertex_elements,
+    final SMFOBJDoubleArray data,
+    final int components)
+  {
+    if (events_opt.isEmpty()) {
+      return;
+    }
+
+    final SMFParserEventsDataAttributeValuesType data_events = events_opt.get();
+    try {
+      for (int vertex = 0; vertex < vertex_elements.size(); ++vertex) {
+        final int base = vertex_elements.get(vertex) * components;
+        if (components == 3) {
+          data_events.onDataAttributeValueFloat3(
+            data.get(base),
+            data.get(base + 1),
+            data.get(base + 2));
+        } else {
+          data_events.onDataAttributeValueFloat2(
+            data.get(base),
+            data.get(base + 1));
+        }
+      }
+    } finally {
+      data_events.onDataAttributeValueFinish();
+    }
+  }
+
+  @Override
+  public void close()
+  {
+
+  }
+
+  /**
+   * The vertices and triangles of a single group.
+   */
+
+  private static final class Group
+  {
+    private final String name;
+    private final SMFOBJIntArray vertex_positions;
+    private final SMFOBJIntArray vertex_normals;
+    private final SMFOBJIntArray vertex_uvs;
+    private final SMFOBJIntArray triangles;
+    private final SMFOBJVertexTable vertex_mappings;
+    private boolean first;
+    private boolean has_normal;
+    private boolean has_uv;
+
+    Group(
+      final String in_name)
+    {
+      this.name = Objects.requireNonNull(in_name, "Name");
+      this.vertex_positions = new SMFOBJIntArray(64);
+      this.vertex_normals = new SMFOBJIntArray(64);
+      this.vertex_uvs = new SMFOBJIntArray(64);
+      this.triangles = new SMFOBJIntArray(192);
+      this.vertex_mappings = new SMFOBJVertexTable(64);
+      this.first = true;
+    }
+
+    int vertexFor(
+      final int v,
+      final int vt,
+      final int vn)
+    {
+      final int created = this.vertex_positions.size();
+      final int existing =
+        this.vertex_mappings.putIfAbsent(v, vt, vn, created);
+      if (existing != -1) {
+        return existing;
+      }
+
+      this.vertex_positions.add(v);
+      this.vertex_uvs.add(vt);
+      this.vertex_normals.add(vn);
+      return created;
+    }
+  }
+
+  /**
+   * The receiver of parsed records.
+   */
+
+  private final class Receiver implements SMFOBJLineReceiverType
+  {
+    private final SMFOBJDoubleArray positions;
+    private final SMFOBJDoubleArray normals;
+    private final SMFOBJDoubleArray uvs;
+    private final Map<String, Group> groups;
+    private final int[] resolved;
+    private String group_name;
+    private Group group;
+    private int line_base;
+    private int position_max;
+    private int position_max_line;
+    private int normal_max;
+    private int normal_max_line;
+    private int uv_max;
+    private int uv_max_line;
+
+    Receiver()
+    {
+      this.positions = new SMFOBJDoubleArray(1024);
+      this.normals = new SMFOBJDoubleArray(1024);
+      this.uvs = new SMFOBJDoubleArray(1024);
+      this.groups = new LinkedHashMap<>();
+      this.resolved = new int[9];
+      this.group_name = SMFOBJLineParser.DEFAULT_GROUP;
+      this.position_max = -1;
+      this.normal_max = -1;
+      this.uv_max = -1;
+    }
+
+    @Override
+    public void onPosition(
+      final double x,
+      final double y,
+      final double z)
+    {
+      this.positions.add(x);
+      this.positions.add(y);
+      this.positions.add(z);
+    }
+
+    @Override
+    public void onNormal(
+      final double x,
+      final double y,
+      final double z)
+    {
+      this.normals.add(x);
+      this.normals.add(y);
+      this.normals.add(z);
+    }
+
+    @Override
+    public void onUV(
+      final double u,
+      final double v)
+    {
+      this.uvs.add(u);
+      this.uvs.add(v);
+    }
+
+    @Override
+    public void onGroup(
+      final int line,
+      final String name)
+    {
+      this.group_name = name;
+      this.group = null;
+    }
+
+    @Override
+    public void onFace(
+      final int line,
+      final int[] references)
+    {
+      if (this.group == null) {
+        this.group = this.groups.computeIfAbsent(this.group_name, Group::new);
+      }
+
+      final Group current = this.group;
+      final int global_line = this.line_base + line;
+      final int[] result = this.resolved;
+      for (int index = 0; index < 9; index += 3) {
+        final int v_raw = references[index];
+        final int vt_raw = references[index + 1];
+        final int vn_raw = references[index + 2];
+
+        if (current.first) {
+          current.has_uv = vt_raw != 0;
+          current.has_normal = vn_raw != 0;
+          current.first = false;
+        } else if ((vt_raw != 0) != current.has_uv
+          || (vn_raw != 0) != current.has_normal) {
+          SMFOBJGroupedImporter.this.error(
+            SMFOBJGroupedImporter.this.position(global_line, 0),
+            "All face vertices in a group must reference the same kinds of data",
+            Optional.empty());
+          return;
+        }
+
+        final int v =
+          SMFOBJLineParser.resolve(v_raw, this.positions.size() / 3);
+        final int vt =
+          SMFOBJLineParser.resolve(vt_raw, this.uvs.size() / 2);
+        final int vn =
+          SMFOBJLineParser.resolve(vn_raw, this.normals.size() / 3);
+        if (v < 0
+          || (current.has_uv && vt < 0)
+          || (current.has_normal && vn < 0)) {
+          this.nonexistent(global_line);
+          return;
+        }
+
+        result[index] = v;
+        result[index + 1] = vt;
+        result[index + 2] = vn;
+      }
+
+      /*
+       * Absolute references may refer to elements that appear later in
+       * the file, so the largest reference of each kind is recorded and
+       * checked once the whole file has been parsed.
+       */
+
+      for (int index = 0; index < 9; index += 3) {
+        final int v = result[index];
+        final int vt = result[index + 1];
+        final int vn = result[index + 2];
+        if (v > this.position_max) {
+          this.position_max = v;
+          this.position_max_line = global_line;
+        }
+        if (vt > this.uv_max) {
+          this.uv_max = vt;
+          this.uv_max_line = global_line;
+        }
+        if (vn > this.normal_max) {
+          this.normal_max = vn;
+          this.normal_max_line = global_line;
+        }
+        current.triangles.add(current.vertexFor(v, vt, vn));
+      }
+    }
+
+    private void nonexistent(
+      final int line)
+    {
+      SMFOBJGroupedImporter.this.error(
+        SMFOBJGroupedImporter.this.position(line, 0),
+        "Face refers to a nonexistent position, normal, or texture coordinate",
+        Optional.empty());
+    }
+
+    void checkRanges()
+    {
+      if (this.position_max >= this.positions.size() / 3) {
+        this.nonexistent(this.position_max_line);
+      } else if (this.uv_max >= this.uvs.size() / 2) {
+        this.nonexistent(this.uv_max_line);
+      } else if (this.normal_max >= this.normals.size() / 3) {
+        this.nonexistent(this.normal_max_line);
+      }
+    }
+
+    @Override
+    public void onProblem(
+      final int line,
+      final int column,
+      final String message)
+    {
+      SMFOBJGroupedImporter.this.error(
+        SMFOBJGroupedImporter.this.position(this.line_base + line, column),
+        message,
+        Optional.empty());
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import com.io7m.jcoords.core.conversion.CAxisSystem;
+import com.io7m.jlexing.core.LexicalPositions;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFComponentType;
+import com.io7m.smfj.core.SMFCoordinateSystem;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
+import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.core.SMFTriangles;
+import com.io7m.smfj.parser.api.SMFParseWarning;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.io7m.jcoords.core.conversion.CAxis.AXIS_NEGATIVE_Z;
+import static com.io7m.jcoords.core.conversion.CAxis.AXIS_POSITIVE_X;
+import static com.io7m.jcoords.core.conversion.CAxis.AXIS_POSITIVE_Y;
+import static com.io7m.smfj.core.SMFFaceWindingOrder.FACE_WINDING_ORDER_COUNTER_CLOCKWISE;
+
+/**
+ * Functions to construct the headers of imported OBJ meshes.
+ */
+
+final class SMFOBJHeaders
+{
+  static final SMFAttribute ATTRIBUTE_POSITION =
+    SMFAttribute.of(
+      SMFAttributeName.of("POSITION"),
+      SMFComponentType.ELEMENT_TYPE_FLOATING, 3, 32);
+
+  static final SMFAttribute ATTRIBUTE_NORMAL =
+    SMFAttribute.of(
+      SMFAttributeName.of("NORMAL"),
+      SMFComponentType.ELEMENT_TYPE_FLOATING, 3, 32);
+
+  static final SMFAttribute ATTRIBUTE_UV =
+    SMFAttribute.of(
+      SMFAttributeName.of("UV:0"),
+      SMFComponentType.ELEMENT_TYPE_FLOATING, 2, 32);
+
+  static final SMFCoordinateSystem COORDINATE_SYSTEM =
+    SMFCoordinateSystem.of(
+      CAxisSystem.of(AXIS_POSITIVE_X, AXIS_POSITIVE_Y, AXIS_NEGATIVE_Z),
+      FACE_WINDING_ORDER_COUNTER_CLOCKWISE);
+
+  private SMFOBJHeaders()
+  {
+
+  }
+
+  /**
+   * @return A warning stating that a default coordinate system was assumed
+   */
+
+  static SMFParseWarning coordinateSystemWarning()
+  {
+    final String text =
+      new StringBuilder(128)
+        .append("OBJ files do not contain coordinate system information.")
+        .append(System.lineSeparator())
+        .append(
+          "A possibly incorrect default coordinate system has been assumed: ")
+        .append(COORDINATE_SYSTEM.toHumanString())
+        .append(System.lineSeparator())
+        .toString();
+    return SMFParseWarning.of(LexicalPositions.zero(), text, Optional.empty());
+  }
+
+  /**
+   * Construct a header for an imported mesh.
+   *
+   * @param vertex_count   The number of vertices
+   * @param triangle_count The number of triangles
+   * @param has_position   {@code true} if vertices have positions
+   * @param has_normal     {@code true} if vertices have normals
+   * @param has_uv         {@code true} if vertices have texture coordinates
+   *
+   * @return A header
+   */
+
+  static SMFHeader header(
+    final long vertex_count,
+    final long triangle_count,
+    final boolean has_position,
+    final boolean has_normal,
+    final boolean has_uv)
+  {
+    final SMFHeader.Builder header_b = SMFHeader.builder();
+    header_b.setSchemaIdentifier(SMFSchemaIdentifier.of(
+      SMFSchemaName.of("com.io7m.example"), 0, 0));
+
+    final List<SMFAttribute> attributes = new ArrayList<>();
+    if (vertex_count > 0L) {
+      header_b.setVertexCount(vertex_count);
+      if (has_position) {
+        attributes.add(ATTRIBUTE_POSITION);
+      }
+      if (has_normal) {
+        attributes.add(ATTRIBUTE_NORMAL);
+      }
+      if (has_uv) {
+        attributes.add(ATTRIBUTE_UV);
+      }
+    }
+    header_b.setAttributesInOrder(attributes);
+
+    int triangle_bits = 32;
+    if (vertex_count < 65536L) {
+      triangle_bits = 16;
+    }
+
+    header_b.setCoordinateSystem(COORDINATE_SYSTEM);
+    header_b.setTriangles(SMFTriangles.of(triangle_count, triangle_bits));
+    return header_b.build();
+  }
+}
@@ -17,26 +17,15 @@
 package com.io7m.smfj.format.obj;
 
 import com.io7m.jaffirm.core.Preconditions;
-import com.io7m.jcoords.core.conversion.CAxisSystem;
 import com.io7m.jlexing.core.LexicalPosition;
 import com.io7m.jlexing.core.LexicalPositionType;
-import com.io7m.jlexing.core.LexicalPositions;
 import com.io7m.jobj.core.JOParser;
 import com.io7m.jobj.core.JOParserErrorCode;
 import com.io7m.jobj.core.JOParserType;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector2D;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector3D;
 import com.io7m.smfj.core.SMFAttribute;
-import com.io7m.smfj.core.SMFAttributeName;
-import com.io7m.smfj.core.SMFComponentType;
-import com.io7m.smfj.core.SMFCoordinateSystem;
 import com.io7m.smfj.core.SMFFormatVersion;
 import com.io7m.smfj.core.SMFHeader;
-import com.io7m.smfj.core.SMFSchemaIdentifier;
-import com.io7m.smfj.core.SMFSchemaName;
-import com.io7m.smfj.core.SMFTriangles;
 import com.io7m.smfj.parser.api.SMFParseError;
-import com.io7m.smfj.parser.api.SMFParseWarning;
 import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
 import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
 import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedType;
@@ -49,20 +38,15 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
-import static com.io7m.jcoords.core.conversion.CAxis.AXIS_NEGATIVE_Z;
-import static com.io7m.jcoords.core.conversion.CAxis.AXIS_POSITIVE_X;
-import static com.io7m.jcoords.core.conversion.CAxis.AXIS_POSITIVE_Y;
-import static com.io7m.smfj.core.SMFFaceWindingOrder.FACE_WINDING_ORDER_COUNTER_CLOCKWISE;
-
 /**
  * The default implementation of the {@link SMFOBJImporterType} interface.
+ *
+ * Positions, normals, and texture coordinates are accumulated in primitive
+ * arrays. Each distinct (position, uv, normal) triple referenced by a face
+ * becomes a vertex, and vertices are stored as indices into those arrays.
  */
 
 public final class SMFOBJImporter implements SMFOBJImporterType
@@ -75,12 +59,14 @@ public final class SMFOBJImporter implements SMFOBJImporterType
 
   private final JOParserType parser;
   private final SMFParserEventsType events;
-  private final List<Vector3D> positions;
-  private final List<Vector3D> normals;
-  private final List<Vector2D> uvs;
-  private final List<Vertex> vertices;
-  private final List<Triangle> triangles;
-  private final Map<OriginalVertexIdentifier, Integer> vertex_mappings;
+  private final SMFOBJDoubleArray positions;
+  private final SMFOBJDoubleArray normals;
+  private final SMFOBJDoubleArray uvs;
+  private final SMFOBJIntArray vertex_positions;
+  private final SMFOBJIntArray vertex_normals;
+  private final SMFOBJIntArray vertex_uvs;
+  private final SMFOBJIntArray triangles;
+  private final SMFOBJVertexTable vertex_mappings;
   private int triangle_v0;
   private int triangle_v1;
   private int triangle_v2;
@@ -96,12 +82,14 @@ public final class SMFOBJImporter implements SMFOBJImporterType
   {
     this.events = Objects.requireNonNull(in_events, "Events");
     this.parser = JOParser.newParserFromStream(in_path, in_stream, this);
-    this.positions = new ArrayList<>(8);
-    this.normals = new ArrayList<>(8);
-    this.uvs = new ArrayList<>(8);
-    this.vertices = new ArrayList<>(0);
-    this.triangles = new ArrayList<>(0);
-    this.vertex_mappings = new HashMap<>(16);
+    this.positions = new SMFOBJDoubleArray(24);
+    this.normals = new SMFOBJDoubleArray(24);
+    this.uvs = new SMFOBJDoubleArray(16);
+    this.vertex_positions = new SMFOBJIntArray(8);
+    this.vertex_normals = new SMFOBJIntArray(8);
+    this.vertex_uvs = new SMFOBJIntArray(8);
+    this.triangles = new SMFOBJIntArray(24);
+    this.vertex_mappings = new SMFOBJVertexTable(16);
   }
 
   /**
@@ -164,19 +152,22 @@ public final class SMFOBJImporter implements SMFOBJImporterType
   private void deliverData(
     final SMFParserEventsBodyType events_data)
   {
-    if (this.vertices.size() > 0) {
+    if (this.vertex_positions.size() > 0) {
       final Optional<SMFParserEventsDataAttributesNonInterleavedType> events_noninterleaved_opt =
         events_data.onAttributesNonInterleaved();
       final SMFParserEventsDataAttributesNonInterleavedType events_noninterleaved =
         events_noninterleaved_opt.get();
-      final Vertex vertex = this.vertices.get(0);
 
       this.deliverDataPosition(
-        events_noninterleaved, this.attrib_position, vertex);
-      this.deliverDataNormals(
-        events_noninterleaved, this.attrib_normal, vertex);
-      this.deliverDataUV(
-        events_noninterleaved, this.attrib_uv, vertex);
+        events_noninterleaved, this.attrib_position);
+      if (this.vertex_normals.get(0) != -1) {
+        this.deliverDataNormals(
+          events_noninterleaved, this.attrib_normal);
+      }
+      if (this.vertex_uvs.get(0) != -1) {
+        this.deliverDataUV(
+          events_noninterleaved, this.attrib_uv);
+      }
     }
 
     if (this.triangles.size() > 0) {
@@ -186,71 +177,27 @@ public final class SMFOBJImporter implements SMFOBJImporterType
 
   private void deliverHeader()
   {
-    final SMFHeader.Builder header_b = SMFHeader.builder();
-    header_b.setSchemaIdentifier(SMFSchemaIdentifier.of(
-      SMFSchemaName.of("com.io7m.example"), 0, 0));
-
-    final List<SMFAttribute> attributes =
-      new ArrayList<>();
-
-    final SMFAttributeName name_position =
-      SMFAttributeName.of("POSITION");
-    final SMFAttributeName name_normal =
-      SMFAttributeName.of("NORMAL");
-    final SMFAttributeName name_uv =
-      SMFAttributeName.of("UV:0");
-
-    this.attrib_position = SMFAttribute.of(
-      name_position, SMFComponentType.ELEMENT_TYPE_FLOATING, 3, 32);
-    this.attrib_normal = SMFAttribute.of(
-      name_normal, SMFComponentType.ELEMENT_TYPE_FLOATING, 3, 32);
-    this.attrib_uv = SMFAttribute.of(
-      name_uv, SMFComponentType.ELEMENT_TYPE_FLOATING, 2, 32);
-
-    if (this.vertices.size() > 0) {
-      header_b.setVertexCount((long) this.vertices.size());
-      final Vertex vertex = this.vertices.get(0);
-      if (vertex.position != null) {
-        attributes.add(this.attrib_position);
-      }
-      if (vertex.normal != null) {
-        attributes.add(this.attrib_normal);
-      }
-      if (vertex.uv != null) {
-        attributes.add(this.attrib_uv);
-      }
-    }
-
-    header_b.setAttributesInOrder(attributes);
+    this.attrib_position = SMFOBJHeaders.ATTRIBUTE_POSITION;
+    this.attrib_normal = SMFOBJHeaders.ATTRIBUTE_NORMAL;
+    this.attrib_uv = SMFOBJHeaders.ATTRIBUTE_UV;
 
-    int triangle_bits = 32;
-    if (this.vertices.size() < 65536) {
-      triangle_bits = 16;
+    final int vertex_count = this.vertex_positions.size();
+    boolean has_normal = false;
+    boolean has_uv = false;
+    if (vertex_count > 0) {
+      has_normal = this.vertex_normals.get(0) != -1;
+      has_uv = this.vertex_uvs.get(0) != -1;
     }
 
-    final SMFCoordinateSystem system =
-      SMFCoordinateSystem.of(
-        CAxisSystem.of(AXIS_POSITIVE_X, AXIS_POSITIVE_Y, AXIS_NEGATIVE_Z),
-        FACE_WINDING_ORDER_COUNTER_CLOCKWISE);
-
-    {
-      final String text =
-        new StringBuilder(128)
-          .append("OBJ files do not contain coordinate system information.")
-          .append(System.lineSeparator())
-          .append(
-            "A possibly incorrect default coordinate system has been assumed: ")
-          .append(system.toHumanString())
-          .append(System.lineSeparator())
-          .toString();
-      this.events.onWarning(
-        SMFParseWarning.of(LexicalPositions.zero(), text, Optional.empty()));
-    }
+    this.events.onWarning(SMFOBJHeaders.coordinateSystemWarning());
 
-    header_b.setCoordinateSystem(system);
-    header_b.setTriangles(
-      SMFTriangles.of((long) this.triangles.size(), triangle_bits));
-    final SMFHeader header = header_b.build();
+    final SMFHeader header =
+      SMFOBJHeaders.header(
+        (long) vertex_count,
+        (long) (this.triangles.size() / 3),
+        vertex_count > 0,
+        has_normal,
+        has_uv);
 
     final Optional<SMFParserEventsHeaderType> events_header_opt =
       this.events.onVersionReceived(SMFFormatVersion.of(1, 0));
@@ -276,8 +223,12 @@ public final class SMFOBJImporter implements SMFOBJImporterType
     if (events_tri_opt.isPresent()) {
       final SMFParserEventsDataTrianglesType events_tri = events_tri_opt.get();
       try {
-        for (final Triangle t : this.triangles) {
-          events_tri.onDataTriangle((long) t.v0, (long) t.v1, (long) t.v2);
+        final SMFOBJIntArray t = this.triangles;
+        for (int index = 0; index < t.size(); index += 3) {
+          events_tri.onDataTriangle(
+            (long) t.get(index),
+            (long) t.get(index + 1),
+            (long) t.get(index + 2));
         }
       } finally {
         events_tri.onDataTrianglesFinish();
@@ -287,74 +238,68 @@ public final class SMFOBJImporter implements SMFOBJImporterType
 
   private void deliverDataUV(
     final SMFParserEventsDataAttributesNonInterleavedType events_noninterleaved,
-    final SMFAttribute in_attrib_uv,
-    final Vertex vertex)
+    final SMFAttribute in_attrib_uv)
   {
-    if (vertex.uv != null) {
-      final Optional<SMFParserEventsDataAttributeValuesType> events_opt =
-        events_noninterleaved.onDataAttributeStart(in_attrib_uv);
-
-      if (events_opt.isPresent()) {
-        final SMFParserEventsDataAttributeValuesType data_events = events_opt.get();
-        try {
-          for (final Vertex v : this.vertices) {
-            data_events.onDataAttributeValueFloat2(
-              v.uv.x(),
-              v.uv.y());
-          }
-        } finally {
-          data_events.onDataAttributeValueFinish();
+    final Optional<SMFParserEventsDataAttributeValuesType> events_opt =
+      events_noninterleaved.onDataAttributeStart(in_attrib_uv);
+
+    if (events_opt.isPresent()) {
+      final SMFParserEventsDataAttributeValuesType data_events = events_opt.get();
+      try {
+        for (int index = 0; index < this.vertex_uvs.size(); ++index) {
+          final int uv = this.vertex_uvs.get(index) * 2;
+          data_events.onDataAttributeValueFloat2(
+            this.uvs.get(uv),
+            this.uvs.get(uv + 1));
         }
+      } finally {
+        data_events.onDataAttributeValueFinish();
       }
     }
   }
 
   private void deliverDataNormals(
     final SMFParserEventsDataAttributesNonInterleavedType events_noninterleaved,
-    final SMFAttribute in_attrib_normal,
-    final Vertex vertex)
+    final SMFAttribute in_attrib_normal)
   {
-    if (vertex.normal != null) {
-      final Optional<SMFParserEventsDataAttributeValuesType> events_opt =
-        events_noninterleaved.onDataAttributeStart(in_attrib_normal);
-
-      if (events_opt.isPresent()) {
-        final SMFParserEventsDataAttributeValuesType data_events = events_opt.get();
-        try {
-          for (final Vertex v : this.vertices) {
-            data_events.onDataAttributeValueFloat3(
-              v.normal.x(),
-              v.normal.y(),
-              v.normal.z());
-          }
-        } finally {
-          data_events.onDataAttributeValueFinish();
+    final Optional<SMFParserEventsDataAttributeValuesType> events_opt =
+      events_noninterleaved.onDataAttributeStart(in_attrib_normal);
+
+    if (events_opt.isPresent()) {
+      final SMFParserEventsDataAttributeValuesType data_events = events_opt.get();
+      try {
+        for (int index = 0; index < this.vertex_normals.size(); ++index) {
+          final int normal = this.vertex_normals.get(index) * 3;
+          data_events.onDataAttributeValueFloat3(
+            this.normals.get(normal),
+            this.normals.get(normal + 1),
+            this.normals.get(normal + 2));
         }
+      } finally {
+        data_events.onDataAttributeValueFinish();
       }
     }
   }
 
   private void deliverDataPosition(
     final SMFParserEventsDataAttributesNonInterleavedType events_noninterleaved,
-    final SMFAttribute in_attrib_position,
-    final Vertex vertex)
+    final SMFAttribute in_attrib_position)
   {
-    if (vertex.position != null) {
-      final Optional<SMFParserEventsDataAttributeValuesType> events_opt =
-        events_noninterleaved.onDataAttributeStart(in_attrib_position);
-
-      if (events_opt.isPresent()) {
-        final SMFParserEventsDataAttributeValuesType data_events = events_opt.get();
-        try {
-          for (final Vertex v : this.vertices) {
-            data_events.onDataAttributeValueFloat3(
-              v.position.x(),
-              v.position.y(),
-              v.position.z());
-          }
-        } finally {
-          data_events.onDataAttributeValueFinish();
+    final Optional<SMFParserEventsDataAttributeValuesType> events_opt =
+      events_noninterleaved.onDataAttributeStart(in_attrib_position);
+
+    if (events_opt.isPresent()) {
+      final SMFParserEventsDataAttributeValuesType data_events = events_opt.get();
+      try {
+        for (int index = 0; index < this.vertex_positions.size(); ++index) {
+          final int position = this.vertex_positions.get(index) * 3;
+          data_events.onDataAttributeValueFloat3(
+            this.positions.get(position),
+            this.positions.get(position + 1),
+            this.positions.get(position + 2));
         }
+      } finally {
+        data_events.onDataAttributeValueFinish();
       }
     }
   }
@@ -408,7 +353,9 @@ public final class SMFOBJImporter implements SMFOBJImporterType
     final double z,
     final double w)
   {
-    this.positions.add(Vector3D.of(x, y, z));
+    this.positions.add(x);
+    this.positions.add(y);
+    this.positions.add(z);
   }
 
   @Override
@@ -419,7 +366,9 @@ public final class SMFOBJImporter implements SMFOBJImporterType
     final double y,
     final double z)
   {
-    this.normals.add(Vector3D.of(x, y, z));
+    this.normals.add(x);
+    this.normals.add(y);
+    this.normals.add(z);
   }
 
   @Override
@@ -430,7 +379,8 @@ public final class SMFOBJImporter implements SMFOBJImporterType
     final double y,
     final double z)
   {
-    this.uvs.add(Vector2D.of(x, y));
+    this.uvs.add(x);
+    this.uvs.add(y);
   }
 
   @Override
@@ -441,48 +391,7 @@ public final class SMFOBJImporter implements SMFOBJImporterType
     final int vt,
     final int vn)
   {
-    final int v_index;
-    final OriginalVertexIdentifier key =
-      new OriginalVertexIdentifier(v, vn, vt);
-    if (this.vertex_mappings.containsKey(key)) {
-      v_index = this.vertex_mappings.get(key).intValue();
-      if (LOG.isTraceEnabled()) {
-        LOG.trace("reused vertex {}", Integer.valueOf(v_index));
-      }
-    } else {
-      v_index = this.vertices.size();
-      final Vertex vert =
-        new Vertex(
-          this.positions.get(v - 1),
-          this.normals.get(vn - 1),
-          this.uvs.get(vt - 1));
-      this.vertices.add(vert);
-      this.vertex_mappings.put(key, Integer.valueOf(v_index));
-
-      if (LOG.isTraceEnabled()) {
-        LOG.trace(
-          "created vertex {} -> {}",
-          key,
-          Integer.valueOf(v_index));
-      }
-    }
-
-    switch (this.triangle_state) {
-      case WANT_VERTEX_0: {
-        this.triangle_v0 = v_index;
-        this.triangle_state = TriangleState.WANT_VERTEX_1;
-        break;
-      }
-      case WANT_VERTEX_1: {
-        this.triangle_v1 = v_index;
-        this.triangle_state = TriangleState.WANT_VERTEX_2;
-        break;
-      }
-      case WANT_VERTEX_2: {
-        this.triangle_v2 = v_index;
-        break;
-      }
-    }
+    this.onFaceVertex(v - 1, vt - 1, vn - 1);
   }
 
   @Override
@@ -492,48 +401,7 @@ public final class SMFOBJImporter implements SMFOBJImporterType
     final int v,
     final int vt)
   {
-    final int v_index;
-    final OriginalVertexIdentifier key =
-      new OriginalVertexIdentifier(v, -1, vt);
-    if (this.vertex_mappings.containsKey(key)) {
-      v_index = this.vertex_mappings.get(key).intValue();
-      if (LOG.isTraceEnabled()) {
-        LOG.trace("reused vertex {}", Integer.valueOf(v_index));
-      }
-    } else {
-      v_index = this.vertices.size();
-      final Vertex vert =
-        new Vertex(
-          this.positions.get(v - 1),
-          null,
-          this.uvs.get(vt - 1));
-      this.vertices.add(vert);
-      this.vertex_mappings.put(key, Integer.valueOf(v_index));
-
-      if (LOG.isTraceEnabled()) {
-        LOG.trace(
-          "created vertex {} -> {}",
-          key,
-          Integer.valueOf(v_index));
-      }
-    }
-
-    switch (this.triangle_state) {
-      case WANT_VERTEX_0: {
-        this.triangle_v0 = v_index;
-        this.triangle_state = TriangleState.WANT_VERTEX_1;
-        break;
-      }
-      case WANT_VERTEX_1: {
-        this.triangle_v1 = v_index;
-        this.triangle_state = TriangleState.WANT_VERTEX_2;
-        break;
-      }
-      case WANT_VERTEX_2: {
-        this.triangle_v2 = v_index;
-        break;
-      }
-    }
+    this.onFaceVertex(v - 1, vt - 1, -1);
   }
 
   @Override
@@ -543,48 +411,7 @@ public final class SMFOBJImporter implements SMFOBJImporterType
     final int v,
     final int vn)
   {
-    final int v_index;
-    final OriginalVertexIdentifier key =
-      new OriginalVertexIdentifier(v, vn, -1);
-    if (this.vertex_mappings.containsKey(key)) {
-      v_index = this.vertex_mappings.get(key).intValue();
-      if (LOG.isTraceEnabled()) {
-        LOG.trace("reused vertex {}", Integer.valueOf(v_index));
-      }
-    } else {
-      v_index = this.vertices.size();
-      final Vertex vert =
-        new Vertex(
-          this.positions.get(v - 1),
-          this.normals.get(vn - 1),
-          null);
-      this.vertices.add(vert);
-      this.vertex_mappings.put(key, Integer.valueOf(v_index));
-
-      if (LOG.isTraceEnabled()) {
-        LOG.trace(
-          "created vertex {} -> {}",
-          key,
-          Integer.valueOf(v_index));
-      }
-    }
-
-    switch (this.triangle_state) {
-      case WANT_VERTEX_0: {
-        this.triangle_v0 = v_index;
-        this.triangle_state = TriangleState.WANT_VERTEX_1;
-        break;
-      }
-      case WANT_VERTEX_1: {
-        this.triangle_v1 = v_index;
-        this.triangle_state = TriangleState.WANT_VERTEX_2;
-        break;
-      }
-      case WANT_VERTEX_2: {
-        this.triangle_v2 = v_index;
-        break;
-      }
-    }
+    this.onFaceVertex(v - 1, -1, vn - 1);
   }
 
   @Override
@@ -593,25 +420,51 @@ public final class SMFOBJImporter implements SMFOBJImporterType
     final int index,
     final int v)
   {
+    this.onFaceVertex(v - 1, -1, -1);
+  }
+
+  /**
+   * Find or create the vertex for the given zero-based position, uv, and
+   * normal indices ({@code -1} denoting an absent uv or normal), and add it
+   * to the current triangle.
+   */
+
+  private void onFaceVertex(
+    final int v,
+    final int vt,
+    final int vn)
+  {
+    Objects.checkIndex(v, this.positions.size() / 3);
+    if (vt != -1) {
+      Objects.checkIndex(vt, this.uvs.size() / 2);
+    }
+    if (vn != -1) {
+      Objects.checkIndex(vn, this.normals.size() / 3);
+    }
+
+    final int created = this.vertex_positions.size();
+    final int existing =
+      this.vertex_mappings.putIfAbsent(v, vt, vn, created);
+
     final int v_index;
-    final OriginalVertexIdentifier key =
-      new OriginalVertexIdentifier(v, -1, -1);
-    if (this.vertex_mappings.containsKey(key)) {
-      v_index = this.vertex_mappings.get(key).intValue();
+    if (existing != -1) {
+      v_index = existing;
       if (LOG.isTraceEnabled()) {
         LOG.trace("reused vertex {}", Integer.valueOf(v_index));
       }
     } else {
-      v_index = this.vertices.size();
-      final Vertex vert =
-        new Vertex(
-          this.positions.get(v - 1),
-          null,
-          null);
-      this.vertices.add(vert);
+      v_index = created;
+      this.vertex_positions.add(v);
+      this.vertex_uvs.add(vt);
+      this.vertex_normals.add(vn);
 
       if (LOG.isTraceEnabled()) {
-        LOG.trace("created vertex {}", Integer.valueOf(v_index));
+        LOG.trace(
+          "created vertex {}/{}/{} -> {}",
+          Integer.valueOf(v),
+          Integer.valueOf(vn),
+          Integer.valueOf(vt),
+          Integer.valueOf(v_index));
       }
     }
 
@@ -665,13 +518,18 @@ public final class SMFOBJImporter implements SMFOBJImporterType
       this.triangle_v2 != -1,
       i -> "Triangle vertex 2 must have been set");
 
-    final int t_index = this.triangles.size();
-    final Triangle t =
-      new Triangle(this.triangle_v0, this.triangle_v1, this.triangle_v2);
-    this.triangles.add(t);
+    final int t_index = this.triangles.size() / 3;
+    this.triangles.add(this.triangle_v0);
+    this.triangles.add(this.triangle_v1);
+    this.triangles.add(this.triangle_v2);
 
     if (LOG.isTraceEnabled()) {
-      LOG.trace("created triangle {} -> {}", Integer.valueOf(t_index), t);
+      LOG.trace(
+        "created triangle {} -> {} {} {}",
+        Integer.valueOf(t_index),
+        Integer.valueOf(this.triangle_v0),
+        Integer.valueOf(this.triangle_v1),
+        Integer.valueOf(this.triangle_v2));
     }
   }
 
@@ -694,102 +552,4 @@ public final class SMFOBJImporter implements SMFOBJImporterType
     WANT_VERTEX_1,
     WANT_VERTEX_2
   }
-
-  private static final class OriginalVertexIdentifier
-  {
-    private final int v;
-    private final int vn;
-    private final int vt;
-
-    OriginalVertexIdentifier(
-      final int in_v,
-      final int in_vn,
-      final int in_vt)
-    {
-      this.v = in_v;
-      this.vn = in_vn;
-      this.vt = in_vt;
-    }
-
-    @Override
-    public String toString()
-    {
-      final StringBuilder sb = new StringBuilder(16);
-      sb.append(this.v);
-      sb.append("/");
-      sb.append(this.vn);
-      sb.append("/");
-      sb.append(this.vt);
-      return sb.toString();
-    }
-
-    @Override
-    public boolean equals(final Object o)
-    {
-      if (this == o) {
-        return true;
-      }
-      if (o == null || !Objects.equals(this.getClass(), o.getClass())) {
-        return false;
-      }
-
-      final OriginalVertexIdentifier that = (OriginalVertexIdentifier) o;
-      return this.v == that.v && this.vn == that.vn && this.vt == that.vt;
-    }
-
-    @Override
-    public int hashCode()
-    {
-      int result = this.v;
-      result = 31 * result + this.vn;
-      result = 31 * result + this.vt;
-      return result;
-    }
-  }
-
-  private static final class Vertex
-  {
-    private final Vector3D position;
-    private final Vector3D normal;
-    private final Vector2D uv;
-
-    Vertex(
-      final Vector3D in_position,
-      final Vector3D in_normal,
-      final Vector2D in_uv)
-    {
-      this.position = in_position;
-      this.normal = in_normal;
-      this.uv = in_uv;
-    }
-  }
-
-  private static final class Triangle
-  {
-    private final int v0;
-    private final int v1;
-    private final int v2;
-
-    Triangle(
-      final int in_v0,
-      final int in_v1,
-      final int in_v2)
-    {
-      this.v0 = in_v0;
-      this.v1 = in_v1;
-      this.v2 = in_v2;
-    }
-
-    @Override
-    public String toString()
-    {
-      final StringBuilder sb = new StringBuilder(16);
-      sb.append(this.v0);
-      sb.append(" ");
-      sb.append(this.v1);
-      sb.append(" ");
-      sb.append(this.v2);
-      return sb.toString();
-    }
-  }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A growable array of {@code int} values.
+ */
+
+final class SMFOBJIntArray
+{
+  private int[] values;
+  private int size;
+
+  SMFOBJIntArray(
+    final int in_capacity)
+  {
+    this.values = new int[Math.max(in_capacity, 8)];
+    this.size = 0;
+  }
+
+  void add(
+    final int x)
+  {
+    if (this.size == this.values.length) {
+      this.grow();
+    }
+    this.values[this.size] = x;
+    ++this.size;
+  }
+
+  private void grow()
+  {
+    final int capacity = this.values.length;
+    if (capacity == Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Array capacity exceeded");
+    }
+    final long next = Math.min(
+      (long) capacity + ((long) capacity >> 1), (long) Integer.MAX_VALUE - 8L);
+    this.values = Arrays.copyOf(this.values, (int) next);
+  }
+
+  int get(
+    final int index)
+  {
+    return this.values[Objects.checkIndex(index, this.size)];
+  }
+
+  int size()
+  {
+    return this.size;
+  }
+}
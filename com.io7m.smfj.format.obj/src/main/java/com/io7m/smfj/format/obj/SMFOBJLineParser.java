@@ -0,0 +1,446 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A parser for the {@code v}, {@code vn}, {@code vt}, {@code f}, {@code o},
+ * and {@code g} records of OBJ files held in byte buffers. Lines containing
+ * other commands understood by {@link SMFOBJImporter} are ignored. Only
+ * triangular faces are supported.
+ */
+
+final class SMFOBJLineParser
+{
+  private static final byte[] COMMAND_V = bytes("v");
+  private static final byte[] COMMAND_VN = bytes("vn");
+  private static final byte[] COMMAND_VT = bytes("vt");
+  private static final byte[] COMMAND_F = bytes("f");
+  private static final byte[] COMMAND_O = bytes("o");
+  private static final byte[] COMMAND_G = bytes("g");
+  private static final byte[][] COMMANDS_IGNORED = {
+    bytes("s"),
+    bytes("usemtl"),
+    bytes("mtllib"),
+  };
+
+  /**
+   * The name of the group to which faces belong before any {@code o} or
+   * {@code g} command, and of groups declared without names.
+   */
+
+  static final String DEFAULT_GROUP = "default";
+
+  private final byte[] scratch;
+  private final int[] face_scratch;
+  private SMFOBJLineReceiverType receiver;
+  private ByteBuffer buffer;
+  private int line_start;
+  private int line_end;
+  private int cursor;
+  private int lines;
+
+  SMFOBJLineParser()
+  {
+    this.scratch = new byte[64];
+    this.face_scratch = new int[9];
+  }
+
+  /**
+   * Find the end of the chunk of {@code channel} that starts at
+   * {@code start}. The chunk is at least {@code chunk_size} bytes long
+   * unless it reaches the end of the file, and otherwise ends immediately
+   * after a newline.
+   *
+   * @param channel    The file channel
+   * @param start      The start of the chunk
+   * @param size       The size of the file
+   * @param chunk_size The minimum chunk size
+   *
+   * @return The end of the chunk (exclusive)
+   *
+   * @throws IOException On I/O errors
+   */
+
+  static long chunkEnd(
+    final FileChannel channel,
+    final long start,
+    final long size,
+    final int chunk_size)
+    throws IOException
+  {
+    final long nominal = start + (long) chunk_size;
+    if (nominal >= size) {
+      return size;
+    }
+
+    final ByteBuffer scan = ByteBuffer.allocate(4096);
+    long position = nominal - 1L;
+    while (position < size) {
+      scan.clear();
+      final int read = channel.read(scan, position);
+      if (read <= 0) {
+        break;
+      }
+      for (int index = 0; index < read; ++index) {
+        if (scan.get(index) == '\n') {
+          return position + (long) index + 1L;
+        }
+      }
+      position += read;
+    }
+    return size;
+  }
+
+  /**
+   * Resolve a face reference against the number of elements that precede
+   * the face, returning a zero-based index, or {@code -1} for an absent or
+   * invalid reference.
+   *
+   * @param reference The reference as it appears in the file
+   * @param count     The number of elements preceding the face
+   *
+   * @return A zero-based index, or {@code -1}
+   */
+
+  static int resolve(
+    final int reference,
+    final int count)
+  {
+    if (reference > 0) {
+      return reference - 1;
+    }
+    if (reference < 0) {
+      return Math.max(count + reference, -1);
+    }
+    return -1;
+  }
+
+  private static byte[] bytes(
+    final String text)
+  {
+    return text.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static boolean isSpace(
+    final byte c)
+  {
+    return c == ' ' || c == '\t' || c == '\r';
+  }
+
+  /**
+   * Parse all of the lines in the remaining part of {@code in_buffer}.
+   *
+   * @param in_buffer   The buffer
+   * @param in_receiver The receiver of parsed records
+   *
+   * @return The number of lines parsed
+   */
+
+  int parse(
+    final ByteBuffer in_buffer,
+    final SMFOBJLineReceiverType in_receiver)
+  {
+    this.buffer = Objects.requireNonNull(in_buffer, "Buffer");
+    this.receiver = Objects.requireNonNull(in_receiver, "Receiver");
+    this.lines = 0;
+
+    final int limit = in_buffer.limit();
+    int position = in_buffer.position();
+    while (position < limit) {
+      int end = position;
+      while (end < limit && in_buffer.get(end) != '\n') {
+        ++end;
+      }
+
+      ++this.lines;
+      this.line_start = position;
+      this.line_end = end;
+      this.cursor = position;
+      this.parseLine();
+      position = end + 1;
+    }
+
+    this.buffer = null;
+    this.receiver = null;
+    return this.lines;
+  }
+
+  private void parseLine()
+  {
+    this.skipSpace();
+    if (this.cursor == this.line_end || this.buffer.get(this.cursor) == '#') {
+      return;
+    }
+
+    final int start = this.cursor;
+    this.skipToken();
+    final int end = this.cursor;
+
+    if (this.tokenIs(start, end, COMMAND_V)) {
+      this.parseV();
+    } else if (this.tokenIs(start, end, COMMAND_F)) {
+      this.parseF();
+    } else if (this.tokenIs(start, end, COMMAND_VT)) {
+      this.parseVT();
+    } else if (this.tokenIs(start, end, COMMAND_VN)) {
+      this.parseVN();
+    } else if (this.tokenIs(start, end, COMMAND_O)
+      || this.tokenIs(start, end, COMMAND_G)) {
+      this.parseGroup();
+    } else {
+      for (final byte[] ignored : COMMANDS_IGNORED) {
+        if (this.tokenIs(start, end, ignored)) {
+          return;
+        }
+      }
+      this.problem(start, "Unrecognized command: " + this.text(start, end));
+    }
+  }
+
+  private void parseGroup()
+  {
+    this.skipSpace();
+    int end = this.line_end;
+    while (end > this.cursor && isSpace(this.buffer.get(end - 1))) {
+      --end;
+    }
+
+    final int length = end - this.cursor;
+    if (length == 0) {
+      this.receiver.onGroup(this.lines, DEFAULT_GROUP);
+      return;
+    }
+
+    final byte[] data = new byte[length];
+    this.buffer.get(this.cursor, data, 0, length);
+    this.receiver.onGroup(
+      this.lines, new String(data, StandardCharsets.UTF_8));
+  }
+
+  private void parseV()
+  {
+    try {
+      final double x = this.nextDouble();
+      final double y = this.nextDouble();
+      final double z = this.nextDouble();
+      this.receiver.onPosition(x, y, z);
+    } catch (final NumberFormatException e) {
+      this.problem(this.cursor, e.getMessage());
+    }
+  }
+
+  private void parseVN()
+  {
+    try {
+      final double x = this.nextDouble();
+      final double y = this.nextDouble();
+      final double z = this.nextDouble();
+      this.receiver.onNormal(x, y, z);
+    } catch (final NumberFormatException e) {
+      this.problem(this.cursor, e.getMessage());
+    }
+  }
+
+  private void parseVT()
+  {
+    try {
+      final double x = this.nextDouble();
+      this.skipSpace();
+      final double y;
+      if (this.cursor < this.line_end) {
+        y = this.nextDouble();
+      } else {
+        y = 0.0;
+      }
+      this.receiver.onUV(x, y);
+    } catch (final NumberFormatException e) {
+      this.problem(this.cursor, e.getMessage());
+    }
+  }
+
+  private void parseF()
+  {
+    final int[] refs = this.face_scratch;
+
+    int count = 0;
+    try {
+      while (true) {
+        this.skipSpace();
+        if (this.cursor == this.line_end) {
+          break;
+        }
+        if (count == 3) {
+          throw new NumberFormatException(
+            "Only triangular faces are supported");
+        }
+
+        final int base = count * 3;
+        refs[base] = this.nextReference();
+        refs[base + 1] = 0;
+        refs[base + 2] = 0;
+        if (refs[base] == 0) {
+          throw new NumberFormatException("A position index is required");
+        }
+
+        if (this.consume('/')) {
+          if (!this.consume('/')) {
+            refs[base + 1] = this.nextReference();
+            if (this.consume('/')) {
+              refs[base + 2] = this.nextReference();
+            }
+          } else {
+            refs[base + 2] = this.nextReference();
+          }
+        }
+
+        if (this.cursor < this.line_end
+          && !isSpace(this.buffer.get(this.cursor))) {
+          throw new NumberFormatException(
+            "Malformed face vertex: " + this.text(this.cursor, this.line_end));
+        }
+        ++count;
+      }
+
+      if (count != 3) {
+        throw new NumberFormatException(
+          "Only triangular faces are supported");
+      }
+    } catch (final NumberFormatException e) {
+      this.problem(this.cursor, e.getMessage());
+      return;
+    }
+
+    this.receiver.onFace(this.lines, refs);
+  }
+
+  /**
+   * Parse a face reference. Zero is not a valid reference and so is used to
+   * indicate an absent reference.
+   */
+
+  private int nextReference()
+  {
+    final int start = this.cursor;
+    boolean negative = false;
+    if (this.cursor < this.line_end && this.buffer.get(this.cursor) == '-') {
+      negative = true;
+      ++this.cursor;
+    }
+
+    long value = 0L;
+    final int digits = this.cursor;
+    while (this.cursor < this.line_end) {
+      final byte c = this.buffer.get(this.cursor);
+      if (c < '0' || c > '9') {
+        break;
+      }
+      value = value * 10L + (long) (c - '0');
+      if (value > (long) Integer.MAX_VALUE) {
+        throw new NumberFormatException(
+          "Index out of range: " + this.text(start, this.cursor));
+      }
+      ++this.cursor;
+    }
+
+    if (this.cursor == digits || value == 0L) {
+      throw new NumberFormatException(
+        "Malformed index: " + this.text(start, Math.max(this.cursor, start + 1)));
+    }
+
+    if (negative) {
+      return (int) -value;
+    }
+    return (int) value;
+  }
+
+  private boolean consume(
+    final char c)
+  {
+    if (this.cursor < this.line_end && this.buffer.get(this.cursor) == c) {
+      ++this.cursor;
+      return true;
+    }
+    return false;
+  }
+
+  private double nextDouble()
+  {
+    this.skipSpace();
+    final int start = this.cursor;
+    this.skipToken();
+    if (start == this.cursor) {
+      throw new NumberFormatException("Expected a number");
+    }
+    return Double.parseDouble(this.text(start, this.cursor));
+  }
+
+  private void skipSpace()
+  {
+    while (this.cursor < this.line_end
+      && isSpace(this.buffer.get(this.cursor))) {
+      ++this.cursor;
+    }
+  }
+
+  private void skipToken()
+  {
+    while (this.cursor < this.line_end
+      && !isSpace(this.buffer.get(this.cursor))) {
+      ++this.cursor;
+    }
+  }
+
+  private boolean tokenIs(
+    final int start,
+    final int end,
+    final byte[] token)
+  {
+    if (end - start != token.length) {
+      return false;
+    }
+    for (int index = 0; index < token.length; ++index) {
+      if (this.buffer.get(start + index) != token[index]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String text(
+    final int start,
+    final int end)
+  {
+    final int length = Math.min(end, this.line_end) - start;
+    final byte[] data =
+      length <= this.scratch.length ? this.scratch : new byte[length];
+    this.buffer.get(start, data, 0, length);
+    return new String(data, 0, length, StandardCharsets.ISO_8859_1);
+  }
+
+  private void problem(
+    final int position,
+    final String message)
+  {
+    this.receiver.onProblem(this.lines, position - this.line_start, message);
+  }
+}
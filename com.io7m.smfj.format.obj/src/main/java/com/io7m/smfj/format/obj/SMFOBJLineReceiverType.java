@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+/**
+ * A receiver of the records parsed by {@link SMFOBJLineParser}.
+ */
+
+interface SMFOBJLineReceiverType
+{
+  /**
+   * A {@code v} record was parsed.
+   *
+   * @param x The x component
+   * @param y The y component
+   * @param z The z component
+   */
+
+  void onPosition(
+    double x,
+    double y,
+    double z);
+
+  /**
+   * A {@code vn} record was parsed.
+   *
+   * @param x The x component
+   * @param y The y component
+   * @param z The z component
+   */
+
+  void onNormal(
+    double x,
+    double y,
+    double z);
+
+  /**
+   * A {@code vt} record was parsed.
+   *
+   * @param u The u component
+   * @param v The v component
+   */
+
+  void onUV(
+    double u,
+    double v);
+
+  /**
+   * A triangular {@code f} record was parsed. The references are given as
+   * (position, uv, normal) for each of the three vertices. References are
+   * given exactly as they appear in the file: positive indices are absolute
+   * (and one-based), negative indices are relative to the number of elements
+   * that precede the face, and zero indicates that the reference is absent.
+   *
+   * @param line       The line number
+   * @param references The nine references
+   */
+
+  void onFace(
+    int line,
+    int[] references);
+
+  /**
+   * An {@code o} or {@code g} record was parsed. Subsequent faces belong to
+   * the named group.
+   *
+   * @param line The line number
+   * @param name The group name
+   */
+
+  void onGroup(
+    int line,
+    String name);
+
+  /**
+   * A line could not be parsed.
+   *
+   * @param line    The line number
+   * @param column  The column number
+   * @param message The error message
+   */
+
+  void onProblem(
+    int line,
+    int column,
+    String message);
+}
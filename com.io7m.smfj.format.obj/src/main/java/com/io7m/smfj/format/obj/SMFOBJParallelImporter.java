@@ -0,0 +1,502 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jlexing.core.LexicalPositions;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.parser.api.SMFParseError;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataTrianglesType;
+import com.io7m.smfj.parser.api.SMFParserEventsHeaderType;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
+import com.io7m.smfj.parser.api.SMFParserSequentialType;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An OBJ importer that parses files in parallel.
+ *
+ * The file is divided into line-aligned chunks, and the {@code v},
+ * {@code vn}, {@code vt}, and {@code f} records of each chunk are parsed
+ * into primitive arrays on the given executor. Face references are then
+ * resolved, and vertices deduplicated, in a sequential merge phase. Unlike
+ * {@link SMFOBJImporter}, the importer requires a file channel rather than a
+ * stream, and only supports triangular faces.
+ */
+
+public final class SMFOBJParallelImporter implements SMFParserSequentialType
+{
+  /**
+   * The default size of chunks.
+   */
+
+  public static final int DEFAULT_CHUNK_SIZE = 32 * 1024 * 1024;
+
+  private static final Logger LOG;
+
+  static {
+    LOG = LoggerFactory.getLogger(SMFOBJParallelImporter.class);
+  }
+
+  private final URI uri;
+  private final FileChannel channel;
+  private final SMFParserEventsType events;
+  private final ExecutorService executor;
+  private final int chunk_size;
+  private boolean failed;
+
+  private SMFOBJParallelImporter(
+    final URI in_uri,
+    final FileChannel in_channel,
+    final SMFParserEventsType in_events,
+    final ExecutorService in_executor,
+    final int in_chunk_size)
+  {
+    this.uri = Objects.requireNonNull(in_uri, "URI");
+    this.channel = Objects.requireNonNull(in_channel, "Channel");
+    this.events = Objects.requireNonNull(in_events, "Events");
+    this.executor = Objects.requireNonNull(in_executor, "Executor");
+
+    if (in_chunk_size <= 0) {
+      throw new IllegalArgumentException(
+        "Chunk size must be positive: " + in_chunk_size);
+    }
+    this.chunk_size = in_chunk_size;
+  }
+
+  /**
+   * Create a new parallel OBJ importer using the default chunk size.
+   *
+   * @param in_uri      The URI of the file
+   * @param in_channel  The file channel
+   * @param in_events   An event receiver
+   * @param in_executor An executor used to parse chunks
+   *
+   * @return A new importer
+   */
+
+  public static SMFParserSequentialType create(
+    final URI in_uri,
+    final FileChannel in_channel,
+    final SMFParserEventsType in_events,
+    final ExecutorService in_executor)
+  {
+    return create(
+      in_uri, in_channel, in_events, in_executor, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Create a new parallel OBJ importer.
+   *
+   * @param in_uri        The URI of the file
+   * @param in_channel    The file channel
+   * @param in_events     An event receiver
+   * @param in_executor   An executor used to parse chunks
+   * @param in_chunk_size The approximate size in bytes of chunks
+   *
+   * @return A new importer
+   */
+
+  public static SMFParserSequentialType create(
+    final URI in_uri,
+    final FileChannel in_channel,
+    final SMFParserEventsType in_events,
+    final ExecutorService in_executor,
+    final int in_chunk_size)
+  {
+    return new SMFOBJParallelImporter(
+      in_uri, in_channel, in_events, in_executor, in_chunk_size);
+  }
+
+  /**
+   * Find the index of the chunk containing the given element, where
+   * {@code bases[i]} is the number of elements preceding chunk {@code i}.
+   */
+
+  private static int chunkOf(
+    final int[] bases,
+    final int element)
+  {
+    final int search = Arrays.binarySearch(bases, 0, bases.length - 1, element);
+    if (search >= 0) {
+      /*
+       * Skip past any empty chunks that share the same base.
+       */
+
+      int chunk = search;
+      while (chunk + 1 < bases.length - 1 && bases[chunk + 1] == element) {
+        ++chunk;
+      }
+      return chunk;
+    }
+    return -search - 2;
+  }
+
+  @Override
+  public void parse()
+  {
+    this.events.onStart();
+    try {
+      final List<SMFOBJChunk> chunks = this.parseChunks();
+      if (!this.failed) {
+        this.merge(chunks);
+      }
+    } catch (final IOException e) {
+      this.error(LexicalPositions.zero(), e.getMessage(), Optional.of(e));
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      this.error(LexicalPositions.zero(), "Interrupted", Optional.of(e));
+    } finally {
+      this.events.onFinish();
+    }
+  }
+
+  private void error(
+    final LexicalPosition<URI> position,
+    final String message,
+    final Optional<Exception> exception)
+  {
+    this.failed = true;
+    this.events.onError(SMFParseError.of(position, message, exception));
+  }
+
+  private LexicalPosition<URI> position(
+    final int line,
+    final int column)
+  {
+    return LexicalPosition.of(line, column, Optional.of(this.uri));
+  }
+
+  /**
+   * Divide the file into chunks that each end with a newline (or the end of
+   * the file), and parse each of them on the executor.
+   */
+
+  private List<SMFOBJChunk> parseChunks()
+    throws IOException, InterruptedException
+  {
+    final long size = this.channel.size();
+    final List<Future<SMFOBJChunk>> futures = new ArrayList<>();
+
+    long start = 0L;
+    while (start < size) {
+      final long end = SMFOBJLineParser.chunkEnd(
+        this.channel, start, size, this.chunk_size);
+      final long length = end - start;
+      if (length > (long) Integer.MAX_VALUE) {
+        throw new IOException(
+          String.format(
+            "Line starting near offset %d is too long", Long.valueOf(start)));
+      }
+
+      final MappedByteBuffer map =
+        this.channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+      futures.add(this.executor.submit(() -> new SMFOBJChunk().parse(map)));
+      start = end;
+    }
+
+    LOG.debug("parsing {} chunks", Integer.valueOf(futures.size()));
+
+    final List<SMFOBJChunk> chunks = new ArrayList<>(futures.size());
+    int lines = 0;
+    for (final Future<SMFOBJChunk> future : futures) {
+      final SMFOBJChunk chunk;
+      try {
+        chunk = future.get();
+      } catch (final ExecutionException e) {
+        final Throwable cause = e.getCause();
+        this.error(
+          LexicalPositions.zero(),
+          String.valueOf(cause.getMessage()),
+          Optional.of(e));
+        futures.forEach(f -> f.cancel(true));
+        return chunks;
+      }
+
+      for (final SMFOBJChunk.Problem problem : chunk.problems()) {
+        this.error(
+          this.position(lines + problem.line(), problem.column()),
+          problem.message(),
+          Optional.empty());
+      }
+      lines += chunk.lines();
+      chunks.add(chunk);
+    }
+    return chunks;
+  }
+
+  private void merge(
+    final List<SMFOBJChunk> chunks)
+  {
+    final int count = chunks.size();
+    final int[] position_bases = new int[count + 1];
+    final int[] normal_bases = new int[count + 1];
+    final int[] uv_bases = new int[count + 1];
+    final int[] line_bases = new int[count + 1];
+
+    for (int index = 0; index < count; ++index) {
+      final SMFOBJChunk chunk = chunks.get(index);
+      position_bases[index + 1] =
+        Math.addExact(position_bases[index], chunk.positions().size() / 3);
+      normal_bases[index + 1] =
+        Math.addExact(normal_bases[index], chunk.normals().size() / 3);
+      uv_bases[index + 1] =
+        Math.addExact(uv_bases[index], chunk.uvs().size() / 2);
+      line_bases[index + 1] =
+        Math.addExact(line_bases[index], chunk.lines());
+    }
+
+    final int position_count = position_bases[count];
+    final int normal_count = normal_bases[count];
+    final int uv_count = uv_bases[count];
+
+    final SMFOBJIntArray vertex_positions = new SMFOBJIntArray(1024);
+    final SMFOBJIntArray vertex_normals = new SMFOBJIntArray(1024);
+    final SMFOBJIntArray vertex_uvs = new SMFOBJIntArray(1024);
+    final SMFOBJIntArray triangles = new SMFOBJIntArray(1024);
+    final SMFOBJVertexTable vertex_mappings = new SMFOBJVertexTable(1024);
+
+    boolean first = true;
+    boolean has_normal = false;
+    boolean has_uv = false;
+
+    for (int index = 0; index < count; ++index) {
+      final SMFOBJChunk chunk = chunks.get(index);
+      final SMFOBJIntArray faces = chunk.faces();
+      final SMFOBJIntArray relatives = chunk.relatives();
+      int relative = 0;
+
+      for (int face = 0; face < faces.size() / 9; ++face) {
+        final int line = line_bases[index] + chunk.faceLines().get(face);
+
+        for (int vertex = 0; vertex < 3; ++vertex) {
+          final int base = face * 9 + vertex * 3;
+          final int v_raw = faces.get(base);
+          final int vt_raw = faces.get(base + 1);
+          final int vn_raw = faces.get(base + 2);
+
+          if (first) {
+            has_uv = vt_raw != 0;
+            has_normal = vn_raw != 0;
+            first = false;
+          } else if ((vt_raw != 0) != has_uv || (vn_raw != 0) != has_normal) {
+            this.error(
+              this.position(line, 0),
+              "All face vertices must reference the same kinds of data",
+              Optional.empty());
+            return;
+          }
+
+          int v = v_raw - 1;
+          if (v_raw < 0) {
+            v = position_bases[index] + relatives.get(relative) + v_raw;
+            ++relative;
+          }
+          int vt = vt_raw - 1;
+          if (vt_raw < 0) {
+            vt = uv_bases[index] + relatives.get(relative) + vt_raw;
+            ++relative;
+          }
+          int vn = vn_raw - 1;
+          if (vn_raw < 0) {
+            vn = normal_bases[index] + relatives.get(relative) + vn_raw;
+            ++relative;
+          }
+
+          if (v < 0 || v >= position_count
+            || (has_uv && (vt < 0 || vt >= uv_count))
+            || (has_normal && (vn < 0 || vn >= normal_count))) {
+            this.error(
+              this.position(line, 0),
+              "Face refers to a nonexistent position, normal, or texture coordinate",
+              Optional.empty());
+            return;
+          }
+
+          final int created = vertex_positions.size();
+          final int existing =
+            vertex_mappings.putIfAbsent(v, vt, vn, created);
+          if (existing != -1) {
+            triangles.add(existing);
+          } else {
+            vertex_positions.add(v);
+            vertex_normals.add(vn);
+            vertex_uvs.add(vt);
+            triangles.add(created);
+          }
+        }
+      }
+    }
+
+    LOG.debug(
+      "merged {} positions into {} vertices",
+      Integer.valueOf(position_count),
+      Integer.valueOf(vertex_positions.size()));
+
+    this.events.onWarning(SMFOBJHeaders.coordinateSystemWarning());
+
+    final int vertex_count = vertex_positions.size();
+    final SMFHeader header =
+      SMFOBJHeaders.header(
+        (long) vertex_count,
+        (long) (triangles.size() / 3),
+        true,
+        has_normal,
+        has_uv);
+
+    final Optional<SMFParserEventsHeaderType> events_header_opt =
+      this.events.onVersionReceived(SMFFormatVersion.of(1, 0));
+    if (events_header_opt.isEmpty()) {
+      return;
+    }
+
+    final Optional<SMFParserEventsBodyType> events_data_opt =
+      events_header_opt.get().onHeaderParsed(header);
+    if (events_data_opt.isEmpty()) {
+      return;
+    }
+
+    final SMFParserEventsBodyType events_data = events_data_opt.get();
+    if (vertex_count > 0) {
+      final SMFParserEventsDataAttributesNonInterleavedType events_ni =
+        events_data.onAttributesNonInterleaved().get();
+
+      deliverAttribute(
+        events_ni.onDataAttributeStart(SMFOBJHeaders.ATTRIBUTE_POSITION),
+        chunks,
+        position_bases,
+        vertex_positions,
+        Components.THREE_POSITIONS);
+
+      if (has_normal) {
+        deliverAttribute(
+          events_ni.onDataAttributeStart(SMFOBJHeaders.ATTRIBUTE_NORMAL),
+          chunks,
+          normal_bases,
+          vertex_normals,
+          Components.THREE_NORMALS);
+      }
+
+      if (has_uv) {
+        deliverAttribute(
+          events_ni.onDataAttributeStart(SMFOBJHeaders.ATTRIBUTE_UV),
+          chunks,
+          uv_bases,
+          vertex_uvs,
+          Components.TWO_UVS);
+      }
+    }
+
+    if (triangles.size() > 0) {
+      final Optional<SMFParserEventsDataTrianglesType> events_tri_opt =
+        events_data.onTriangles();
+      if (events_tri_opt.isPresent()) {
+        final SMFParserEventsDataTrianglesType events_tri =
+          events_tri_opt.get();
+        try {
+          for (int index = 0; index < triangles.size(); index += 3) {
+            events_tri.onDataTriangle(
+              (long) triangles.get(index),
+              (long) triangles.get(index + 1),
+              (long) triangles.get(index + 2));
+          }
+        } finally {
+          events_tri.onDataTrianglesFinish();
+        }
+      }
+    }
+  }
+
+  private static void deliverAttribute(
+    final Optional<SMFParserEventsDataAttributeValuesType> events_opt,
+    final List<SMFOBJChunk> chunks,
+    final int[] bases,
+    final SMFOBJIntArray vertex_elements,
+    final Components components)
+  {
+    if (events_opt.isEmpty()) {
+      return;
+    }
+
+    final SMFParserEventsDataAttributeValuesType data_events = events_opt.get();
+    try {
+      for (int vertex = 0; vertex < vertex_elements.size(); ++vertex) {
+        final int element = vertex_elements.get(vertex);
+        final int chunk_index = chunkOf(bases, element);
+        final SMFOBJChunk chunk = chunks.get(chunk_index);
+        final int local = element - bases[chunk_index];
+
+        switch (components) {
+          case THREE_POSITIONS: {
+            final SMFOBJDoubleArray data = chunk.positions();
+            data_events.onDataAttributeValueFloat3(
+              data.get(local * 3),
+              data.get(local * 3 + 1),
+              data.get(local * 3 + 2));
+            break;
+          }
+          case THREE_NORMALS: {
+            final SMFOBJDoubleArray data = chunk.normals();
+            data_events.onDataAttributeValueFloat3(
+              data.get(local * 3),
+              data.get(local * 3 + 1),
+              data.get(local * 3 + 2));
+            break;
+          }
+          case TWO_UVS: {
+            final SMFOBJDoubleArray data = chunk.uvs();
+            data_events.onDataAttributeValueFloat2(
+              data.get(local * 2),
+              data.get(local * 2 + 1));
+            break;
+          }
+        }
+      }
+    } finally {
+      data_events.onDataAttributeValueFinish();
+    }
+  }
+
+  @Override
+  public void close()
+  {
+
+  }
+
+  private enum Components
+  {
+    THREE_POSITIONS,
+    THREE_NORMALS,
+    TWO_UVS
+  }
+}
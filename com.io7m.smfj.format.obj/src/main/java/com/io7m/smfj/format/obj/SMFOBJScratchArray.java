@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A {@code long}-indexed array of fixed-width values held in a temporary
+ * memory-mapped file. The file is mapped in fixed-size pages on demand, and
+ * grows as pages beyond the current end of the file are mapped. Unwritten
+ * parts of the array read as zero. An array should be accessed with values
+ * of a single width; the accessors take element indices, not byte offsets.
+ *
+ * I/O errors raised when mapping pages are thrown as
+ * {@link UncheckedIOException}.
+ */
+
+final class SMFOBJScratchArray implements Closeable
+{
+  private static final int PAGE_SHIFT = 24;
+  private static final long PAGE_SIZE = 1L << PAGE_SHIFT;
+  private static final int PAGE_MASK = (int) (PAGE_SIZE - 1L);
+
+  private final FileChannel channel;
+  private final List<MappedByteBuffer> pages;
+
+  private SMFOBJScratchArray(
+    final FileChannel in_channel)
+  {
+    this.channel = Objects.requireNonNull(in_channel, "Channel");
+    this.pages = new ArrayList<>(8);
+  }
+
+  /**
+   * Create a new array backed by a temporary file in {@code directory}. The
+   * file is deleted when the array is closed.
+   *
+   * @param directory The directory that will contain the file
+   *
+   * @return A new array
+   *
+   * @throws IOException On I/O errors
+   */
+
+  static SMFOBJScratchArray create(
+    final Path directory)
+    throws IOException
+  {
+    Objects.requireNonNull(directory, "Directory");
+    final Path file = Files.createTempFile(directory, "smfj-obj-", ".scratch");
+    return new SMFOBJScratchArray(
+      FileChannel.open(file, READ, WRITE, DELETE_ON_CLOSE));
+  }
+
+  private static int within(
+    final long offset)
+  {
+    return (int) offset & PAGE_MASK;
+  }
+
+  private MappedByteBuffer page(
+    final long offset)
+  {
+    final int index = Math.toIntExact(offset >>> PAGE_SHIFT);
+    while (this.pages.size() <= index) {
+      this.pages.add(null);
+    }
+
+    MappedByteBuffer page = this.pages.get(index);
+    if (page == null) {
+      try {
+        page = this.channel.map(
+          FileChannel.MapMode.READ_WRITE, (long) index * PAGE_SIZE, PAGE_SIZE);
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      page.order(ByteOrder.nativeOrder());
+      this.pages.set(index, page);
+    }
+    return page;
+  }
+
+  int getInt(
+    final long index)
+  {
+    final long offset = index << 2;
+    return this.page(offset).getInt(within(offset));
+  }
+
+  void putInt(
+    final long index,
+    final int value)
+  {
+    final long offset = index << 2;
+    this.page(offset).putInt(within(offset), value);
+  }
+
+  long getLong(
+    final long index)
+  {
+    final long offset = index << 3;
+    return this.page(offset).getLong(within(offset));
+  }
+
+  void putLong(
+    final long index,
+    final long value)
+  {
+    final long offset = index << 3;
+    this.page(offset).putLong(within(offset), value);
+  }
+
+  double getDouble(
+    final long index)
+  {
+    final long offset = index << 3;
+    return this.page(offset).getDouble(within(offset));
+  }
+
+  void putDouble(
+    final long index,
+    final double value)
+  {
+    final long offset = index << 3;
+    this.page(offset).putDouble(within(offset), value);
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    this.pages.clear();
+    this.channel.close();
+  }
+}
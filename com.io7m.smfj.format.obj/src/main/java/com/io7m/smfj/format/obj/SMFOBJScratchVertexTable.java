@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * An open-addressing hash table mapping (position, uv, normal) index
+ * triples to vertex indices, held in temporary memory-mapped files. The
+ * table has the same semantics as {@link SMFOBJVertexTable}, but its size is
+ * not limited by the heap.
+ *
+ * Each slot occupies two {@code long} values: the packed position and uv
+ * indices, and the normal index packed with the vertex index plus one.
+ * Unwritten parts of a scratch array read as zero, so a zero second value
+ * denotes an empty slot.
+ */
+
+final class SMFOBJScratchVertexTable implements Closeable
+{
+  private static final int EMPTY = -1;
+  private static final long MAXIMUM_CAPACITY = 1L << 32;
+
+  private final Path directory;
+  private SMFOBJScratchArray slots;
+  private long mask;
+  private long capacity;
+  private long size;
+
+  SMFOBJScratchVertexTable(
+    final Path in_directory)
+    throws IOException
+  {
+    this.directory = Objects.requireNonNull(in_directory, "Directory");
+    this.capacity = 1L << 16;
+    this.mask = this.capacity - 1L;
+    this.slots = SMFOBJScratchArray.create(this.directory);
+  }
+
+  private static long packValue(
+    final int normal,
+    final int vertex)
+  {
+    return ((long) normal << 32) | ((long) vertex + 1L);
+  }
+
+  /**
+   * Find the vertex for the given triple, associating {@code vertex} with the
+   * triple if no vertex is already associated with it.
+   *
+   * @param position The position index
+   * @param uv       The uv index, or {@code -1}
+   * @param normal   The normal index, or {@code -1}
+   * @param vertex   The (non-negative) vertex to associate with the triple
+   *
+   * @return The existing vertex, or {@code -1} if {@code vertex} was added
+   *
+   * @throws IOException On I/O errors
+   */
+
+  int putIfAbsent(
+    final int position,
+    final int uv,
+    final int normal,
+    final int vertex)
+    throws IOException
+  {
+    final long key = SMFOBJVertexTable.pack(position, uv);
+    long slot = Integer.toUnsignedLong(SMFOBJVertexTable.hash(key, normal))
+      & this.mask;
+    while (true) {
+      final long value = this.slots.getLong(slot * 2L + 1L);
+      if (value == 0L) {
+        break;
+      }
+      if (this.slots.getLong(slot * 2L) == key
+        && (int) (value >> 32) == normal) {
+        return (int) (value & 0xffff_ffffL) - 1;
+      }
+      slot = (slot + 1L) & this.mask;
+    }
+
+    this.slots.putLong(slot * 2L, key);
+    this.slots.putLong(slot * 2L + 1L, packValue(normal, vertex));
+    ++this.size;
+
+    if (this.size > (this.capacity >>> 1) + (this.capacity >>> 2)) {
+      this.grow();
+    }
+    return EMPTY;
+  }
+
+  private void grow()
+    throws IOException
+  {
+    if (this.capacity >= MAXIMUM_CAPACITY) {
+      throw new IllegalStateException("Vertex table capacity exceeded");
+    }
+
+    final SMFOBJScratchArray old_slots = this.slots;
+    final long old_capacity = this.capacity;
+    final SMFOBJScratchArray new_slots =
+      SMFOBJScratchArray.create(this.directory);
+
+    try (old_slots) {
+      this.capacity = old_capacity << 1;
+      this.mask = this.capacity - 1L;
+      this.slots = new_slots;
+
+      for (long index = 0L; index < old_capacity; ++index) {
+        final long value = old_slots.getLong(index * 2L + 1L);
+        if (value != 0L) {
+          final long key = old_slots.getLong(index * 2L);
+          final int normal = (int) (value >> 32);
+          long slot =
+            Integer.toUnsignedLong(SMFOBJVertexTable.hash(key, normal))
+              & this.mask;
+          while (new_slots.getLong(slot * 2L + 1L) != 0L) {
+            slot = (slot + 1L) & this.mask;
+          }
+          new_slots.putLong(slot * 2L, key);
+          new_slots.putLong(slot * 2L + 1L, value);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return The number of triples in the table
+   */
+
+  long size()
+  {
+    return this.size;
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    this.slots.close();
+  }
+}
@@ -0,0 +1,724 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFComponentType;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
+import com.io7m.smfj.serializer.api.SMFSerializerDataAttributesNonInterleavedType;
+import com.io7m.smfj.serializer.api.SMFSerializerDataAttributesValuesType;
+import com.io7m.smfj.serializer.api.SMFSerializerDataTrianglesType;
+import com.io7m.smfj.serializer.api.SMFSerializerType;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static com.io7m.smfj.core.SMFComponentType.ELEMENT_TYPE_FLOATING;
+import static com.io7m.smfj.core.SMFComponentType.ELEMENT_TYPE_INTEGER_SIGNED;
+import static com.io7m.smfj.core.SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED;
+
+/**
+ * A serializer that produces Wavefront OBJ files.
+ *
+ * The {@code POSITION}, {@code NORMAL}, and {@code UV:0} attributes (the
+ * attributes produced by {@link SMFOBJImporter}) are written as {@code v},
+ * {@code vn}, and {@code vt} records as their values arrive, and each
+ * triangle is written as an {@code f} record in which each vertex uses the
+ * same index for all of its elements. Values of other attributes, and
+ * metadata, are accepted and discarded. Coordinates are written as they are
+ * given; no coordinate system conversion is performed.
+ *
+ * Values are formatted directly into a reusable character buffer, and
+ * attributes with components of 32 bits or fewer are written in the
+ * shortest decimal form that identifies the {@code float} value.
+ */
+
+public final class SMFOBJSerializer implements SMFSerializerType
+{
+  private static final int BUFFER_SIZE = 8192;
+
+  private final OutputStream stream;
+  private final StringBuilder text;
+  private byte[] bytes;
+  private boolean done_header;
+  private boolean done_vertices;
+  private boolean done_triangles;
+  private SMFHeader header;
+  private Elements triangle_elements;
+
+  /**
+   * Construct a serializer.
+   *
+   * @param in_uri    The URI of the target, for diagnostic purposes
+   * @param in_stream An output stream
+   */
+
+  public SMFOBJSerializer(
+    final URI in_uri,
+    final OutputStream in_stream)
+  {
+    Objects.requireNonNull(in_uri, "URI");
+    this.stream = Objects.requireNonNull(in_stream, "Stream");
+    this.text = new StringBuilder(BUFFER_SIZE + 256);
+    this.bytes = new byte[BUFFER_SIZE + 256];
+  }
+
+  private static boolean isFloating(
+    final SMFAttribute attribute,
+    final int count)
+  {
+    return attribute.componentType() == ELEMENT_TYPE_FLOATING
+      && attribute.componentCount() == count;
+  }
+
+  private static Record recordFor(
+    final SMFAttribute attribute)
+  {
+    final SMFAttributeName name = attribute.name();
+    if (Objects.equals(name, SMFOBJHeaders.ATTRIBUTE_POSITION.name())) {
+      return Record.RECORD_V;
+    }
+    if (Objects.equals(name, SMFOBJHeaders.ATTRIBUTE_NORMAL.name())) {
+      return Record.RECORD_VN;
+    }
+    if (Objects.equals(name, SMFOBJHeaders.ATTRIBUTE_UV.name())) {
+      return Record.RECORD_VT;
+    }
+    return Record.RECORD_NONE;
+  }
+
+  private static void checkShape(
+    final SMFAttribute attribute,
+    final int count)
+    throws IOException
+  {
+    if (!isFloating(attribute, count)) {
+      final String text =
+        new StringBuilder(128)
+          .append("Attribute cannot be represented in OBJ files.")
+          .append(System.lineSeparator())
+          .append("  Attribute name: ")
+          .append(attribute.name().value())
+          .append(System.lineSeparator())
+          .append("  Attribute type: ")
+          .append(attribute.componentType().getName())
+          .append(" ")
+          .append(attribute.componentCount())
+          .append(System.lineSeparator())
+          .append("  Expected type: ")
+          .append(ELEMENT_TYPE_FLOATING.getName())
+          .append(" ")
+          .append(count)
+          .append(System.lineSeparator())
+          .toString();
+      throw new IOException(text);
+    }
+  }
+
+  @Override
+  public void serializeHeader(
+    final SMFHeader in_header)
+    throws IOException
+  {
+    Objects.requireNonNull(in_header, "Header");
+
+    if (this.done_header) {
+      throw new IllegalStateException("Header has already been serialized");
+    }
+
+    boolean has_position = false;
+    boolean has_normal = false;
+    boolean has_uv = false;
+    for (final SMFAttribute attribute : in_header.attributesInOrder()) {
+      switch (recordFor(attribute)) {
+        case RECORD_V:
+          checkShape(attribute, 3);
+          has_position = true;
+          break;
+        case RECORD_VN:
+          checkShape(attribute, 3);
+          has_normal = true;
+          break;
+        case RECORD_VT:
+          checkShape(attribute, 2);
+          has_uv = true;
+          break;
+        case RECORD_NONE:
+          break;
+      }
+    }
+
+    if (!has_position && in_header.triangles().triangleCount() > 0L) {
+      throw new IOException(
+        "OBJ files require a POSITION attribute in order to express triangles");
+    }
+
+    this.triangle_elements = Elements.of(has_uv, has_normal);
+    this.header = in_header;
+    this.done_header = true;
+
+    this.text.append("# OBJ file");
+    this.endLine();
+    this.text.append("# Vertices: ");
+    this.text.append(in_header.vertexCount());
+    this.endLine();
+    this.text.append("# Triangles: ");
+    this.text.append(in_header.triangles().triangleCount());
+    this.endLine();
+  }
+
+  private void endLine()
+    throws IOException
+  {
+    this.text.append('\n');
+    if (this.text.length() >= BUFFER_SIZE) {
+      this.flushText();
+    }
+  }
+
+  /**
+   * Transfer the buffered text to the output stream. Everything that the
+   * serializer writes is ASCII, so characters are narrowed directly to
+   * bytes.
+   */
+
+  private void flushText()
+    throws IOException
+  {
+    final int length = this.text.length();
+    if (this.bytes.length < length) {
+      this.bytes = new byte[length];
+    }
+    for (int index = 0; index < length; ++index) {
+      this.bytes[index] = (byte) this.text.charAt(index);
+    }
+    this.stream.write(this.bytes, 0, length);
+    this.text.setLength(0);
+  }
+
+  @Override
+  public SMFSerializerDataAttributesNonInterleavedType serializeVertexDataNonInterleavedStart()
+  {
+    if (!this.done_header) {
+      throw new IllegalStateException("Header has not yet been serialized");
+    }
+    if (this.done_vertices) {
+      throw new IllegalStateException("Vertices have already been serialized");
+    }
+
+    this.done_vertices = true;
+    return new VertexDataNonInterleaved();
+  }
+
+  @Override
+  public SMFSerializerDataTrianglesType serializeTrianglesStart()
+  {
+    if (!this.done_header) {
+      throw new IllegalStateException("Header has not yet been serialized");
+    }
+    if (this.done_triangles) {
+      throw new IllegalStateException("Triangles have already been serialized");
+    }
+
+    this.done_triangles = true;
+    return new Triangles();
+  }
+
+  @Override
+  public void serializeMetadata(
+    final SMFSchemaIdentifier schema,
+    final byte[] data)
+    throws IllegalStateException
+  {
+    Objects.requireNonNull(schema, "Schema");
+    Objects.requireNonNull(data, "Data");
+
+    if (!this.done_header) {
+      throw new IllegalStateException("Header has not yet been serialized");
+    }
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    this.flushText();
+    this.stream.flush();
+    this.stream.close();
+  }
+
+  /**
+   * The OBJ record used for the values of an attribute.
+   */
+
+  private enum Record
+  {
+    RECORD_V,
+    RECORD_VN,
+    RECORD_VT,
+    RECORD_NONE
+  }
+
+  /**
+   * The elements referenced by each vertex of an {@code f} record.
+   */
+
+  private enum Elements
+  {
+    ELEMENTS_V,
+    ELEMENTS_V_VT,
+    ELEMENTS_V_VN,
+    ELEMENTS_V_VT_VN;
+
+    static Elements of(
+      final boolean has_uv,
+      final boolean has_normal)
+    {
+      if (has_uv) {
+        return has_normal ? ELEMENTS_V_VT_VN : ELEMENTS_V_VT;
+      }
+      return has_normal ? ELEMENTS_V_VN : ELEMENTS_V;
+    }
+  }
+
+  private final class VertexDataNonInterleaved
+    implements SMFSerializerDataAttributesNonInterleavedType
+  {
+    private final Deque<SMFAttribute> queue;
+
+    VertexDataNonInterleaved()
+    {
+      this.queue =
+        new ArrayDeque<>(SMFOBJSerializer.this.header.attributesInOrder());
+    }
+
+    @Override
+    public SMFSerializerDataAttributesValuesType serializeData(
+      final SMFAttributeName name)
+      throws IllegalArgumentException
+    {
+      Objects.requireNonNull(name, "Name");
+
+      if (this.queue.isEmpty()) {
+        throw new IllegalStateException("No more attributes to serialize.");
+      }
+
+      final SMFAttribute head = this.queue.peek();
+      if (!Objects.equals(head.name(), name)) {
+        final String text =
+          new StringBuilder(128)
+            .append("Attempted to serialize attributes in the wrong order.")
+            .append(System.lineSeparator())
+            .append("  Expected: ")
+            .append(head.name().value())
+            .append(System.lineSeparator())
+            .append("  Received: ")
+            .append(name.value())
+            .append(System.lineSeparator())
+            .toString();
+        throw new IllegalStateException(text);
+      }
+
+      return new Values(
+        SMFOBJSerializer.this.header.vertexCount(), this.queue.poll());
+    }
+
+    @Override
+    public void close()
+    {
+      if (!this.queue.isEmpty()) {
+        final StringBuilder sb = new StringBuilder(128);
+        sb.append("Some attributes were not serialized.");
+        sb.append(System.lineSeparator());
+        sb.append("  Missed attributes: ");
+        sb.append(this.queue.stream().map(a -> a.name().value()).collect(
+          Collectors.joining(" ")));
+        sb.append(System.lineSeparator());
+        throw new IllegalStateException(sb.toString());
+      }
+    }
+  }
+
+  private final class Values implements SMFSerializerDataAttributesValuesType
+  {
+    private final SMFAttribute attribute;
+    private final Record record;
+    private final boolean single;
+    private long vertices;
+
+    Values(
+      final long in_vertices,
+      final SMFAttribute in_attribute)
+    {
+      this.vertices = in_vertices;
+      this.attribute = Objects.requireNonNull(in_attribute, "Attribute");
+      this.record = recordFor(in_attribute);
+      this.single = in_attribute.componentSizeBits() <= 32;
+    }
+
+    private void checkType(
+      final SMFComponentType tried_component_type,
+      final int tried_component_count)
+    {
+      if (this.attribute.componentType() == tried_component_type
+        && this.attribute.componentCount() == tried_component_count) {
+        return;
+      }
+
+      final String text =
+        new StringBuilder(128)
+          .append("Incorrect value type.")
+          .append(System.lineSeparator())
+          .append("  Attribute name: ")
+          .append(this.attribute.name().value())
+          .append(System.lineSeparator())
+          .append("  Attribute type: ")
+          .append(this.attribute.componentType().getName())
+          .append(" ")
+          .append(this.attribute.componentCount())
+          .append(System.lineSeparator())
+          .append("  Received type: ")
+          .append(tried_component_type.getName())
+          .append(" ")
+          .append(tried_component_count)
+          .append(System.lineSeparator())
+          .toString();
+      throw new IllegalArgumentException(text);
+    }
+
+    private void checkVerticesRemaining()
+    {
+      if (Long.compareUnsigned(this.vertices, 0L) <= 0) {
+        final String text =
+          new StringBuilder(128)
+            .append("Attempted to serialize too many vertices.")
+            .append(System.lineSeparator())
+            .append("  Attribute name: ")
+            .append(this.attribute.name().value())
+            .append(System.lineSeparator())
+            .append("  Remaining vertices: ")
+            .append(this.vertices)
+            .append(System.lineSeparator())
+            .toString();
+        throw new IllegalStateException(text);
+      }
+
+      this.vertices = Math.subtractExact(this.vertices, 1L);
+    }
+
+    private void start()
+    {
+      final StringBuilder text = SMFOBJSerializer.this.text;
+      switch (this.record) {
+        case RECORD_V:
+          text.append("v");
+          break;
+        case RECORD_VN:
+          text.append("vn");
+          break;
+        case RECORD_VT:
+          text.append("vt");
+          break;
+        case RECORD_NONE:
+          break;
+      }
+    }
+
+    private void component(
+      final double x)
+      throws IOException
+    {
+      final boolean finite;
+      if (this.single) {
+        finite = Float.isFinite((float) x);
+      } else {
+        finite = Double.isFinite(x);
+      }
+
+      if (!finite) {
+        final String text =
+          new StringBuilder(128)
+            .append("Value cannot be represented in OBJ files.")
+            .append(System.lineSeparator())
+            .append("  Attribute name: ")
+            .append(this.attribute.name().value())
+            .append(System.lineSeparator())
+            .append("  Value: ")
+            .append(x)
+            .append(System.lineSeparator())
+            .toString();
+        throw new IOException(text);
+      }
+
+      final StringBuilder text = SMFOBJSerializer.this.text;
+      text.append(' ');
+      if (this.single) {
+        text.append((float) x);
+      } else {
+        text.append(x);
+      }
+    }
+
+    @Override
+    public void serializeValueFloat4(
+      final double x,
+      final double y,
+      final double z,
+      final double w)
+      throws IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_FLOATING, 4);
+      this.checkVerticesRemaining();
+    }
+
+    @Override
+    public void serializeValueFloat3(
+      final double x,
+      final double y,
+      final double z)
+      throws IOException, IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_FLOATING, 3);
+      this.checkVerticesRemaining();
+
+      if (this.record != Record.RECORD_NONE) {
+        this.start();
+        this.component(x);
+        this.component(y);
+        this.component(z);
+        SMFOBJSerializer.this.endLine();
+      }
+    }
+
+    @Override
+    public void serializeValueFloat2(
+      final double x,
+      final double y)
+      throws IOException, IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_FLOATING, 2);
+      this.checkVerticesRemaining();
+
+      if (this.record != Record.RECORD_NONE) {
+        this.start();
+        this.component(x);
+        this.component(y);
+        SMFOBJSerializer.this.endLine();
+      }
+    }
+
+    @Override
+    public void serializeValueFloat1(
+      final double x)
+      throws IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_FLOATING, 1);
+      this.checkVerticesRemaining();
+    }
+
+    @Override
+    public void serializeValueIntegerSigned4(
+      final long x,
+      final long y,
+      final long z,
+      final long w)
+      throws IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_INTEGER_SIGNED, 4);
+      this.checkVerticesRemaining();
+    }
+
+    @Override
+    public void serializeValueIntegerSigned3(
+      final long x,
+      final long y,
+      final long z)
+      throws IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_INTEGER_SIGNED, 3);
+      this.checkVerticesRemaining();
+    }
+
+    @Override
+    public void serializeValueIntegerSigned2(
+      final long x,
+      final long y)
+      throws IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_INTEGER_SIGNED, 2);
+      this.checkVerticesRemaining();
+    }
+
+    @Override
+    public void serializeValueIntegerSigned1(
+      final long x)
+      throws IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_INTEGER_SIGNED, 1);
+      this.checkVerticesRemaining();
+    }
+
+    @Override
+    public void serializeValueIntegerUnsigned4(
+      final long x,
+      final long y,
+      final long z,
+      final long w)
+      throws IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_INTEGER_UNSIGNED, 4);
+      this.checkVerticesRemaining();
+    }
+
+    @Override
+    public void serializeValueIntegerUnsigned3(
+      final long x,
+      final long y,
+      final long z)
+      throws IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_INTEGER_UNSIGNED, 3);
+      this.checkVerticesRemaining();
+    }
+
+    @Override
+    public void serializeValueIntegerUnsigned2(
+      final long x,
+      final long y)
+      throws IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_INTEGER_UNSIGNED, 2);
+      this.checkVerticesRemaining();
+    }
+
+    @Override
+    public void serializeValueIntegerUnsigned1(
+      final long x)
+      throws IllegalArgumentException
+    {
+      this.checkType(ELEMENT_TYPE_INTEGER_UNSIGNED, 1);
+      this.checkVerticesRemaining();
+    }
+
+    @Override
+    public void close()
+    {
+      if (this.vertices > 0L) {
+        final String text =
+          new StringBuilder(128)
+            .append("Failed to serialize the correct number of vertices.")
+            .append(System.lineSeparator())
+            .append("  Attribute name: ")
+            .append(this.attribute.name().value())
+            .append(System.lineSeparator())
+            .append("  Remaining vertices: ")
+            .append(this.vertices)
+            .append(System.lineSeparator())
+            .toString();
+        throw new IllegalStateException(text);
+      }
+    }
+  }
+
+  private final class Triangles implements SMFSerializerDataTrianglesType
+  {
+    private long remaining;
+
+    Triangles()
+    {
+      this.remaining =
+        SMFOBJSerializer.this.header.triangles().triangleCount();
+    }
+
+    private void vertex(
+      final long index)
+    {
+      final StringBuilder text = SMFOBJSerializer.this.text;
+      final long reference = index + 1L;
+      text.append(' ');
+      text.append(reference);
+      switch (SMFOBJSerializer.this.triangle_elements) {
+        case ELEMENTS_V:
+          break;
+        case ELEMENTS_V_VT:
+          text.append('/');
+          text.append(reference);
+          break;
+        case ELEMENTS_V_VN:
+          text.append("//");
+          text.append(reference);
+          break;
+        case ELEMENTS_V_VT_VN:
+          text.append('/');
+          text.append(reference);
+          text.append('/');
+          text.append(reference);
+          break;
+      }
+    }
+
+    @Override
+    public void serializeTriangle(
+      final long v0,
+      final long v1,
+      final long v2)
+      throws IOException, IllegalStateException
+    {
+      if (Long.compareUnsigned(this.remaining, 0L) <= 0) {
+        final String text =
+          new StringBuilder(128)
+            .append("Attempted to serialize too many triangles.")
+            .append(System.lineSeparator())
+            .append("  Remaining triangles: ")
+            .append(this.remaining)
+            .append(System.lineSeparator())
+            .toString();
+        throw new IllegalStateException(text);
+      }
+
+      SMFOBJSerializer.this.text.append('f');
+      this.vertex(v0);
+      this.vertex(v1);
+      this.vertex(v2);
+      SMFOBJSerializer.this.endLine();
+
+      this.remaining = Math.subtractExact(this.remaining, 1L);
+    }
+
+    @Override
+    public void close()
+    {
+      if (Long.compareUnsigned(this.remaining, 0L) > 0) {
+        final String text =
+          new StringBuilder(128)
+            .append("Attempted to serialize too few triangles.")
+            .append(System.lineSeparator())
+            .append("  Remaining triangles: ")
+            .append(this.remaining)
+            .append(System.lineSeparator())
+            .toString();
+        throw new IllegalStateException(text);
+      }
+    }
+  }
+}
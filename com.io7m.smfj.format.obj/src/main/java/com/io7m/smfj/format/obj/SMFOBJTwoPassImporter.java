@@ -0,0 +1,562 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jlexing.core.LexicalPositions;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.parser.api.SMFParseError;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataTrianglesType;
+import com.io7m.smfj.parser.api.SMFParserEventsHeaderType;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
+import com.io7m.smfj.parser.api.SMFParserSequentialType;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An OBJ importer that uses a bounded amount of heap memory.
+ *
+ * The first pass scans the file, writing the decoded {@code v}, {@code vn},
+ * and {@code vt} records, the deduplicated (position, uv, normal) triple of
+ * each vertex, and the triangles into temporary memory-mapped scratch files.
+ * The second pass delivers the header, and then streams attribute values and
+ * triangles from the scratch files into the event receiver. The scratch
+ * files are deleted when parsing completes. Unlike {@link SMFOBJImporter},
+ * the importer requires a file channel rather than a stream, and only
+ * supports triangular faces.
+ */
+
+public final class SMFOBJTwoPassImporter implements SMFParserSequentialType
+{
+  private static final int WINDOW_SIZE = 32 * 1024 * 1024;
+
+  private static final Logger LOG;
+
+  static {
+    LOG = LoggerFactory.getLogger(SMFOBJTwoPassImporter.class);
+  }
+
+  private final URI uri;
+  private final FileChannel channel;
+  private final SMFParserEventsType events;
+  private final Path scratch_directory;
+  private boolean failed;
+
+  private SMFOBJTwoPassImporter(
+    final URI in_uri,
+    final FileChannel in_channel,
+    final SMFParserEventsType in_events,
+    final Path in_scratch_directory)
+  {
+    this.uri = Objects.requireNonNull(in_uri, "URI");
+    this.channel = Objects.requireNonNull(in_channel, "Channel");
+    this.events = Objects.requireNonNull(in_events, "Events");
+    this.scratch_directory =
+      Objects.requireNonNull(in_scratch_directory, "Scratch directory");
+  }
+
+  /**
+   * Create a new two-pass OBJ importer.
+   *
+   * @param in_uri               The URI of the file
+   * @param in_channel           The file channel
+   * @param in_events            An event receiver
+   * @param in_scratch_directory The directory that will hold scratch files
+   *
+   * @return A new importer
+   */
+
+  public static SMFParserSequentialType create(
+    final URI in_uri,
+    final FileChannel in_channel,
+    final SMFParserEventsType in_events,
+    final Path in_scratch_directory)
+  {
+    return new SMFOBJTwoPassImporter(
+      in_uri, in_channel, in_events, in_scratch_directory);
+  }
+
+  @Override
+  public void parse()
+  {
+    this.events.onStart();
+    try (Scratch scratch = new Scratch(this.scratch_directory)) {
+      final PassOne pass = new PassOne(scratch);
+      this.passOne(pass);
+      if (!this.failed) {
+        pass.checkRanges();
+      }
+      if (!this.failed) {
+        this.passTwo(pass);
+      }
+    } catch (final UncheckedIOException e) {
+      this.error(
+        LexicalPositions.zero(), e.getCause().getMessage(), Optional.of(e));
+    } catch (final IOException e) {
+      this.error(LexicalPositions.zero(), e.getMessage(), Optional.of(e));
+    } catch (final ArithmeticException | IllegalStateException e) {
+      this.error(LexicalPositions.zero(), e.getMessage(), Optional.of(e));
+    } finally {
+      this.events.onFinish();
+    }
+  }
+
+  private void error(
+    final LexicalPosition<URI> position,
+    final String message,
+    final Optional<Exception> exception)
+  {
+    this.failed = true;
+    this.events.onError(SMFParseError.of(position, message, exception));
+  }
+
+  private LexicalPosition<URI> position(
+    final int line,
+    final int column)
+  {
+    return LexicalPosition.of(line, column, Optional.of(this.uri));
+  }
+
+  private void passOne(
+    final PassOne pass)
+    throws IOException
+  {
+    final SMFOBJLineParser parser = new SMFOBJLineParser();
+    final long size = this.channel.size();
+
+    long start = 0L;
+    while (start < size) {
+      final long end =
+        SMFOBJLineParser.chunkEnd(this.channel, start, size, WINDOW_SIZE);
+      final long length = end - start;
+      if (length > (long) Integer.MAX_VALUE) {
+        throw new IOException(
+          String.format(
+            "Line starting near offset %d is too long", Long.valueOf(start)));
+      }
+
+      final MappedByteBuffer map =
+        this.channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+      pass.line_base = Math.addExact(pass.line_base, parser.parse(map, pass));
+      start = end;
+    }
+
+    LOG.debug(
+      "merged {} positions into {} vertices",
+      Integer.valueOf(pass.position_count),
+      Integer.valueOf(pass.vertex_count));
+  }
+
+  private void passTwo(
+    final PassOne pass)
+  {
+    this.events.onWarning(SMFOBJHeaders.coordinateSystemWarning());
+
+    final Scratch scratch = pass.scratch;
+    final int vertex_count = pass.vertex_count;
+    final SMFHeader header =
+      SMFOBJHeaders.header(
+        (long) vertex_count,
+        pass.triangle_count,
+        true,
+        pass.has_normal,
+        pass.has_uv);
+
+    final Optional<SMFParserEventsHeaderType> events_header_opt =
+      this.events.onVersionReceived(SMFFormatVersion.of(1, 0));
+    if (events_header_opt.isEmpty()) {
+      return;
+    }
+
+    final Optional<SMFParserEventsBodyType> events_data_opt =
+      events_header_opt.get().onHeaderParsed(header);
+    if (events_data_opt.isEmpty()) {
+      return;
+    }
+
+    final SMFParserEventsBodyType events_data = events_data_opt.get();
+    if (vertex_count > 0) {
+      final SMFParserEventsDataAttributesNonInterleavedType events_ni =
+        events_data.onAttributesNonInterleaved().get();
+
+      deliverAttribute(
+        events_ni.onDataAttributeStart(SMFOBJHeaders.ATTRIBUTE_POSITION),
+        scratch.vertices,
+        0,
+        vertex_count,
+        scratch.positions,
+        3);
+
+      if (pass.has_normal) {
+        deliverAttribute(
+          events_ni.onDataAttributeStart(SMFOBJHeaders.ATTRIBUTE_NORMAL),
+          scratch.vertices,
+          2,
+          vertex_count,
+          scratch.normals,
+          3);
+      }
+
+      if (pass.has_uv) {
+        deliverAttribute(
+          events_ni.onDataAttributeStart(SMFOBJHeaders.ATTRIBUTE_UV),
+          scratch.vertices,
+          1,
+          vertex_count,
+          scratch.uvs,
+          2);
+      }
+    }
+
+    if (pass.triangle_count > 0L) {
+      final Optional<SMFParserEventsDataTrianglesType> events_tri_opt =
+        events_data.onTriangles();
+      if (events_tri_opt.isPresent()) {
+        final SMFParserEventsDataTrianglesType events_tri =
+          events_tri_opt.get();
+        try {
+          final SMFOBJScratchArray triangles = scratch.triangles;
+          final long count = pass.triangle_count * 3L;
+          for (long index = 0L; index < count; index += 3L) {
+            events_tri.onDataTriangle(
+              (long) triangles.getInt(index),
+              (long) triangles.getInt(index + 1L),
+              (long) triangles.getInt(index + 2L));
+          }
+        } finally {
+          events_tri.onDataTrianglesFinish();
+        }
+      }
+    }
+  }
+
+  /**
+   * Deliver the values of one attribute. Each vertex is stored in
+   * {@code vertices} as three integers (position, uv, normal), and
+   * {@code field} selects the element index used for this attribute.
+   */
+
+  private static void deliverAttribute(
+    final Optional<SMFParserEventsDataAttributeValuesType> events_opt,
+    final SMFOBJScratchArray vertices,
+    final int field,
+    final int vertex_count,
+    final SMFOBJScratchArray data,
+    final int components)
+  {
+    if (events_opt.isEmpty()) {
+      return;
+    }
+
+    final SMFParserEventsDataAttributeValuesType data_events = events_opt.get();
+    try {
+      for (int vertex = 0; vertex < vertex_count; ++vertex) {
+        final long element =
+          (long) vertices.getInt((long) vertex * 3L + (long) field);
+        final long base = element * (long) components;
+        if (components == 3) {
+          data_events.onDataAttributeValueFloat3(
+            data.getDouble(base),
+            data.getDouble(base + 1L),
+            data.getDouble(base + 2L));
+        } else {
+          data_events.onDataAttributeValueFloat2(
+            data.getDouble(base),
+            data.getDouble(base + 1L));
+        }
+      }
+    } finally {
+      data_events.onDataAttributeValueFinish();
+    }
+  }
+
+  @Override
+  public void close()
+  {
+
+  }
+
+  /**
+   * The scratch files used during parsing.
+   */
+
+  private static final class Scratch implements AutoCloseable
+  {
+    private final SMFOBJScratchArray positions;
+    private final SMFOBJScratchArray normals;
+    private final SMFOBJScratchArray uvs;
+    private final SMFOBJScratchArray vertices;
+    private final SMFOBJScratchArray triangles;
+    private final SMFOBJScratchVertexTable vertex_mappings;
+
+    Scratch(
+      final Path directory)
+      throws IOException
+    {
+      this.positions = SMFOBJScratchArray.create(directory);
+      this.normals = SMFOBJScratchArray.create(directory);
+      this.uvs = SMFOBJScratchArray.create(directory);
+      this.vertices = SMFOBJScratchArray.create(directory);
+      this.triangles = SMFOBJScratchArray.create(directory);
+      this.vertex_mappings = new SMFOBJScratchVertexTable(directory);
+    }
+
+    @Override
+    public void close()
+      throws IOException
+    {
+      try (this.positions;
+           this.normals;
+           this.uvs;
+           this.vertices;
+           this.triangles;
+           this.vertex_mappings) {
+        LOG.trace("deleting scratch files");
+      }
+    }
+  }
+
+  /**
+   * The receiver of records during the first pass.
+   */
+
+  private final class PassOne implements SMFOBJLineReceiverType
+  {
+    private final Scratch scratch;
+    private final int[] resolved;
+    private int line_base;
+    private int position_count;
+    private int normal_count;
+    private int uv_count;
+    private int vertex_count;
+    private long triangle_count;
+    private boolean first;
+    private boolean has_normal;
+    private boolean has_uv;
+    private boolean faces_failed;
+    private int position_max;
+    private int position_max_line;
+    private int normal_max;
+    private int normal_max_line;
+    private int uv_max;
+    private int uv_max_line;
+
+    PassOne(
+      final Scratch in_scratch)
+    {
+      this.scratch = in_scratch;
+      this.resolved = new int[9];
+      this.first = true;
+      this.position_max = -1;
+      this.normal_max = -1;
+      this.uv_max = -1;
+    }
+
+    @Override
+    public void onPosition(
+      final double x,
+      final double y,
+      final double z)
+    {
+      final long base = (long) this.position_count * 3L;
+      this.scratch.positions.putDouble(base, x);
+      this.scratch.positions.putDouble(base + 1L, y);
+      this.scratch.positions.putDouble(base + 2L, z);
+      this.position_count = Math.incrementExact(this.position_count);
+    }
+
+    @Override
+    public void onNormal(
+      final double x,
+      final double y,
+      final double z)
+    {
+      final long base = (long) this.normal_count * 3L;
+      this.scratch.normals.putDouble(base, x);
+      this.scratch.normals.putDouble(base + 1L, y);
+      this.scratch.normals.putDouble(base + 2L, z);
+      this.normal_count = Math.incrementExact(this.normal_count);
+    }
+
+    @Override
+    public void onUV(
+      final double u,
+      final double v)
+    {
+      final long base = (long) this.uv_count * 2L;
+      this.scratch.uvs.putDouble(base, u);
+      this.scratch.uvs.putDouble(base + 1L, v);
+      this.uv_count = Math.incrementExact(this.uv_count);
+    }
+
+    @Override
+    public void onFace(
+      final int line,
+      final int[] references)
+    {
+      if (this.faces_failed) {
+        return;
+      }
+
+      final int global_line = this.line_base + line;
+      final int[] resolved = this.resolved;
+      for (int index = 0; index < 9; index += 3) {
+        final int v_raw = references[index];
+        final int vt_raw = references[index + 1];
+        final int vn_raw = references[index + 2];
+
+        if (this.first) {
+          this.has_uv = vt_raw != 0;
+          this.has_normal = vn_raw != 0;
+          this.first = false;
+        } else if ((vt_raw != 0) != this.has_uv
+          || (vn_raw != 0) != this.has_normal) {
+          this.failFaces(
+            global_line,
+            "All face vertices must reference the same kinds of data");
+          return;
+        }
+
+        final int v = SMFOBJLineParser.resolve(v_raw, this.position_count);
+        final int vt = SMFOBJLineParser.resolve(vt_raw, this.uv_count);
+        final int vn = SMFOBJLineParser.resolve(vn_raw, this.normal_count);
+        if (v < 0 || (this.has_uv && vt < 0) || (this.has_normal && vn < 0)) {
+          this.failFaces(
+            global_line,
+            "Face refers to a nonexistent position, normal, or texture coordinate");
+          return;
+        }
+
+        resolved[index] = v;
+        resolved[index + 1] = vt;
+        resolved[index + 2] = vn;
+      }
+
+      /*
+       * Absolute references may refer to elements that appear later in
+       * the file, so the largest reference of each kind is recorded and
+       * checked once the first pass has completed.
+       */
+
+      for (int index = 0; index < 9; index += 3) {
+        final int v = resolved[index];
+        final int vt = resolved[index + 1];
+        final int vn = resolved[index + 2];
+        if (v > this.position_max) {
+          this.position_max = v;
+          this.position_max_line = global_line;
+        }
+        if (vt > this.uv_max) {
+          this.uv_max = vt;
+          this.uv_max_line = global_line;
+        }
+        if (vn > this.normal_max) {
+          this.normal_max = vn;
+          this.normal_max_line = global_line;
+        }
+
+        this.scratch.triangles.putInt(
+          this.triangle_count * 3L + (long) (index / 3),
+          this.vertexFor(v, vt, vn));
+      }
+      ++this.triangle_count;
+    }
+
+    private int vertexFor(
+      final int v,
+      final int vt,
+      final int vn)
+    {
+      final int created = this.vertex_count;
+      final int existing;
+      try {
+        existing = this.scratch.vertex_mappings.putIfAbsent(v, vt, vn, created);
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+
+      if (existing != -1) {
+        return existing;
+      }
+
+      final long base = (long) created * 3L;
+      this.scratch.vertices.putInt(base, v);
+      this.scratch.vertices.putInt(base + 1L, vt);
+      this.scratch.vertices.putInt(base + 2L, vn);
+      this.vertex_count = Math.incrementExact(this.vertex_count);
+      return created;
+    }
+
+    private void failFaces(
+      final int line,
+      final String message)
+    {
+      this.faces_failed = true;
+      SMFOBJTwoPassImporter.this.error(
+        SMFOBJTwoPassImporter.this.position(line, 0), message, Optional.empty());
+    }
+
+    void checkRanges()
+    {
+      if (this.faces_failed) {
+        return;
+      }
+
+      final String message =
+        "Face refers to a nonexistent position, normal, or texture coordinate";
+      if (this.position_max >= this.position_count) {
+        this.failFaces(this.position_max_line, message);
+      } else if (this.uv_max >= this.uv_count) {
+        this.failFaces(this.uv_max_line, message);
+      } else if (this.normal_max >= this.normal_count) {
+        this.failFaces(this.normal_max_line, message);
+      }
+    }
+
+    @Override
+    public void onGroup(
+      final int line,
+      final String name)
+    {
+
+    }
+
+    @Override
+    public void onProblem(
+      final int line,
+      final int column,
+      final String message)
+    {
+      SMFOBJTwoPassImporter.this.error(
+        SMFOBJTwoPassImporter.this.position(this.line_base + line, column),
+        message,
+        Optional.empty());
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.obj;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash table mapping (position, uv, normal) index
+ * triples to vertex indices. Indices are non-negative, with {@code -1}
+ * denoting an absent uv or normal. Three 31-bit indices cannot be packed
+ * losslessly into a single {@code long}, so the position and uv indices are
+ * packed into a {@code long} key and the normal index is stored alongside
+ * it.
+ */
+
+final class SMFOBJVertexTable
+{
+  private static final int EMPTY = -1;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  private long[] keys_position_uv;
+  private int[] keys_normal;
+  private int[] values;
+  private int mask;
+  private int size;
+
+  SMFOBJVertexTable(
+    final int in_expected)
+  {
+    int capacity = 16;
+    while (capacity < MAXIMUM_CAPACITY && capacity / 2 < in_expected) {
+      capacity <<= 1;
+    }
+    this.allocate(capacity);
+  }
+
+  static long pack(
+    final int position,
+    final int uv)
+  {
+    return ((long) position << 32) | ((long) uv & 0xffff_ffffL);
+  }
+
+  static int hash(
+    final long key,
+    final int normal)
+  {
+    long h = key * 0x9e37_79b9_7f4a_7c15L + (long) normal;
+    h ^= h >>> 33;
+    h *= 0xff51_afd7_ed55_8ccdL;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+
+  private void allocate(
+    final int capacity)
+  {
+    this.keys_position_uv = new long[capacity];
+    this.keys_normal = new int[capacity];
+    this.values = new int[capacity];
+    Arrays.fill(this.values, EMPTY);
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Find the vertex for the given triple, associating {@code vertex} with the
+   * triple if no vertex is already associated with it.
+   *
+   * @param position The position index
+   * @param uv       The uv index, or {@code -1}
+   * @param normal   The normal index, or {@code -1}
+   * @param vertex   The (non-negative) vertex to associate with the triple
+   *
+   * @return The existing vertex, or {@code -1} if {@code vertex} was added
+   */
+
+  int putIfAbsent(
+    final int position,
+    final int uv,
+    final int normal,
+    final int vertex)
+  {
+    final long key = pack(position, uv);
+    int slot = hash(key, normal) & this.mask;
+    while (true) {
+      final int existing = this.values[slot];
+      if (existing == EMPTY) {
+        break;
+      }
+      if (this.keys_position_uv[slot] == key
+        && this.keys_normal[slot] == normal) {
+        return existing;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+
+    this.keys_position_uv[slot] = key;
+    this.keys_normal[slot] = normal;
+    this.values[slot] = vertex;
+    ++this.size;
+
+    if (this.size > (this.values.length >>> 1) + (this.values.length >>> 2)) {
+      this.grow();
+    }
+    return EMPTY;
+  }
+
+  private void grow()
+  {
+    final int capacity = this.values.length;
+    if (capacity >= MAXIMUM_CAPACITY) {
+      throw new IllegalStateException("Vertex table capacity exceeded");
+    }
+
+    final long[] old_keys = this.keys_position_uv;
+    final int[] old_normals = this.keys_normal;
+    final int[] old_values = this.values;
+    this.allocate(capacity << 1);
+
+    for (int index = 0; index < capacity; ++index) {
+      final int value = old_values[index];
+      if (value != EMPTY) {
+        final long key = old_keys[index];
+        final int normal = old_normals[index];
+        int slot = hash(key, normal) & this.mask;
+        while (this.values[slot] != EMPTY) {
+          slot = (slot + 1) & this.mask;
+        }
+        this.keys_position_uv[slot] = key;
+        this.keys_normal[slot] = normal;
+        this.values[slot] = value;
+      }
+    }
+  }
+
+  /**
+   * @return The number of triples in the table
+   */
+
+  int size()
+  {
+    return this.size;
+  }
+}
@@ -33,9 +33,11 @@ module com.io7m.smfj.format.obj
   requires com.io7m.jtensors.core;
   requires com.io7m.smfj.core;
   requires com.io7m.smfj.parser.api;
+  requires com.io7m.smfj.serializer.api;
   requires org.slf4j;
 
   provides com.io7m.smfj.parser.api.SMFParserProviderType with SMFFormatOBJ;
+  provides com.io7m.smfj.serializer.api.SMFSerializerProviderType with SMFFormatOBJ;
 
   exports com.io7m.smfj.format.obj;
 }
\ No newline at end of file
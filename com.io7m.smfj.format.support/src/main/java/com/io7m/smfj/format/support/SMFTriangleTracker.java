@@ -74,6 +74,19 @@ public final class SMFTriangleTracker
     this.triangleCount = Math.addExact(this.triangleCount, 1L);
   }
 
+  /**
+   * Record that the given number of triangles were present but were skipped
+   * without being inspected.
+   *
+   * @param count The number of triangles
+   */
+
+  public void addSkipped(
+    final long count)
+  {
+    this.triangleCount = Math.addExact(this.triangleCount, count);
+  }
+
   /**
    * Check that all invariants hold. If they do not, errors will be published
    * to the error receiver and {@code false} returned.
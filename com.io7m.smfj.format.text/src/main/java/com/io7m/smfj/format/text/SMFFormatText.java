@@ -75,13 +75,15 @@ public final class SMFFormatText
   private static final SMFFormatDescription FORMAT = makeFormat();
   private static final SortedSet<SMFFormatVersion> SUPPORTED = makeVersion();
 
+  private final SMFTFloatEncoding floatEncoding;
+
   private static SMFFormatDescription makeFormat()
   {
     final SMFFormatDescription.Builder b = SMFFormatDescription.builder();
     b.setDescription("A plain text encoding of SMF data");
     b.setMimeType("text/vnd.io7m.smf");
     b.setName("smf/t");
-    b.setRandomAccess(false);
+    b.setRandomAccess(true);
     b.setSuffix("smft");
     return b.build();
   }
@@ -94,12 +96,29 @@ public final class SMFFormatText
   }
 
   /**
-   * Construct a text format provider.
+   * Construct a text format provider. Serializers created by the provider
+   * write floating point values in decimal form.
    */
 
   public SMFFormatText()
   {
+    this(SMFTFloatEncoding.FLOAT_ENCODING_DECIMAL);
+  }
+
+  /**
+   * Construct a text format provider. Parsers created by the provider accept
+   * both decimal and hexadecimal floating point values regardless of the
+   * given encoding.
+   *
+   * @param in_float_encoding The encoding used by serializers for floating
+   *                          point values
+   */
 
+  public SMFFormatText(
+    final SMFTFloatEncoding in_float_encoding)
+  {
+    this.floatEncoding =
+      Objects.requireNonNull(in_float_encoding, "Float encoding");
   }
 
   private static SMFPartialLogged<SMFFormatVersion> parseSMFVersion(
@@ -190,15 +209,66 @@ public final class SMFFormatText
       in_events, SMFTLineReaderStreamIO.create(in_uri, in_stream));
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The returned parser builds an index of the file before parsing. Use
+   * {@link #parserCreateRandomAccessIndexed(SMFParserEventsType, URI,
+   * FileChannel, SMFTIndex)} to supply a previously built (or cached)
+   * index.</p>
+   */
+
   @Override
   public SMFParserRandomAccessType parserCreateRandomAccess(
     final SMFParserEventsType events,
     final URI uri,
     final FileChannel file)
-    throws UnsupportedOperationException
   {
-    throw new UnsupportedOperationException(
-      "Random access parsing is not supported");
+    Objects.requireNonNull(events, "Events");
+    Objects.requireNonNull(uri, "URI");
+    Objects.requireNonNull(file, "File");
+
+    return new ParserRandomAccess(
+      events,
+      uri,
+      file,
+      SMFTLineReaderChannel.create(uri, file),
+      Optional.empty());
+  }
+
+  /**
+   * Create a random access parser that uses the given index to seek directly
+   * to the data that the event receiver asks for. Sections and attributes
+   * that the receiver declines (by returning {@link Optional#empty()}) are
+   * skipped without being read.
+   *
+   * @param events The event receiver
+   * @param uri    The URI referred to by the channel, for diagnostic messages
+   * @param file   A file channel
+   * @param index  An index of the file
+   *
+   * @return A new parser
+   *
+   * @see SMFTIndexes
+   */
+
+  public SMFParserRandomAccessType parserCreateRandomAccessIndexed(
+    final SMFParserEventsType events,
+    final URI uri,
+    final FileChannel file,
+    final SMFTIndex index)
+  {
+    Objects.requireNonNull(events, "Events");
+    Objects.requireNonNull(uri, "URI");
+    Objects.requireNonNull(file, "File");
+    Objects.requireNonNull(index, "Index");
+
+    return new ParserRandomAccess(
+      events,
+      uri,
+      file,
+      SMFTLineReaderChannel.create(uri, file),
+      Optional.of(index));
   }
 
   @Override
@@ -221,7 +291,7 @@ public final class SMFFormatText
     throws UnsupportedOperationException
   {
     if (SUPPORTED.contains(version)) {
-      return new SMFTV1Serializer(version, uri, stream);
+      return new SMFTV1Serializer(version, uri, stream, this.floatEncoding);
     }
 
     throw new UnsupportedOperationException(notSupported(version));
@@ -260,12 +330,12 @@ public final class SMFFormatText
     }
   }
 
-  private static final class Parser implements SMFParserSequentialType
+  private abstract static class ParserAbstract
   {
     private final SMFParserEventsType events;
     private final SMFTLineReaderType reader;
 
-    Parser(
+    ParserAbstract(
       final SMFParserEventsType in_events,
       final SMFTLineReaderType in_reader)
     {
@@ -273,19 +343,43 @@ public final class SMFFormatText
       this.reader = Objects.requireNonNull(in_reader, "Reader");
     }
 
-    @Override
-    public void close()
+    protected final SMFParserEventsType events()
+    {
+      return this.events;
+    }
+
+    protected final SMFTLineReaderType reader()
+    {
+      return this.reader;
+    }
+
+    /**
+     * Prepare to parse.
+     *
+     * @return {@code false} if parsing cannot proceed
+     */
+
+    protected abstract boolean prepare();
+
+    protected abstract SMFTV1Parser createV1Parser(
+      SMFFormatVersion version,
+      BitSet state);
+
+    public final void close()
       throws IOException
     {
 
     }
 
-    @Override
-    public void parse()
+    public final void parse()
     {
       try {
         this.events.onStart();
 
+        if (!this.prepare()) {
+          return;
+        }
+
         final Optional<List<String>> initial_opt = this.reader.line();
         if (!initial_opt.isPresent()) {
           this.events.onError(SMFParseError.of(
@@ -308,7 +402,7 @@ public final class SMFFormatText
         final SMFFormatVersion version = result.get();
         switch (version.major()) {
           case 1: {
-            try (var p = new SMFTV1Parser(version, state, this.events, this.reader)) {
+            try (var p = this.createV1Parser(version, state)) {
               p.parse();
             }
             break;
@@ -345,4 +439,85 @@ public final class SMFFormatText
       }
     }
   }
+
+  private static final class Parser
+    extends ParserAbstract implements SMFParserSequentialType
+  {
+    Parser(
+      final SMFParserEventsType in_events,
+      final SMFTLineReaderType in_reader)
+    {
+      super(in_events, in_reader);
+    }
+
+    @Override
+    protected boolean prepare()
+    {
+      return true;
+    }
+
+    @Override
+    protected SMFTV1Parser createV1Parser(
+      final SMFFormatVersion version,
+      final BitSet state)
+    {
+      return new SMFTV1Parser(version, state, this.events(), this.reader());
+    }
+  }
+
+  private static final class ParserRandomAccess
+    extends ParserAbstract implements SMFParserRandomAccessType
+  {
+    private final URI uri;
+    private final FileChannel channel;
+    private final SMFTLineReaderChannel channelReader;
+    private Optional<SMFTIndex> index;
+
+    ParserRandomAccess(
+      final SMFParserEventsType in_events,
+      final URI in_uri,
+      final FileChannel in_channel,
+      final SMFTLineReaderChannel in_reader,
+      final Optional<SMFTIndex> in_index)
+    {
+      super(in_events, in_reader);
+      this.uri = Objects.requireNonNull(in_uri, "URI");
+      this.channel = Objects.requireNonNull(in_channel, "Channel");
+      this.channelReader = Objects.requireNonNull(in_reader, "Reader");
+      this.index = Objects.requireNonNull(in_index, "Index");
+    }
+
+    @Override
+    protected boolean prepare()
+    {
+      try {
+        if (this.index.isEmpty()) {
+          this.index = Optional.of(SMFTIndexes.build(this.uri, this.channel));
+        }
+
+        final long size = this.channel.size();
+        final SMFTIndex current = this.index.get();
+        if (current.size() != size) {
+          this.events().onError(errorWithMessage(String.format(
+            "The index describes a file of size %d, but the file has size %d",
+            Long.valueOf(current.size()),
+            Long.valueOf(size))));
+          return false;
+        }
+        return true;
+      } catch (final IOException e) {
+        this.events().onError(errorException(e));
+        return false;
+      }
+    }
+
+    @Override
+    protected SMFTV1Parser createV1Parser(
+      final SMFFormatVersion version,
+      final BitSet state)
+    {
+      return new SMFTV1Parser(
+        version, state, this.events(), this.channelReader, this.index.get());
+    }
+  }
 }
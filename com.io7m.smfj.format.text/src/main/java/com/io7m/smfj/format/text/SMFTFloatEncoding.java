@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.text;
+
+/**
+ * The encoding used for floating point values in attribute data.
+ */
+
+public enum SMFTFloatEncoding
+{
+  /**
+   * Floating point values are written in the usual decimal form, as produced
+   * by {@link Double#toString(double)}.
+   */
+
+  FLOAT_ENCODING_DECIMAL,
+
+  /**
+   * Floating point values are written as hexadecimal floating point literals,
+   * as produced by {@link Double#toHexString(double)}. Values written in this
+   * form are exact, and are considerably cheaper to both produce and parse
+   * than their decimal equivalents.
+   */
+
+  FLOAT_ENCODING_HEXADECIMAL
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.text;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * <p>An index of the byte offsets of the sections within a text-format
+ * file.</p>
+ *
+ * <p>The index allows a random-access parser to seek directly to the data a
+ * consumer has asked for, skipping the text of all other sections.</p>
+ *
+ * @see SMFTIndexes
+ */
+
+public final class SMFTIndex
+{
+  private final long size;
+  private final long bodyOffset;
+  private final int bodyLine;
+  private final List<SMFTIndexEntry> entries;
+
+  private SMFTIndex(
+    final long in_size,
+    final long in_body_offset,
+    final int in_body_line,
+    final List<SMFTIndexEntry> in_entries)
+  {
+    this.size = in_size;
+    this.bodyOffset = in_body_offset;
+    this.bodyLine = in_body_line;
+    this.entries = List.copyOf(Objects.requireNonNull(in_entries, "Entries"));
+
+    long previous = in_body_offset;
+    for (final SMFTIndexEntry entry : this.entries) {
+      if (entry.offset() < previous) {
+        throw new IllegalArgumentException(
+          "Index entries must be in ascending offset order");
+      }
+      previous = entry.offset();
+    }
+    if (previous > in_size) {
+      throw new IllegalArgumentException(
+        "Index entries must not exceed the file size");
+    }
+  }
+
+  /**
+   * Create an index.
+   *
+   * @param in_size        The size in bytes of the indexed file
+   * @param in_body_offset The byte offset of the first line after the header
+   * @param in_body_line   The line number of the first line after the header
+   * @param in_entries     The index entries, in file order
+   *
+   * @return An index
+   */
+
+  public static SMFTIndex of(
+    final long in_size,
+    final long in_body_offset,
+    final int in_body_line,
+    final List<SMFTIndexEntry> in_entries)
+  {
+    return new SMFTIndex(in_size, in_body_offset, in_body_line, in_entries);
+  }
+
+  /**
+   * @return The size in bytes of the indexed file
+   */
+
+  public long size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return The byte offset of the first line after the header
+   */
+
+  public long bodyOffset()
+  {
+    return this.bodyOffset;
+  }
+
+  /**
+   * @return The line number of the first line after the header
+   */
+
+  public int bodyLine()
+  {
+    return this.bodyLine;
+  }
+
+  /**
+   * @return The index entries, in file order
+   */
+
+  public List<SMFTIndexEntry> entries()
+  {
+    return this.entries;
+  }
+
+  /**
+   * @return The attribute entries, in file order
+   */
+
+  public List<SMFTIndexEntry> attributes()
+  {
+    return this.entries.stream()
+      .filter(e -> e.kind() == SMFTIndexEntryKind.ENTRY_ATTRIBUTE)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * @return The first {@code triangles} section, if any
+   */
+
+  public Optional<SMFTIndexEntry> triangles()
+  {
+    return this.entries.stream()
+      .filter(e -> e.kind() == SMFTIndexEntryKind.ENTRY_TRIANGLES)
+      .findFirst();
+  }
+
+  /**
+   * @return The {@code metadata} sections, in file order
+   */
+
+  public List<SMFTIndexEntry> metadata()
+  {
+    return this.entries.stream()
+      .filter(e -> e.kind() == SMFTIndexEntryKind.ENTRY_METADATA)
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public boolean equals(
+    final Object o)
+  {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || !Objects.equals(this.getClass(), o.getClass())) {
+      return false;
+    }
+    final SMFTIndex other = (SMFTIndex) o;
+    return this.size == other.size
+      && this.bodyOffset == other.bodyOffset
+      && this.bodyLine == other.bodyLine
+      && Objects.equals(this.entries, other.entries);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(
+      Long.valueOf(this.size),
+      Long.valueOf(this.bodyOffset),
+      Integer.valueOf(this.bodyLine),
+      this.entries);
+  }
+}
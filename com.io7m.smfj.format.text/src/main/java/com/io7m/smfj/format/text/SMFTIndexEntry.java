@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.text;
+
+import java.util.Objects;
+
+/**
+ * A single entry in an index. An entry gives the location of the line that
+ * begins a section (or an attribute within a section).
+ */
+
+public final class SMFTIndexEntry
+{
+  private final SMFTIndexEntryKind kind;
+  private final String name;
+  private final long offset;
+  private final int line;
+
+  private SMFTIndexEntry(
+    final SMFTIndexEntryKind in_kind,
+    final String in_name,
+    final long in_offset,
+    final int in_line)
+  {
+    this.kind = Objects.requireNonNull(in_kind, "Kind");
+    this.name = Objects.requireNonNull(in_name, "Name");
+    this.offset = in_offset;
+    this.line = in_line;
+
+    if (in_offset < 0L) {
+      throw new IllegalArgumentException("Offset must be non-negative");
+    }
+    if (in_line < 1) {
+      throw new IllegalArgumentException("Line must be positive");
+    }
+  }
+
+  /**
+   * Create an index entry.
+   *
+   * @param in_kind   The kind of entry
+   * @param in_name   The entry name (the attribute name for
+   *                  {@link SMFTIndexEntryKind#ENTRY_ATTRIBUTE}, otherwise
+   *                  empty)
+   * @param in_offset The byte offset of the start of the line
+   * @param in_line   The line number
+   *
+   * @return An index entry
+   */
+
+  public static SMFTIndexEntry of(
+    final SMFTIndexEntryKind in_kind,
+    final String in_name,
+    final long in_offset,
+    final int in_line)
+  {
+    return new SMFTIndexEntry(in_kind, in_name, in_offset, in_line);
+  }
+
+  /**
+   * @return The kind of entry
+   */
+
+  public SMFTIndexEntryKind kind()
+  {
+    return this.kind;
+  }
+
+  /**
+   * @return The entry name (the attribute name for
+   * {@link SMFTIndexEntryKind#ENTRY_ATTRIBUTE}, otherwise empty)
+   */
+
+  public String name()
+  {
+    return this.name;
+  }
+
+  /**
+   * @return The byte offset of the start of the line
+   */
+
+  public long offset()
+  {
+    return this.offset;
+  }
+
+  /**
+   * @return The line number
+   */
+
+  public int line()
+  {
+    return this.line;
+  }
+
+  @Override
+  public boolean equals(
+    final Object o)
+  {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || !Objects.equals(this.getClass(), o.getClass())) {
+      return false;
+    }
+    final SMFTIndexEntry other = (SMFTIndexEntry) o;
+    return this.offset == other.offset
+      && this.line == other.line
+      && this.kind == other.kind
+      && Objects.equals(this.name, other.name);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(
+      this.kind, this.name, Long.valueOf(this.offset), Integer.valueOf(this.line));
+  }
+
+  @Override
+  public String toString()
+  {
+    return new StringBuilder(64)
+      .append("[SMFTIndexEntry ")
+      .append(this.kind.getName())
+      .append(" '")
+      .append(this.name)
+      .append("' ")
+      .append(this.offset)
+      .append(" ")
+      .append(this.line)
+      .append("]")
+      .toString();
+  }
+}
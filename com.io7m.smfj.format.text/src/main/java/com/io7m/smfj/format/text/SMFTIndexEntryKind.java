@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.text;
+
+import java.util.Objects;
+
+/**
+ * The kind of entries that may appear in an index.
+ */
+
+public enum SMFTIndexEntryKind
+{
+  /**
+   * The start of a {@code vertices-noninterleaved} section.
+   */
+
+  ENTRY_VERTICES_NONINTERLEAVED("vertices-noninterleaved"),
+
+  /**
+   * The start of the data for a single attribute within a
+   * {@code vertices-noninterleaved} section.
+   */
+
+  ENTRY_ATTRIBUTE("attribute"),
+
+  /**
+   * The {@code end} command of a {@code vertices-noninterleaved} section.
+   */
+
+  ENTRY_VERTICES_END("vertices-end"),
+
+  /**
+   * The start of a {@code triangles} section.
+   */
+
+  ENTRY_TRIANGLES("triangles"),
+
+  /**
+   * The start of a {@code metadata} section.
+   */
+
+  ENTRY_METADATA("metadata");
+
+  private final String name;
+
+  SMFTIndexEntryKind(
+    final String in_name)
+  {
+    this.name = Objects.requireNonNull(in_name, "Name");
+  }
+
+  /**
+   * Return an entry kind for the given name.
+   *
+   * @param name The name
+   *
+   * @return An entry kind
+   *
+   * @throws IllegalArgumentException If the name does not refer to a recognized kind
+   */
+
+  public static SMFTIndexEntryKind of(
+    final String name)
+  {
+    for (final SMFTIndexEntryKind kind : values()) {
+      if (Objects.equals(kind.name, name)) {
+        return kind;
+      }
+    }
+    throw new IllegalArgumentException("Unrecognized index entry: " + name);
+  }
+
+  /**
+   * @return The unique name of the entry kind
+   */
+
+  public String getName()
+  {
+    return this.name;
+  }
+}
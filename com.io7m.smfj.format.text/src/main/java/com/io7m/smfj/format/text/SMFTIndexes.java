@@ -0,0 +1,465 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.text;
+
+import com.io7m.junreachable.UnreachableCodeException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>Functions to build, save, and load indices of text-format files.</p>
+ *
+ * <p>Indices may be cached in a <i>sidecar</i> file that sits next to the
+ * indexed file. A sidecar records the size and modification time of the file
+ * it describes, and is ignored (and rebuilt) if either no longer match.</p>
+ */
+
+public final class SMFTIndexes
+{
+  /**
+   * The suffix appended to the name of a file to produce the name of its
+   * sidecar index file.
+   */
+
+  public static final String SIDECAR_SUFFIX = ".smftidx";
+
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFTIndexes.class);
+
+  private static final String SIDECAR_MAGIC = "smft-index";
+  private static final int SIDECAR_VERSION = 1;
+
+  private SMFTIndexes()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private enum State
+  {
+    STATE_HEADER,
+    STATE_BODY,
+    STATE_VERTICES,
+    STATE_TRIANGLES
+  }
+
+  private static boolean isCommand(
+    final String trimmed,
+    final String command)
+  {
+    if (!trimmed.startsWith(command)) {
+      return false;
+    }
+    return trimmed.length() == command.length()
+      || Character.isSpaceChar(trimmed.codePointAt(command.length()))
+      || trimmed.charAt(command.length()) == '"';
+  }
+
+  /**
+   * <p>Build an index for the file open on the given channel.</p>
+   *
+   * <p>Building an index requires a single pass over the file, but only the
+   * lines that begin sections are tokenized; data lines are not parsed.
+   * The index describes the structure of the file as it appears: Malformed
+   * sections are indexed as-is and errors are reported when the sections are
+   * actually parsed.</p>
+   *
+   * @param uri     The URI of the file, for diagnostic purposes
+   * @param channel The file channel
+   *
+   * @return An index
+   *
+   * @throws IOException On I/O errors, or if the header is not terminated
+   */
+
+  public static SMFTIndex build(
+    final URI uri,
+    final FileChannel channel)
+    throws IOException
+  {
+    Objects.requireNonNull(uri, "URI");
+    Objects.requireNonNull(channel, "Channel");
+
+    final SMFTLineLexer lexer = new SMFTLineLexer();
+    final SMFTLineReaderChannel reader =
+      SMFTLineReaderChannel.create(uri, channel);
+    final List<SMFTIndexEntry> entries = new ArrayList<>(16);
+
+    State state = State.STATE_HEADER;
+    long body_offset = -1L;
+    int body_line = -1;
+    int line_number = 0;
+
+    while (true) {
+      final long offset = reader.offset();
+      final String raw = reader.lineNextRaw();
+      if (raw == null) {
+        break;
+      }
+      line_number = Math.addExact(line_number, 1);
+
+      final String trimmed = raw.trim();
+      if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+        continue;
+      }
+
+      switch (state) {
+        case STATE_HEADER: {
+          if (isCommand(trimmed, "end")) {
+            state = State.STATE_BODY;
+            body_offset = reader.offset();
+            body_line = Math.addExact(line_number, 1);
+          }
+          break;
+        }
+
+        case STATE_BODY: {
+          if (isCommand(trimmed, "vertices-noninterleaved")) {
+            entries.add(SMFTIndexEntry.of(
+              SMFTIndexEntryKind.ENTRY_VERTICES_NONINTERLEAVED,
+              "",
+              offset,
+              line_number));
+            state = State.STATE_VERTICES;
+          } else if (isCommand(trimmed, "triangles")) {
+            entries.add(SMFTIndexEntry.of(
+              SMFTIndexEntryKind.ENTRY_TRIANGLES,
+              "",
+              offset,
+              line_number));
+            state = State.STATE_TRIANGLES;
+          } else if (isCommand(trimmed, "metadata")) {
+            entries.add(SMFTIndexEntry.of(
+              SMFTIndexEntryKind.ENTRY_METADATA,
+              "",
+              offset,
+              line_number));
+            line_number = skipMetadataLines(
+              reader, lexer.lex(trimmed), line_number);
+          }
+          break;
+        }
+
+        case STATE_VERTICES: {
+          if (isCommand(trimmed, "attribute")) {
+            final List<String> tokens = lexer.lex(trimmed);
+            entries.add(SMFTIndexEntry.of(
+              SMFTIndexEntryKind.ENTRY_ATTRIBUTE,
+              tokens.size() == 2 ? tokens.get(1) : "",
+              offset,
+              line_number));
+          } else if (isCommand(trimmed, "end")) {
+            entries.add(SMFTIndexEntry.of(
+              SMFTIndexEntryKind.ENTRY_VERTICES_END,
+              "",
+              offset,
+              line_number));
+            state = State.STATE_BODY;
+          }
+          break;
+        }
+
+        case STATE_TRIANGLES: {
+          if (isCommand(trimmed, "end")) {
+            state = State.STATE_BODY;
+          }
+          break;
+        }
+      }
+    }
+
+    if (body_offset < 0L) {
+      throw new IOException(
+        String.format("%s: The header is not terminated with 'end'", uri));
+    }
+
+    return SMFTIndex.of(channel.size(), body_offset, body_line, entries);
+  }
+
+  /**
+   * Skip the data lines of a metadata section. The number of lines is given
+   * by the last argument of the command; if the command is malformed, no
+   * lines are skipped and the error is reported when the section is parsed.
+   */
+
+  private static int skipMetadataLines(
+    final SMFTLineReaderChannel reader,
+    final List<String> command,
+    final int line_number)
+    throws IOException
+  {
+    if (command.size() != 5) {
+      return line_number;
+    }
+
+    final int count;
+    try {
+      count = Integer.parseUnsignedInt(command.get(4));
+    } catch (final NumberFormatException e) {
+      return line_number;
+    }
+
+    int line_now = line_number;
+    for (int index = 0; Integer.compareUnsigned(index, count) < 0; ++index) {
+      if (reader.lineNextRaw() == null) {
+        break;
+      }
+      line_now = Math.addExact(line_now, 1);
+    }
+    return line_now;
+  }
+
+  /**
+   * Serialize the given index.
+   *
+   * @param stream   The output stream
+   * @param index    The index
+   * @param modified The modification time of the indexed file, in
+   *                 milliseconds since the epoch
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static void serialize(
+    final OutputStream stream,
+    final SMFTIndex index,
+    final long modified)
+    throws IOException
+  {
+    Objects.requireNonNull(stream, "Stream");
+    Objects.requireNonNull(index, "Index");
+
+    final BufferedWriter writer =
+      new BufferedWriter(new OutputStreamWriter(stream, UTF_8));
+
+    writer.append(SIDECAR_MAGIC);
+    writer.append(" ");
+    writer.append(Integer.toUnsignedString(SIDECAR_VERSION));
+    writer.newLine();
+    writer.append("size ");
+    writer.append(Long.toUnsignedString(index.size()));
+    writer.newLine();
+    writer.append("modified ");
+    writer.append(Long.toString(modified));
+    writer.newLine();
+    writer.append("body ");
+    writer.append(Long.toUnsignedString(index.bodyOffset()));
+    writer.append(" ");
+    writer.append(Integer.toUnsignedString(index.bodyLine()));
+    writer.newLine();
+
+    for (final SMFTIndexEntry entry : index.entries()) {
+      writer.append(entry.kind().getName());
+      writer.append(" ");
+      writer.append(Long.toUnsignedString(entry.offset()));
+      writer.append(" ");
+      writer.append(Integer.toUnsignedString(entry.line()));
+      writer.append(" \"");
+      writer.append(entry.name().replace("\\", "\\\\").replace("\"", "\\\""));
+      writer.append('"');
+      writer.newLine();
+    }
+
+    writer.append("end");
+    writer.newLine();
+    writer.flush();
+  }
+
+  /**
+   * Parse an index that was serialized with
+   * {@link #serialize(OutputStream, SMFTIndex, long)}.
+   *
+   * @param stream   The input stream
+   * @param size     The current size of the indexed file
+   * @param modified The current modification time of the indexed file
+   *
+   * @return The index, or nothing if the index does not describe a file of
+   * the given size and modification time
+   *
+   * @throws IOException On I/O errors or malformed indices
+   */
+
+  public static Optional<SMFTIndex> parse(
+    final InputStream stream,
+    final long size,
+    final long modified)
+    throws IOException
+  {
+    Objects.requireNonNull(stream, "Stream");
+
+    final SMFTLineLexer lexer = new SMFTLineLexer();
+    final BufferedReader reader =
+      new BufferedReader(new InputStreamReader(stream, UTF_8));
+
+    try {
+      final List<String> magic = lexer.lex(readLine(reader));
+      if (magic.size() != 2
+        || !Objects.equals(magic.get(0), SIDECAR_MAGIC)
+        || Integer.parseUnsignedInt(magic.get(1)) != SIDECAR_VERSION) {
+        throw new IOException("Unrecognized index format: " + magic);
+      }
+
+      final List<String> size_line = lexer.lex(readLine(reader));
+      final List<String> modified_line = lexer.lex(readLine(reader));
+      final List<String> body_line = lexer.lex(readLine(reader));
+      checkCommand(size_line, "size", 2);
+      checkCommand(modified_line, "modified", 2);
+      checkCommand(body_line, "body", 3);
+
+      if (Long.parseUnsignedLong(size_line.get(1)) != size
+        || Long.parseLong(modified_line.get(1)) != modified) {
+        return Optional.empty();
+      }
+
+      final List<SMFTIndexEntry> entries = new ArrayList<>(16);
+      while (true) {
+        final List<String> line = lexer.lex(readLine(reader));
+        if (line.size() == 1 && Objects.equals(line.get(0), "end")) {
+          break;
+        }
+        if (line.size() != 4) {
+          throw new IOException("Malformed index entry: " + line);
+        }
+        entries.add(SMFTIndexEntry.of(
+          SMFTIndexEntryKind.of(line.get(0)),
+          line.get(3),
+          Long.parseUnsignedLong(line.get(1)),
+          Integer.parseUnsignedInt(line.get(2))));
+      }
+
+      return Optional.of(SMFTIndex.of(
+        size,
+        Long.parseUnsignedLong(body_line.get(1)),
+        Integer.parseUnsignedInt(body_line.get(2)),
+        entries));
+    } catch (final IllegalArgumentException e) {
+      throw new IOException("Malformed index: " + e.getMessage(), e);
+    }
+  }
+
+  private static void checkCommand(
+    final List<String> line,
+    final String name,
+    final int size)
+    throws IOException
+  {
+    if (line.size() != size || !Objects.equals(line.get(0), name)) {
+      throw new IOException(
+        String.format("Malformed index: Expected '%s', got %s", name, line));
+    }
+  }
+
+  private static String readLine(
+    final BufferedReader reader)
+    throws IOException
+  {
+    final String line = reader.readLine();
+    if (line == null) {
+      throw new IOException("Malformed index: Unexpected EOF");
+    }
+    return line;
+  }
+
+  /**
+   * @param file A text-format file
+   *
+   * @return The path of the sidecar index file for {@code file}
+   */
+
+  public static Path sidecarFor(
+    final Path file)
+  {
+    Objects.requireNonNull(file, "File");
+    return file.resolveSibling(file.getFileName() + SIDECAR_SUFFIX);
+  }
+
+  /**
+   * Load the sidecar index for the given file if one exists and is up to
+   * date, or build a new index and write it to the sidecar file otherwise.
+   * Failure to write the sidecar file is logged and otherwise ignored.
+   *
+   * @param file A text-format file
+   *
+   * @return An index of {@code file}
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static SMFTIndex loadOrCreateSidecar(
+    final Path file)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "File");
+
+    final Path sidecar = sidecarFor(file);
+    final long size = Files.size(file);
+    final long modified = Files.getLastModifiedTime(file).toMillis();
+
+    try (InputStream stream = Files.newInputStream(sidecar)) {
+      final Optional<SMFTIndex> existing = parse(stream, size, modified);
+      if (existing.isPresent()) {
+        return existing.get();
+      }
+      LOG.debug("sidecar index {} is out of date", sidecar);
+    } catch (final NoSuchFileException e) {
+      LOG.trace("no sidecar index {}", sidecar);
+    } catch (final IOException e) {
+      LOG.warn("ignoring unreadable sidecar index {}: ", sidecar, e);
+    }
+
+    final SMFTIndex index;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      index = build(file.toUri(), channel);
+    }
+
+    final Path temporary =
+      sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+    try {
+      try (OutputStream output = Files.newOutputStream(temporary)) {
+        serialize(output, index, modified);
+      }
+      Files.move(
+        temporary,
+        sidecar,
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      LOG.warn("could not write sidecar index {}: ", sidecar, e);
+      Files.deleteIfExists(temporary);
+    }
+    return index;
+  }
+}
@@ -84,6 +84,20 @@ abstract class SMFTLineReaderAbstract implements SMFTLineReaderType
     return Optional.of(this.lexer.lex(trimmed));
   }
 
+  /**
+   * Set the number of the line that will be returned by the next call to
+   * {@link #line()}. This is used by readers that can reposition themselves
+   * within a file.
+   *
+   * @param line The line number
+   */
+
+  protected final void setNextLine(
+    final int line)
+  {
+    this.position.setLine(Math.subtractExact(line, 1));
+  }
+
   protected abstract Logger log();
 
   protected abstract String lineNextRaw()
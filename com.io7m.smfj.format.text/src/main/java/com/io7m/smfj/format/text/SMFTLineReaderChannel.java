@@ -0,0 +1,189 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.text;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A line reader that reads from a file channel, and that can be repositioned
+ * to the start of any line in the file.
+ */
+
+public final class SMFTLineReaderChannel extends SMFTLineReaderAbstract
+{
+  private static final Logger LOG;
+  private static final int BUFFER_SIZE = 65536;
+
+  static {
+    LOG = LoggerFactory.getLogger(SMFTLineReaderChannel.class);
+  }
+
+  private final FileChannel channel;
+  private byte[] data;
+  private long dataOffset;
+  private int start;
+  private int scan;
+  private int end;
+
+  private SMFTLineReaderChannel(
+    final URI in_uri,
+    final FileChannel in_channel)
+  {
+    super(in_uri, 1);
+    this.channel = Objects.requireNonNull(in_channel, "Channel");
+    this.data = new byte[BUFFER_SIZE];
+    this.dataOffset = 0L;
+    this.start = 0;
+    this.scan = 0;
+    this.end = 0;
+  }
+
+  /**
+   * Construct a new line reader. The reader uses positional reads and does
+   * not modify the position of the given channel.
+   *
+   * @param in_uri     The file URI, for diagnostic messages
+   * @param in_channel The file channel
+   *
+   * @return A line reader
+   */
+
+  public static SMFTLineReaderChannel create(
+    final URI in_uri,
+    final FileChannel in_channel)
+  {
+    return new SMFTLineReaderChannel(in_uri, in_channel);
+  }
+
+  /**
+   * @return The byte offset of the start of the next line that will be read
+   */
+
+  public long offset()
+  {
+    return this.dataOffset + (long) this.start;
+  }
+
+  /**
+   * Reposition the reader so that the next line read will be the line
+   * starting at byte offset {@code offset}.
+   *
+   * @param offset The byte offset of the start of a line
+   * @param line   The number of the line at {@code offset}, for diagnostic
+   *               messages
+   */
+
+  public void seek(
+    final long offset,
+    final int line)
+  {
+    if (offset < 0L) {
+      throw new IllegalArgumentException("Offset must be non-negative");
+    }
+
+    final long buffered = offset - this.dataOffset;
+    if (buffered >= 0L && buffered <= (long) this.end) {
+      this.start = (int) buffered;
+    } else {
+      this.dataOffset = offset;
+      this.start = 0;
+      this.end = 0;
+    }
+    this.scan = this.start;
+    this.setNextLine(line);
+  }
+
+  @Override
+  protected Logger log()
+  {
+    return LOG;
+  }
+
+  @Override
+  protected String lineNextRaw()
+    throws IOException
+  {
+    while (true) {
+      for (int index = this.scan; index < this.end; ++index) {
+        if (this.data[index] == '\n') {
+          final String text = this.decode(this.start, index);
+          this.start = index + 1;
+          this.scan = this.start;
+          return text;
+        }
+      }
+      this.scan = this.end;
+
+      if (!this.fill()) {
+        if (this.start == this.end) {
+          return null;
+        }
+        final String text = this.decode(this.start, this.end);
+        this.start = this.end;
+        this.scan = this.end;
+        return text;
+      }
+    }
+  }
+
+  private String decode(
+    final int from,
+    final int to)
+  {
+    int limit = to;
+    if (limit > from && this.data[limit - 1] == '\r') {
+      --limit;
+    }
+    return new String(this.data, from, limit - from, StandardCharsets.UTF_8);
+  }
+
+  private boolean fill()
+    throws IOException
+  {
+    if (this.start > 0) {
+      final int remaining = this.end - this.start;
+      System.arraycopy(this.data, this.start, this.data, 0, remaining);
+      this.dataOffset = Math.addExact(this.dataOffset, (long) this.start);
+      this.scan -= this.start;
+      this.end = remaining;
+      this.start = 0;
+    }
+
+    if (this.end == this.data.length) {
+      this.data = Arrays.copyOf(this.data, Math.multiplyExact(this.data.length, 2));
+    }
+
+    final ByteBuffer target =
+      ByteBuffer.wrap(this.data, this.end, this.data.length - this.end);
+    final int read =
+      this.channel.read(target, Math.addExact(this.dataOffset, (long) this.end));
+
+    if (read <= 0) {
+      return false;
+    }
+    this.end += read;
+    return true;
+  }
+}
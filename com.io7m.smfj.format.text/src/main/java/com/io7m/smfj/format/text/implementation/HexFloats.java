@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.text.implementation;
+
+import com.io7m.junreachable.UnreachableCodeException;
+import java.util.Objects;
+
+/**
+ * <p>Functions to parse floating point values.</p>
+ *
+ * <p>Hexadecimal floating point literals in the form produced by
+ * {@link Double#toHexString(double)} are decoded directly into the bits of
+ * the resulting value. All other values, including hexadecimal literals that
+ * would require rounding, are delegated to {@link Double#parseDouble(String)}.
+ * </p>
+ */
+
+public final class HexFloats
+{
+  private static final long SIGN_BIT = 0x8000_0000_0000_0000L;
+  private static final long NOT_DECODED = -1L;
+  private static final int FRACTION_DIGITS = 13;
+  private static final int EXPONENT_BIAS = 1023;
+  private static final int EXPONENT_MIN = -1022;
+  private static final int EXPONENT_MAX = 1023;
+
+  private HexFloats()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Parse a floating point value. The value may be in any form accepted by
+   * {@link Double#parseDouble(String)}.
+   *
+   * @param text The text
+   *
+   * @return A parsed value
+   *
+   * @throws NumberFormatException If the text is not a valid number
+   */
+
+  public static double parseDouble(
+    final String text)
+    throws NumberFormatException
+  {
+    Objects.requireNonNull(text, "Text");
+
+    final int length = text.length();
+    int index = 0;
+    boolean negative = false;
+    if (length > 0) {
+      final char c = text.charAt(0);
+      if (c == '-') {
+        negative = true;
+        index = 1;
+      } else if (c == '+') {
+        index = 1;
+      }
+    }
+
+    if (length - index > 2 && text.charAt(index) == '0') {
+      final char x = text.charAt(index + 1);
+      if (x == 'x' || x == 'X') {
+        final long bits = decodeHex(text, index + 2);
+        if (bits != NOT_DECODED) {
+          return Double.longBitsToDouble(negative ? bits | SIGN_BIT : bits);
+        }
+      }
+    }
+
+    return Double.parseDouble(text);
+  }
+
+  private static int hexDigit(
+    final char c)
+  {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'a' && c <= 'f') {
+      return (c - 'a') + 10;
+    }
+    if (c >= 'A' && c <= 'F') {
+      return (c - 'A') + 10;
+    }
+    return -1;
+  }
+
+  /**
+   * Decode the unsigned bits of a hexadecimal literal of the form
+   * {@code [01].hhhhp[+-]ddd} (the "0x" prefix having already been consumed).
+   * Return {@link #NOT_DECODED} for anything that cannot be decoded exactly.
+   */
+
+  private static long decodeHex(
+    final String text,
+    final int start)
+  {
+    final int length = text.length();
+    int index = start;
+
+    final char lead = text.charAt(index);
+    if (lead != '0' && lead != '1') {
+      return NOT_DECODED;
+    }
+    ++index;
+
+    long fraction = 0L;
+    int digits = 0;
+    if (index < length && text.charAt(index) == '.') {
+      ++index;
+      while (index < length) {
+        final int digit = hexDigit(text.charAt(index));
+        if (digit < 0) {
+          break;
+        }
+        if (digits == FRACTION_DIGITS) {
+          return NOT_DECODED;
+        }
+        fraction = (fraction << 4) | (long) digit;
+        ++digits;
+        ++index;
+      }
+    }
+
+    if (index >= length) {
+      return NOT_DECODED;
+    }
+    final char p = text.charAt(index);
+    if (p != 'p' && p != 'P') {
+      return NOT_DECODED;
+    }
+    ++index;
+
+    boolean exponent_negative = false;
+    if (index < length) {
+      final char c = text.charAt(index);
+      if (c == '-') {
+        exponent_negative = true;
+        ++index;
+      } else if (c == '+') {
+        ++index;
+      }
+    }
+    if (index >= length) {
+      return NOT_DECODED;
+    }
+
+    int exponent = 0;
+    while (index < length) {
+      final char c = text.charAt(index);
+      if (c < '0' || c > '9') {
+        return NOT_DECODED;
+      }
+      exponent = (exponent * 10) + (c - '0');
+      if (exponent > EXPONENT_BIAS * 2) {
+        return NOT_DECODED;
+      }
+      ++index;
+    }
+    if (exponent_negative) {
+      exponent = -exponent;
+    }
+
+    fraction <<= 4 * (FRACTION_DIGITS - digits);
+
+    if (lead == '1') {
+      if (exponent < EXPONENT_MIN || exponent > EXPONENT_MAX) {
+        return NOT_DECODED;
+      }
+      return ((long) (exponent + EXPONENT_BIAS) << 52) | fraction;
+    }
+
+    /*
+     * A leading zero denotes either zero or a subnormal value. Subnormal
+     * values are only exact when written with the minimum exponent.
+     */
+
+    if (fraction == 0L) {
+      return 0L;
+    }
+    if (exponent == EXPONENT_MIN) {
+      return fraction;
+    }
+    return NOT_DECODED;
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.text.v1;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.format.text.SMFTIndex;
+import com.io7m.smfj.format.text.SMFTIndexEntry;
+import com.io7m.smfj.format.text.SMFTIndexEntryKind;
+import com.io7m.smfj.format.text.SMFTLineReaderChannel;
+import com.io7m.smfj.format.text.SMFTParsingStatus;
+import com.io7m.smfj.format.text.implementation.Flags;
+import com.io7m.smfj.parser.api.SMFParseError;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataTrianglesType;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Supplier;
+
+import static com.io7m.smfj.format.text.SMFTParsingStatus.FAILURE;
+import static com.io7m.smfj.format.text.SMFTParsingStatus.SUCCESS;
+import static com.io7m.smfj.format.text.v1.SMFTErrors.errorMalformedCommand;
+
+/**
+ * A parser for the body of a file that uses an index to seek directly to
+ * the sections (and attributes) that the receiver asks for. Data that the
+ * receiver declines is skipped without being read.
+ */
+
+final class SMFTV1BodyIndexed
+{
+  private final SMFTIndex index;
+  private final SMFTLineReaderChannel reader;
+  private final Supplier<SMFHeader> header_get;
+  private final BitSet state;
+  private final SMFTV1BodySectionParserVerticesNonInterleaved vertices;
+  private final SMFTV1BodySectionParserTriangles triangles;
+  private final SMFTV1BodySectionParserMetadata metadata;
+
+  SMFTV1BodyIndexed(
+    final SMFTIndex in_index,
+    final SMFTLineReaderChannel in_reader,
+    final Supplier<SMFHeader> in_header_get,
+    final BitSet in_state,
+    final SMFTV1BodySectionParserVerticesNonInterleaved in_vertices,
+    final SMFTV1BodySectionParserTriangles in_triangles,
+    final SMFTV1BodySectionParserMetadata in_metadata)
+  {
+    this.index = Objects.requireNonNull(in_index, "Index");
+    this.reader = Objects.requireNonNull(in_reader, "Reader");
+    this.header_get = Objects.requireNonNull(in_header_get, "Header");
+    this.state = Objects.requireNonNull(in_state, "State");
+    this.vertices = Objects.requireNonNull(in_vertices, "Vertices");
+    this.triangles = Objects.requireNonNull(in_triangles, "Triangles");
+    this.metadata = Objects.requireNonNull(in_metadata, "Metadata");
+  }
+
+  private LexicalPosition<URI> positionOf(
+    final SMFTIndexEntry entry)
+  {
+    return LexicalPosition.of(entry.line(), 0, this.reader.position().file());
+  }
+
+  SMFTParsingStatus parse(
+    final SMFParserEventsBodyType receiver)
+    throws IOException
+  {
+    final List<SMFTIndexEntry> entries = this.index.entries();
+
+    SMFTParsingStatus result = SUCCESS;
+    for (int position = 0; position < entries.size(); ++position) {
+      final SMFTIndexEntry entry = entries.get(position);
+      final SMFTParsingStatus section_result;
+      switch (entry.kind()) {
+        case ENTRY_VERTICES_NONINTERLEAVED: {
+          section_result = this.parseVertices(receiver, entries, position);
+          break;
+        }
+        case ENTRY_TRIANGLES: {
+          section_result = this.parseTriangles(receiver, entry);
+          break;
+        }
+        case ENTRY_METADATA: {
+          section_result = this.parseMetadata(receiver, entry);
+          break;
+        }
+        case ENTRY_ATTRIBUTE:
+        case ENTRY_VERTICES_END:
+        default: {
+          section_result = SUCCESS;
+          break;
+        }
+      }
+
+      if (section_result == FAILURE) {
+        result = FAILURE;
+      }
+    }
+    return result;
+  }
+
+  private Optional<List<String>> seekCommand(
+    final SMFParserEventsBodyType receiver,
+    final SMFTIndexEntry entry)
+    throws IOException
+  {
+    this.reader.seek(entry.offset(), entry.line());
+    final Optional<List<String>> line_opt = this.reader.line();
+    if (line_opt.isEmpty()) {
+      receiver.onError(SMFParseError.of(
+        this.positionOf(entry),
+        "Unexpected EOF",
+        Optional.empty()));
+    }
+    return line_opt;
+  }
+
+  private SMFTParsingStatus parseMetadata(
+    final SMFParserEventsBodyType receiver,
+    final SMFTIndexEntry entry)
+    throws IOException
+  {
+    final Optional<List<String>> line_opt = this.seekCommand(receiver, entry);
+    if (line_opt.isEmpty()) {
+      return FAILURE;
+    }
+    return this.metadata.parse(receiver, line_opt.get());
+  }
+
+  private SMFTParsingStatus parseTriangles(
+    final SMFParserEventsBodyType receiver,
+    final SMFTIndexEntry entry)
+    throws IOException
+  {
+    final Optional<List<String>> line_opt = this.seekCommand(receiver, entry);
+    if (line_opt.isEmpty()) {
+      return FAILURE;
+    }
+
+    final List<String> line = line_opt.get();
+    if (line.size() != 1) {
+      receiver.onError(errorMalformedCommand(
+        "triangles", "triangles", line, this.positionOf(entry)));
+      return FAILURE;
+    }
+
+    final Optional<SMFParserEventsDataTrianglesType> tri_receiver_opt =
+      receiver.onTriangles();
+    if (tri_receiver_opt.isEmpty()) {
+      this.state.set(Flags.TRIANGLES_RECEIVED, true);
+      return SUCCESS;
+    }
+
+    return this.triangles.parseTriangles(receiver, tri_receiver_opt.get());
+  }
+
+  private SMFTParsingStatus parseVertices(
+    final SMFParserEventsBodyType receiver,
+    final List<SMFTIndexEntry> entries,
+    final int start)
+    throws IOException
+  {
+    final List<SMFTIndexEntry> attributes = new ArrayList<>(8);
+    boolean terminated = false;
+    for (int position = start + 1; position < entries.size(); ++position) {
+      final SMFTIndexEntry entry = entries.get(position);
+      if (entry.kind() == SMFTIndexEntryKind.ENTRY_ATTRIBUTE) {
+        attributes.add(entry);
+        continue;
+      }
+      terminated = entry.kind() == SMFTIndexEntryKind.ENTRY_VERTICES_END;
+      break;
+    }
+
+    if (!terminated) {
+      receiver.onError(SMFParseError.of(
+        this.positionOf(entries.get(start)),
+        "Unexpected EOF: The vertices-noninterleaved section is not terminated",
+        Optional.empty()));
+      return FAILURE;
+    }
+
+    final Optional<SMFParserEventsDataAttributesNonInterleavedType> data_opt =
+      receiver.onAttributesNonInterleaved();
+    if (data_opt.isEmpty()) {
+      this.state.set(Flags.VERTICES_RECEIVED, true);
+      return SUCCESS;
+    }
+
+    final SMFParserEventsDataAttributesNonInterleavedType data_receiver =
+      data_opt.get();
+    try {
+      return this.parseAttributes(data_receiver, attributes);
+    } finally {
+      data_receiver.onDataAttributesNonInterleavedFinish();
+    }
+  }
+
+  private SMFTParsingStatus parseAttributes(
+    final SMFParserEventsDataAttributesNonInterleavedType data_receiver,
+    final List<SMFTIndexEntry> attributes)
+    throws IOException
+  {
+    final SMFHeader header = this.header_get.get();
+    final SortedMap<SMFAttributeName, SMFAttribute> by_name =
+      header.attributesByName();
+    final Set<SMFAttributeName> attributes_done = new HashSet<>();
+
+    for (final SMFTIndexEntry entry : attributes) {
+      final SMFAttributeName name;
+      try {
+        name = SMFAttributeName.of(entry.name());
+      } catch (final IllegalArgumentException e) {
+        data_receiver.onError(SMFParseError.of(
+          this.positionOf(entry),
+          "Malformed attribute command: " + e.getMessage(),
+          Optional.of(e)));
+        return FAILURE;
+      }
+
+      final SMFAttribute attribute = by_name.get(name);
+      if (attribute == null) {
+        data_receiver.onError(SMFParseError.of(
+          this.positionOf(entry),
+          String.format("Unknown attribute '%s'", name.value()),
+          Optional.empty()));
+        return FAILURE;
+      }
+
+      if (!attributes_done.add(name)) {
+        data_receiver.onError(SMFParseError.of(
+          this.positionOf(entry),
+          String.format("Attribute already specified: '%s'", name.value()),
+          Optional.empty()));
+        return FAILURE;
+      }
+
+      final Optional<SMFParserEventsDataAttributeValuesType> values_opt =
+        data_receiver.onDataAttributeStart(attribute);
+      if (values_opt.isEmpty()) {
+        continue;
+      }
+
+      this.reader.seek(entry.offset(), entry.line());
+      this.reader.line();
+
+      switch (this.vertices.parseAttributeValues(values_opt.get(), attribute)) {
+        case SUCCESS:
+          break;
+        case FAILURE:
+          return FAILURE;
+      }
+    }
+
+    if (attributes_done.size() != by_name.size()) {
+      by_name.keySet()
+        .stream()
+        .filter(name -> !attributes_done.contains(name))
+        .forEach(name -> data_receiver.onError(SMFParseError.of(
+          this.reader.position(),
+          String.format("No data specified for attribute '%s'", name.value()),
+          Optional.empty())));
+      return FAILURE;
+    }
+
+    this.state.set(Flags.VERTICES_RECEIVED, true);
+    return SUCCESS;
+  }
+}
@@ -160,6 +160,27 @@ public final class SMFTV1BodySectionParserTriangles implements
     final SMFParserEventsDataTrianglesType tri_receiver =
       makeTriangleReceiver(receiver, tri_receiver_opt);
 
+    return this.parseTriangles(receiver, tri_receiver);
+  }
+
+  /**
+   * Parse the triangle data of the section, delivering triangles to
+   * {@code tri_receiver}. The section command is assumed to have been
+   * consumed already.
+   *
+   * @param receiver     The event receiver
+   * @param tri_receiver The triangle receiver
+   *
+   * @return The result of parsing
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public SMFTParsingStatus parseTriangles(
+    final SMFParserEventsBodyType receiver,
+    final SMFParserEventsDataTrianglesType tri_receiver)
+    throws IOException
+  {
     try {
       final SMFHeader header = this.header_get.get();
       final long triangle_count = header.triangles().triangleCount();
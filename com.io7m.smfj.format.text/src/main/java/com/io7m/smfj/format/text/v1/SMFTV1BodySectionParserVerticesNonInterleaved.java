@@ -27,6 +27,7 @@ import com.io7m.smfj.format.text.SMFTBodySectionParserType;
 import com.io7m.smfj.format.text.SMFTLineReaderType;
 import com.io7m.smfj.format.text.SMFTParsingStatus;
 import com.io7m.smfj.format.text.implementation.Flags;
+import com.io7m.smfj.format.text.implementation.HexFloats;
 import com.io7m.smfj.parser.api.SMFParseError;
 import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
 import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesIgnoringReceiver;
@@ -233,6 +234,28 @@ public final class SMFTV1BodySectionParserVerticesNonInterleaved implements
     return FAILURE;
   }
 
+  /**
+   * Parse the values of a single attribute, starting at the current line.
+   * The {@code attribute} command for the attribute is assumed to have been
+   * consumed already.
+   *
+   * @param receiver  The value receiver
+   * @param attribute The attribute
+   *
+   * @return The result of parsing
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public SMFTParsingStatus parseAttributeValues(
+    final SMFParserEventsDataAttributeValuesType receiver,
+    final SMFAttribute attribute)
+    throws IOException
+  {
+    return this.parseAttributeNonInterleavedValues(
+      this.header_get.get(), receiver, attribute);
+  }
+
   private SMFTParsingStatus parseAttributeNonInterleavedValues(
     final SMFHeader header,
     final SMFParserEventsDataAttributeValuesType receiver,
@@ -617,10 +640,10 @@ public final class SMFTV1BodySectionParserVerticesNonInterleaved implements
   {
     if (line.size() == 4) {
       try {
-        final double x = Double.parseDouble(line.get(0));
-        final double y = Double.parseDouble(line.get(1));
-        final double z = Double.parseDouble(line.get(2));
-        final double w = Double.parseDouble(line.get(3));
+        final double x = HexFloats.parseDouble(line.get(0));
+        final double y = HexFloats.parseDouble(line.get(1));
+        final double z = HexFloats.parseDouble(line.get(2));
+        final double w = HexFloats.parseDouble(line.get(3));
         receiver.onDataAttributeValueFloat4(x, y, z, w);
         return SUCCESS;
       } catch (final NumberFormatException e) {
@@ -647,9 +670,9 @@ public final class SMFTV1BodySectionParserVerticesNonInterleaved implements
   {
     if (line.size() == 3) {
       try {
-        final double x = Double.parseDouble(line.get(0));
-        final double y = Double.parseDouble(line.get(1));
-        final double z = Double.parseDouble(line.get(2));
+        final double x = HexFloats.parseDouble(line.get(0));
+        final double y = HexFloats.parseDouble(line.get(1));
+        final double z = HexFloats.parseDouble(line.get(2));
         receiver.onDataAttributeValueFloat3(x, y, z);
         return SUCCESS;
       } catch (final NumberFormatException e) {
@@ -676,8 +699,8 @@ public final class SMFTV1BodySectionParserVerticesNonInterleaved implements
   {
     if (line.size() == 2) {
       try {
-        final double x = Double.parseDouble(line.get(0));
-        final double y = Double.parseDouble(line.get(1));
+        final double x = HexFloats.parseDouble(line.get(0));
+        final double y = HexFloats.parseDouble(line.get(1));
         receiver.onDataAttributeValueFloat2(x, y);
         return SUCCESS;
       } catch (final NumberFormatException e) {
@@ -704,7 +727,7 @@ public final class SMFTV1BodySectionParserVerticesNonInterleaved implements
   {
     if (line.size() == 1) {
       try {
-        final double x = Double.parseDouble(line.get(0));
+        final double x = HexFloats.parseDouble(line.get(0));
         receiver.onDataAttributeValueFloat1(x);
         return SUCCESS;
       } catch (final NumberFormatException e) {
@@ -25,6 +25,8 @@ import com.io7m.smfj.core.SMFFormatVersion;
 import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.format.text.SMFTBodySectionParserType;
 import com.io7m.smfj.format.text.SMFTHeaderCommandParserType;
+import com.io7m.smfj.format.text.SMFTIndex;
+import com.io7m.smfj.format.text.SMFTLineReaderChannel;
 import com.io7m.smfj.format.text.SMFTLineReaderType;
 import com.io7m.smfj.format.text.SMFTParsingStatus;
 import com.io7m.smfj.parser.api.SMFParseError;
@@ -64,6 +66,7 @@ public final class SMFTV1Parser implements SMFParserSequentialType
   private final TreeMap<String, SMFTBodySectionParserType> body_commands;
   private final SMFHeader.Builder header_builder;
   private final BitSet state;
+  private final Optional<SMFTV1BodyIndexed> indexed;
   private TreeMap<SMFAttributeName, Integer> attributes_lines;
   private Collection<SMFAttribute> attributes_list;
   private SMFHeader header;
@@ -82,6 +85,44 @@ public final class SMFTV1Parser implements SMFParserSequentialType
     final BitSet in_state,
     final SMFParserEventsType in_events,
     final SMFTLineReaderType in_reader)
+  {
+    this(in_version, in_state, in_events, in_reader, Optional.empty());
+  }
+
+  /**
+   * Construct a parser that uses the given index to seek directly to the
+   * body sections that the event receiver asks for. Sections, and
+   * individual attributes, that the receiver declines are skipped without
+   * being read.
+   *
+   * @param in_version The format version
+   * @param in_state   Parser state
+   * @param in_events  An event receiver
+   * @param in_reader  A line reader
+   * @param in_index   An index of the file open on {@code in_reader}
+   */
+
+  public SMFTV1Parser(
+    final SMFFormatVersion in_version,
+    final BitSet in_state,
+    final SMFParserEventsType in_events,
+    final SMFTLineReaderChannel in_reader,
+    final SMFTIndex in_index)
+  {
+    this(
+      in_version,
+      in_state,
+      in_events,
+      in_reader,
+      Optional.of(Objects.requireNonNull(in_index, "Index")));
+  }
+
+  private SMFTV1Parser(
+    final SMFFormatVersion in_version,
+    final BitSet in_state,
+    final SMFParserEventsType in_events,
+    final SMFTLineReaderType in_reader,
+    final Optional<SMFTIndex> in_index)
   {
     this.version = Objects.requireNonNull(in_version, "Version");
     this.state = Objects.requireNonNull(in_state, "State");
@@ -116,16 +157,34 @@ public final class SMFTV1Parser implements SMFParserSequentialType
     this.registerHeaderCommand(
       new SMFTV1HeaderCommandEndianness(this.reader, this.header_builder));
 
-    this.body_commands = new TreeMap<>();
-    this.registerBodyCommand(
+    final var vertices =
       new SMFTV1BodySectionParserVerticesNonInterleaved(
-        () -> this.header, this.reader, this.state));
-    this.registerBodyCommand(
+        () -> this.header, this.reader, this.state);
+    final var triangles =
       new SMFTV1BodySectionParserTriangles(
-        () -> this.header, this.reader, this.state));
-    this.registerBodyCommand(
+        () -> this.header, this.reader, this.state);
+    final var metadata =
       new SMFTV1BodySectionParserMetadata(
-        () -> this.header, this.reader));
+        () -> this.header, this.reader);
+
+    this.body_commands = new TreeMap<>();
+    this.registerBodyCommand(vertices);
+    this.registerBodyCommand(triangles);
+    this.registerBodyCommand(metadata);
+
+    /*
+     * An index is only ever provided by the public constructor that also
+     * requires a channel reader.
+     */
+
+    this.indexed = in_index.map(index -> new SMFTV1BodyIndexed(
+      index,
+      (SMFTLineReaderChannel) in_reader,
+      () -> this.header,
+      this.state,
+      vertices,
+      triangles,
+      metadata));
   }
 
   private void registerHeaderCommand(
@@ -243,6 +302,11 @@ public final class SMFTV1Parser implements SMFParserSequentialType
     }
 
     final SMFParserEventsBodyType data_receiver = r_opt.get();
+    if (this.indexed.isPresent()) {
+      this.indexed.get().parse(data_receiver);
+      return;
+    }
+
     switch (this.parseBodyCommands(data_receiver)) {
       case SUCCESS:
         break;
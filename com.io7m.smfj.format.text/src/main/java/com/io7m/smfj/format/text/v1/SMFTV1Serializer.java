@@ -17,6 +17,7 @@
 package com.io7m.smfj.format.text.v1;
 
 import com.io7m.jaffirm.core.Preconditions;
+import com.io7m.junreachable.UnreachableCodeException;
 import com.io7m.smfj.core.SMFAttribute;
 import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFComponentType;
@@ -25,6 +26,7 @@ import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFSchemaIdentifier;
 import com.io7m.smfj.core.SMFTriangles;
 import com.io7m.smfj.format.text.SMFBase64Lines;
+import com.io7m.smfj.format.text.SMFTFloatEncoding;
 import com.io7m.smfj.serializer.api.SMFSerializerDataAttributesNonInterleavedType;
 import com.io7m.smfj.serializer.api.SMFSerializerDataAttributesValuesType;
 import com.io7m.smfj.serializer.api.SMFSerializerDataTrianglesType;
@@ -54,6 +56,7 @@ import static com.io7m.smfj.core.SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED;
 public final class SMFTV1Serializer implements SMFSerializerType
 {
   private final SMFFormatVersion version;
+  private final SMFTFloatEncoding floatEncoding;
   private final BufferedWriter writer;
   private boolean done_header;
   private boolean done_vertices;
@@ -61,7 +64,7 @@ public final class SMFTV1Serializer implements SMFSerializerType
   private boolean done_triangles;
 
   /**
-   * Construct a serializer.
+   * Construct a serializer that writes decimal floating point values.
    *
    * @param in_version The format version
    * @param in_uri     The URI of the target, for diagnostic purposes
@@ -72,8 +75,32 @@ public final class SMFTV1Serializer implements SMFSerializerType
     final SMFFormatVersion in_version,
     final URI in_uri,
     final OutputStream in_stream)
+  {
+    this(
+      in_version,
+      in_uri,
+      in_stream,
+      SMFTFloatEncoding.FLOAT_ENCODING_DECIMAL);
+  }
+
+  /**
+   * Construct a serializer.
+   *
+   * @param in_version        The format version
+   * @param in_uri            The URI of the target, for diagnostic purposes
+   * @param in_stream         An output stream
+   * @param in_float_encoding The encoding used for floating point values
+   */
+
+  public SMFTV1Serializer(
+    final SMFFormatVersion in_version,
+    final URI in_uri,
+    final OutputStream in_stream,
+    final SMFTFloatEncoding in_float_encoding)
   {
     this.version = Objects.requireNonNull(in_version, "Version");
+    this.floatEncoding =
+      Objects.requireNonNull(in_float_encoding, "Float encoding");
 
     Preconditions.checkPreconditionI(
       in_version.major(),
@@ -234,7 +261,8 @@ public final class SMFTV1Serializer implements SMFSerializerType
     try {
       this.writer.append("vertices-noninterleaved");
       this.writer.newLine();
-      return new VertexDataNonInterleaved(this.writer, this.header);
+      return new VertexDataNonInterleaved(
+        this.writer, this.header, this.floatEncoding);
     } finally {
       this.done_vertices = true;
     }
@@ -312,13 +340,17 @@ public final class SMFTV1Serializer implements SMFSerializerType
     private final SMFHeader header;
     private final Deque<SMFAttribute> queue;
     private final BufferedWriter writer;
+    private final SMFTFloatEncoding floatEncoding;
 
     VertexDataNonInterleaved(
       final BufferedWriter in_writer,
-      final SMFHeader in_header)
+      final SMFHeader in_header,
+      final SMFTFloatEncoding in_float_encoding)
     {
       this.writer = Objects.requireNonNull(in_writer, "Writer");
       this.header = Objects.requireNonNull(in_header, "Header");
+      this.floatEncoding =
+        Objects.requireNonNull(in_float_encoding, "Float encoding");
       this.queue = new LinkedList<>();
       this.header.attributesInOrder().forEach(this.queue::add);
     }
@@ -359,7 +391,8 @@ public final class SMFTV1Serializer implements SMFSerializerType
       return new ValuesNonInterleaved(
         this.writer,
         this.header.vertexCount(),
-        this.queue.poll());
+        this.queue.poll(),
+        this.floatEncoding);
     }
 
     @Override
@@ -387,16 +420,32 @@ public final class SMFTV1Serializer implements SMFSerializerType
   {
     private final SMFAttribute attribute;
     private final BufferedWriter writer;
+    private final SMFTFloatEncoding floatEncoding;
     private long vertices;
 
     ValuesNonInterleaved(
       final BufferedWriter in_writer,
       final long in_vertices,
-      final SMFAttribute in_attribute)
+      final SMFAttribute in_attribute,
+      final SMFTFloatEncoding in_float_encoding)
     {
       this.writer = Objects.requireNonNull(in_writer, "Writer");
       this.vertices = in_vertices;
       this.attribute = Objects.requireNonNull(in_attribute, "Attribute");
+      this.floatEncoding =
+        Objects.requireNonNull(in_float_encoding, "Float encoding");
+    }
+
+    private String formatFloat(
+      final double x)
+    {
+      switch (this.floatEncoding) {
+        case FLOAT_ENCODING_DECIMAL:
+          return Double.toString(x);
+        case FLOAT_ENCODING_HEXADECIMAL:
+          return Double.toHexString(x);
+      }
+      throw new UnreachableCodeException();
     }
 
     @Override
@@ -410,13 +459,13 @@ public final class SMFTV1Serializer implements SMFSerializerType
       this.checkType(ELEMENT_TYPE_FLOATING, 4);
       this.checkVerticesRemaining();
 
-      this.writer.append(Double.toString(x));
+      this.writer.append(this.formatFloat(x));
       this.writer.append(" ");
-      this.writer.append(Double.toString(y));
+      this.writer.append(this.formatFloat(y));
       this.writer.append(" ");
-      this.writer.append(Double.toString(z));
+      this.writer.append(this.formatFloat(z));
       this.writer.append(" ");
-      this.writer.append(Double.toString(w));
+      this.writer.append(this.formatFloat(w));
       this.writer.newLine();
     }
 
@@ -480,11 +529,11 @@ public final class SMFTV1Serializer implements SMFSerializerType
       this.checkType(ELEMENT_TYPE_FLOATING, 3);
       this.checkVerticesRemaining();
 
-      this.writer.append(Double.toString(x));
+      this.writer.append(this.formatFloat(x));
       this.writer.append(" ");
-      this.writer.append(Double.toString(y));
+      this.writer.append(this.formatFloat(y));
       this.writer.append(" ");
-      this.writer.append(Double.toString(z));
+      this.writer.append(this.formatFloat(z));
       this.writer.newLine();
     }
 
@@ -497,9 +546,9 @@ public final class SMFTV1Serializer implements SMFSerializerType
       this.checkType(ELEMENT_TYPE_FLOATING, 2);
       this.checkVerticesRemaining();
 
-      this.writer.append(Double.toString(x));
+      this.writer.append(this.formatFloat(x));
       this.writer.append(" ");
-      this.writer.append(Double.toString(y));
+      this.writer.append(this.formatFloat(y));
       this.writer.newLine();
     }
 
@@ -511,7 +560,7 @@ public final class SMFTV1Serializer implements SMFSerializerType
       this.checkType(ELEMENT_TYPE_FLOATING, 1);
       this.checkVerticesRemaining();
 
-      this.writer.append(Double.toString(x));
+      this.writer.append(this.formatFloat(x));
       this.writer.newLine();
     }
 
@@ -17,15 +17,14 @@
 
 package com.io7m.smfj.format.xml;
 
-import com.io7m.jxe.core.JXEHardenedSAXParsers;
-import com.io7m.jxe.core.JXESchemaDefinition;
-import com.io7m.jxe.core.JXESchemaResolutionMappings;
 import com.io7m.smfj.core.SMFFormatDescription;
 import com.io7m.smfj.core.SMFFormatVersion;
 import com.io7m.smfj.core.SMFPartialLogged;
 import com.io7m.smfj.format.xml.internal.SMFXParser;
 import com.io7m.smfj.format.xml.internal.SMFXProbe;
+import com.io7m.smfj.format.xml.internal.SMFXReaderPool;
 import com.io7m.smfj.format.xml.internal.SMFXSerializer;
+import com.io7m.smfj.format.xml.internal.SMFXStreamParser;
 import com.io7m.smfj.parser.api.SMFParseErrors;
 import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.parser.api.SMFParserProviderType;
@@ -39,20 +38,23 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.net.URL;
 import java.nio.channels.FileChannel;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
 import org.osgi.service.component.annotations.Component;
 import org.xml.sax.SAXException;
 
-import static com.io7m.jxe.core.JXEXInclude.XINCLUDE_DISABLED;
-
 /**
  * A format provider for the XML format.
  */
@@ -63,31 +65,61 @@ public final class SMFFormatXML
   SMFSerializerProviderType,
   SMFVersionProbeProviderType
 {
-  private static final JXESchemaDefinition SCHEMA_M2P0 =
-    JXESchemaDefinition.of(
-      URI.create("urn:com.io7m.smf:xml:2:0"),
-      "schema-2.0.xsd",
-      SMFFormatXML.class.getResource("/com/io7m/smfj/format/xml/schema-2.0.xsd")
-    );
-
-  private static final JXESchemaResolutionMappings SCHEMAS =
-    JXESchemaResolutionMappings.builder()
-      .putMappings(URI.create("urn:com.io7m.smf:xml:2:0"), SCHEMA_M2P0)
-      .build();
+  private static final URL SCHEMA_M2P0_LOCATION =
+    SMFFormatXML.class.getResource("/com/io7m/smfj/format/xml/schema-2.0.xsd");
+
+  private static final int READER_POOL_MAXIMUM =
+    Math.max(4, Runtime.getRuntime().availableProcessors());
 
   private static final SMFFormatDescription FORMAT = makeFormat();
   private static final SortedSet<SMFFormatVersion> SUPPORTED = makeVersion();
-  private final JXEHardenedSAXParsers parsers;
   private final XMLOutputFactory writers;
+  private final XMLInputFactory streamReaders;
+  private final SMFXValidation validation;
+  private final SMFXAttributeEncoding encoding;
+  private volatile Schema schema;
+  private volatile SMFXReaderPool readers;
 
   /**
-   * Construct a format provider.
+   * Construct a format provider that fully validates parsed documents.
    */
 
   public SMFFormatXML()
   {
-    this.parsers = new JXEHardenedSAXParsers();
+    this(SMFXValidation.VALIDATION_FULL);
+  }
+
+  /**
+   * Construct a format provider. If {@code in_validation} is anything other
+   * than {@link SMFXValidation#VALIDATION_FULL}, sequential parsers use a
+   * streaming StAX parser that is considerably faster for large meshes.
+   *
+   * @param in_validation The validation applied to parsed documents
+   */
+
+  public SMFFormatXML(
+    final SMFXValidation in_validation)
+  {
+    this(in_validation, SMFXAttributeEncoding.ATTRIBUTE_ENCODING_ELEMENTS);
+  }
+
+  /**
+   * Construct a format provider.
+   *
+   * @param in_validation The validation applied to parsed documents
+   * @param in_encoding   The encoding used for serialized attribute data
+   *
+   * @see #SMFFormatXML(SMFXValidation)
+   */
+
+  public SMFFormatXML(
+    final SMFXValidation in_validation,
+    final SMFXAttributeEncoding in_encoding)
+  {
+    this.validation = Objects.requireNonNull(in_validation, "validation");
+    this.encoding = Objects.requireNonNull(in_encoding, "encoding");
     this.writers = XMLOutputFactory.newInstance();
+    this.streamReaders = SMFXStreamParser.createInputFactory();
   }
 
   private static SMFFormatDescription makeFormat()
@@ -131,19 +163,91 @@ public final class SMFFormatXML
     Objects.requireNonNull(uri, "uri");
     Objects.requireNonNull(stream, "stream");
 
+    switch (this.validation) {
+      case VALIDATION_FULL:
+        break;
+      case VALIDATION_HEADER_ONLY:
+        return this.parserCreateStreaming(events, uri, stream, true);
+      case VALIDATION_NONE:
+        return this.parserCreateStreaming(events, uri, stream, false);
+    }
+
+    try {
+      final var pool = this.readers();
+      final var parser = pool.acquire();
+      return new SMFXParser(
+        events, uri, parser.getXMLReader(), stream, () -> pool.release(parser));
+    } catch (final Exception e) {
+      events.onError(SMFParseErrors.errorException(e));
+      throw new UnsupportedOperationException(e);
+    }
+  }
+
+  private SMFParserSequentialType parserCreateStreaming(
+    final SMFParserEventsType events,
+    final URI uri,
+    final InputStream stream,
+    final boolean validateHeader)
+  {
     try {
-      final var reader =
-        this.parsers.createXMLReader(
-          Optional.empty(),
-          XINCLUDE_DISABLED,
-          SCHEMAS);
-      return new SMFXParser(events, uri, reader, stream);
+      final Optional<Schema> headerSchema;
+      if (validateHeader) {
+        headerSchema = Optional.of(this.schema());
+      } else {
+        headerSchema = Optional.empty();
+      }
+      return new SMFXStreamParser(
+        events, uri, this.streamReaders, headerSchema, stream);
     } catch (final Exception e) {
       events.onError(SMFParseErrors.errorException(e));
       throw new UnsupportedOperationException(e);
     }
   }
 
+  /**
+   * @return The compiled SMF XML schema, compiling it on first use
+   */
+
+  private Schema schema()
+    throws SAXException
+  {
+    final Schema existing = this.schema;
+    if (existing != null) {
+      return existing;
+    }
+
+    synchronized (this) {
+      if (this.schema == null) {
+        final SchemaFactory factory =
+          SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        this.schema = factory.newSchema(SCHEMA_M2P0_LOCATION);
+      }
+      return this.schema;
+    }
+  }
+
+  /**
+   * @return The pool of validating readers, creating it on first use
+   */
+
+  private SMFXReaderPool readers()
+    throws ParserConfigurationException, SAXException
+  {
+    final SMFXReaderPool existing = this.readers;
+    if (existing != null) {
+      return existing;
+    }
+
+    synchronized (this) {
+      if (this.readers == null) {
+        this.readers = new SMFXReaderPool(this.schema(), READER_POOL_MAXIMUM);
+      }
+      return this.readers;
+    }
+  }
+
   @Override
   public SMFParserRandomAccessType parserCreateRandomAccess(
     final SMFParserEventsType events,
@@ -163,17 +267,18 @@ public final class SMFFormatXML
     final InputStream stream)
   {
     try {
-      final var reader =
-        this.parsers.createXMLReader(
-          Optional.empty(),
-          XINCLUDE_DISABLED,
-          SCHEMAS);
-      return new SMFXProbe(
-        this,
-        URI.create("urn:probe-input"),
-        reader,
-        stream)
-        .execute();
+      final var pool = this.readers();
+      final var parser = pool.acquire();
+      try {
+        return new SMFXProbe(
+          this,
+          URI.create("urn:probe-input"),
+          parser.getXMLReader(),
+          stream)
+          .execute();
+      } finally {
+        pool.release(parser);
+      }
     } catch (final ParserConfigurationException | SAXException e) {
       return SMFPartialLogged.failed(SMFParseErrors.errorException(e));
     }
@@ -204,7 +309,8 @@ public final class SMFFormatXML
 
     try {
       return new SMFXSerializer(
-        this.writers.createXMLStreamWriter(stream, "UTF-8"))
+        this.writers.createXMLStreamWriter(stream, "UTF-8"),
+        this.encoding)
         .start();
     } catch (final XMLStreamException e) {
       throw new IOException(e);
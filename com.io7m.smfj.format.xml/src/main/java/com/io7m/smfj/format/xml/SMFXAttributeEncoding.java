@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.xml;
+
+/**
+ * The encoding used for attribute data by the XML serializer. All encodings
+ * produce documents that are valid with respect to the SMF XML schema.
+ */
+
+public enum SMFXAttributeEncoding
+{
+  /**
+   * Each value is written as a separate element with one XML attribute per
+   * component. This is the most verbose encoding.
+   */
+
+  ATTRIBUTE_ENCODING_ELEMENTS,
+
+  /**
+   * All of the values of an attribute are written as a single
+   * whitespace-separated list of components.
+   */
+
+  ATTRIBUTE_ENCODING_LIST,
+
+  /**
+   * All of the values of an attribute are written as a single base64 block
+   * containing the components in their native binary encoding, using the
+   * component size and byte order specified in the header. This is the most
+   * compact encoding, and is exact for all component types.
+   */
+
+  ATTRIBUTE_ENCODING_BASE64
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.format.xml;
+
+/**
+ * The degree to which XML documents are validated against the SMF XML
+ * schema during parsing.
+ */
+
+public enum SMFXValidation
+{
+  /**
+   * The entire document is validated against the schema. This is the
+   * slowest option, but guarantees that structurally invalid documents are
+   * rejected before any data is delivered.
+   */
+
+  VALIDATION_FULL,
+
+  /**
+   * Only the {@code Header} element is validated against the schema. The
+   * rest of the document is read with a streaming parser that checks the
+   * structure it requires, but does not check the document against the
+   * schema.
+   */
+
+  VALIDATION_HEADER_ONLY,
+
+  /**
+   * The document is not validated against the schema. The document is read
+   * with a streaming parser that checks only the structure it requires.
+   */
+
+  VALIDATION_NONE
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.format.xml.internal;
+
+import com.io7m.junreachable.UnreachableCodeException;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFComponentType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+
+/**
+ * Functions to decode and encode the compact attribute data elements. A
+ * compact element carries all of the values of an attribute in a single
+ * element, either as a whitespace-separated list of component values, or as
+ * a base64 encoding of the components in the native binary representation
+ * given by the header (component size and byte order), tightly packed, in
+ * vertex order.
+ */
+
+final class SMFXAttributeCodec
+{
+  static final String ELEMENT_LIST_FLOAT =
+    "AttributeListFloat";
+  static final String ELEMENT_LIST_INTEGER_SIGNED =
+    "AttributeListIntegerSigned";
+  static final String ELEMENT_LIST_INTEGER_UNSIGNED =
+    "AttributeListIntegerUnsigned";
+  static final String ELEMENT_BASE64 =
+    "AttributeBase64";
+
+  private SMFXAttributeCodec()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  static String listElementNameFor(
+    final SMFComponentType type)
+  {
+    switch (type) {
+      case ELEMENT_TYPE_INTEGER_SIGNED:
+        return ELEMENT_LIST_INTEGER_SIGNED;
+      case ELEMENT_TYPE_INTEGER_UNSIGNED:
+        return ELEMENT_LIST_INTEGER_UNSIGNED;
+      case ELEMENT_TYPE_FLOATING:
+        return ELEMENT_LIST_FLOAT;
+    }
+    throw new UnreachableCodeException();
+  }
+
+  static boolean isCompactElement(
+    final String name)
+  {
+    switch (name) {
+      case ELEMENT_LIST_FLOAT:
+      case ELEMENT_LIST_INTEGER_SIGNED:
+      case ELEMENT_LIST_INTEGER_UNSIGNED:
+      case ELEMENT_BASE64:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Format a floating point value using the lexical space of the XSD
+   * {@code double} type.
+   */
+
+  static String formatDouble(
+    final double x)
+  {
+    if (x == Double.POSITIVE_INFINITY) {
+      return "INF";
+    }
+    if (x == Double.NEGATIVE_INFINITY) {
+      return "-INF";
+    }
+    return Double.toString(x);
+  }
+
+  static double parseDouble(
+    final String text)
+  {
+    switch (text) {
+      case "INF":
+      case "+INF":
+        return Double.POSITIVE_INFINITY;
+      case "-INF":
+        return Double.NEGATIVE_INFINITY;
+      default:
+        return Double.parseDouble(text);
+    }
+  }
+
+  private static boolean isWhitespace(
+    final char c)
+  {
+    return c == ' ' || c == '\n' || c == '\t' || c == '\r';
+  }
+
+  /**
+   * Decode the whitespace-separated list {@code text} as the values of
+   * {@code attribute}, delivering exactly {@code vertexCount} values to
+   * {@code events}.
+   *
+   * @throws IllegalArgumentException If the list is malformed or contains
+   *                                  the wrong number of values
+   */
+
+  static void decodeList(
+    final SMFAttribute attribute,
+    final long vertexCount,
+    final String text,
+    final SMFParserEventsDataAttributeValuesType events)
+    throws IllegalArgumentException
+  {
+    final SMFComponentType type = attribute.componentType();
+    final int count = attribute.componentCount();
+    final long[] integers = new long[4];
+    final double[] floats = new double[4];
+    final int length = text.length();
+
+    long vertices = 0L;
+    int component = 0;
+    int index = 0;
+    while (true) {
+      while (index < length && isWhitespace(text.charAt(index))) {
+        ++index;
+      }
+      if (index == length) {
+        break;
+      }
+      final int start = index;
+      while (index < length && !isWhitespace(text.charAt(index))) {
+        ++index;
+      }
+
+      if (vertices == vertexCount) {
+        throw tooManyValues(attribute, vertexCount);
+      }
+
+      final String token = text.substring(start, index);
+      switch (type) {
+        case ELEMENT_TYPE_INTEGER_SIGNED:
+          integers[component] = Long.parseLong(token);
+          break;
+        case ELEMENT_TYPE_INTEGER_UNSIGNED:
+          integers[component] = Long.parseUnsignedLong(token);
+          break;
+        case ELEMENT_TYPE_FLOATING:
+          floats[component] = parseDouble(token);
+          break;
+      }
+
+      ++component;
+      if (component == count) {
+        deliver(events, type, count, integers, floats);
+        component = 0;
+        ++vertices;
+      }
+    }
+
+    if (component != 0 || vertices != vertexCount) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Attribute %s: Expected %s values of %d components, but %s were provided",
+          attribute.name().value(),
+          Long.toUnsignedString(vertexCount),
+          Integer.valueOf(count),
+          describeProvided(vertices, component)));
+    }
+  }
+
+  private static String describeProvided(
+    final long vertices,
+    final int component)
+  {
+    if (component == 0) {
+      return Long.toUnsignedString(vertices);
+    }
+    return String.format(
+      "%s values and %d trailing components",
+      Long.toUnsignedString(vertices),
+      Integer.valueOf(component));
+  }
+
+  private static IllegalArgumentException tooManyValues(
+    final SMFAttribute attribute,
+    final long vertexCount)
+  {
+    return new IllegalArgumentException(
+      String.format(
+        "Attribute %s: Expected %s values, but more were provided",
+        attribute.name().value(),
+        Long.toUnsignedString(vertexCount)));
+  }
+
+  /**
+   * Decode the base64 block {@code text} as the values of {@code attribute}
+   * encoded with byte order {@code order}, delivering exactly
+   * {@code vertexCount} values to {@code events}.
+   *
+   * @throws IllegalArgumentException If the block is malformed or has the
+   *                                  wrong size
+   */
+
+  static void decodeBase64(
+    final SMFAttribute attribute,
+    final long vertexCount,
+    final ByteOrder order,
+    final String text,
+    final SMFParserEventsDataAttributeValuesType events)
+    throws IllegalArgumentException
+  {
+    final byte[] data = Base64.getMimeDecoder().decode(text);
+    final SMFComponentType type = attribute.componentType();
+    final int count = attribute.componentCount();
+    final int size = attribute.componentSizeBits();
+
+    final long expected;
+    try {
+      expected = Math.multiplyExact(
+        vertexCount, (long) count * (long) (size / 8));
+    } catch (final ArithmeticException e) {
+      throw new IllegalArgumentException(e);
+    }
+
+    if (vertexCount < 0L || expected != (long) data.length) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Attribute %s: Expected %s bytes of data, but %d were provided",
+          attribute.name().value(),
+          Long.toUnsignedString(expected),
+          Integer.valueOf(data.length)));
+    }
+
+    final ByteBuffer buffer = ByteBuffer.wrap(data).order(order);
+    final long[] integers = new long[4];
+    final double[] floats = new double[4];
+
+    try {
+      for (long vertex = 0L; vertex < vertexCount; ++vertex) {
+        for (int component = 0; component < count; ++component) {
+          switch (type) {
+            case ELEMENT_TYPE_INTEGER_SIGNED:
+              integers[component] = getSigned(buffer, size);
+              break;
+            case ELEMENT_TYPE_INTEGER_UNSIGNED:
+              integers[component] = getUnsigned(buffer, size);
+              break;
+            case ELEMENT_TYPE_FLOATING:
+              floats[component] = getFloat(buffer, size);
+              break;
+          }
+        }
+        deliver(events, type, count, integers, floats);
+      }
+    } catch (final BufferUnderflowException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  private static IllegalArgumentException unsupportedSize(
+    final int size)
+  {
+    return new IllegalArgumentException(
+      String.format("Unsupported component size: %d", Integer.valueOf(size)));
+  }
+
+  private static long getSigned(
+    final ByteBuffer buffer,
+    final int size)
+  {
+    switch (size) {
+      case 8:
+        return buffer.get();
+      case 16:
+        return buffer.getShort();
+      case 32:
+        return buffer.getInt();
+      case 64:
+        return buffer.getLong();
+      default:
+        throw unsupportedSize(size);
+    }
+  }
+
+  private static long getUnsigned(
+    final ByteBuffer buffer,
+    final int size)
+  {
+    switch (size) {
+      case 8:
+        return Byte.toUnsignedLong(buffer.get());
+      case 16:
+        return Short.toUnsignedLong(buffer.getShort());
+      case 32:
+        return Integer.toUnsignedLong(buffer.getInt());
+      case 64:
+        return buffer.getLong();
+      default:
+        throw unsupportedSize(size);
+    }
+  }
+
+  private static double getFloat(
+    final ByteBuffer buffer,
+    final int size)
+  {
+    switch (size) {
+      case 16:
+        return Float.float16ToFloat(buffer.getShort());
+      case 32:
+        return buffer.getFloat();
+      case 64:
+        return buffer.getDouble();
+      default:
+        throw unsupportedSize(size);
+    }
+  }
+
+  static void putInteger(
+    final ByteBuffer buffer,
+    final int size,
+    final long x)
+  {
+    switch (size) {
+      case 8:
+        buffer.put((byte) x);
+        return;
+      case 16:
+        buffer.putShort((short) x);
+        return;
+      case 32:
+        buffer.putInt((int) x);
+        return;
+      case 64:
+        buffer.putLong(x);
+        return;
+      default:
+        throw unsupportedSize(size);
+    }
+  }
+
+  static void putFloat(
+    final ByteBuffer buffer,
+    final int size,
+    final double x)
+  {
+    switch (size) {
+      case 16:
+        buffer.putShort(Float.floatToFloat16((float) x));
+        return;
+      case 32:
+        buffer.putFloat((float) x);
+        return;
+      case 64:
+        buffer.putDouble(x);
+        return;
+      default:
+        throw unsupportedSize(size);
+    }
+  }
+
+  /**
+   * Deliver the first {@code count} components of {@code i} or {@code f}
+   * (depending on {@code type}) as a single value.
+   */
+
+  static void deliver(
+    final SMFParserEventsDataAttributeValuesType events,
+    final SMFComponentType type,
+    final int count,
+    final long[] i,
+    final double[] f)
+  {
+    switch (type) {
+      case ELEMENT_TYPE_INTEGER_SIGNED: {
+        switch (count) {
+          case 1:
+            events.onDataAttributeValueIntegerSigned1(i[0]);
+            return;
+          case 2:
+            events.onDataAttributeValueIntegerSigned2(i[0], i[1]);
+            return;
+          case 3:
+            events.onDataAttributeValueIntegerSigned3(i[0], i[1], i[2]);
+            return;
+          case 4:
+            events.onDataAttributeValueIntegerSigned4(
+              i[0], i[1], i[2], i[3]);
+            return;
+          default:
+            throw new UnreachableCodeException();
+        }
+      }
+      case ELEMENT_TYPE_INTEGER_UNSIGNED: {
+        switch (count) {
+          case 1:
+            events.onDataAttributeValueIntegerUnsigned1(i[0]);
+            return;
+          case 2:
+            events.onDataAttributeValueIntegerUnsigned2(i[0], i[1]);
+            return;
+          case 3:
+            events.onDataAttributeValueIntegerUnsigned3(
+              i[0], i[1], i[2]);
+            return;
+          case 4:
+            events.onDataAttributeValueIntegerUnsigned4(
+              i[0], i[1], i[2], i[3]);
+            return;
+          default:
+            throw new UnreachableCodeException();
+        }
+      }
+      case ELEMENT_TYPE_FLOATING: {
+        switch (count) {
+          case 1:
+            events.onDataAttributeValueFloat1(f[0]);
+            return;
+          case 2:
+            events.onDataAttributeValueFloat2(f[0], f[1]);
+            return;
+          case 3:
+            events.onDataAttributeValueFloat3(f[0], f[1], f[2]);
+            return;
+          case 4:
+            events.onDataAttributeValueFloat4(f[0], f[1], f[2], f[3]);
+            return;
+          default:
+            throw new UnreachableCodeException();
+        }
+      }
+    }
+  }
+}
@@ -22,14 +22,17 @@ import com.io7m.blackthorne.api.BTElementHandlerType;
 import com.io7m.blackthorne.api.BTElementParsingContextType;
 import com.io7m.blackthorne.api.BTQualifiedName;
 import com.io7m.junreachable.UnimplementedCodeException;
+import com.io7m.smfj.core.SMFAttribute;
 import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFVoid;
+import com.io7m.smfj.parser.api.SMFParseError;
 import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesIgnoringReceiver;
 import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
 import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedType;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import org.xml.sax.Attributes;
 
 public final class SMFXAttributeData
@@ -38,6 +41,7 @@ public final class SMFXAttributeData
   private final SMFParserEventsDataAttributesNonInterleavedType events;
   private final SMFHeader header;
   private SMFParserEventsDataAttributeValuesType eventsValues;
+  private SMFAttribute attribute;
 
   public SMFXAttributeData(
     final BTElementParsingContextType inContext,
@@ -50,11 +54,37 @@ public final class SMFXAttributeData
       Objects.requireNonNull(inEvents, "events");
   }
 
+  private static BTElementHandlerConstructorType<?, ?> compact(
+    final String name)
+  {
+    return c -> new CompactTextHandler(name);
+  }
+
   @Override
   public Map<BTQualifiedName, BTElementHandlerConstructorType<?, ?>> onChildHandlersRequested(
     final BTElementParsingContextType context)
   {
     return Map.ofEntries(
+      Map.entry(
+        BTQualifiedName.of(
+          SMFX.namespaceURI2p0(), SMFXAttributeCodec.ELEMENT_LIST_FLOAT),
+        compact(SMFXAttributeCodec.ELEMENT_LIST_FLOAT)
+      ),
+      Map.entry(
+        BTQualifiedName.of(
+          SMFX.namespaceURI2p0(), SMFXAttributeCodec.ELEMENT_LIST_INTEGER_SIGNED),
+        compact(SMFXAttributeCodec.ELEMENT_LIST_INTEGER_SIGNED)
+      ),
+      Map.entry(
+        BTQualifiedName.of(
+          SMFX.namespaceURI2p0(), SMFXAttributeCodec.ELEMENT_LIST_INTEGER_UNSIGNED),
+        compact(SMFXAttributeCodec.ELEMENT_LIST_INTEGER_UNSIGNED)
+      ),
+      Map.entry(
+        BTQualifiedName.of(
+          SMFX.namespaceURI2p0(), SMFXAttributeCodec.ELEMENT_BASE64),
+        compact(SMFXAttributeCodec.ELEMENT_BASE64)
+      ),
       Map.entry(
         BTQualifiedName.of(SMFX.namespaceURI2p0(), "AttributeFloat4"),
         c -> new SMFXAttributeFloat4(context, this.eventsValues)
@@ -113,17 +143,60 @@ public final class SMFXAttributeData
   {
     final var attributeName =
       SMFAttributeName.of(attributes.getValue("name"));
-    final var attribute =
+    this.attribute =
       this.header.attributesByName().get(attributeName);
 
-    if (attribute == null) {
+    if (this.attribute == null) {
       throw new UnimplementedCodeException();
     }
 
-    this.eventsValues = this.events.onDataAttributeStart(attribute)
+    this.eventsValues = this.events.onDataAttributeStart(this.attribute)
       .orElse(new SMFParserEventsDataAttributeValuesIgnoringReceiver(this.events));
   }
 
+  @Override
+  public void onChildValueProduced(
+    final BTElementParsingContextType context,
+    final Object result)
+  {
+    if (!(result instanceof CompactText)) {
+      return;
+    }
+
+    final CompactText compact = (CompactText) result;
+    try {
+      if (SMFXAttributeCodec.ELEMENT_BASE64.equals(compact.element)) {
+        SMFXAttributeCodec.decodeBase64(
+          this.attribute,
+          this.header.vertexCount(),
+          this.header.dataByteOrder(),
+          compact.text,
+          this.eventsValues);
+      } else {
+        final String expected =
+          SMFXAttributeCodec.listElementNameFor(this.attribute.componentType());
+        if (!expected.equals(compact.element)) {
+          throw new IllegalArgumentException(
+            String.format(
+              "Attribute %s: Expected a %s element but got %s",
+              this.attribute.name().value(),
+              expected,
+              compact.element));
+        }
+        SMFXAttributeCodec.decodeList(
+          this.attribute,
+          this.header.vertexCount(),
+          compact.text,
+          this.eventsValues);
+      }
+    } catch (final IllegalArgumentException e) {
+      this.eventsValues.onError(SMFParseError.of(
+        SMFXLexical.ofLocator(context.documentLocator()),
+        e.getMessage(),
+        Optional.of(e)));
+    }
+  }
+
   @Override
   public SMFVoid onElementFinished(
     final BTElementParsingContextType context)
@@ -131,4 +204,54 @@ public final class SMFXAttributeData
     this.eventsValues.onDataAttributeValueFinish();
     return SMFVoid.void_();
   }
+
+  /*
+   * The text of large elements is delivered in many pieces, so all of it
+   * must be accumulated and decoded once the element has finished.
+   */
+
+  private static final class CompactTextHandler
+    implements BTElementHandlerType<Object, CompactText>
+  {
+    private final String element;
+    private final StringBuilder text;
+
+    CompactTextHandler(
+      final String inElement)
+    {
+      this.element = Objects.requireNonNull(inElement, "element");
+      this.text = new StringBuilder(1024);
+    }
+
+    @Override
+    public void onCharacters(
+      final BTElementParsingContextType context,
+      final char[] characters,
+      final int offset,
+      final int length)
+    {
+      this.text.append(characters, offset, length);
+    }
+
+    @Override
+    public CompactText onElementFinished(
+      final BTElementParsingContextType context)
+    {
+      return new CompactText(this.element, this.text.toString());
+    }
+  }
+
+  private static final class CompactText
+  {
+    private final String element;
+    private final String text;
+
+    CompactText(
+      final String inElement,
+      final String inText)
+    {
+      this.element = Objects.requireNonNull(inElement, "element");
+      this.text = Objects.requireNonNull(inText, "text");
+    }
+  }
 }
@@ -48,6 +48,8 @@ public final class SMFXParser implements SMFParserSequentialType
   private final InputStream stream;
   private final SMFParserEventsType events;
   private final URI source;
+  private final Runnable onClose;
+  private boolean closed;
 
   public SMFXParser(
     final SMFParserEventsType inEvents,
@@ -55,6 +57,19 @@ public final class SMFXParser implements SMFParserSequentialType
     final XMLReader inReader,
     final InputStream inStream)
   {
+    this(inEvents, inSource, inReader, inStream, () -> {
+    });
+  }
+
+  public SMFXParser(
+    final SMFParserEventsType inEvents,
+    final URI inSource,
+    final XMLReader inReader,
+    final InputStream inStream,
+    final Runnable inOnClose)
+  {
+    this.onClose =
+      Objects.requireNonNull(inOnClose, "onClose");
     this.events =
       Objects.requireNonNull(inEvents, "events");
     this.source =
@@ -124,6 +139,15 @@ public final class SMFXParser implements SMFParserSequentialType
   public void close()
     throws IOException
   {
-    this.stream.close();
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+
+    try {
+      this.stream.close();
+    } finally {
+      this.onClose.run();
+    }
   }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.format.xml.internal;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.Schema;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * A thread-safe pool of hardened, schema-validating SAX parsers. Parsers
+ * validate against a schema that is compiled once, and are reset and
+ * returned to the pool after use so that repeated parses do not pay the
+ * cost of parser construction and schema resolution.
+ */
+
+public final class SMFXReaderPool
+{
+  private static final DefaultHandler NULL_HANDLER = new DefaultHandler();
+
+  private final SAXParserFactory factory;
+  private final BlockingQueue<SAXParser> parsers;
+
+  /**
+   * Construct a pool.
+   *
+   * @param inSchema  The schema against which documents are validated
+   * @param inMaximum The maximum number of idle parsers retained
+   *
+   * @throws ParserConfigurationException If the parser factory cannot be
+   *                                      configured
+   * @throws SAXException                 If the parser factory cannot be
+   *                                      configured
+   */
+
+  public SMFXReaderPool(
+    final Schema inSchema,
+    final int inMaximum)
+    throws ParserConfigurationException, SAXException
+  {
+    Objects.requireNonNull(inSchema, "schema");
+
+    this.parsers = new ArrayBlockingQueue<>(inMaximum);
+    this.factory = SAXParserFactory.newInstance();
+    this.factory.setNamespaceAware(true);
+    this.factory.setValidating(false);
+    this.factory.setXIncludeAware(false);
+    this.factory.setSchema(inSchema);
+    this.factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    this.factory.setFeature(
+      "http://apache.org/xml/features/disallow-doctype-decl", true);
+    this.factory.setFeature(
+      "http://xml.org/sax/features/external-general-entities", false);
+    this.factory.setFeature(
+      "http://xml.org/sax/features/external-parameter-entities", false);
+    this.factory.setFeature(
+      "http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+  }
+
+  /**
+   * Take a parser from the pool, creating a new one if the pool is empty.
+   * The parser should be returned with {@link #release(SAXParser)} when it
+   * is no longer needed.
+   *
+   * @return A parser
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On parser configuration errors
+   */
+
+  public SAXParser acquire()
+    throws ParserConfigurationException, SAXException
+  {
+    final SAXParser existing = this.parsers.poll();
+    if (existing != null) {
+      return existing;
+    }
+
+    synchronized (this.factory) {
+      return this.factory.newSAXParser();
+    }
+  }
+
+  /**
+   * Reset the given parser and return it to the pool. If the pool is full,
+   * the parser is discarded.
+   *
+   * @param parser A parser obtained from {@link #acquire()}
+   */
+
+  public void release(
+    final SAXParser parser)
+  {
+    Objects.requireNonNull(parser, "parser");
+
+    try {
+      final var reader = parser.getXMLReader();
+      reader.setContentHandler(NULL_HANDLER);
+      reader.setErrorHandler(NULL_HANDLER);
+      parser.reset();
+    } catch (final SAXException | UnsupportedOperationException e) {
+      return;
+    }
+    this.parsers.offer(parser);
+  }
+}
@@ -18,17 +18,22 @@
 
 package com.io7m.smfj.format.xml.internal;
 
+import com.io7m.junreachable.UnreachableCodeException;
 import com.io7m.smfj.core.SMFAttribute;
 import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFComponentType;
 import com.io7m.smfj.core.SMFCoordinateSystem;
 import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFSchemaIdentifier;
 import com.io7m.smfj.core.SMFTriangles;
+import com.io7m.smfj.format.xml.SMFXAttributeEncoding;
 import com.io7m.smfj.serializer.api.SMFSerializerDataAttributesNonInterleavedType;
 import com.io7m.smfj.serializer.api.SMFSerializerDataAttributesValuesType;
 import com.io7m.smfj.serializer.api.SMFSerializerDataTrianglesType;
 import com.io7m.smfj.serializer.api.SMFSerializerType;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
@@ -39,11 +44,21 @@ import javax.xml.stream.XMLStreamWriter;
 public final class SMFXSerializer implements SMFSerializerType
 {
   private final XMLStreamWriter writer;
+  private final SMFXAttributeEncoding encoding;
+  private SMFHeader header;
 
   public SMFXSerializer(
     final XMLStreamWriter inWriter)
+  {
+    this(inWriter, SMFXAttributeEncoding.ATTRIBUTE_ENCODING_ELEMENTS);
+  }
+
+  public SMFXSerializer(
+    final XMLStreamWriter inWriter,
+    final SMFXAttributeEncoding inEncoding)
   {
     this.writer = Objects.requireNonNull(inWriter, "writer");
+    this.encoding = Objects.requireNonNull(inEncoding, "encoding");
   }
 
   public SMFXSerializer start()
@@ -79,6 +94,7 @@ public final class SMFXSerializer implements SMFSerializerType
       this.writeHeaderAttributes(namespaceURI, header.attributesInOrder());
 
       this.writer.writeEndElement();
+      this.header = header;
     } catch (final XMLStreamException e) {
       throw new IOException(e);
     }
@@ -183,7 +199,8 @@ public final class SMFXSerializer implements SMFSerializerType
     throws IllegalStateException, IOException
   {
     try {
-      return new DataAttributesNonInterleaved(this.writer).start();
+      return new DataAttributesNonInterleaved(
+        this.writer, this.encoding, this.header).start();
     } catch (final Exception e) {
       throw new IOException(e);
     }
@@ -497,6 +514,371 @@ public final class SMFXSerializer implements SMFSerializerType
     }
   }
 
+  /**
+   * A serializer that writes all of the values of an attribute into a single
+   * compact element.
+   */
+
+  private abstract static class DataAttributeValuesPacked
+    implements SMFSerializerDataAttributesValuesType
+  {
+    private final XMLStreamWriter writer;
+    private final SMFAttribute attribute;
+
+    DataAttributeValuesPacked(
+      final XMLStreamWriter inWriter,
+      final SMFAttribute inAttribute)
+    {
+      this.writer = Objects.requireNonNull(inWriter, "writer");
+      this.attribute = Objects.requireNonNull(inAttribute, "attribute");
+    }
+
+    protected final XMLStreamWriter writer()
+    {
+      return this.writer;
+    }
+
+    final DataAttributeValuesPacked start(
+      final String element)
+      throws XMLStreamException
+    {
+      final var namespaceURI = SMFX.namespaceURI2p0();
+      this.writer.writeStartElement(
+        "sx", "AttributeData", namespaceURI);
+      this.writer.writeAttribute("name", this.attribute.name().value());
+      this.writer.writeStartElement("sx", element, namespaceURI);
+      return this;
+    }
+
+    protected abstract void componentFloating(double x)
+      throws XMLStreamException;
+
+    protected abstract void componentInteger(long x)
+      throws XMLStreamException;
+
+    protected abstract void valueFinished()
+      throws XMLStreamException;
+
+    protected abstract void finish()
+      throws XMLStreamException;
+
+    private void check(
+      final SMFComponentType type,
+      final int count)
+    {
+      if (this.attribute.componentType() != type
+        || this.attribute.componentCount() != count) {
+        throw new IllegalArgumentException(
+          String.format(
+            "Attribute %s has type %s with %d components, but received a value of type %s with %d components",
+            this.attribute.name().value(),
+            this.attribute.componentType(),
+            Integer.valueOf(this.attribute.componentCount()),
+            type,
+            Integer.valueOf(count)));
+      }
+    }
+
+    private void floating(
+      final double... xs)
+      throws IOException
+    {
+      this.check(SMFComponentType.ELEMENT_TYPE_FLOATING, xs.length);
+      try {
+        for (final double x : xs) {
+          this.componentFloating(x);
+        }
+        this.valueFinished();
+      } catch (final XMLStreamException e) {
+        throw new IOException(e);
+      }
+    }
+
+    private void integer(
+      final SMFComponentType type,
+      final long... xs)
+      throws IOException
+    {
+      this.check(type, xs.length);
+      try {
+        for (final long x : xs) {
+          this.componentInteger(x);
+        }
+        this.valueFinished();
+      } catch (final XMLStreamException e) {
+        throw new IOException(e);
+      }
+    }
+
+    @Override
+    public final void serializeValueFloat4(
+      final double x,
+      final double y,
+      final double z,
+      final double w)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.floating(x, y, z, w);
+    }
+
+    @Override
+    public final void serializeValueFloat3(
+      final double x,
+      final double y,
+      final double z)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.floating(x, y, z);
+    }
+
+    @Override
+    public final void serializeValueFloat2(
+      final double x,
+      final double y)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.floating(x, y);
+    }
+
+    @Override
+    public final void serializeValueFloat1(final double x)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.floating(x);
+    }
+
+    @Override
+    public final void serializeValueIntegerSigned4(
+      final long x,
+      final long y,
+      final long z,
+      final long w)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.integer(SMFComponentType.ELEMENT_TYPE_INTEGER_SIGNED, x, y, z, w);
+    }
+
+    @Override
+    public final void serializeValueIntegerSigned3(
+      final long x,
+      final long y,
+      final long z)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.integer(SMFComponentType.ELEMENT_TYPE_INTEGER_SIGNED, x, y, z);
+    }
+
+    @Override
+    public final void serializeValueIntegerSigned2(
+      final long x,
+      final long y)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.integer(SMFComponentType.ELEMENT_TYPE_INTEGER_SIGNED, x, y);
+    }
+
+    @Override
+    public final void serializeValueIntegerSigned1(final long x)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.integer(SMFComponentType.ELEMENT_TYPE_INTEGER_SIGNED, x);
+    }
+
+    @Override
+    public final void serializeValueIntegerUnsigned4(
+      final long x,
+      final long y,
+      final long z,
+      final long w)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.integer(SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED, x, y, z, w);
+    }
+
+    @Override
+    public final void serializeValueIntegerUnsigned3(
+      final long x,
+      final long y,
+      final long z)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.integer(SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED, x, y, z);
+    }
+
+    @Override
+    public final void serializeValueIntegerUnsigned2(
+      final long x,
+      final long y)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.integer(SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED, x, y);
+    }
+
+    @Override
+    public final void serializeValueIntegerUnsigned1(final long x)
+      throws IOException, IllegalArgumentException, IllegalStateException
+    {
+      this.integer(SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED, x);
+    }
+
+    @Override
+    public final void close()
+      throws IOException
+    {
+      try {
+        this.finish();
+        this.writer.writeEndElement();
+        this.writer.writeEndElement();
+      } catch (final Exception e) {
+        throw new IOException(e);
+      }
+    }
+  }
+
+  private static final class DataAttributeValuesList
+    extends DataAttributeValuesPacked
+  {
+    private static final int FLUSH_LENGTH = 8192;
+
+    private final StringBuilder text;
+    private final boolean unsigned;
+    private char separator;
+
+    DataAttributeValuesList(
+      final XMLStreamWriter inWriter,
+      final SMFAttribute inAttribute)
+    {
+      super(inWriter, inAttribute);
+      this.text = new StringBuilder(FLUSH_LENGTH + 128);
+      this.unsigned =
+        inAttribute.componentType()
+          == SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED;
+      this.separator = 0;
+    }
+
+    private void separate()
+    {
+      if (this.separator != 0) {
+        this.text.append(this.separator);
+      }
+      this.separator = ' ';
+    }
+
+    @Override
+    protected void componentFloating(
+      final double x)
+    {
+      this.separate();
+      this.text.append(SMFXAttributeCodec.formatDouble(x));
+    }
+
+    @Override
+    protected void componentInteger(
+      final long x)
+    {
+      this.separate();
+      if (this.unsigned) {
+        this.text.append(Long.toUnsignedString(x));
+      } else {
+        this.text.append(x);
+      }
+    }
+
+    @Override
+    protected void valueFinished()
+      throws XMLStreamException
+    {
+      this.separator = '\n';
+      if (this.text.length() >= FLUSH_LENGTH) {
+        this.finish();
+      }
+    }
+
+    @Override
+    protected void finish()
+      throws XMLStreamException
+    {
+      if (this.text.length() > 0) {
+        this.writer().writeCharacters(this.text.toString());
+        this.text.setLength(0);
+      }
+    }
+  }
+
+  private static final class DataAttributeValuesBase64
+    extends DataAttributeValuesPacked
+  {
+    /*
+     * The buffer size must be a multiple of three so that each full buffer
+     * encodes to base64 without padding, and a multiple of eight so that
+     * components never straddle two buffers.
+     */
+
+    private static final int BUFFER_SIZE = 3 * 8192;
+
+    private final byte[] data;
+    private final ByteBuffer buffer;
+    private final Base64.Encoder encoder;
+    private final int size;
+
+    DataAttributeValuesBase64(
+      final XMLStreamWriter inWriter,
+      final SMFAttribute inAttribute,
+      final SMFHeader inHeader)
+    {
+      super(inWriter, inAttribute);
+      this.data = new byte[BUFFER_SIZE];
+      this.buffer = ByteBuffer.wrap(this.data).order(inHeader.dataByteOrder());
+      this.encoder = Base64.getEncoder();
+      this.size = inAttribute.componentSizeBits();
+    }
+
+    @Override
+    protected void componentFloating(
+      final double x)
+      throws XMLStreamException
+    {
+      SMFXAttributeCodec.putFloat(this.buffer, this.size, x);
+      this.flushIfFull();
+    }
+
+    @Override
+    protected void componentInteger(
+      final long x)
+      throws XMLStreamException
+    {
+      SMFXAttributeCodec.putInteger(this.buffer, this.size, x);
+      this.flushIfFull();
+    }
+
+    private void flushIfFull()
+      throws XMLStreamException
+    {
+      if (!this.buffer.hasRemaining()) {
+        this.writer().writeCharacters(this.encoder.encodeToString(this.data));
+        this.buffer.clear();
+      }
+    }
+
+    @Override
+    protected void valueFinished()
+    {
+
+    }
+
+    @Override
+    protected void finish()
+      throws XMLStreamException
+    {
+      final int position = this.buffer.position();
+      if (position > 0) {
+        this.writer().writeCharacters(
+          this.encoder.encodeToString(Arrays.copyOf(this.data, position)));
+        this.buffer.clear();
+      }
+    }
+  }
+
   private static final class DataTriangles
     implements SMFSerializerDataTrianglesType
   {
@@ -557,11 +939,17 @@ public final class SMFXSerializer implements SMFSerializerType
     implements SMFSerializerDataAttributesNonInterleavedType
   {
     private final XMLStreamWriter writer;
+    private final SMFXAttributeEncoding encoding;
+    private final SMFHeader header;
 
     DataAttributesNonInterleaved(
-      final XMLStreamWriter inWriter)
+      final XMLStreamWriter inWriter,
+      final SMFXAttributeEncoding inEncoding,
+      final SMFHeader inHeader)
     {
       this.writer = Objects.requireNonNull(inWriter, "writer");
+      this.encoding = Objects.requireNonNull(inEncoding, "encoding");
+      this.header = Objects.requireNonNull(inHeader, "header");
     }
 
     DataAttributesNonInterleaved start()
@@ -582,11 +970,30 @@ public final class SMFXSerializer implements SMFSerializerType
       final SMFAttributeName name)
       throws IllegalArgumentException, IllegalStateException, IOException
     {
+      final SMFAttribute attribute =
+        this.header.attributesByName().get(name);
+      if (attribute == null) {
+        throw new IllegalArgumentException(
+          String.format("Attribute %s is not in the header", name.value()));
+      }
+
       try {
-        return new DataAttributeValues(this.writer, name).start();
+        switch (this.encoding) {
+          case ATTRIBUTE_ENCODING_ELEMENTS:
+            return new DataAttributeValues(this.writer, name).start();
+          case ATTRIBUTE_ENCODING_LIST:
+            return new DataAttributeValuesList(this.writer, attribute)
+              .start(SMFXAttributeCodec.listElementNameFor(
+                attribute.componentType()));
+          case ATTRIBUTE_ENCODING_BASE64:
+            return new DataAttributeValuesBase64(
+              this.writer, attribute, this.header)
+              .start(SMFXAttributeCodec.ELEMENT_BASE64);
+        }
       } catch (final Exception e) {
         throw new IOException(e);
       }
+      throw new UnreachableCodeException();
     }
 
     @Override
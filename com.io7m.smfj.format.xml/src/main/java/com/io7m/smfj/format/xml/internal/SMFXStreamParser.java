@@ -0,0 +1,796 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.format.xml.internal;
+
+import com.io7m.jcoords.core.conversion.CAxis;
+import com.io7m.jcoords.core.conversion.CAxisSystem;
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.junreachable.UnreachableCodeException;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFComponentType;
+import com.io7m.smfj.core.SMFCoordinateSystem;
+import com.io7m.smfj.core.SMFFaceWindingOrder;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
+import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.core.SMFTriangles;
+import com.io7m.smfj.format.support.SMFTriangleTracker;
+import com.io7m.smfj.parser.api.SMFParseError;
+import com.io7m.smfj.parser.api.SMFParseErrors;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyIgnoringReceiver;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedIgnoringReceiver;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataMetaType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataTrianglesIgnoringReceiver;
+import com.io7m.smfj.parser.api.SMFParserEventsDataTrianglesType;
+import com.io7m.smfj.parser.api.SMFParserEventsHeaderIgnoringReceiver;
+import com.io7m.smfj.parser.api.SMFParserEventsHeaderType;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
+import com.io7m.smfj.parser.api.SMFParserSequentialType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import javax.xml.XMLConstants;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+/**
+ * A non-validating StAX parser for the XML format. Attribute data and
+ * triangles are read in tight loops directly from the stream reader rather
+ * than being dispatched through per-element handlers. The {@code Header}
+ * element may optionally be validated against the schema.
+ */
+
+public final class SMFXStreamParser implements SMFParserSequentialType
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFXStreamParser.class);
+
+  private static final String NAMESPACE = SMFX.namespaceURI2p0();
+
+  private final SMFParserEventsType events;
+  private final URI source;
+  private final XMLInputFactory inputs;
+  private final Optional<Schema> headerSchema;
+  private final InputStream stream;
+  private final double[] floats;
+  private final long[] integers;
+  private XMLStreamReader reader;
+  private SMFHeader header;
+  private SMFParserEventsBodyType eventsBody;
+  private SMFTriangleTracker triangleTracker;
+
+  public SMFXStreamParser(
+    final SMFParserEventsType inEvents,
+    final URI inSource,
+    final XMLInputFactory inInputs,
+    final Optional<Schema> inHeaderSchema,
+    final InputStream inStream)
+  {
+    this.events =
+      Objects.requireNonNull(inEvents, "events");
+    this.source =
+      Objects.requireNonNull(inSource, "source");
+    this.inputs =
+      Objects.requireNonNull(inInputs, "inputs");
+    this.headerSchema =
+      Objects.requireNonNull(inHeaderSchema, "headerSchema");
+    this.stream =
+      Objects.requireNonNull(inStream, "stream");
+    this.floats = new double[4];
+    this.integers = new long[4];
+  }
+
+  /**
+   * Create an input factory suitable for use with this parser. The factory
+   * is namespace-aware and does not support DTDs or external entities.
+   *
+   * @return A new input factory
+   */
+
+  public static XMLInputFactory createInputFactory()
+  {
+    final XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(
+      XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+    return factory;
+  }
+
+  private static String escapeAttribute(
+    final String text)
+  {
+    final StringBuilder b = new StringBuilder(text.length());
+    for (int index = 0; index < text.length(); ++index) {
+      final char c = text.charAt(index);
+      switch (c) {
+        case '&':
+          b.append("&amp;");
+          break;
+        case '<':
+          b.append("&lt;");
+          break;
+        case '>':
+          b.append("&gt;");
+          break;
+        case '"':
+          b.append("&quot;");
+          break;
+        default:
+          b.append(c);
+          break;
+      }
+    }
+    return b.toString();
+  }
+
+  private static String elementNameFor(
+    final SMFAttribute attribute)
+  {
+    final int count = attribute.componentCount();
+    switch (attribute.componentType()) {
+      case ELEMENT_TYPE_INTEGER_SIGNED:
+        return "AttributeIntegerSigned" + count;
+      case ELEMENT_TYPE_INTEGER_UNSIGNED:
+        return "AttributeIntegerUnsigned" + count;
+      case ELEMENT_TYPE_FLOATING:
+        return "AttributeFloat" + count;
+    }
+    throw new UnreachableCodeException();
+  }
+
+  @Override
+  public void parse()
+  {
+    try {
+      this.reader =
+        this.inputs.createXMLStreamReader(this.source.toString(), this.stream);
+    } catch (final XMLStreamException e) {
+      this.events.onError(SMFParseErrors.errorException(e));
+      return;
+    }
+
+    this.events.onStart();
+    try {
+      this.parseRoot();
+      LOG.debug("parsing completed");
+    } catch (final ParseFailure e) {
+      this.events.onError(
+        SMFParseError.of(e.position, e.getMessage(), Optional.of(e)));
+    } catch (final XMLStreamException e) {
+      this.events.onError(
+        SMFParseError.of(
+          this.positionOf(e.getLocation()),
+          e.getMessage(),
+          Optional.of(e)));
+    } finally {
+      try {
+        this.reader.close();
+      } catch (final XMLStreamException e) {
+        LOG.debug("error closing stream reader: ", e);
+      }
+      this.events.onFinish();
+    }
+  }
+
+  private LexicalPosition<URI> positionOf(
+    final Location location)
+  {
+    if (location == null) {
+      return LexicalPosition.of(0, 0, Optional.of(this.source));
+    }
+    return LexicalPosition.of(
+      location.getLineNumber(),
+      location.getColumnNumber(),
+      Optional.of(this.source));
+  }
+
+  private LexicalPosition<URI> position()
+  {
+    return this.positionOf(this.reader.getLocation());
+  }
+
+  private ParseFailure failure(
+    final String message)
+  {
+    return new ParseFailure(this.position(), message, null);
+  }
+
+  private ParseFailure failure(
+    final Exception cause)
+  {
+    return new ParseFailure(this.position(), cause.getMessage(), cause);
+  }
+
+  private ParseFailure unexpectedElement()
+  {
+    return this.failure(
+      String.format(
+        "Unexpected element: {%s}%s",
+        this.reader.getNamespaceURI(),
+        this.reader.getLocalName()));
+  }
+
+  private boolean isElement(
+    final String name)
+  {
+    return name.equals(this.reader.getLocalName())
+      && NAMESPACE.equals(this.reader.getNamespaceURI());
+  }
+
+  private void requireElement(
+    final String name)
+    throws ParseFailure
+  {
+    if (!this.isElement(name)) {
+      throw this.unexpectedElement();
+    }
+  }
+
+  private void requireEmptyElement()
+    throws XMLStreamException, ParseFailure
+  {
+    if (this.reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+      throw this.unexpectedElement();
+    }
+  }
+
+  private String attribute(
+    final String name)
+    throws ParseFailure
+  {
+    final String value = this.reader.getAttributeValue(null, name);
+    if (value == null) {
+      throw this.failure(
+        String.format("Missing required attribute: %s", name));
+    }
+    return value;
+  }
+
+  private void skipElement()
+    throws XMLStreamException
+  {
+    int depth = 1;
+    while (depth > 0) {
+      switch (this.reader.next()) {
+        case XMLStreamConstants.START_ELEMENT:
+          ++depth;
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          --depth;
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private void parseRoot()
+    throws XMLStreamException, ParseFailure
+  {
+    this.reader.nextTag();
+    this.requireElement("SMF");
+
+    final SMFParserEventsHeaderType eventsHeader =
+      this.events.onVersionReceived(SMFFormatVersion.of(2, 0))
+        .orElse(new SMFParserEventsHeaderIgnoringReceiver(this.events));
+
+    while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      if (this.isElement("Header")) {
+        this.parseHeader(eventsHeader);
+        continue;
+      }
+
+      if (this.header == null) {
+        throw this.failure("The Header element must appear first");
+      }
+
+      if (this.isElement("VertexDataNonInterleaved")) {
+        this.parseVertexDataNonInterleaved();
+      } else if (this.isElement("Triangles")) {
+        this.parseTriangles();
+      } else if (this.isElement("Metadata")) {
+        this.parseMetadata();
+      } else {
+        throw this.unexpectedElement();
+      }
+    }
+
+    if (this.header == null) {
+      throw this.failure("No Header element was specified");
+    }
+    this.triangleTracker.check(this.position());
+  }
+
+  private void parseHeader(
+    final SMFParserEventsHeaderType eventsHeader)
+    throws XMLStreamException, ParseFailure
+  {
+    if (this.header != null) {
+      throw this.failure("Multiple Header elements specified");
+    }
+
+    final LexicalPosition<URI> headerPosition = this.position();
+    final StringBuilder capture;
+    if (this.headerSchema.isPresent()) {
+      capture = new StringBuilder(1024);
+      capture.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+    } else {
+      capture = null;
+    }
+
+    final SMFHeader.Builder builder = SMFHeader.builder();
+    final List<SMFAttribute> attributes = new ArrayList<>();
+
+    this.captureStart(capture, true);
+    try {
+      builder.setVertexCount(
+        Long.parseUnsignedLong(this.attribute("vertexCount")));
+      builder.setDataByteOrder(this.parseEndianness());
+    } catch (final RuntimeException e) {
+      throw this.failure(e);
+    }
+
+    int depth = 1;
+    while (depth > 0) {
+      if (this.reader.nextTag() == XMLStreamConstants.END_ELEMENT) {
+        this.captureEnd(capture);
+        --depth;
+        continue;
+      }
+
+      this.captureStart(capture, false);
+      ++depth;
+
+      try {
+        if (this.isElement("CoordinateSystem")) {
+          builder.setCoordinateSystem(this.parseCoordinateSystem());
+        } else if (this.isElement("TriangleSpecification")) {
+          builder.setTriangles(SMFTriangles.of(
+            Long.parseUnsignedLong(this.attribute("count")),
+            Integer.parseUnsignedInt(this.attribute("sizeBits"))));
+        } else if (this.isElement("SchemaIdentifier")) {
+          builder.setSchemaIdentifier(this.parseSchemaIdentifier());
+        } else if (this.isElement("Attribute")) {
+          attributes.add(this.parseHeaderAttribute());
+        } else if (!this.isElement("Attributes")) {
+          throw this.unexpectedElement();
+        }
+      } catch (final RuntimeException e) {
+        throw this.failure(e);
+      }
+    }
+
+    if (capture != null) {
+      this.validateHeader(headerPosition, capture.toString());
+    }
+
+    try {
+      builder.setAttributesInOrder(attributes);
+      this.header = builder.build();
+    } catch (final RuntimeException e) {
+      throw new ParseFailure(headerPosition, e.getMessage(), e);
+    }
+
+    this.triangleTracker =
+      new SMFTriangleTracker(
+        (lexical, message) -> {
+          this.events.onError(
+            SMFParseError.of(lexical, message, Optional.empty()));
+        },
+        this.header.vertexCount(),
+        this.header.triangles().triangleCount());
+
+    this.eventsBody =
+      eventsHeader.onHeaderParsed(this.header)
+        .orElse(new SMFParserEventsBodyIgnoringReceiver(this.events));
+  }
+
+  private void captureStart(
+    final StringBuilder capture,
+    final boolean root)
+  {
+    if (capture == null) {
+      return;
+    }
+
+    capture.append('<');
+    capture.append(this.reader.getLocalName());
+    if (root) {
+      capture.append(" xmlns=\"");
+      capture.append(NAMESPACE);
+      capture.append('"');
+    }
+
+    final int count = this.reader.getAttributeCount();
+    for (int index = 0; index < count; ++index) {
+      final String namespace = this.reader.getAttributeNamespace(index);
+      if (namespace != null && !namespace.isEmpty()) {
+        continue;
+      }
+      capture.append(' ');
+      capture.append(this.reader.getAttributeLocalName(index));
+      capture.append("=\"");
+      capture.append(escapeAttribute(this.reader.getAttributeValue(index)));
+      capture.append('"');
+    }
+    capture.append('>');
+  }
+
+  private void captureEnd(
+    final StringBuilder capture)
+  {
+    if (capture == null) {
+      return;
+    }
+
+    capture.append("</");
+    capture.append(this.reader.getLocalName());
+    capture.append('>');
+  }
+
+  private void validateHeader(
+    final LexicalPosition<URI> headerPosition,
+    final String text)
+    throws ParseFailure
+  {
+    try {
+      final Validator validator = this.headerSchema.get().newValidator();
+      validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+      validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+      validator.validate(new StreamSource(new StringReader(text)));
+    } catch (final SAXException | IOException e) {
+      throw new ParseFailure(
+        headerPosition,
+        String.format("Header is invalid: %s", e.getMessage()),
+        e);
+    }
+  }
+
+  private ByteOrder parseEndianness()
+    throws ParseFailure
+  {
+    final String endianness = this.attribute("endianness");
+    switch (endianness) {
+      case "BIG_ENDIAN":
+        return ByteOrder.BIG_ENDIAN;
+      case "LITTLE_ENDIAN":
+        return ByteOrder.LITTLE_ENDIAN;
+      default:
+        throw this.failure(
+          String.format("Unrecognized endianness: %s", endianness));
+    }
+  }
+
+  private SMFCoordinateSystem parseCoordinateSystem()
+    throws ParseFailure
+  {
+    final CAxis right = CAxis.valueOf(this.attribute("right"));
+    final CAxis up = CAxis.valueOf(this.attribute("up"));
+    final CAxis forward = CAxis.valueOf(this.attribute("forward"));
+    final SMFFaceWindingOrder winding =
+      SMFFaceWindingOrder.valueOf(this.attribute("windingOrder"));
+
+    return SMFCoordinateSystem.builder()
+      .setAxes(CAxisSystem.of(right, up, forward))
+      .setWindingOrder(winding)
+      .build();
+  }
+
+  private SMFSchemaIdentifier parseSchemaIdentifier()
+    throws ParseFailure
+  {
+    return SMFSchemaIdentifier.builder()
+      .setName(SMFSchemaName.of(this.attribute("name")))
+      .setVersionMajor(Integer.parseUnsignedInt(this.attribute("versionMajor")))
+      .setVersionMinor(Integer.parseUnsignedInt(this.attribute("versionMinor")))
+      .build();
+  }
+
+  private SMFAttribute parseHeaderAttribute()
+    throws ParseFailure
+  {
+    return SMFAttribute.builder()
+      .setName(SMFAttributeName.of(this.attribute("name")))
+      .setComponentType(
+        SMFComponentType.valueOf(this.attribute("componentKind")))
+      .setComponentCount(
+        Integer.parseUnsignedInt(this.attribute("componentCount")))
+      .setComponentSizeBits(
+        Integer.parseUnsignedInt(this.attribute("componentSizeBits")))
+      .build();
+  }
+
+  private void parseVertexDataNonInterleaved()
+    throws XMLStreamException, ParseFailure
+  {
+    final SMFParserEventsDataAttributesNonInterleavedType eventsNI =
+      this.eventsBody.onAttributesNonInterleaved()
+        .orElse(new SMFParserEventsDataAttributesNonInterleavedIgnoringReceiver(
+          this.eventsBody));
+
+    while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      this.requireElement("AttributeData");
+      this.parseAttributeData(eventsNI);
+    }
+
+    eventsNI.onDataAttributesNonInterleavedFinish();
+  }
+
+  private void parseAttributeData(
+    final SMFParserEventsDataAttributesNonInterleavedType eventsNI)
+    throws XMLStreamException, ParseFailure
+  {
+    final SMFAttribute attribute;
+    try {
+      final SMFAttributeName name =
+        SMFAttributeName.of(this.attribute("name"));
+      attribute = this.header.attributesByName().get(name);
+      if (attribute == null) {
+        throw this.failure(
+          String.format(
+            "Attribute %s is not specified in the header", name.value()));
+      }
+    } catch (final RuntimeException e) {
+      throw this.failure(e);
+    }
+
+    final Optional<SMFParserEventsDataAttributeValuesType> eventsValuesOpt =
+      eventsNI.onDataAttributeStart(attribute);
+    if (eventsValuesOpt.isEmpty()) {
+      this.skipElement();
+      return;
+    }
+
+    final SMFParserEventsDataAttributeValuesType eventsValues =
+      eventsValuesOpt.get();
+    final String elementName = elementNameFor(attribute);
+    final SMFComponentType type = attribute.componentType();
+    final int count = attribute.componentCount();
+
+    int event = this.reader.nextTag();
+    if (event == XMLStreamConstants.START_ELEMENT
+      && NAMESPACE.equals(this.reader.getNamespaceURI())
+      && SMFXAttributeCodec.isCompactElement(this.reader.getLocalName())) {
+      this.parseAttributeDataCompact(attribute, eventsValues);
+      this.requireEmptyElement();
+      eventsValues.onDataAttributeValueFinish();
+      return;
+    }
+
+    long vertices = 0L;
+    while (event == XMLStreamConstants.START_ELEMENT) {
+      this.requireElement(elementName);
+      this.readComponents(type, count);
+      this.requireEmptyElement();
+      SMFXAttributeCodec.deliver(
+        eventsValues, type, count, this.integers, this.floats);
+      ++vertices;
+      event = this.reader.nextTag();
+    }
+
+    if (vertices != this.header.vertexCount()) {
+      this.events.onError(SMFParseError.of(
+        this.position(),
+        String.format(
+          "Attribute %s: Expected %s values, but %s were provided",
+          attribute.name().value(),
+          Long.toUnsignedString(this.header.vertexCount()),
+          Long.toUnsignedString(vertices)),
+        Optional.empty()));
+    }
+
+    eventsValues.onDataAttributeValueFinish();
+  }
+
+  /**
+   * Read all of the values of {@code attribute} from the current compact
+   * element. The reader is left positioned on the end of the element.
+   */
+
+  private void parseAttributeDataCompact(
+    final SMFAttribute attribute,
+    final SMFParserEventsDataAttributeValuesType eventsValues)
+    throws XMLStreamException, ParseFailure
+  {
+    final String name = this.reader.getLocalName();
+    final boolean base64 = SMFXAttributeCodec.ELEMENT_BASE64.equals(name);
+    if (!base64) {
+      this.requireElement(
+        SMFXAttributeCodec.listElementNameFor(attribute.componentType()));
+    }
+
+    final String text = this.reader.getElementText();
+    try {
+      if (base64) {
+        SMFXAttributeCodec.decodeBase64(
+          attribute,
+          this.header.vertexCount(),
+          this.header.dataByteOrder(),
+          text,
+          eventsValues);
+      } else {
+        SMFXAttributeCodec.decodeList(
+          attribute, this.header.vertexCount(), text, eventsValues);
+      }
+    } catch (final IllegalArgumentException e) {
+      throw this.failure(e);
+    }
+  }
+
+  /**
+   * Read the components {@code c0 .. c(count - 1)} of the current element
+   * into the component arrays. Components may appear in any order.
+   */
+
+  private void readComponents(
+    final SMFComponentType type,
+    final int count)
+    throws ParseFailure
+  {
+    final int attributeCount = this.reader.getAttributeCount();
+    int seen = 0;
+
+    for (int index = 0; index < attributeCount; ++index) {
+      final String name = this.reader.getAttributeLocalName(index);
+      final int component;
+      if (name.length() == 2 && name.charAt(0) == 'c') {
+        component = name.charAt(1) - '0';
+      } else {
+        component = -1;
+      }
+
+      if (component < 0 || component >= count) {
+        throw this.failure(
+          String.format("Unexpected attribute: %s", name));
+      }
+
+      final String text = this.reader.getAttributeValue(index);
+      try {
+        switch (type) {
+          case ELEMENT_TYPE_INTEGER_SIGNED:
+            this.integers[component] = Long.parseLong(text);
+            break;
+          case ELEMENT_TYPE_INTEGER_UNSIGNED:
+            this.integers[component] = Long.parseUnsignedLong(text);
+            break;
+          case ELEMENT_TYPE_FLOATING:
+            this.floats[component] = Double.parseDouble(text);
+            break;
+        }
+      } catch (final NumberFormatException e) {
+        throw this.failure(e);
+      }
+      seen |= 1 << component;
+    }
+
+    if (seen != (1 << count) - 1) {
+      throw this.failure(
+        String.format("Expected %d components", Integer.valueOf(count)));
+    }
+  }
+
+  private void parseTriangles()
+    throws XMLStreamException, ParseFailure
+  {
+    final SMFParserEventsDataTrianglesType eventsTriangles =
+      this.eventsBody.onTriangles()
+        .orElse(new SMFParserEventsDataTrianglesIgnoringReceiver(
+          this.eventsBody));
+
+    while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      this.requireElement("Triangle");
+
+      final long v0;
+      final long v1;
+      final long v2;
+      try {
+        v0 = Long.parseUnsignedLong(this.attribute("v0"));
+        v1 = Long.parseUnsignedLong(this.attribute("v1"));
+        v2 = Long.parseUnsignedLong(this.attribute("v2"));
+      } catch (final NumberFormatException e) {
+        throw this.failure(e);
+      }
+
+      this.triangleTracker.addTriangle(this.position(), v0, v1, v2);
+      eventsTriangles.onDataTriangle(v0, v1, v2);
+      this.requireEmptyElement();
+    }
+
+    eventsTriangles.onDataTrianglesFinish();
+  }
+
+  private void parseMetadata()
+    throws XMLStreamException, ParseFailure
+  {
+    this.reader.nextTag();
+    this.requireElement("SchemaIdentifier");
+
+    final SMFSchemaIdentifier schemaId;
+    try {
+      schemaId = this.parseSchemaIdentifier();
+    } catch (final RuntimeException e) {
+      throw this.failure(e);
+    }
+    this.requireEmptyElement();
+
+    final Optional<SMFParserEventsDataMetaType> eventsMeta =
+      this.eventsBody.onMeta(schemaId);
+
+    this.reader.nextTag();
+    this.requireElement("Base64Data");
+
+    if (eventsMeta.isPresent()) {
+      final byte[] data;
+      try {
+        final String text = this.reader.getElementText();
+        data = Base64.getMimeDecoder().decode(text);
+      } catch (final IllegalArgumentException e) {
+        throw this.failure(e);
+      }
+      eventsMeta.get().onMetaData(schemaId, data);
+    } else {
+      this.skipElement();
+    }
+
+    this.requireEmptyElement();
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    this.stream.close();
+  }
+
+  private static final class ParseFailure extends Exception
+  {
+    private final LexicalPosition<URI> position;
+
+    ParseFailure(
+      final LexicalPosition<URI> inPosition,
+      final String message,
+      final Exception cause)
+    {
+      super(message, cause);
+      this.position = Objects.requireNonNull(inPosition, "position");
+    }
+  }
+}
@@ -31,7 +31,6 @@ module com.io7m.smfj.format.xml
   requires com.io7m.jcoords.core;
   requires com.io7m.jlexing.core;
   requires com.io7m.junreachable.core;
-  requires com.io7m.jxe.core;
   requires com.io7m.smfj.core;
   requires com.io7m.smfj.format.support;
   requires com.io7m.smfj.parser.api;
@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.frontend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Functions to open possibly-compressed mesh files. Compressed data is
+ * decompressed (or compressed) on a separate thread so that the work
+ * overlaps with parsing (or serialization).
+ *
+ * @see SMFCompression
+ */
+
+public final class SMFCompressedStreams
+{
+  private static final int CHUNK_SIZE = 65536;
+
+  private SMFCompressedStreams()
+  {
+
+  }
+
+  /**
+   * Wrap the given stream such that reading from the returned stream yields
+   * the decompressed contents of {@code stream}.
+   *
+   * @param stream      The underlying stream
+   * @param compression The compression method
+   *
+   * @return A decompressing stream
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static InputStream decompressing(
+    final InputStream stream,
+    final SMFCompression compression)
+    throws IOException
+  {
+    Objects.requireNonNull(stream, "Stream");
+    Objects.requireNonNull(compression, "Compression");
+
+    switch (compression) {
+      case COMPRESSION_NONE:
+        return stream;
+      case COMPRESSION_GZIP:
+        return new SMFPipelinedInputStream(
+          new GZIPInputStream(stream, CHUNK_SIZE), CHUNK_SIZE);
+      case COMPRESSION_DEFLATE:
+        return new SMFPipelinedInputStream(
+          new InflaterInputStream(stream, new Inflater(), CHUNK_SIZE)
+          {
+            @Override
+            public void close()
+              throws IOException
+            {
+              try {
+                super.close();
+              } finally {
+                this.inf.end();
+              }
+            }
+          },
+          CHUNK_SIZE);
+    }
+
+    throw new IllegalArgumentException(
+      String.format("Unrecognized compression method: %s", compression));
+  }
+
+  /**
+   * Wrap the given stream such that data written to the returned stream is
+   * compressed and written to {@code stream}. The compressed data is only
+   * guaranteed to be complete when the returned stream is closed.
+   *
+   * @param stream      The underlying stream
+   * @param compression The compression method
+   *
+   * @return A compressing stream
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static OutputStream compressing(
+    final OutputStream stream,
+    final SMFCompression compression)
+    throws IOException
+  {
+    Objects.requireNonNull(stream, "Stream");
+    Objects.requireNonNull(compression, "Compression");
+
+    switch (compression) {
+      case COMPRESSION_NONE:
+        return stream;
+      case COMPRESSION_GZIP:
+        return new SMFPipelinedOutputStream(
+          new GZIPOutputStream(stream, CHUNK_SIZE), CHUNK_SIZE);
+      case COMPRESSION_DEFLATE:
+        return new SMFPipelinedOutputStream(
+          new DeflaterOutputStream(stream, new Deflater(), CHUNK_SIZE)
+          {
+            @Override
+            public void close()
+              throws IOException
+            {
+              try {
+                super.close();
+              } finally {
+                this.def.end();
+              }
+            }
+          },
+          CHUNK_SIZE);
+    }
+
+    throw new IllegalArgumentException(
+      String.format("Unrecognized compression method: %s", compression));
+  }
+
+  /**
+   * Open the given file for reading. If the name of the file indicates that
+   * the file is compressed, the returned stream decompresses it.
+   *
+   * @param file The file
+   *
+   * @return A stream yielding the (decompressed) contents of {@code file}
+   *
+   * @throws IOException On I/O errors
+   * @see SMFCompression#ofFileName(String)
+   */
+
+  public static InputStream openInput(
+    final Path file)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "File");
+
+    final SMFCompression compression =
+      SMFCompression.ofFileName(file.toString());
+    final InputStream stream = Files.newInputStream(file);
+    try {
+      return decompressing(stream, compression);
+    } catch (final IOException e) {
+      stream.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Open the given file for writing. If the name of the file indicates that
+   * the file is compressed, the returned stream compresses the written data.
+   *
+   * @param file    The file
+   * @param options The options used to open the file
+   *
+   * @return A stream writing (compressed) data to {@code file}
+   *
+   * @throws IOException On I/O errors
+   * @see SMFCompression#ofFileName(String)
+   */
+
+  public static OutputStream openOutput(
+    final Path file,
+    final OpenOption... options)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "File");
+
+    final SMFCompression compression =
+      SMFCompression.ofFileName(file.toString());
+    final OutputStream stream = Files.newOutputStream(file, options);
+    try {
+      return compressing(stream, compression);
+    } catch (final IOException e) {
+      stream.close();
+      throw e;
+    }
+  }
+}
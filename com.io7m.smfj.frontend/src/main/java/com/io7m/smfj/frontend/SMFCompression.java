@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.frontend;
+
+import java.util.Objects;
+
+/**
+ * The compression methods that may be applied to mesh files. The compression
+ * method of a file is inferred from the file suffix; a file named
+ * {@code mesh.smft.gz} is a gzip-compressed text-format mesh.
+ */
+
+public enum SMFCompression
+{
+  /**
+   * The data is not compressed.
+   */
+
+  COMPRESSION_NONE(""),
+
+  /**
+   * The data is compressed with gzip (RFC 1952).
+   */
+
+  COMPRESSION_GZIP("gz"),
+
+  /**
+   * The data is compressed with zlib deflate (RFC 1950).
+   */
+
+  COMPRESSION_DEFLATE("deflate");
+
+  private final String suffix;
+
+  SMFCompression(
+    final String in_suffix)
+  {
+    this.suffix = Objects.requireNonNull(in_suffix, "Suffix");
+  }
+
+  /**
+   * @return The file suffix (without a leading dot) that indicates this
+   * compression method, or the empty string for {@link #COMPRESSION_NONE}
+   */
+
+  public String suffix()
+  {
+    return this.suffix;
+  }
+
+  /**
+   * Infer the compression method of a file from its name.
+   *
+   * @param file The file name
+   *
+   * @return The compression method implied by the suffix of {@code file}
+   */
+
+  public static SMFCompression ofFileName(
+    final String file)
+  {
+    Objects.requireNonNull(file, "File");
+
+    for (final SMFCompression compression : values()) {
+      if (compression != COMPRESSION_NONE
+        && file.endsWith("." + compression.suffix)) {
+        return compression;
+      }
+    }
+    return COMPRESSION_NONE;
+  }
+
+  /**
+   * Remove the compression suffix from the given file name. For example,
+   * {@code mesh.smft.gz} becomes {@code mesh.smft}.
+   *
+   * @param file The file name
+   *
+   * @return {@code file} without the compression suffix
+   */
+
+  public static String stripSuffix(
+    final String file)
+  {
+    Objects.requireNonNull(file, "File");
+
+    final SMFCompression compression = ofFileName(file);
+    if (compression == COMPRESSION_NONE) {
+      return file;
+    }
+    return file.substring(0, file.length() - (compression.suffix.length() + 1));
+  }
+}
@@ -43,7 +43,9 @@ public final class SMFParserProviders
 
   /**
    * Try to find a parser provider. If a format name is not specified, the
-   * format is inferred from the suffix of the given file.
+   * format is inferred from the suffix of the given file. A compression
+   * suffix such as {@code .gz} is ignored when inferring the format; use
+   * {@link SMFCompressedStreams} to open such files.
    *
    * @param format_opt An optional format name.
    * @param file       A file name
@@ -60,9 +62,10 @@ public final class SMFParserProviders
 
     if (!format_opt.isPresent()) {
       LOG.debug("attempting to infer format from file suffix");
-      final int index = file.lastIndexOf('.');
+      final String uncompressed = SMFCompression.stripSuffix(file);
+      final int index = uncompressed.lastIndexOf('.');
       if (index != -1) {
-        final String suffix = file.substring(index + 1);
+        final String suffix = uncompressed.substring(index + 1);
 
         final var providersWithFormat =
           loader.stream()
@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.frontend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An input stream that reads from an underlying stream on a separate thread.
+ * The reading thread fills fixed-size chunks and hands them to the consumer
+ * through a bounded queue, so that expensive work in the underlying stream
+ * (such as decompression) overlaps with work done by the consumer (such as
+ * tokenizing).
+ */
+
+final class SMFPipelinedInputStream extends InputStream
+{
+  private static final AtomicLong THREAD_IDS = new AtomicLong(0L);
+  private static final byte[] END = new byte[0];
+  private static final int QUEUE_DEPTH = 4;
+
+  private final BlockingQueue<byte[]> queue;
+  private final InputStream source;
+  private final Thread thread;
+  private final int chunk_size;
+  private volatile IOException failure;
+  private volatile boolean closed;
+  private byte[] current;
+  private int current_offset;
+  private boolean finished;
+
+  SMFPipelinedInputStream(
+    final InputStream in_source,
+    final int in_chunk_size)
+  {
+    this.source = Objects.requireNonNull(in_source, "Source");
+    this.chunk_size = in_chunk_size;
+    this.queue = new ArrayBlockingQueue<>(QUEUE_DEPTH);
+    this.current = END;
+    this.current_offset = 0;
+    this.finished = false;
+    this.closed = false;
+
+    this.thread = new Thread(
+      this::run,
+      String.format(
+        "com.io7m.smfj.frontend.input[%d]",
+        Long.valueOf(THREAD_IDS.incrementAndGet())));
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  private void run()
+  {
+    try {
+      while (!this.closed) {
+        final byte[] buffer = new byte[this.chunk_size];
+        final int r = this.source.readNBytes(buffer, 0, this.chunk_size);
+        if (r > 0) {
+          this.queue.put(
+            r == this.chunk_size ? buffer : Arrays.copyOf(buffer, r));
+        }
+        if (r < this.chunk_size) {
+          break;
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (final Throwable e) {
+      this.failure = asIOException(e);
+    } finally {
+      this.finish();
+    }
+  }
+
+  private void finish()
+  {
+    try {
+      if (!this.closed && !Thread.currentThread().isInterrupted()) {
+        this.queue.put(END);
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static IOException asIOException(
+    final Throwable e)
+  {
+    if (e instanceof IOException) {
+      return (IOException) e;
+    }
+    return new IOException(e.getMessage(), e);
+  }
+
+  /*
+   * The reading thread always queues END before terminating unless it has
+   * been interrupted, so a missing END after the thread has terminated can
+   * only mean that the thread was interrupted by something other than
+   * close().
+   */
+
+  private byte[] take()
+    throws IOException
+  {
+    try {
+      while (true) {
+        final byte[] next = this.queue.poll(100L, TimeUnit.MILLISECONDS);
+        if (next != null) {
+          return next;
+        }
+        if (!this.thread.isAlive()) {
+          final byte[] last = this.queue.poll();
+          if (last != null) {
+            return last;
+          }
+          final IOException error = this.failure;
+          if (error != null) {
+            throw new IOException(error.getMessage(), error);
+          }
+          throw new IOException("Reader thread has terminated");
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  private boolean nextChunk()
+    throws IOException
+  {
+    if (this.finished) {
+      return false;
+    }
+    if (this.closed) {
+      throw new IOException("Stream is closed");
+    }
+
+    final byte[] next = this.take();
+
+    if (next == END) {
+      this.finished = true;
+      final IOException error = this.failure;
+      if (error != null) {
+        throw new IOException(error.getMessage(), error);
+      }
+      return false;
+    }
+
+    this.current = next;
+    this.current_offset = 0;
+    return true;
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    if (this.current_offset == this.current.length) {
+      if (!this.nextChunk()) {
+        return -1;
+      }
+    }
+    final int b = this.current[this.current_offset] & 0xff;
+    ++this.current_offset;
+    return b;
+  }
+
+  @Override
+  public int read(
+    final byte[] buffer,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    Objects.checkFromIndexSize(offset, length, buffer.length);
+    if (length == 0) {
+      return 0;
+    }
+
+    if (this.current_offset == this.current.length) {
+      if (!this.nextChunk()) {
+        return -1;
+      }
+    }
+
+    final int count =
+      Math.min(length, this.current.length - this.current_offset);
+    System.arraycopy(this.current, this.current_offset, buffer, offset, count);
+    this.current_offset += count;
+    return count;
+  }
+
+  @Override
+  public int available()
+  {
+    return this.current.length - this.current_offset;
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (this.closed) {
+      return;
+    }
+
+    this.closed = true;
+    this.thread.interrupt();
+    this.queue.clear();
+
+    try {
+      this.thread.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      this.source.close();
+    }
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.frontend;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An output stream that writes to an underlying stream on a separate thread.
+ * Written data is collected into fixed-size chunks that are handed to the
+ * writing thread through a bounded queue, so that expensive work in the
+ * underlying stream (such as compression) overlaps with work done by the
+ * producer (such as formatting).
+ */
+
+final class SMFPipelinedOutputStream extends OutputStream
+{
+  private static final AtomicLong THREAD_IDS = new AtomicLong(0L);
+  private static final byte[] END = new byte[0];
+  private static final byte[] FLUSH = new byte[0];
+  private static final int QUEUE_DEPTH = 4;
+
+  private final BlockingQueue<byte[]> queue;
+  private final OutputStream sink;
+  private final Thread thread;
+  private final Semaphore flushed;
+  private final int chunk_size;
+  private volatile IOException failure;
+  private byte[] buffer;
+  private int buffer_count;
+  private boolean closed;
+
+  SMFPipelinedOutputStream(
+    final OutputStream in_sink,
+    final int in_chunk_size)
+  {
+    this.sink = Objects.requireNonNull(in_sink, "Sink");
+    this.chunk_size = in_chunk_size;
+    this.queue = new ArrayBlockingQueue<>(QUEUE_DEPTH);
+    this.flushed = new Semaphore(0);
+    this.buffer = new byte[in_chunk_size];
+    this.buffer_count = 0;
+    this.closed = false;
+
+    this.thread = new Thread(
+      this::run,
+      String.format(
+        "com.io7m.smfj.frontend.output[%d]",
+        Long.valueOf(THREAD_IDS.incrementAndGet())));
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  private void run()
+  {
+    try {
+      while (true) {
+        final byte[] next = this.queue.take();
+        if (next == END) {
+          break;
+        }
+        if (next == FLUSH) {
+          this.flushSink();
+          continue;
+        }
+
+        /*
+         * After a failure, keep draining the queue so that the producer
+         * is never blocked; the failure is reported on the next write.
+         */
+
+        if (this.failure == null) {
+          try {
+            this.sink.write(next);
+          } catch (final Throwable e) {
+            this.failure = asIOException(e);
+          }
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (final Throwable e) {
+      if (this.failure == null) {
+        this.failure = asIOException(e);
+      }
+    } finally {
+      try {
+        this.sink.close();
+      } catch (final Throwable e) {
+        if (this.failure == null) {
+          this.failure = asIOException(e);
+        }
+      }
+    }
+  }
+
+  private static IOException asIOException(
+    final Throwable e)
+  {
+    if (e instanceof IOException) {
+      return (IOException) e;
+    }
+    return new IOException(e.getMessage(), e);
+  }
+
+  private void flushSink()
+  {
+    /*
+     * The producer waits for the flush to be acknowledged, so the
+     * acknowledgement must be given even if the flush fails.
+     */
+
+    try {
+      if (this.failure == null) {
+        this.sink.flush();
+      }
+    } catch (final Throwable e) {
+      this.failure = asIOException(e);
+    } finally {
+      this.flushed.release();
+    }
+  }
+
+  private void checkFailure()
+    throws IOException
+  {
+    final IOException error = this.failure;
+    if (error != null) {
+      throw new IOException(error.getMessage(), error);
+    }
+  }
+
+  /*
+   * The writing thread only terminates when it is told to, or when it is
+   * interrupted. If it has terminated anyway, nothing will ever take from
+   * the queue, so the producer must not wait for it.
+   */
+
+  private void checkAlive()
+    throws IOException
+  {
+    if (!this.thread.isAlive()) {
+      this.checkFailure();
+      throw new IOException("Writer thread has terminated");
+    }
+  }
+
+  private void checkOpen()
+    throws IOException
+  {
+    if (this.closed) {
+      throw new IOException("Stream is closed");
+    }
+  }
+
+  private void handOff(
+    final byte[] chunk)
+    throws IOException
+  {
+    try {
+      while (!this.queue.offer(chunk, 100L, TimeUnit.MILLISECONDS)) {
+        this.checkAlive();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  private void handOffBuffer()
+    throws IOException
+  {
+    if (this.buffer_count == 0) {
+      return;
+    }
+
+    if (this.buffer_count == this.chunk_size) {
+      this.handOff(this.buffer);
+      this.buffer = new byte[this.chunk_size];
+    } else {
+      this.handOff(Arrays.copyOf(this.buffer, this.buffer_count));
+    }
+    this.buffer_count = 0;
+    this.checkFailure();
+  }
+
+  @Override
+  public void write(
+    final int b)
+    throws IOException
+  {
+    this.checkOpen();
+    if (this.buffer_count == this.chunk_size) {
+      this.handOffBuffer();
+    }
+    this.buffer[this.buffer_count] = (byte) b;
+    ++this.buffer_count;
+  }
+
+  @Override
+  public void write(
+    final byte[] data,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    Objects.checkFromIndexSize(offset, length, data.length);
+    this.checkOpen();
+
+    int position = offset;
+    int remaining = length;
+    while (remaining > 0) {
+      if (this.buffer_count == this.chunk_size) {
+        this.handOffBuffer();
+      }
+      final int count =
+        Math.min(remaining, this.chunk_size - this.buffer_count);
+      System.arraycopy(data, position, this.buffer, this.buffer_count, count);
+      this.buffer_count += count;
+      position += count;
+      remaining -= count;
+    }
+  }
+
+  /**
+   * Hand off any buffered data to the writing thread, and wait until the
+   * writing thread has written all data handed off so far to the underlying
+   * stream and flushed it.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Override
+  public void flush()
+    throws IOException
+  {
+    this.checkOpen();
+    this.handOffBuffer();
+    this.handOff(FLUSH);
+
+    try {
+      while (!this.flushed.tryAcquire(100L, TimeUnit.MILLISECONDS)) {
+        this.checkAlive();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+    this.checkFailure();
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (this.closed) {
+      return;
+    }
+
+    try {
+      this.handOffBuffer();
+    } finally {
+      this.closed = true;
+      this.handOff(END);
+      try {
+        this.thread.join();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+
+    this.checkFailure();
+  }
+}
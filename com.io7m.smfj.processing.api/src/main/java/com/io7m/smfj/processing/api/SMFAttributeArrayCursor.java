@@ -0,0 +1,495 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.smfj.core.SMFComponentType;
+import java.util.Objects;
+
+/**
+ * A reusable cursor over the elements of an attribute array.
+ *
+ * A cursor presents the components of any attribute array, regardless of
+ * the array's component type, count, or how its data is stored, through the
+ * same two accessors: {@link #getDouble(int)} and {@link #getLong(int)}.
+ * The storage that backs the array is resolved once when the cursor is
+ * {@link #reset(SMFAttributeArrayType) reset} to an array, and component
+ * reads then go straight to that storage; for packed arrays, nothing is
+ * boxed or allocated per element. This allows filters and serializers to
+ * process every type of attribute in a single loop of the form:
+ *
+ * <pre>
+ * cursor.reset(array);
+ * while (cursor.next()) {
+ *   for (int c = 0; c &lt; cursor.componentCount(); ++c) {
+ *     use(cursor.getDouble(c));
+ *   }
+ * }
+ * </pre>
+ *
+ * Cursors are mutable and are not thread-safe.
+ */
+
+public final class SMFAttributeArrayCursor
+{
+  private SMFAttributeArrayType array;
+  private SMFAttributeArrayFloatingStorageType floating;
+  private SMFAttributeArrayIntegerStorageType integer;
+  private SMFComponentType component_type;
+  private boolean unsigned;
+  private long count;
+  private int components;
+  private long index;
+
+  private SMFAttributeArrayCursor()
+  {
+
+  }
+
+  /**
+   * Create a cursor positioned before the first element of the given array.
+   *
+   * @param array The array
+   *
+   * @return A new cursor
+   */
+
+  public static SMFAttributeArrayCursor create(
+    final SMFAttributeArrayType array)
+  {
+    return new SMFAttributeArrayCursor().reset(array);
+  }
+
+  private static double unsignedToDouble(
+    final long value)
+  {
+    if (value >= 0L) {
+      return (double) value;
+    }
+    return ((double) (value >>> 1) * 2.0) + (double) (value & 1L);
+  }
+
+  private static SMFAttributeArrayFloatingStorageType storageF4(
+    final SMFAttributeArrayFloating4Type array)
+  {
+    if (array instanceof SMFAttributeArrayFloating4Packed) {
+      return ((SMFAttributeArrayFloating4Packed) array).storage();
+    }
+    return new SMFAttributeArrayFloatingStorageAdapter(
+      array.elementCount(),
+      4,
+      (index, component) -> {
+        switch (component) {
+          case 0:
+            return array.x(index);
+          case 1:
+            return array.y(index);
+          case 2:
+            return array.z(index);
+          default:
+            return array.w(index);
+        }
+      });
+  }
+
+  private static SMFAttributeArrayFloatingStorageType storageF3(
+    final SMFAttributeArrayFloating3Type array)
+  {
+    if (array instanceof SMFAttributeArrayFloating3Packed) {
+      return ((SMFAttributeArrayFloating3Packed) array).storage();
+    }
+    return new SMFAttributeArrayFloatingStorageAdapter(
+      array.elementCount(),
+      3,
+      (index, component) -> {
+        switch (component) {
+          case 0:
+            return array.x(index);
+          case 1:
+            return array.y(index);
+          default:
+            return array.z(index);
+        }
+      });
+  }
+
+  private static SMFAttributeArrayFloatingStorageType storageF2(
+    final SMFAttributeArrayFloating2Type array)
+  {
+    if (array instanceof SMFAttributeArrayFloating2Packed) {
+      return ((SMFAttributeArrayFloating2Packed) array).storage();
+    }
+    return new SMFAttributeArrayFloatingStorageAdapter(
+      array.elementCount(),
+      2,
+      (index, component) -> {
+        switch (component) {
+          case 0:
+            return array.x(index);
+          default:
+            return array.y(index);
+        }
+      });
+  }
+
+  private static SMFAttributeArrayFloatingStorageType storageF1(
+    final SMFAttributeArrayFloating1Type array)
+  {
+    if (array instanceof SMFAttributeArrayFloating1Packed) {
+      return ((SMFAttributeArrayFloating1Packed) array).storage();
+    }
+    return new SMFAttributeArrayFloatingStorageAdapter(
+      array.elementCount(),
+      1,
+      (index, component) -> array.value(index));
+  }
+
+  private static SMFAttributeArrayIntegerStorageType storageU4(
+    final SMFAttributeArrayIntegerUnsigned4Type array)
+  {
+    if (array instanceof SMFAttributeArrayIntegerUnsigned4Packed) {
+      return ((SMFAttributeArrayIntegerUnsigned4Packed) array).storage();
+    }
+    return new SMFAttributeArrayIntegerStorageAdapter(
+      array.elementCount(),
+      4,
+      (index, component) -> {
+        switch (component) {
+          case 0:
+            return array.x(index);
+          case 1:
+            return array.y(index);
+          case 2:
+            return array.z(index);
+          default:
+            return array.w(index);
+        }
+      });
+  }
+
+  private static SMFAttributeArrayIntegerStorageType storageU3(
+    final SMFAttributeArrayIntegerUnsigned3Type array)
+  {
+    if (array instanceof SMFAttributeArrayIntegerUnsigned3Packed) {
+      return ((SMFAttributeArrayIntegerUnsigned3Packed) array).storage();
+    }
+    return new SMFAttributeArrayIntegerStorageAdapter(
+      array.elementCount(),
+      3,
+      (index, component) -> {
+        switch (component) {
+          case 0:
+            return array.x(index);
+          case 1:
+            return array.y(index);
+          default:
+            return array.z(index);
+        }
+      });
+  }
+
+  private static SMFAttributeArrayIntegerStorageType storageU2(
+    final SMFAttributeArrayIntegerUnsigned2Type array)
+  {
+    if (array instanceof SMFAttributeArrayIntegerUnsigned2Packed) {
+      return ((SMFAttributeArrayIntegerUnsigned2Packed) array).storage();
+    }
+    return new SMFAttributeArrayIntegerStorageAdapter(
+      array.elementCount(),
+      2,
+      (index, component) -> {
+        switch (component) {
+          case 0:
+            return array.x(index);
+          default:
+            return array.y(index);
+        }
+      });
+  }
+
+  private static SMFAttributeArrayIntegerStorageType storageU1(
+    final SMFAttributeArrayIntegerUnsigned1Type array)
+  {
+    if (array instanceof SMFAttributeArrayIntegerUnsigned1Packed) {
+      return ((SMFAttributeArrayIntegerUnsigned1Packed) array).storage();
+    }
+    return new SMFAttributeArrayIntegerStorageAdapter(
+      array.elementCount(),
+      1,
+      (index, component) -> array.value(index));
+  }
+
+  private static SMFAttributeArrayIntegerStorageType storageI4(
+    final SMFAttributeArrayIntegerSigned4Type array)
+  {
+    if (array instanceof SMFAttributeArrayIntegerSigned4Packed) {
+      return ((SMFAttributeArrayIntegerSigned4Packed) array).storage();
+    }
+    return new SMFAttributeArrayIntegerStorageAdapter(
+      array.elementCount(),
+      4,
+      (index, component) -> {
+        switch (component) {
+          case 0:
+            return array.x(index);
+          case 1:
+            return array.y(index);
+          case 2:
+            return array.z(index);
+          default:
+            return array.w(index);
+        }
+      });
+  }
+
+  private static SMFAttributeArrayIntegerStorageType storageI3(
+    final SMFAttributeArrayIntegerSigned3Type array)
+  {
+    if (array instanceof SMFAttributeArrayIntegerSigned3Packed) {
+      return ((SMFAttributeArrayIntegerSigned3Packed) array).storage();
+    }
+    return new SMFAttributeArrayIntegerStorageAdapter(
+      array.elementCount(),
+      3,
+      (index, component) -> {
+        switch (component) {
+          case 0:
+            return array.x(index);
+          case 1:
+            return array.y(index);
+          default:
+            return array.z(index);
+        }
+      });
+  }
+
+  private static SMFAttributeArrayIntegerStorageType storageI2(
+    final SMFAttributeArrayIntegerSigned2Type array)
+  {
+    if (array instanceof SMFAttributeArrayIntegerSigned2Packed) {
+      return ((SMFAttributeArrayIntegerSigned2Packed) array).storage();
+    }
+    return new SMFAttributeArrayIntegerStorageAdapter(
+      array.elementCount(),
+      2,
+      (index, component) -> {
+        switch (component) {
+          case 0:
+            return array.x(index);
+          default:
+            return array.y(index);
+        }
+      });
+  }
+
+  private static SMFAttributeArrayIntegerStorageType storageI1(
+    final SMFAttributeArrayIntegerSigned1Type array)
+  {
+    if (array instanceof SMFAttributeArrayIntegerSigned1Packed) {
+      return ((SMFAttributeArrayIntegerSigned1Packed) array).storage();
+    }
+    return new SMFAttributeArrayIntegerStorageAdapter(
+      array.elementCount(),
+      1,
+      (index, component) -> array.value(index));
+  }
+
+  private SMFAttributeArrayCursor useFloating(
+    final SMFAttributeArrayFloatingStorageType storage)
+  {
+    this.floating = storage;
+    this.integer = null;
+    this.unsigned = false;
+    this.component_type = SMFComponentType.ELEMENT_TYPE_FLOATING;
+    this.components = storage.components();
+    return this;
+  }
+
+  private SMFAttributeArrayCursor useInteger(
+    final SMFAttributeArrayIntegerStorageType storage,
+    final boolean in_unsigned)
+  {
+    this.floating = null;
+    this.integer = storage;
+    this.unsigned = in_unsigned;
+    this.component_type = in_unsigned
+      ? SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED
+      : SMFComponentType.ELEMENT_TYPE_INTEGER_SIGNED;
+    this.components = storage.components();
+    return this;
+  }
+
+  /**
+   * Reset the cursor to a position before the first element of the given
+   * array.
+   *
+   * @param in_array The array
+   *
+   * @return This cursor
+   */
+
+  public SMFAttributeArrayCursor reset(
+    final SMFAttributeArrayType in_array)
+  {
+    Objects.requireNonNull(in_array, "Array");
+
+    in_array.matchArray(
+      this,
+      (c, a) -> c.useFloating(storageF4(a)),
+      (c, a) -> c.useFloating(storageF3(a)),
+      (c, a) -> c.useFloating(storageF2(a)),
+      (c, a) -> c.useFloating(storageF1(a)),
+      (c, a) -> c.useInteger(storageU4(a), true),
+      (c, a) -> c.useInteger(storageU3(a), true),
+      (c, a) -> c.useInteger(storageU2(a), true),
+      (c, a) -> c.useInteger(storageU1(a), true),
+      (c, a) -> c.useInteger(storageI4(a), false),
+      (c, a) -> c.useInteger(storageI3(a), false),
+      (c, a) -> c.useInteger(storageI2(a), false),
+      (c, a) -> c.useInteger(storageI1(a), false));
+
+    this.array = in_array;
+    this.count = in_array.elementCount();
+    this.index = -1L;
+    return this;
+  }
+
+  /**
+   * @return The array over which the cursor is iterating
+   */
+
+  public SMFAttributeArrayType array()
+  {
+    return this.array;
+  }
+
+  /**
+   * @return The type of the array components
+   */
+
+  public SMFComponentType componentType()
+  {
+    return this.component_type;
+  }
+
+  /**
+   * @return The number of components in each element
+   */
+
+  public int componentCount()
+  {
+    return this.components;
+  }
+
+  /**
+   * @return The number of elements in the array
+   */
+
+  public long elementCount()
+  {
+    return this.count;
+  }
+
+  /**
+   * @return The index of the current element, or {@code -1} if the cursor
+   * is positioned before the first element
+   */
+
+  public long index()
+  {
+    return this.index;
+  }
+
+  /**
+   * Move to the next element.
+   *
+   * @return {@code true} iff the cursor now refers to an element
+   */
+
+  public boolean next()
+  {
+    if (this.index + 1L < this.count) {
+      ++this.index;
+      return true;
+    }
+    this.index = this.count;
+    return false;
+  }
+
+  /**
+   * Move to the given element.
+   *
+   * @param in_index The element index
+   */
+
+  public void seek(
+    final long in_index)
+  {
+    this.index = Objects.checkIndex(in_index, this.count);
+  }
+
+  /**
+   * Read a component of the current element as a {@code double}. Integer
+   * components are converted as if by a widening primitive conversion, with
+   * unsigned components treated as unsigned.
+   *
+   * @param component The component index
+   *
+   * @return The component value
+   */
+
+  public double getDouble(
+    final int component)
+  {
+    final SMFAttributeArrayFloatingStorageType f = this.floating;
+    if (f != null) {
+      return f.get(this.index, component);
+    }
+    final long value = this.integer.get(this.index, component);
+    return this.unsigned ? unsignedToDouble(value) : (double) value;
+  }
+
+  /**
+   * Read a component of the current element as a {@code long}. Floating
+   * point components are converted as if by a narrowing primitive
+   * conversion.
+   *
+   * @param component The component index
+   *
+   * @return The component value
+   */
+
+  public long getLong(
+    final int component)
+  {
+    final SMFAttributeArrayIntegerStorageType i = this.integer;
+    if (i != null) {
+      return i.get(this.index, component);
+    }
+    return (long) this.floating.get(this.index, component);
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format(
+      "SMFAttributeArrayCursor{type=%s, components=%d, index=%d, size=%d}",
+      this.component_type,
+      Integer.valueOf(this.components),
+      Long.valueOf(this.index),
+      Long.valueOf(this.count));
+  }
+}
@@ -57,6 +57,24 @@ public interface SMFAttributeArrayFloating1Type extends SMFAttributeArrayType
     return this.values().size();
   }
 
+  @Override
+  default long footprintOctets()
+  {
+    return SMFMemoryMeshFootprints.listOctets(this.elementCount(), 1);
+  }
+
+  /**
+   * @param index The element index
+   *
+   * @return The element at {@code index}
+   */
+
+  default double value(
+    final long index)
+  {
+    return this.values().get(Math.toIntExact(index)).doubleValue();
+  }
+
   /**
    * @return The array values
    */
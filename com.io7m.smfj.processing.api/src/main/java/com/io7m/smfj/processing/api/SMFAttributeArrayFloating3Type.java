@@ -58,6 +58,48 @@ public interface SMFAttributeArrayFloating3Type extends SMFAttributeArrayType
     return this.values().size();
   }
 
+  @Override
+  default long footprintOctets()
+  {
+    return SMFMemoryMeshFootprints.listOctets(this.elementCount(), 3);
+  }
+
+  /**
+   * @param index The element index
+   *
+   * @return The x component of the element at {@code index}
+   */
+
+  default double x(
+    final long index)
+  {
+    return this.values().get(Math.toIntExact(index)).x();
+  }
+
+  /**
+   * @param index The element index
+   *
+   * @return The y component of the element at {@code index}
+   */
+
+  default double y(
+    final long index)
+  {
+    return this.values().get(Math.toIntExact(index)).y();
+  }
+
+  /**
+   * @param index The element index
+   *
+   * @return The z component of the element at {@code index}
+   */
+
+  default double z(
+    final long index)
+  {
+    return this.values().get(Math.toIntExact(index)).z();
+  }
+
   /**
    * @return The array values
    */
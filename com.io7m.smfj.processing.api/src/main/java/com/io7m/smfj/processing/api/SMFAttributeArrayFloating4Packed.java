@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.jtensors.core.unparameterized.vectors.Vector4D;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A 4-element floating point array backed by packed primitive storage
+ * rather than a list of boxed values. The storage is either a Java array or,
+ * for meshes produced by {@link SMFMemoryMeshOffHeapProducer}, an off-heap
+ * buffer. The {@link #values()} list is a read-only view that constructs
+ * elements on demand.
+ */
+
+public final class SMFAttributeArrayFloating4Packed
+  implements SMFAttributeArrayFloating4Type
+{
+  private final SMFAttributeArrayFloatingStorageType storage;
+  private final List<Vector4D> values;
+
+  SMFAttributeArrayFloating4Packed(
+    final SMFAttributeArrayFloatingStorageType in_storage)
+  {
+    this.storage = Objects.requireNonNull(in_storage, "Storage");
+    this.values = new SMFAttributeArrayView<>(
+      index -> Vector4D.of(
+        this.x(index), this.y(index), this.z(index), this.w(index)),
+      SMFAttributeArrayView.saturate(this.storage.size()));
+  }
+
+  /**
+   * Create an array from the given components. The components are given in
+   * element order as {@code x0, y0, z0, w0, x1, ...}, and are copied.
+   *
+   * @param components The components
+   *
+   * @return A new array
+   */
+
+  public static SMFAttributeArrayFloating4Packed of(
+    final double[] components)
+  {
+    Objects.requireNonNull(components, "Components");
+    return new SMFAttributeArrayFloating4Packed(
+      SMFAttributeArrayFloatingStorage.pack(
+        components, components.length, 4));
+  }
+
+  /**
+   * @return The storage that holds the array components
+   */
+
+  SMFAttributeArrayFloatingStorageType storage()
+  {
+    return this.storage;
+  }
+
+  /**
+   * @return The number of bytes used to hold the array components
+   */
+
+  public long sizeOctets()
+  {
+    return this.storage.sizeOctets();
+  }
+
+  @Override
+  public long footprintOctets()
+  {
+    return this.storage.sizeOctets();
+  }
+
+  @Override
+  public int size()
+  {
+    return SMFAttributeArrayView.saturate(this.storage.size());
+  }
+
+  @Override
+  public long elementCount()
+  {
+    return this.storage.size();
+  }
+
+  @Override
+  public List<Vector4D> values()
+  {
+    return this.values;
+  }
+
+  @Override
+  public double x(
+    final long index)
+  {
+    return this.storage.get(index, 0);
+  }
+
+  @Override
+  public double y(
+    final long index)
+  {
+    return this.storage.get(index, 1);
+  }
+
+  @Override
+  public double z(
+    final long index)
+  {
+    return this.storage.get(index, 2);
+  }
+
+  @Override
+  public double w(
+    final long index)
+  {
+    return this.storage.get(index, 3);
+  }
+
+  @Override
+  public boolean equals(
+    final Object other)
+  {
+    if (this == other) {
+      return true;
+    }
+    if (other instanceof SMFAttributeArrayFloating4Packed) {
+      final SMFAttributeArrayFloating4Packed other_packed =
+        (SMFAttributeArrayFloating4Packed) other;
+      return this.storage.sameValues(other_packed.storage);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return this.storage.valuesHashCode();
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format(
+      "SMFAttributeArrayFloating4Packed{size=%d}",
+      Long.valueOf(this.elementCount()));
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.io7m.smfj.processing.api.SMFChunkedDoubleArray.CHUNK_MASK;
+import static com.io7m.smfj.processing.api.SMFChunkedDoubleArray.CHUNK_SHIFT;
+
+/**
+ * Packed storage for floating point array components.
+ *
+ * Components are stored in element order as {@code x0, y0, z0, x1, ...} in
+ * {@code float} chunks if every component survives a round trip through
+ * single precision unchanged, and in {@code double} chunks otherwise. The
+ * narrowing is therefore never observable through {@link #get(long, int)}.
+ * Chunking allows storage to exceed {@link Integer#MAX_VALUE} components.
+ */
+
+final class SMFAttributeArrayFloatingStorage
+  implements SMFAttributeArrayFloatingStorageType
+{
+  private final double[][] doubles;
+  private final float[][] floats;
+  private final int components;
+  private final long size;
+
+  private SMFAttributeArrayFloatingStorage(
+    final double[][] in_doubles,
+    final float[][] in_floats,
+    final int in_components,
+    final long in_size)
+  {
+    this.doubles = in_doubles;
+    this.floats = in_floats;
+    this.components = in_components;
+    this.size = in_size;
+  }
+
+  /**
+   * Pack the first {@code length} components of {@code values}. The given
+   * array is copied.
+   *
+   * @param values     The components
+   * @param length     The number of components to pack
+   * @param components The number of components per element
+   *
+   * @return Packed storage
+   */
+
+  static SMFAttributeArrayFloatingStorage pack(
+    final double[] values,
+    final int length,
+    final int components)
+  {
+    Objects.requireNonNull(values, "Values");
+    Objects.checkFromToIndex(0, length, values.length);
+
+    final SMFChunkedDoubleArray chunked = new SMFChunkedDoubleArray();
+    for (int index = 0; index < length; ++index) {
+      chunked.add(values[index]);
+    }
+    return pack(chunked, components);
+  }
+
+  /**
+   * Pack the given components. Chunks that do not need to be narrowed and
+   * that are already exactly the right length are adopted rather than
+   * copied, so the given array must not be modified afterwards.
+   *
+   * @param values     The components
+   * @param components The number of components per element
+   *
+   * @return Packed storage
+   */
+
+  static SMFAttributeArrayFloatingStorage pack(
+    final SMFChunkedDoubleArray values,
+    final int components)
+  {
+    Objects.requireNonNull(values, "Values");
+
+    final long length = values.size();
+    if (length % (long) components != 0L) {
+      throw new IllegalArgumentException(String.format(
+        "Component count %d is not a multiple of %d",
+        Long.valueOf(length),
+        Integer.valueOf(components)));
+    }
+
+    final long size = length / (long) components;
+    final int chunk_count = SMFChunkedDoubleArray.chunksFor(length);
+
+    if (fitsFloat(values, chunk_count)) {
+      final float[][] floats = new float[chunk_count][];
+      for (int chunk = 0; chunk < chunk_count; ++chunk) {
+        final double[] source = values.chunk(chunk);
+        final int chunk_length =
+          SMFChunkedDoubleArray.chunkLength(length, chunk);
+        final float[] target = new float[chunk_length];
+        for (int index = 0; index < chunk_length; ++index) {
+          target[index] = (float) source[index];
+        }
+        floats[chunk] = target;
+      }
+      return new SMFAttributeArrayFloatingStorage(
+        null, floats, components, size);
+    }
+
+    final double[][] doubles = new double[chunk_count][];
+    for (int chunk = 0; chunk < chunk_count; ++chunk) {
+      final double[] source = values.chunk(chunk);
+      final int chunk_length =
+        SMFChunkedDoubleArray.chunkLength(length, chunk);
+      if (source.length == chunk_length) {
+        doubles[chunk] = source;
+      } else {
+        doubles[chunk] = Arrays.copyOf(source, chunk_length);
+      }
+    }
+    return new SMFAttributeArrayFloatingStorage(
+      doubles, null, components, size);
+  }
+
+  private static boolean fitsFloat(
+    final SMFChunkedDoubleArray values,
+    final int chunk_count)
+  {
+    final long length = values.size();
+    for (int chunk = 0; chunk < chunk_count; ++chunk) {
+      final double[] source = values.chunk(chunk);
+      final int chunk_length =
+        SMFChunkedDoubleArray.chunkLength(length, chunk);
+      for (int index = 0; index < chunk_length; ++index) {
+        final double x = source[index];
+        final double y = (double) (float) x;
+        if (Double.doubleToRawLongBits(x) != Double.doubleToRawLongBits(y)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int components()
+  {
+    return this.components;
+  }
+
+  @Override
+  public long size()
+  {
+    return this.size;
+  }
+
+  @Override
+  public long sizeOctets()
+  {
+    final long length = this.size * (long) this.components;
+    if (this.floats != null) {
+      return length * 4L;
+    }
+    return length * 8L;
+  }
+
+  @Override
+  public double get(
+    final long index,
+    final int component)
+  {
+    Objects.checkIndex(index, this.size);
+    Objects.checkIndex(component, this.components);
+
+    final long offset = (index * (long) this.components) + (long) component;
+    final int chunk = (int) (offset >>> CHUNK_SHIFT);
+    final int within = (int) (offset & CHUNK_MASK);
+    if (this.floats != null) {
+      return (double) this.floats[chunk][within];
+    }
+    return this.doubles[chunk][within];
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Storage for floating point array components held in a memory-mapped
+ * temporary file.
+ *
+ * Components are stored in element order as {@code x0, y0, z0, x1, ...} at
+ * the attribute's declared component size and in the platform's native byte
+ * order. Components are encoded when written and decoded when read, so
+ * values are subject to the precision of the declared size.
+ *
+ * @see SMFMemoryMeshMappedFile
+ */
+
+final class SMFAttributeArrayFloatingStorageMapped
+  implements SMFAttributeArrayFloatingStorageType, Closeable
+{
+  private final SMFMemoryMeshMappedFile file;
+  private final int components;
+  private final int component_size;
+  private final long size;
+
+  private SMFAttributeArrayFloatingStorageMapped(
+    final SMFMemoryMeshMappedFile in_file,
+    final int in_components,
+    final int in_component_size,
+    final long in_size)
+  {
+    this.file = Objects.requireNonNull(in_file, "File");
+    this.components = in_components;
+    this.component_size = in_component_size;
+    this.size = in_size;
+  }
+
+  /**
+   * Allocate storage in a new temporary file.
+   *
+   * @param directory           The directory that will contain the file
+   * @param size                The number of elements
+   * @param components          The number of components per element
+   * @param component_size_bits The size of each component in bits
+   *
+   * @return New storage with all components set to zero
+   *
+   * @throws IOException On I/O errors
+   */
+
+  static SMFAttributeArrayFloatingStorageMapped allocate(
+    final Path directory,
+    final long size,
+    final int components,
+    final int component_size_bits)
+    throws IOException
+  {
+    final int component_size = componentSize(component_size_bits);
+    final long octets =
+      SMFMemoryMeshMappedFile.octets(size, components, component_size);
+    return new SMFAttributeArrayFloatingStorageMapped(
+      SMFMemoryMeshMappedFile.create(directory, octets, ByteOrder.nativeOrder()),
+      components,
+      component_size,
+      size);
+  }
+
+  private static int componentSize(
+    final int size_bits)
+  {
+    switch (size_bits) {
+      case 16:
+      case 32:
+      case 64:
+        return size_bits / 8;
+      default:
+        throw new IllegalArgumentException(String.format(
+          "Unsupported floating point component size: %d",
+          Integer.valueOf(size_bits)));
+    }
+  }
+
+  private long offset(
+    final long index,
+    final int component)
+  {
+    Objects.checkIndex(index, this.size);
+    Objects.checkIndex(component, this.components);
+    return ((index * (long) this.components) + (long) component)
+      * (long) this.component_size;
+  }
+
+  @Override
+  public long size()
+  {
+    return this.size;
+  }
+
+  @Override
+  public int components()
+  {
+    return this.components;
+  }
+
+  @Override
+  public long sizeOctets()
+  {
+    return this.file.size();
+  }
+
+  @Override
+  public double get(
+    final long index,
+    final int component)
+  {
+    final long offset = this.offset(index, component);
+    switch (this.component_size) {
+      case 2:
+        return SMFBinary16.unpack(this.file.getChar(offset));
+      case 4:
+        return (double) this.file.getFloat(offset);
+      default:
+        return this.file.getDouble(offset);
+    }
+  }
+
+  /**
+   * Set the given component of the given element.
+   *
+   * @param index     The element index
+   * @param component The component index
+   * @param value     The value
+   */
+
+  void put(
+    final long index,
+    final int component,
+    final double value)
+  {
+    final long offset = this.offset(index, component);
+    switch (this.component_size) {
+      case 2:
+        this.file.putChar(offset, SMFBinary16.pack(value));
+        break;
+      case 4:
+        this.file.putFloat(offset, (float) value);
+        break;
+      default:
+        this.file.putDouble(offset, value);
+        break;
+    }
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    this.file.close();
+  }
+}
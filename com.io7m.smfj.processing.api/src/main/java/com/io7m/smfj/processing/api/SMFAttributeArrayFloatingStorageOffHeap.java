@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Off-heap storage for floating point array components.
+ *
+ * Components are stored in element order as {@code x0, y0, z0, x1, ...} in
+ * a direct buffer, at the attribute's declared component size and in the
+ * given byte order. Components are encoded when written and decoded when
+ * read, so values are subject to the precision of the declared size.
+ */
+
+final class SMFAttributeArrayFloatingStorageOffHeap
+  implements SMFAttributeArrayFloatingStorageType,
+  SMFMemoryMeshOffHeapBufferType
+{
+  private final int components;
+  private final int component_size;
+  private final int size;
+  private ByteBuffer buffer;
+
+  private SMFAttributeArrayFloatingStorageOffHeap(
+    final ByteBuffer in_buffer,
+    final int in_components,
+    final int in_component_size,
+    final int in_size)
+  {
+    this.buffer = in_buffer;
+    this.components = in_components;
+    this.component_size = in_component_size;
+    this.size = in_size;
+  }
+
+  /**
+   * Allocate storage.
+   *
+   * @param size                The number of elements
+   * @param components          The number of components per element
+   * @param component_size_bits The size of each component in bits
+   * @param order               The byte order
+   *
+   * @return New storage with all components set to zero
+   */
+
+  static SMFAttributeArrayFloatingStorageOffHeap allocate(
+    final long size,
+    final int components,
+    final int component_size_bits,
+    final ByteOrder order)
+  {
+    Objects.requireNonNull(order, "Order");
+
+    final int octets =
+      SMFMemoryMeshOffHeap.bufferOctets(
+        size, components, componentSize(component_size_bits));
+    return wrap(
+      ByteBuffer.allocateDirect(octets),
+      size, components, component_size_bits, order);
+  }
+
+  /**
+   * Create storage over an existing buffer. The buffer is used directly and
+   * is not copied: the storage covers the required number of octets starting
+   * at the buffer's current position.
+   *
+   * @param buffer              The buffer
+   * @param size                The number of elements
+   * @param components          The number of components per element
+   * @param component_size_bits The size of each component in bits
+   * @param order               The byte order
+   *
+   * @return New storage over the buffer
+   */
+
+  static SMFAttributeArrayFloatingStorageOffHeap wrap(
+    final ByteBuffer buffer,
+    final long size,
+    final int components,
+    final int component_size_bits,
+    final ByteOrder order)
+  {
+    Objects.requireNonNull(buffer, "Buffer");
+    Objects.requireNonNull(order, "Order");
+
+    final int component_size = componentSize(component_size_bits);
+    final int octets =
+      SMFMemoryMeshOffHeap.bufferOctets(size, components, component_size);
+    if (buffer.remaining() < octets) {
+      throw new IllegalArgumentException(String.format(
+        "Buffer holds %d octets but %d octets are required",
+        Integer.valueOf(buffer.remaining()),
+        Integer.valueOf(octets)));
+    }
+    return new SMFAttributeArrayFloatingStorageOffHeap(
+      buffer.slice(buffer.position(), octets).order(order),
+      components,
+      component_size,
+      (int) size);
+  }
+
+  private static int componentSize(
+    final int size_bits)
+  {
+    switch (size_bits) {
+      case 16:
+      case 32:
+      case 64:
+        return size_bits / 8;
+      default:
+        throw new IllegalArgumentException(String.format(
+          "Unsupported floating point component size: %d",
+          Integer.valueOf(size_bits)));
+    }
+  }
+
+  private ByteBuffer buffer()
+  {
+    final ByteBuffer b = this.buffer;
+    if (b == null) {
+      throw new IllegalStateException("Storage has been closed");
+    }
+    return b;
+  }
+
+  private int offset(
+    final long index,
+    final int component)
+  {
+    Objects.checkIndex(index, (long) this.size);
+    Objects.checkIndex(component, this.components);
+    final int element = (int) index;
+    return ((element * this.components) + component) * this.component_size;
+  }
+
+  @Override
+  public long size()
+  {
+    return this.size;
+  }
+
+  @Override
+  public int components()
+  {
+    return this.components;
+  }
+
+  @Override
+  public long sizeOctets()
+  {
+    return (long) this.size * (long) (this.components * this.component_size);
+  }
+
+  @Override
+  public double get(
+    final long index,
+    final int component)
+  {
+    final ByteBuffer b = this.buffer();
+    final int offset = this.offset(index, component);
+    switch (this.component_size) {
+      case 2:
+        return SMFBinary16.unpack(b.getChar(offset));
+      case 4:
+        return (double) b.getFloat(offset);
+      default:
+        return b.getDouble(offset);
+    }
+  }
+
+  /**
+   * Set the given component of the given element.
+   *
+   * @param index     The element index
+   * @param component The component index
+   * @param value     The value
+   */
+
+  void put(
+    final long index,
+    final int component,
+    final double value)
+  {
+    final ByteBuffer b = this.buffer();
+    final int offset = this.offset(index, component);
+    switch (this.component_size) {
+      case 2:
+        b.putChar(offset, SMFBinary16.pack(value));
+        break;
+      case 4:
+        b.putFloat(offset, (float) value);
+        break;
+      default:
+        b.putDouble(offset, value);
+        break;
+    }
+  }
+
+  @Override
+  public ByteBuffer view()
+  {
+    final ByteBuffer b = this.buffer();
+    return b.asReadOnlyBuffer().order(b.order());
+  }
+
+  @Override
+  public void close()
+  {
+    this.buffer = null;
+  }
+}
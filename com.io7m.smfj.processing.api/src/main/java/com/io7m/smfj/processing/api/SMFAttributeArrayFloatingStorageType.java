@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+/**
+ * Storage for floating point array components.
+ */
+
+interface SMFAttributeArrayFloatingStorageType
+{
+  /**
+   * @return The number of elements
+   */
+
+  long size();
+
+  /**
+   * @return The number of components per element
+   */
+
+  int components();
+
+  /**
+   * @return The number of bytes used by the stored components
+   */
+
+  long sizeOctets();
+
+  /**
+   * @param index     The element index
+   * @param component The component index
+   *
+   * @return The given component of the given element
+   */
+
+  double get(
+    long index,
+    int component);
+
+  /**
+   * @param other The other storage
+   *
+   * @return {@code true} iff both storages hold the same components
+   */
+
+  default boolean sameValues(
+    final SMFAttributeArrayFloatingStorageType other)
+  {
+    final long size = this.size();
+    final int components = this.components();
+    if (size != other.size() || components != other.components()) {
+      return false;
+    }
+    for (long index = 0L; index < size; ++index) {
+      for (int component = 0; component < components; ++component) {
+        final double x = this.get(index, component);
+        final double y = other.get(index, component);
+        if (Double.doubleToLongBits(x) != Double.doubleToLongBits(y)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return A hash code consistent with {@link #sameValues}
+   */
+
+  default int valuesHashCode()
+  {
+    final long size = this.size();
+    final int components = this.components();
+    int hash = 1;
+    for (long index = 0L; index < size; ++index) {
+      for (int component = 0; component < components; ++component) {
+        hash = 31 * hash + Double.hashCode(this.get(index, component));
+      }
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A 1-element signed integer array backed by packed primitive storage
+ * rather than a list of boxed values. The storage is either a Java array or,
+ * for meshes produced by {@link SMFMemoryMeshOffHeapProducer}, an off-heap
+ * buffer. The {@link #values()} list is a read-only view that constructs
+ * elements on demand.
+ */
+
+public final class SMFAttributeArrayIntegerSigned1Packed
+  implements SMFAttributeArrayIntegerSigned1Type
+{
+  private final SMFAttributeArrayIntegerStorageType storage;
+  private final List<Long> values;
+
+  SMFAttributeArrayIntegerSigned1Packed(
+    final SMFAttributeArrayIntegerStorageType in_storage)
+  {
+    this.storage = Objects.requireNonNull(in_storage, "Storage");
+    this.values = new SMFAttributeArrayView<>(
+      index -> Long.valueOf(this.value(index)),
+      SMFAttributeArrayView.saturate(this.storage.size()));
+  }
+
+  /**
+   * Create an array from the given components. The components are given in
+   * element order as {@code x0, x1, x2, ...}, and are copied.
+   *
+   * @param components The components
+   *
+   * @return A new array
+   */
+
+  public static SMFAttributeArrayIntegerSigned1Packed of(
+    final long[] components)
+  {
+    Objects.requireNonNull(components, "Components");
+    return new SMFAttributeArrayIntegerSigned1Packed(
+      SMFAttributeArrayIntegerStorage.pack(
+        components, components.length, 1));
+  }
+
+  /**
+   * @return The storage that holds the array components
+   */
+
+  SMFAttributeArrayIntegerStorageType storage()
+  {
+    return this.storage;
+  }
+
+  /**
+   * @return The number of bytes used to hold the array components
+   */
+
+  public long sizeOctets()
+  {
+    return this.storage.sizeOctets();
+  }
+
+  @Override
+  public long footprintOctets()
+  {
+    return this.storage.sizeOctets();
+  }
+
+  @Override
+  public int size()
+  {
+    return SMFAttributeArrayView.saturate(this.storage.size());
+  }
+
+  @Override
+  public long elementCount()
+  {
+    return this.storage.size();
+  }
+
+  @Override
+  public List<Long> values()
+  {
+    return this.values;
+  }
+
+  @Override
+  public long value(
+    final long index)
+  {
+    return this.storage.get(index, 0);
+  }
+
+  @Override
+  public boolean equals(
+    final Object other)
+  {
+    if (this == other) {
+      return true;
+    }
+    if (other instanceof SMFAttributeArrayIntegerSigned1Packed) {
+      final SMFAttributeArrayIntegerSigned1Packed other_packed =
+        (SMFAttributeArrayIntegerSigned1Packed) other;
+      return this.storage.sameValues(other_packed.storage);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return this.storage.valuesHashCode();
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format(
+      "SMFAttributeArrayIntegerSigned1Packed{size=%d}",
+      Long.valueOf(this.elementCount()));
+  }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.io7m.smfj.processing.api.SMFChunkedLongArray.CHUNK_MASK;
+import static com.io7m.smfj.processing.api.SMFChunkedLongArray.CHUNK_SHIFT;
+
+/**
+ * Packed storage for integer array components.
+ *
+ * Components are stored in element order as {@code x0, y0, z0, x1, ...} in
+ * chunks of the narrowest of {@code byte}, {@code short}, {@code int}, or
+ * {@code long} that can hold every component exactly. Unsigned 64-bit
+ * values are held in their two's complement form, exactly as they are
+ * delivered by parsers, so the narrowing is never observable through
+ * {@link #get(long, int)}. Storage packed with
+ * {@link #packUnsigned(SMFChunkedLongArray, int)} treats components as
+ * unsigned when narrowing and zero extends them when reading, so that, for
+ * example, 16-bit triangle indices are held in {@code short} chunks.
+ * Chunking allows storage to exceed {@link Integer#MAX_VALUE} components.
+ */
+
+final class SMFAttributeArrayIntegerStorage
+  implements SMFAttributeArrayIntegerStorageType
+{
+  private final long[][] longs;
+  private final int[][] ints;
+  private final short[][] shorts;
+  private final byte[][] bytes;
+  private final int components;
+  private final long size;
+  private final boolean unsigned;
+
+  private SMFAttributeArrayIntegerStorage(
+    final long[][] in_longs,
+    final int[][] in_ints,
+    final short[][] in_shorts,
+    final byte[][] in_bytes,
+    final int in_components,
+    final long in_size,
+    final boolean in_unsigned)
+  {
+    this.longs = in_longs;
+    this.ints = in_ints;
+    this.shorts = in_shorts;
+    this.bytes = in_bytes;
+    this.components = in_components;
+    this.size = in_size;
+    this.unsigned = in_unsigned;
+  }
+
+  /**
+   * Pack the first {@code length} components of {@code values}. The given
+   * array is copied.
+   *
+   * @param values     The components
+   * @param length     The number of components to pack
+   * @param components The number of components per element
+   *
+   * @return Packed storage
+   */
+
+  static SMFAttributeArrayIntegerStorage pack(
+    final long[] values,
+    final int length,
+    final int components)
+  {
+    Objects.requireNonNull(values, "Values");
+    Objects.checkFromToIndex(0, length, values.length);
+
+    final SMFChunkedLongArray chunked = new SMFChunkedLongArray();
+    for (int index = 0; index < length; ++index) {
+      chunked.add(values[index]);
+    }
+    return pack(chunked, components);
+  }
+
+  /**
+   * Pack the given components. Chunks that do not need to be narrowed and
+   * that are already exactly the right length are adopted rather than
+   * copied, so the given array must not be modified afterwards.
+   *
+   * @param values     The components
+   * @param components The number of components per element
+   *
+   * @return Packed storage
+   */
+
+  static SMFAttributeArrayIntegerStorage pack(
+    final SMFChunkedLongArray values,
+    final int components)
+  {
+    return pack(values, components, false);
+  }
+
+  /**
+   * Pack the given components, treating them as unsigned. As with
+   * {@link #pack(SMFChunkedLongArray, int)}, the given array must not be
+   * modified afterwards.
+   *
+   * @param values     The components
+   * @param components The number of components per element
+   *
+   * @return Packed storage
+   */
+
+  static SMFAttributeArrayIntegerStorage packUnsigned(
+    final SMFChunkedLongArray values,
+    final int components)
+  {
+    return pack(values, components, true);
+  }
+
+  private static int octetsSigned(
+    final long min,
+    final long max)
+  {
+    if (min >= (long) Byte.MIN_VALUE && max <= (long) Byte.MAX_VALUE) {
+      return 1;
+    }
+    if (min >= (long) Short.MIN_VALUE && max <= (long) Short.MAX_VALUE) {
+      return 2;
+    }
+    if (min >= (long) Integer.MIN_VALUE && max <= (long) Integer.MAX_VALUE) {
+      return 4;
+    }
+    return 8;
+  }
+
+  private static int octetsUnsigned(
+    final long max)
+  {
+    if (Long.compareUnsigned(max, 0xffL) <= 0) {
+      return 1;
+    }
+    if (Long.compareUnsigned(max, 0xffffL) <= 0) {
+      return 2;
+    }
+    if (Long.compareUnsigned(max, 0xffff_ffffL) <= 0) {
+      return 4;
+    }
+    return 8;
+  }
+
+  private static SMFAttributeArrayIntegerStorage pack(
+    final SMFChunkedLongArray values,
+    final int components,
+    final boolean unsigned)
+  {
+    Objects.requireNonNull(values, "Values");
+
+    final long length = values.size();
+    if (length % (long) components != 0L) {
+      throw new IllegalArgumentException(String.format(
+        "Component count %d is not a multiple of %d",
+        Long.valueOf(length),
+        Integer.valueOf(components)));
+    }
+
+    final long size = length / (long) components;
+    final int chunk_count = SMFChunkedLongArray.chunksFor(length);
+
+    long min = 0L;
+    long max = 0L;
+    long max_unsigned = 0L;
+    for (int chunk = 0; chunk < chunk_count; ++chunk) {
+      final long[] source = values.chunk(chunk);
+      final int chunk_length =
+        SMFChunkedLongArray.chunkLength(length, chunk);
+      for (int index = 0; index < chunk_length; ++index) {
+        final long x = source[index];
+        min = Math.min(min, x);
+        max = Math.max(max, x);
+        if (Long.compareUnsigned(x, max_unsigned) > 0) {
+          max_unsigned = x;
+        }
+      }
+    }
+
+    final int octets;
+    if (unsigned) {
+      octets = octetsUnsigned(max_unsigned);
+    } else {
+      octets = octetsSigned(min, max);
+    }
+
+    if (octets == 1) {
+      final byte[][] bytes = new byte[chunk_count][];
+      for (int chunk = 0; chunk < chunk_count; ++chunk) {
+        final long[] source = values.chunk(chunk);
+        final int chunk_length =
+          SMFChunkedLongArray.chunkLength(length, chunk);
+        final byte[] target = new byte[chunk_length];
+        for (int index = 0; index < chunk_length; ++index) {
+          target[index] = (byte) source[index];
+        }
+        bytes[chunk] = target;
+      }
+      return new SMFAttributeArrayIntegerStorage(
+        null, null, null, bytes, components, size, unsigned);
+    }
+
+    if (octets == 2) {
+      final short[][] shorts = new short[chunk_count][];
+      for (int chunk = 0; chunk < chunk_count; ++chunk) {
+        final long[] source = values.chunk(chunk);
+        final int chunk_length =
+          SMFChunkedLongArray.chunkLength(length, chunk);
+        final short[] target = new short[chunk_length];
+        for (int index = 0; index < chunk_length; ++index) {
+          target[index] = (short) source[index];
+        }
+        shorts[chunk] = target;
+      }
+      return new SMFAttributeArrayIntegerStorage(
+        null, null, shorts, null, components, size, unsigned);
+    }
+
+    if (octets == 4) {
+      final int[][] ints = new int[chunk_count][];
+      for (int chunk = 0; chunk < chunk_count; ++chunk) {
+        final long[] source = values.chunk(chunk);
+        final int chunk_length =
+          SMFChunkedLongArray.chunkLength(length, chunk);
+        final int[] target = new int[chunk_length];
+        for (int index = 0; index < chunk_length; ++index) {
+          target[index] = (int) source[index];
+        }
+        ints[chunk] = target;
+      }
+      return new SMFAttributeArrayIntegerStorage(
+        null, ints, null, null, components, size, unsigned);
+    }
+
+    final long[][] longs = new long[chunk_count][];
+    for (int chunk = 0; chunk < chunk_count; ++chunk) {
+      final long[] source = values.chunk(chunk);
+      final int chunk_length =
+        SMFChunkedLongArray.chunkLength(length, chunk);
+      if (source.length == chunk_length) {
+        longs[chunk] = source;
+      } else {
+        longs[chunk] = Arrays.copyOf(source, chunk_length);
+      }
+    }
+    return new SMFAttributeArrayIntegerStorage(
+      longs, null, null, null, components, size, unsigned);
+  }
+
+  @Override
+  public int components()
+  {
+    return this.components;
+  }
+
+  @Override
+  public long size()
+  {
+    return this.size;
+  }
+
+  @Override
+  public long sizeOctets()
+  {
+    final long length = this.size * (long) this.components;
+    if (this.bytes != null) {
+      return length;
+    }
+    if (this.shorts != null) {
+      return length * 2L;
+    }
+    if (this.ints != null) {
+      return length * 4L;
+    }
+    return length * 8L;
+  }
+
+  @Override
+  public long get(
+    final long index,
+    final int component)
+  {
+    Objects.checkIndex(index, this.size);
+    Objects.checkIndex(component, this.components);
+    return this.component(
+      (index * (long) this.components) + (long) component);
+  }
+
+  @Override
+  public void copy(
+    final long index,
+    final int count,
+    final long[] output,
+    final int output_offset)
+  {
+    Objects.requireNonNull(output, "Output");
+    Objects.checkFromIndexSize(index, (long) count, this.size);
+
+    final int total = Math.multiplyExact(count, this.components);
+    Objects.checkFromIndexSize(output_offset, total, output.length);
+
+    final long offset = index * (long) this.components;
+    for (int k = 0; k < total; ++k) {
+      output[output_offset + k] = this.component(offset + (long) k);
+    }
+  }
+
+  private long component(
+    final long offset)
+  {
+    final int chunk = (int) (offset >>> CHUNK_SHIFT);
+    final int within = (int) (offset & CHUNK_MASK);
+    if (this.bytes != null) {
+      final byte x = this.bytes[chunk][within];
+      return this.unsigned ? Byte.toUnsignedLong(x) : (long) x;
+    }
+    if (this.shorts != null) {
+      final short x = this.shorts[chunk][within];
+      return this.unsigned ? Short.toUnsignedLong(x) : (long) x;
+    }
+    if (this.ints != null) {
+      final int x = this.ints[chunk][within];
+      return this.unsigned ? Integer.toUnsignedLong(x) : (long) x;
+    }
+    return this.longs[chunk][within];
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.processing.api;
+
+import java.util.Objects;
+
+/**
+ * Integer storage that reads components from an arbitrary
+ * array through its typed accessors. This allows arrays that are not backed
+ * by packed storage to be consumed in the same way as those that are.
+ */
+
+final class SMFAttributeArrayIntegerStorageAdapter
+  implements SMFAttributeArrayIntegerStorageType
+{
+  private final long size;
+  private final int components;
+  private final AccessorType accessor;
+
+  SMFAttributeArrayIntegerStorageAdapter(
+    final long in_size,
+    final int in_components,
+    final AccessorType in_accessor)
+  {
+    this.size = in_size;
+    this.components = in_components;
+    this.accessor = Objects.requireNonNull(in_accessor, "Accessor");
+  }
+
+  @Override
+  public long size()
+  {
+    return this.size;
+  }
+
+  @Override
+  public int components()
+  {
+    return this.components;
+  }
+
+  @Override
+  public long sizeOctets()
+  {
+    return Math.multiplyExact(
+      Math.multiplyExact(this.size, (long) this.components), 8L);
+  }
+
+  @Override
+  public long get(
+    final long index,
+    final int component)
+  {
+    Objects.checkIndex(component, this.components);
+    return this.accessor.get(index, component);
+  }
+
+  /**
+   * A function that reads a single component.
+   */
+
+  interface AccessorType
+  {
+    /**
+     * @param index     The element index
+     * @param component The component index
+     *
+     * @return The component value
+     */
+
+    long get(
+      long index,
+      int component);
+  }
+}
@@ -58,6 +58,24 @@ public interface SMFAttributeArrayIntegerUnsigned1Type extends
     return this.values().size();
   }
 
+  @Override
+  default long footprintOctets()
+  {
+    return SMFMemoryMeshFootprints.listOctets(this.elementCount(), 1);
+  }
+
+  /**
+   * @param index The element index
+   *
+   * @return The element at {@code index}
+   */
+
+  default long value(
+    final long index)
+  {
+    return this.values().get(Math.toIntExact(index)).longValue();
+  }
+
   /**
    * @return The array values
    */
@@ -59,6 +59,36 @@ public interface SMFAttributeArrayIntegerUnsigned2Type extends
     return this.values().size();
   }
 
+  @Override
+  default long footprintOctets()
+  {
+    return SMFMemoryMeshFootprints.listOctets(this.elementCount(), 2);
+  }
+
+  /**
+   * @param index The element index
+   *
+   * @return The x component of the element at {@code index}
+   */
+
+  default long x(
+    final long index)
+  {
+    return this.values().get(Math.toIntExact(index)).x();
+  }
+
+  /**
+   * @param index The element index
+   *
+   * @return The y component of the element at {@code index}
+   */
+
+  default long y(
+    final long index)
+  {
+    return this.values().get(Math.toIntExact(index)).y();
+  }
+
   /**
    * @return The array values
    */
@@ -59,6 +59,48 @@ public interface SMFAttributeArrayIntegerUnsigned3Type extends
     return this.values().size();
   }
 
+  @Override
+  default long footprintOctets()
+  {
+    return SMFMemoryMeshFootprints.listOctets(this.elementCount(), 3);
+  }
+
+  /**
+   * @param index The element index
+   *
+   * @return The x component of the element at {@code index}
+   */
+
+  default long x(
+    final long index)
+  {
+    return this.values().get(Math.toIntExact(index)).x();
+  }
+
+  /**
+   * @param index The element index
+   *
+   * @return The y component of the element at {@code index}
+   */
+
+  default long y(
+    final long index)
+  {
+    return this.values().get(Math.toIntExact(index)).y();
+  }
+
+  /**
+   * @param index The element index
+   *
+   * @return The z component of the element at {@code index}
+   */
+
+  default long z(
+    final long index)
+  {
+    return this.values().get(Math.toIntExact(index)).z();
+  }
+
   /**
    * @return The array values
    */
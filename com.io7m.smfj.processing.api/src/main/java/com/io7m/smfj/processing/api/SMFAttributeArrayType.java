@@ -70,8 +70,41 @@ public interface SMFAttributeArrayType
   // CHECKSTYLE:ON
 
   /**
-   * @return The size of the array
+   * @return The size of the array, or {@link Integer#MAX_VALUE} if the array
+   * holds more than {@link Integer#MAX_VALUE} elements
+   *
+   * @see #elementCount()
    */
 
   int size();
+
+  /**
+   * Arrays that are not backed by lists, such as the packed arrays produced
+   * by {@link SMFMemoryMeshProducer}, can hold more than
+   * {@link Integer#MAX_VALUE} elements. Elements beyond that point are only
+   * reachable via the indexed accessors on each array type, which take
+   * {@code long} indices.
+   *
+   * @return The exact number of elements in the array
+   */
+
+  default long elementCount()
+  {
+    return (long) this.size();
+  }
+
+  /**
+   * An estimate of the number of octets of memory retained by the array
+   * components. Arrays backed by lists of boxed vectors are charged for the
+   * vector objects and the list references as well as the components.
+   * Packed arrays report the exact size of their storage, which may be held
+   * off the Java heap. Small fixed costs such as the array object itself
+   * are not counted.
+   *
+   * @return The estimated number of octets retained by the array
+   *
+   * @see SMFMemoryMeshFootprints
+   */
+
+  long footprintOctets();
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * A read-only list view that constructs elements on demand.
+ *
+ * @param <T> The type of elements
+ */
+
+final class SMFAttributeArrayView<T> extends AbstractList<T>
+  implements RandomAccess
+{
+  private final IntFunction<T> element;
+  private final int size;
+
+  SMFAttributeArrayView(
+    final IntFunction<T> in_element,
+    final int in_size)
+  {
+    this.element = Objects.requireNonNull(in_element, "Element");
+    this.size = in_size;
+  }
+
+  /**
+   * @param size A size
+   *
+   * @return {@code size}, or {@link Integer#MAX_VALUE} if {@code size} is
+   * too large to be the size of a list
+   */
+
+  static int saturate(
+    final long size)
+  {
+    return (int) Math.min(size, (long) Integer.MAX_VALUE);
+  }
+
+  @Override
+  public T get(
+    final int index)
+  {
+    Objects.checkIndex(index, this.size);
+    return this.element.apply(index);
+  }
+
+  @Override
+  public int size()
+  {
+    return this.size;
+  }
+}
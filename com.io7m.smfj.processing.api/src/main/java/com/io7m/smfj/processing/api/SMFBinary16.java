@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+/**
+ * Conversions between {@code double} values and IEEE 754 binary16 values.
+ */
+
+final class SMFBinary16
+{
+  private SMFBinary16()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Pack the given value into a binary16 value, rounding to the nearest
+   * representable value with ties to even.
+   *
+   * @param value The value
+   *
+   * @return The packed value
+   */
+
+  static char pack(
+    final double value)
+  {
+    final int sign =
+      (int) (Double.doubleToRawLongBits(value) >>> 48) & 0x8000;
+
+    if (Double.isNaN(value)) {
+      return (char) (sign | 0x7e00);
+    }
+
+    final double magnitude = Math.abs(value);
+
+    /*
+     * Anything at or above the midpoint between the largest finite value
+     * (65504) and the next value up (65536) rounds to infinity.
+     */
+
+    if (magnitude >= 65520.0) {
+      return (char) (sign | 0x7c00);
+    }
+
+    /*
+     * Subnormal values are multiples of 2^-24. Scaling by a power of two is
+     * exact, so rounding the scaled value rounds the original. A result of
+     * 0x400 is the smallest normal value, which is also encoded correctly.
+     */
+
+    if (magnitude < 0x1p-14) {
+      return (char) (sign | (int) Math.rint(magnitude * 0x1p24));
+    }
+
+    /*
+     * A rounded significand of 2048 carries into the exponent field, which
+     * is exactly what the addition below produces.
+     */
+
+    final int exponent = Math.getExponent(magnitude);
+    final int significand =
+      (int) Math.rint(Math.scalb(magnitude, 10 - exponent));
+    return (char) (sign | (((exponent + 15) << 10) + (significand - 1024)));
+  }
+
+  /**
+   * Unpack the given binary16 value.
+   *
+   * @param bits The packed value
+   *
+   * @return The unpacked value
+   */
+
+  static double unpack(
+    final char bits)
+  {
+    final int exponent = (bits >>> 10) & 0x1f;
+    final int significand = bits & 0x3ff;
+
+    final double magnitude;
+    if (exponent == 0) {
+      magnitude = (double) significand * 0x1p-24;
+    } else if (exponent == 0x1f) {
+      magnitude = significand == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+    } else {
+      magnitude =
+        Math.scalb((double) (significand | 0x400), exponent - 25);
+    }
+
+    return (bits & 0x8000) == 0 ? magnitude : -magnitude;
+  }
+}
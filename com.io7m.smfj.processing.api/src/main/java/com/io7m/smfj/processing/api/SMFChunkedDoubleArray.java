@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of {@code double} values held in fixed-size chunks, so that
+ * the array can hold more than {@link Integer#MAX_VALUE} values and never
+ * needs to copy more than a single chunk when it grows.
+ */
+
+final class SMFChunkedDoubleArray
+{
+  /**
+   * The base two logarithm of the number of values in each chunk.
+   */
+
+  static final int CHUNK_SHIFT = 20;
+
+  /**
+   * The number of values in each chunk.
+   */
+
+  static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+  /**
+   * The mask that yields the offset of a value within its chunk.
+   */
+
+  static final long CHUNK_MASK = (long) CHUNK_SIZE - 1L;
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private double[][] chunks;
+  private long size;
+
+  /**
+   * Create an empty array.
+   */
+
+  SMFChunkedDoubleArray()
+  {
+    this(0L);
+  }
+
+  /**
+   * Create an empty array with storage preallocated for {@code capacity}
+   * values. The final chunk is allocated at exactly the length required, so
+   * an array that is filled to exactly {@code capacity} values has no
+   * wasted space. The array still grows if more values are added.
+   *
+   * @param capacity The number of values to preallocate
+   */
+
+  SMFChunkedDoubleArray(
+    final long capacity)
+  {
+    if (capacity <= (long) INITIAL_CAPACITY) {
+      this.chunks = new double[1][];
+      this.chunks[0] = new double[INITIAL_CAPACITY];
+    } else {
+      final int count = chunksFor(capacity);
+      this.chunks = new double[count][];
+      for (int chunk = 0; chunk < count; ++chunk) {
+        this.chunks[chunk] = new double[chunkLength(capacity, chunk)];
+      }
+    }
+    this.size = 0L;
+  }
+
+  /**
+   * @param size The number of values
+   *
+   * @return The number of chunks required to hold {@code size} values
+   */
+
+  static int chunksFor(
+    final long size)
+  {
+    return Math.toIntExact((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+  }
+
+  /**
+   * @param size  The number of values
+   * @param chunk The chunk index
+   *
+   * @return The number of values held in the given chunk
+   */
+
+  static int chunkLength(
+    final long size,
+    final int chunk)
+  {
+    final long start = (long) chunk << CHUNK_SHIFT;
+    return (int) Math.min((long) CHUNK_SIZE, size - start);
+  }
+
+  /**
+   * Append a value.
+   *
+   * @param value The value
+   */
+
+  void add(
+    final double value)
+  {
+    final int chunk = (int) (this.size >>> CHUNK_SHIFT);
+    final int offset = (int) (this.size & CHUNK_MASK);
+
+    if (chunk >= this.chunks.length) {
+      this.chunks = Arrays.copyOf(this.chunks, this.chunks.length * 2);
+    }
+
+    double[] target = this.chunks[chunk];
+    if (target == null) {
+      target = new double[CHUNK_SIZE];
+      this.chunks[chunk] = target;
+    } else if (offset >= target.length) {
+      target = Arrays.copyOf(target, Math.min(CHUNK_SIZE, target.length * 2));
+      this.chunks[chunk] = target;
+    }
+
+    target[offset] = value;
+    this.size = this.size + 1L;
+  }
+
+  /**
+   * @return The number of values
+   */
+
+  long size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @param chunk The chunk index
+   *
+   * @return The given chunk, which may be longer than the number of values
+   * it holds
+   */
+
+  double[] chunk(
+    final int chunk)
+  {
+    return this.chunks[chunk];
+  }
+}
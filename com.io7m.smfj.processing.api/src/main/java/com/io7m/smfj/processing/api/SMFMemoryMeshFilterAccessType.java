@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.jaffirm.core.Preconditions;
+import com.io7m.smfj.core.SMFAttributeName;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.immutables.value.Value;
+
+/**
+ * A declaration of the parts of a mesh that a filter reads and writes. A
+ * filter reads a part or attribute if its result or its success depends on
+ * that part or attribute; it writes a part or attribute if the filtered
+ * mesh may differ from the original in that part or attribute. Two filters
+ * whose declarations do not conflict can be evaluated in either order with
+ * the same result.
+ *
+ * @see SMFMemoryMeshFilterType#access()
+ */
+
+@com.io7m.immutables.styles.ImmutablesStyleType
+@Value.Immutable
+public interface SMFMemoryMeshFilterAccessType
+{
+  /**
+   * @return The parts of the mesh that are read
+   */
+
+  Set<SMFMemoryMeshPart> partsRead();
+
+  /**
+   * @return The parts of the mesh that are written
+   */
+
+  Set<SMFMemoryMeshPart> partsWritten();
+
+  /**
+   * @return The parts of the mesh that are written with values that do not
+   * depend on the previous values of those parts; a subset of
+   * {@link #partsWritten()}
+   */
+
+  Set<SMFMemoryMeshPart> partsReplaced();
+
+  /**
+   * @return The attributes that are read
+   */
+
+  Set<SMFAttributeName> attributesRead();
+
+  /**
+   * @return The attributes that are modified but continue to exist
+   */
+
+  Set<SMFAttributeName> attributesModified();
+
+  /**
+   * @return The attributes that are added
+   */
+
+  Set<SMFAttributeName> attributesAdded();
+
+  /**
+   * @return The attributes that are removed
+   */
+
+  Set<SMFAttributeName> attributesRemoved();
+
+  /**
+   * @return {@code true} if the filter may fail; filters that may fail are
+   * never eliminated, as eliminating them could turn a failing pipeline
+   * into a succeeding one
+   */
+
+  @Value.Default
+  default boolean canFail()
+  {
+    return true;
+  }
+
+  /**
+   * @return The attributes that are modified, added, or removed
+   */
+
+  default Set<SMFAttributeName> attributesWritten()
+  {
+    final Set<SMFAttributeName> written =
+      new HashSet<>(this.attributesModified());
+    written.addAll(this.attributesAdded());
+    written.addAll(this.attributesRemoved());
+    return written;
+  }
+
+  /**
+   * @return {@code true} iff the filter writes nothing
+   */
+
+  default boolean isReadOnly()
+  {
+    return this.partsWritten().isEmpty()
+      && this.attributesModified().isEmpty()
+      && this.attributesAdded().isEmpty()
+      && this.attributesRemoved().isEmpty();
+  }
+
+  /**
+   * Determine whether this declaration conflicts with another. Filters
+   * with conflicting declarations must be evaluated in their original
+   * order.
+   *
+   * @param other The other declaration
+   *
+   * @return {@code true} iff either filter writes anything that the other
+   * reads or writes
+   */
+
+  default boolean conflictsWith(
+    final SMFMemoryMeshFilterAccess other)
+  {
+    final Set<SMFAttributeName> written = this.attributesWritten();
+    final Set<SMFAttributeName> other_written = other.attributesWritten();
+
+    return !Collections.disjoint(this.partsWritten(), other.partsWritten())
+      || !Collections.disjoint(this.partsWritten(), other.partsRead())
+      || !Collections.disjoint(other.partsWritten(), this.partsRead())
+      || !Collections.disjoint(written, other_written)
+      || !Collections.disjoint(written, other.attributesRead())
+      || !Collections.disjoint(other_written, this.attributesRead());
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    final var replaced = this.partsReplaced();
+    Preconditions.checkPrecondition(
+      replaced,
+      this.partsWritten().containsAll(replaced),
+      s -> "Replaced parts must also be written");
+  }
+}
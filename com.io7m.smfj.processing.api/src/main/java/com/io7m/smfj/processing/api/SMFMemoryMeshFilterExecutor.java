@@ -0,0 +1,328 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFPartialLogged;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>The default implementation of the {@link SMFMemoryMeshFilterExecutorType}
+ * interface.</p>
+ *
+ * <p>Consecutive filters whose
+ * {@link SMFMemoryMeshFilterType#access() access declarations} do not
+ * conflict with each other are grouped into stages. The filters of a stage
+ * are evaluated concurrently on the given executor, each on the mesh
+ * produced by the previous stage, and the parts and attributes that each
+ * filter declares as written are then merged into a single mesh in
+ * pipeline order. Because no filter in a stage reads or writes anything
+ * written by another filter in the same stage, the merged mesh is
+ * identical to the mesh that evaluating the filters sequentially would
+ * produce.</p>
+ *
+ * <p>Filters without an access declaration, filters that add or remove
+ * attributes, and filters that change the vertex count are always evaluated
+ * alone. Adding and removing attributes only edits the header and so gains
+ * nothing from concurrency, but would make the attribute order of the
+ * merged mesh depend on the filters in the stage.</p>
+ */
+
+public final class SMFMemoryMeshFilterExecutor
+  implements SMFMemoryMeshFilterExecutorType
+{
+  private static final Logger LOG;
+
+  static {
+    LOG = LoggerFactory.getLogger(SMFMemoryMeshFilterExecutor.class);
+  }
+
+  private final Optional<ExecutorService> executor;
+
+  private SMFMemoryMeshFilterExecutor(
+    final Optional<ExecutorService> in_executor)
+  {
+    this.executor = Objects.requireNonNull(in_executor, "Executor");
+  }
+
+  /**
+   * Create an executor that evaluates independent filters concurrently.
+   *
+   * @param in_executor An executor used to evaluate filters
+   *
+   * @return A new executor
+   */
+
+  public static SMFMemoryMeshFilterExecutorType create(
+    final ExecutorService in_executor)
+  {
+    return new SMFMemoryMeshFilterExecutor(
+      Optional.of(Objects.requireNonNull(in_executor, "Executor")));
+  }
+
+  /**
+   * Create an executor that evaluates every filter sequentially on the
+   * calling thread.
+   *
+   * @return A new executor
+   */
+
+  public static SMFMemoryMeshFilterExecutorType createSequential()
+  {
+    return new SMFMemoryMeshFilterExecutor(Optional.empty());
+  }
+
+  private static boolean isConcurrent(
+    final SMFMemoryMeshFilterType filter)
+  {
+    final Optional<SMFMemoryMeshFilterAccess> access_opt = filter.access();
+    if (access_opt.isEmpty()) {
+      return false;
+    }
+
+    final SMFMemoryMeshFilterAccess access = access_opt.get();
+    return access.attributesAdded().isEmpty()
+      && access.attributesRemoved().isEmpty()
+      && !access.partsWritten().contains(SMFMemoryMeshPart.VERTEX_COUNT);
+  }
+
+  private static List<List<SMFMemoryMeshFilterType>> stages(
+    final List<? extends SMFMemoryMeshFilterType> filters)
+  {
+    final List<List<SMFMemoryMeshFilterType>> stages = new ArrayList<>();
+    List<SMFMemoryMeshFilterType> stage = new ArrayList<>();
+
+    for (final SMFMemoryMeshFilterType filter : filters) {
+      if (!stage.isEmpty() && !joins(stage, filter)) {
+        stages.add(stage);
+        stage = new ArrayList<>();
+      }
+      stage.add(filter);
+    }
+
+    if (!stage.isEmpty()) {
+      stages.add(stage);
+    }
+    return stages;
+  }
+
+  private static boolean joins(
+    final List<SMFMemoryMeshFilterType> stage,
+    final SMFMemoryMeshFilterType filter)
+  {
+    if (!isConcurrent(filter)) {
+      return false;
+    }
+
+    final SMFMemoryMeshFilterAccess access = filter.access().get();
+    for (final SMFMemoryMeshFilterType existing : stage) {
+      if (!isConcurrent(existing)) {
+        return false;
+      }
+      if (existing.access().get().conflictsWith(access)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Copy the parts and attributes that a filter declares as written from
+   * the mesh that the filter produced into the current mesh.
+   */
+
+  private static SMFMemoryMesh merge(
+    final SMFMemoryMesh current,
+    final SMFMemoryMeshFilterAccess access,
+    final SMFMemoryMesh result)
+  {
+    if (access.isReadOnly()) {
+      return current;
+    }
+
+    final Set<SMFMemoryMeshPart> parts = access.partsWritten();
+    final Set<SMFAttributeName> modified = access.attributesModified();
+    final SMFHeader result_header = result.header();
+
+    SMFHeader header = current.header();
+    if (parts.contains(SMFMemoryMeshPart.SCHEMA_IDENTIFIER)) {
+      header = header.withSchemaIdentifier(result_header.schemaIdentifier());
+    }
+    if (parts.contains(SMFMemoryMeshPart.BYTE_ORDER)) {
+      header = header.withDataByteOrder(result_header.dataByteOrder());
+    }
+    if (parts.contains(SMFMemoryMeshPart.TRIANGLES)) {
+      header = header.withTriangles(result_header.triangles());
+    }
+
+    Map<SMFAttributeName, SMFAttributeArrayType> arrays = current.arrays();
+    if (!modified.isEmpty()) {
+      final SortedMap<SMFAttributeName, SMFAttribute> by_name =
+        result_header.attributesByName();
+
+      final List<SMFAttribute> attributes =
+        header.attributesInOrder()
+          .stream()
+          .map(attribute -> {
+            if (modified.contains(attribute.name())) {
+              return by_name.get(attribute.name());
+            }
+            return attribute;
+          })
+          .collect(Collectors.toList());
+
+      header = header.withAttributesInOrder(attributes);
+      arrays = new LinkedHashMap<>(arrays);
+      for (final SMFAttributeName name : modified) {
+        arrays.put(name, result.arrays().get(name));
+      }
+    }
+
+    final List<SMFMetadata> metadata;
+    if (parts.contains(SMFMemoryMeshPart.METADATA)) {
+      metadata = result.metadata();
+    } else {
+      metadata = current.metadata();
+    }
+
+    final SMFTriangleArrayType triangles;
+    if (parts.contains(SMFMemoryMeshPart.TRIANGLES)) {
+      triangles = result.triangles();
+    } else {
+      triangles = current.triangles();
+    }
+
+    return SMFMemoryMesh.of(header, arrays, metadata, triangles);
+  }
+
+  private static SMFPartialLogged<SMFMemoryMesh> await(
+    final Future<SMFPartialLogged<SMFMemoryMesh>> future)
+    throws InterruptedException
+  {
+    try {
+      return future.get();
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  @Override
+  public SMFPartialLogged<SMFMemoryMesh> execute(
+    final SMFFilterCommandContext context,
+    final List<? extends SMFMemoryMeshFilterType> filters,
+    final SMFMemoryMesh mesh)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(filters, "Filters");
+    Objects.requireNonNull(mesh, "Mesh");
+
+    final List<List<SMFMemoryMeshFilterType>> stages;
+    if (this.executor.isPresent()) {
+      stages = stages(filters);
+    } else {
+      stages = filters.stream()
+        .map(filter -> List.<SMFMemoryMeshFilterType>of(filter))
+        .collect(Collectors.toList());
+    }
+
+    SMFPartialLogged<SMFMemoryMesh> result = SMFPartialLogged.succeeded(mesh);
+    for (final List<SMFMemoryMeshFilterType> stage : stages) {
+      result = result.flatMap(m -> this.executeStage(context, stage, m));
+      if (result.isFailed()) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private SMFPartialLogged<SMFMemoryMesh> executeStage(
+    final SMFFilterCommandContext context,
+    final List<SMFMemoryMeshFilterType> stage,
+    final SMFMemoryMesh mesh)
+  {
+    if (stage.size() == 1) {
+      final SMFMemoryMeshFilterType filter = stage.get(0);
+      LOG.debug("evaluating filter: {}", filter.name());
+      return filter.filter(context, mesh);
+    }
+
+    LOG.debug(
+      "evaluating filters concurrently: {}",
+      stage.stream()
+        .map(SMFMemoryMeshFilterType::name)
+        .collect(Collectors.joining(" ")));
+
+    final ExecutorService exec = this.executor.get();
+    final List<Future<SMFPartialLogged<SMFMemoryMesh>>> futures =
+      new ArrayList<>(stage.size());
+    for (final SMFMemoryMeshFilterType filter : stage) {
+      futures.add(exec.submit(() -> filter.filter(context, mesh)));
+    }
+
+    /*
+     * Results are merged in pipeline order, so that the errors and warnings
+     * logged are those of a sequential evaluation. Once a filter has failed,
+     * the results of the filters that follow it are irrelevant.
+     */
+
+    try {
+      SMFPartialLogged<SMFMemoryMesh> merged = SMFPartialLogged.succeeded(mesh);
+      for (int index = 0; index < stage.size(); ++index) {
+        final SMFMemoryMeshFilterAccess access =
+          stage.get(index).access().get();
+        final SMFPartialLogged<SMFMemoryMesh> result =
+          await(futures.get(index));
+
+        merged = merged.flatMap(
+          current -> result.map(filtered -> merge(current, access, filtered)));
+        if (merged.isFailed()) {
+          break;
+        }
+      }
+      return merged;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return SMFPartialLogged.failed(
+        SMFProcessingError.of("Interrupted", Optional.of(e)));
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+}
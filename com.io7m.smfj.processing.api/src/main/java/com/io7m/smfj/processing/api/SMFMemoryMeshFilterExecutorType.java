@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.smfj.core.SMFPartialLogged;
+import java.util.List;
+
+/**
+ * An executor that evaluates a pipeline of filters on an in-memory mesh.
+ */
+
+public interface SMFMemoryMeshFilterExecutorType
+{
+  /**
+   * Evaluate the given filters, in order, on the given mesh. The result,
+   * and the errors and warnings logged, are those of evaluating each filter
+   * in turn on the result of the previous filter, stopping at the first
+   * filter that fails.
+   *
+   * @param context The filtering context
+   * @param filters The filters
+   * @param mesh    A mesh
+   *
+   * @return A filtered mesh, or a list of reasons why the filtering did not
+   * work
+   */
+
+  SMFPartialLogged<SMFMemoryMesh> execute(
+    SMFFilterCommandContext context,
+    List<? extends SMFMemoryMeshFilterType> filters,
+    SMFMemoryMesh mesh);
+}
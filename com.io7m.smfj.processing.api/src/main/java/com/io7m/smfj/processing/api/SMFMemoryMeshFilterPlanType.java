@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.immutables.value.Value;
+
+/**
+ * A plan for the evaluation of a pipeline of filters.
+ *
+ * @see SMFMemoryMeshFilterPlanner
+ */
+
+@com.io7m.immutables.styles.ImmutablesStyleType
+@Value.Immutable
+public interface SMFMemoryMeshFilterPlanType
+{
+  /**
+   * @return The filters that will be evaluated, in order, on the parser
+   * events as the mesh is read; these are evaluated as a single pass over
+   * the mesh
+   */
+
+  List<SMFMemoryMeshFilterStreamingType> streamed();
+
+  /**
+   * @return The filters that will be evaluated, in order, on the loaded mesh
+   * after the streamed filters
+   */
+
+  List<SMFMemoryMeshFilterType> materialized();
+
+  /**
+   * @return The filters of the original pipeline that will not be evaluated
+   * because their results can never be observed
+   */
+
+  List<SMFMemoryMeshFilterType> eliminated();
+
+  /**
+   * @return The filters that will be evaluated, in order
+   */
+
+  default List<SMFMemoryMeshFilterType> filters()
+  {
+    final List<SMFMemoryMeshFilterType> filters =
+      new ArrayList<>(this.streamed().size() + this.materialized().size());
+    filters.addAll(this.streamed());
+    filters.addAll(this.materialized());
+    return filters;
+  }
+}
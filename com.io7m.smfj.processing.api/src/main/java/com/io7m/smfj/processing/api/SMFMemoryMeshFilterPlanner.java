@@ -0,0 +1,271 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.junreachable.UnreachableCodeException;
+import com.io7m.smfj.core.SMFAttributeName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>Functions to plan the evaluation of a pipeline of filters.</p>
+ *
+ * <p>A plan evaluates the longest possible prefix of the pipeline on the
+ * parser events as the mesh is read (see
+ * {@link SMFMemoryMeshFilterStreamingType}), so that these filters are
+ * fused into a single pass over the mesh and the mesh is only loaded if
+ * necessary. When optimizing, the planner additionally:</p>
+ *
+ * <ul>
+ * <li>Eliminates filters that cannot fail and whose writes are all
+ * overwritten or removed by later filters before anything reads them, such
+ * as a schema identifier that is later replaced.</li>
+ * <li>Moves streaming filters ahead of non-streaming filters when the
+ * {@link SMFMemoryMeshFilterType#access() access declarations} of the two
+ * filters do not conflict, so that more filters can be streamed.</li>
+ * </ul>
+ *
+ * <p>Filters without an access declaration are never moved or eliminated,
+ * and no filter is moved across them or eliminated on account of a filter
+ * that follows them. Streaming filters are never reordered with respect to
+ * each other.</p>
+ *
+ * <p>The planned pipeline fails if and only if the original pipeline
+ * fails, and otherwise produces an identical mesh. Filters that may fail
+ * (see {@link SMFMemoryMeshFilterAccess#canFail()}) are never eliminated,
+ * even if their results are never observed.</p>
+ */
+
+public final class SMFMemoryMeshFilterPlanner
+{
+  private SMFMemoryMeshFilterPlanner()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Plan the evaluation of the given filters without moving or eliminating
+   * any filters.
+   *
+   * @param filters The filters
+   *
+   * @return An evaluation plan
+   */
+
+  public static SMFMemoryMeshFilterPlan planWithoutOptimization(
+    final List<? extends SMFMemoryMeshFilterType> filters)
+  {
+    Objects.requireNonNull(filters, "Filters");
+    return split(filters, List.of());
+  }
+
+  /**
+   * Plan and optimize the evaluation of the given filters.
+   *
+   * @param filters The filters
+   *
+   * @return An evaluation plan
+   */
+
+  public static SMFMemoryMeshFilterPlan plan(
+    final List<? extends SMFMemoryMeshFilterType> filters)
+  {
+    Objects.requireNonNull(filters, "Filters");
+
+    final List<SMFMemoryMeshFilterType> live = new ArrayList<>(filters);
+    final List<SMFMemoryMeshFilterType> eliminated = new ArrayList<>();
+
+    /*
+     * Eliminating a filter can make an earlier filter dead (for example,
+     * a filter whose writes were only read by the eliminated filter), so
+     * repeat until nothing changes.
+     */
+
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int index = 0; index < live.size(); ++index) {
+        if (isDead(live, index)) {
+          eliminated.add(live.remove(index));
+          changed = true;
+          break;
+        }
+      }
+    }
+
+    return split(reorder(live), eliminated);
+  }
+
+  private static SMFMemoryMeshFilterPlan split(
+    final List<? extends SMFMemoryMeshFilterType> filters,
+    final List<SMFMemoryMeshFilterType> eliminated)
+  {
+    final SMFMemoryMeshFilterPlan.Builder builder =
+      SMFMemoryMeshFilterPlan.builder();
+
+    int index = 0;
+    for (; index < filters.size(); ++index) {
+      final SMFMemoryMeshFilterType filter = filters.get(index);
+      if (!(filter instanceof SMFMemoryMeshFilterStreamingType)) {
+        break;
+      }
+      builder.addStreamed((SMFMemoryMeshFilterStreamingType) filter);
+    }
+
+    builder.addAllMaterialized(filters.subList(index, filters.size()));
+    builder.addAllEliminated(eliminated);
+    return builder.build();
+  }
+
+  private static List<SMFMemoryMeshFilterType> reorder(
+    final List<SMFMemoryMeshFilterType> filters)
+  {
+    final List<SMFMemoryMeshFilterType> result =
+      new ArrayList<>(filters.size());
+
+    for (final SMFMemoryMeshFilterType filter : filters) {
+      int position = result.size();
+      if (filter instanceof SMFMemoryMeshFilterStreamingType) {
+        while (position > 0) {
+          final SMFMemoryMeshFilterType previous = result.get(position - 1);
+          if (previous instanceof SMFMemoryMeshFilterStreamingType) {
+            break;
+          }
+          if (!commutes(previous, filter)) {
+            break;
+          }
+          --position;
+        }
+      }
+      result.add(position, filter);
+    }
+    return result;
+  }
+
+  private static boolean commutes(
+    final SMFMemoryMeshFilterType x,
+    final SMFMemoryMeshFilterType y)
+  {
+    final Optional<SMFMemoryMeshFilterAccess> x_access = x.access();
+    final Optional<SMFMemoryMeshFilterAccess> y_access = y.access();
+    if (x_access.isEmpty() || y_access.isEmpty()) {
+      return false;
+    }
+    return !x_access.get().conflictsWith(y_access.get());
+  }
+
+  /**
+   * A filter is dead if it cannot fail, only modifies existing parts and
+   * attributes, and every one of those modifications is discarded by a
+   * later filter without being read first. Filters that add or remove
+   * attributes are never considered dead, as their success depends on the
+   * attributes present in the mesh and so they can affect the success of
+   * later filters.
+   */
+
+  private static boolean isDead(
+    final List<SMFMemoryMeshFilterType> filters,
+    final int index)
+  {
+    final Optional<SMFMemoryMeshFilterAccess> access_opt =
+      filters.get(index).access();
+    if (access_opt.isEmpty()) {
+      return false;
+    }
+
+    final SMFMemoryMeshFilterAccess access = access_opt.get();
+    if (access.canFail()) {
+      return false;
+    }
+    if (access.isReadOnly()) {
+      return false;
+    }
+    if (!access.attributesAdded().isEmpty()) {
+      return false;
+    }
+    if (!access.attributesRemoved().isEmpty()) {
+      return false;
+    }
+
+    for (final SMFMemoryMeshPart part : access.partsWritten()) {
+      if (!isPartDiscarded(filters, index, part)) {
+        return false;
+      }
+    }
+    for (final SMFAttributeName name : access.attributesModified()) {
+      if (!isAttributeDiscarded(filters, index, name)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isPartDiscarded(
+    final List<SMFMemoryMeshFilterType> filters,
+    final int index,
+    final SMFMemoryMeshPart part)
+  {
+    for (int next = index + 1; next < filters.size(); ++next) {
+      final Optional<SMFMemoryMeshFilterAccess> access_opt =
+        filters.get(next).access();
+      if (access_opt.isEmpty()) {
+        return false;
+      }
+
+      final SMFMemoryMeshFilterAccess access = access_opt.get();
+      if (access.partsRead().contains(part)) {
+        return false;
+      }
+      if (access.partsReplaced().contains(part)) {
+        return true;
+      }
+      if (access.partsWritten().contains(part)) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isAttributeDiscarded(
+    final List<SMFMemoryMeshFilterType> filters,
+    final int index,
+    final SMFAttributeName name)
+  {
+    for (int next = index + 1; next < filters.size(); ++next) {
+      final Optional<SMFMemoryMeshFilterAccess> access_opt =
+        filters.get(next).access();
+      if (access_opt.isEmpty()) {
+        return false;
+      }
+
+      final SMFMemoryMeshFilterAccess access = access_opt.get();
+      if (access.attributesRead().contains(name)) {
+        return false;
+      }
+      if (access.attributesRemoved().contains(name)) {
+        return true;
+      }
+      if (access.attributesWritten().contains(name)) {
+        return false;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFErrorType;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
+import com.io7m.smfj.core.SMFWarningType;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataMetaType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataTrianglesType;
+import com.io7m.smfj.parser.api.SMFParserEventsHeaderType;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>An abstract receiver of parser events that filters the events and
+ * forwards them to another receiver. Subclasses override the protected
+ * methods to transform the header, rename attributes, and remove or add
+ * metadata.</p>
+ *
+ * <p>Attribute values, triangles, and metadata are not copied: the value,
+ * triangle, and metadata receivers of the downstream receiver are returned
+ * directly to the parser, and so a chain of filters costs nothing per
+ * vertex or triangle. Attributes that are not present in the filtered
+ * header are skipped, and attributes that are present are delivered to the
+ * downstream receiver as they are declared in the filtered header.</p>
+ */
+
+public abstract class SMFMemoryMeshFilterStreamingEvents
+  implements SMFParserEventsType,
+  SMFParserEventsHeaderType,
+  SMFParserEventsBodyType,
+  SMFParserEventsDataAttributesNonInterleavedType
+{
+  private final SMFParserEventsType events;
+  private SMFParserEventsHeaderType events_header;
+  private SMFParserEventsBodyType events_body;
+  private SMFParserEventsDataAttributesNonInterleavedType events_attributes;
+  private SMFHeader header;
+  private boolean failed;
+
+  /**
+   * Construct a receiver.
+   *
+   * @param in_events The receiver of filtered events
+   */
+
+  protected SMFMemoryMeshFilterStreamingEvents(
+    final SMFParserEventsType in_events)
+  {
+    this.events = Objects.requireNonNull(in_events, "Events");
+  }
+
+  /**
+   * Construct a chain of streaming filters. Events delivered to the returned
+   * receiver pass through each of the filters in order before being
+   * delivered to {@code events}.
+   *
+   * @param context The filtering context
+   * @param filters The filters
+   * @param events  The receiver of filtered events
+   *
+   * @return A receiver of unfiltered events
+   */
+
+  public static SMFParserEventsType chain(
+    final SMFFilterCommandContext context,
+    final List<? extends SMFMemoryMeshFilterStreamingType> filters,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(filters, "Filters");
+    Objects.requireNonNull(events, "Events");
+
+    SMFParserEventsType current = events;
+    for (int index = filters.size() - 1; index >= 0; --index) {
+      current = filters.get(index).filterStreaming(context, current);
+    }
+    return current;
+  }
+
+  /**
+   * Filter the mesh header. The default implementation returns the header
+   * unmodified.
+   *
+   * @param in_header The header
+   *
+   * @return The filtered header, or a list of errors
+   */
+
+  protected SMFPartialLogged<SMFHeader> filterHeader(
+    final SMFHeader in_header)
+  {
+    return SMFPartialLogged.succeeded(in_header);
+  }
+
+  /**
+   * Determine the name that an attribute of the original mesh has in the
+   * filtered header. The default implementation returns the name unmodified.
+   *
+   * @param name The attribute name
+   *
+   * @return The name of the attribute in the filtered header
+   */
+
+  protected SMFAttributeName filterAttributeName(
+    final SMFAttributeName name)
+  {
+    return name;
+  }
+
+  /**
+   * Determine whether metadata with the given schema should be kept. The
+   * default implementation keeps all metadata.
+   *
+   * @param schema The metadata schema
+   *
+   * @return {@code true} iff the metadata should be kept
+   */
+
+  protected boolean filterMetadata(
+    final SMFSchemaIdentifier schema)
+  {
+    return true;
+  }
+
+  /**
+   * The metadata that will be delivered after all other data. This method
+   * is only called if the header was filtered successfully and no errors
+   * have been encountered. The default implementation returns an empty
+   * list.
+   *
+   * @return The metadata that will be added to the mesh
+   */
+
+  protected List<SMFMetadata> metadataAdded()
+  {
+    return List.of();
+  }
+
+  @Override
+  public final void onStart()
+  {
+    this.events.onStart();
+  }
+
+  @Override
+  public final Optional<SMFParserEventsHeaderType> onVersionReceived(
+    final SMFFormatVersion version)
+  {
+    final Optional<SMFParserEventsHeaderType> r_opt =
+      this.events.onVersionReceived(version);
+    if (r_opt.isPresent()) {
+      this.events_header = r_opt.get();
+      return Optional.of(this);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public final void onFinish()
+  {
+    try {
+      if (this.events_body != null && !this.failed) {
+        final List<SMFMetadata> added = this.metadataAdded();
+        for (int index = 0; index < added.size(); ++index) {
+          final SMFMetadata meta = added.get(index);
+          final Optional<SMFParserEventsDataMetaType> m_opt =
+            this.events_body.onMeta(meta.schema());
+          if (m_opt.isPresent()) {
+            m_opt.get().onMetaData(meta.schema(), meta.data());
+          }
+        }
+      }
+    } finally {
+      this.events.onFinish();
+    }
+  }
+
+  @Override
+  public final void onError(
+    final SMFErrorType e)
+  {
+    this.failed = true;
+    this.events.onError(e);
+  }
+
+  @Override
+  public final void onWarning(
+    final SMFWarningType w)
+  {
+    this.events.onWarning(w);
+  }
+
+  @Override
+  public final Optional<SMFParserEventsBodyType> onHeaderParsed(
+    final SMFHeader in_header)
+  {
+    Objects.requireNonNull(in_header, "Header");
+
+    final SMFPartialLogged<SMFHeader> result = this.filterHeader(in_header);
+    result.warnings().forEach(this::onWarning);
+    if (result.isFailed()) {
+      result.errors().forEach(this::onError);
+      return Optional.empty();
+    }
+
+    this.header = result.get();
+    final Optional<SMFParserEventsBodyType> r_opt =
+      this.events_header.onHeaderParsed(this.header);
+    if (r_opt.isPresent()) {
+      this.events_body = r_opt.get();
+      return Optional.of(this);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public final Optional<SMFParserEventsDataAttributesNonInterleavedType> onAttributesNonInterleaved()
+  {
+    final Optional<SMFParserEventsDataAttributesNonInterleavedType> r_opt =
+      this.events_body.onAttributesNonInterleaved();
+    if (r_opt.isPresent()) {
+      this.events_attributes = r_opt.get();
+      return Optional.of(this);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public final Optional<SMFParserEventsDataTrianglesType> onTriangles()
+  {
+    return this.events_body.onTriangles();
+  }
+
+  @Override
+  public final Optional<SMFParserEventsDataMetaType> onMeta(
+    final SMFSchemaIdentifier schema)
+  {
+    if (this.filterMetadata(schema)) {
+      return this.events_body.onMeta(schema);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public final Optional<SMFParserEventsDataAttributeValuesType> onDataAttributeStart(
+    final SMFAttribute attribute)
+  {
+    final SMFAttribute filtered =
+      this.header.attributesByName()
+        .get(this.filterAttributeName(attribute.name()));
+
+    if (filtered != null) {
+      return this.events_attributes.onDataAttributeStart(filtered);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public final void onDataAttributesNonInterleavedFinish()
+  {
+    this.events_attributes.onDataAttributesNonInterleavedFinish();
+  }
+}
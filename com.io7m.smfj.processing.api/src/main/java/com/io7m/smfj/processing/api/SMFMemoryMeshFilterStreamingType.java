@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.smfj.parser.api.SMFParserEventsType;
+
+/**
+ * A filter that can, in addition to transforming an in-memory mesh, be
+ * evaluated directly on the stream of events produced by a parser. A
+ * pipeline consisting of streaming filters can be run from a parser to a
+ * serializer in constant memory, without the mesh ever being loaded.
+ *
+ * Evaluating the filter on a stream of events must be observably
+ * equivalent to loading the mesh, evaluating
+ * {@link #filter(SMFFilterCommandContext, SMFMemoryMesh)}, and then
+ * producing events from the resulting mesh.
+ *
+ * @see SMFMemoryMeshFilterStreamingEvents
+ */
+
+public interface SMFMemoryMeshFilterStreamingType
+  extends SMFMemoryMeshFilterType
+{
+  /**
+   * Evaluate the filter on a stream of events. The returned receiver
+   * delivers the filtered events to {@code events}. Any errors encountered
+   * by the filter are delivered to {@code events} via
+   * {@link SMFParserEventsType#onError(com.io7m.smfj.core.SMFErrorType)}.
+   *
+   * @param context The filtering context
+   * @param events  The receiver of filtered events
+   *
+   * @return A receiver of unfiltered events
+   */
+
+  SMFParserEventsType filterStreaming(
+    SMFFilterCommandContext context,
+    SMFParserEventsType events);
+}
@@ -16,7 +16,11 @@
 
 package com.io7m.smfj.processing.api;
 
+import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFPartialLogged;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * A filter that transforms an in-memory mesh.
@@ -48,4 +52,46 @@ public interface SMFMemoryMeshFilterType
   SMFPartialLogged<SMFMemoryMesh> filter(
     SMFFilterCommandContext context,
     SMFMemoryMesh m);
+
+  /**
+   * Determine which attributes of an input mesh this filter needs in order to
+   * produce the given attributes of its output mesh. This allows a pipeline
+   * of filters to be analyzed back to front so that only the attributes that
+   * can affect the final mesh are loaded; see
+   * {@link SMFMemoryMeshProducerConfiguration#attributesIncluded()}. The
+   * default implementation conservatively requires every attribute.
+   *
+   * @param required The attributes required of the output mesh, or
+   *                 {@link Optional#empty()} if every attribute is required
+   *
+   * @return The attributes required of the input mesh, or
+   * {@link Optional#empty()} if every attribute is required
+   */
+
+  default Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    Objects.requireNonNull(required, "Required");
+    return Optional.empty();
+  }
+
+  /**
+   * Declare the parts of a mesh that this filter reads and writes. The
+   * declaration allows a pipeline of filters to be reordered, allows
+   * filters whose results are never observed to be eliminated, and allows
+   * independent filters to be evaluated concurrently; see
+   * {@link SMFMemoryMeshFilterPlanner} and
+   * {@link SMFMemoryMeshFilterExecutor}. A filter must not change anything
+   * that it does not declare as written. The default implementation returns
+   * {@link Optional#empty()}, indicating that the filter may read and write
+   * anything, and so filters without a declaration are never moved or
+   * eliminated and no other filter is moved across them.
+   *
+   * @return The access declaration, if any
+   */
+
+  default Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    return Optional.empty();
+  }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.jaffirm.core.Preconditions;
+import com.io7m.smfj.core.SMFAttributeName;
+import java.util.Map;
+import org.immutables.value.Value;
+
+/**
+ * An estimate of the memory footprint of an in-memory mesh, in octets.
+ *
+ * @see SMFMemoryMeshFootprints
+ */
+
+@com.io7m.immutables.styles.ImmutablesStyleType
+@Value.Immutable
+public interface SMFMemoryMeshFootprintType
+{
+  /**
+   * @return The estimated number of octets retained by each attribute array
+   */
+
+  Map<SMFAttributeName, Long> attributes();
+
+  /**
+   * @return The estimated number of octets retained by the triangles
+   */
+
+  @Value.Default
+  default long triangles()
+  {
+    return 0L;
+  }
+
+  /**
+   * @return The estimated number of octets retained by the metadata
+   */
+
+  @Value.Default
+  default long metadata()
+  {
+    return 0L;
+  }
+
+  /**
+   * @return The estimated number of octets that are needed temporarily, in
+   * addition to the retained octets, while the mesh is being loaded
+   */
+
+  @Value.Default
+  default long loading()
+  {
+    return 0L;
+  }
+
+  /**
+   * @return The estimated number of octets retained by the mesh
+   */
+
+  default long retained()
+  {
+    long size = SMFMemoryMeshFootprints.add(this.triangles(), this.metadata());
+    for (final Long attribute : this.attributes().values()) {
+      size = SMFMemoryMeshFootprints.add(size, attribute.longValue());
+    }
+    return size;
+  }
+
+  /**
+   * @return The estimated maximum number of octets in use at any point while
+   * the mesh is being loaded
+   */
+
+  default long peak()
+  {
+    return SMFMemoryMeshFootprints.add(this.retained(), this.loading());
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    Preconditions.checkPreconditionL(
+      this.triangles(),
+      this.triangles() >= 0L,
+      x -> "Triangle octets must be non-negative");
+    Preconditions.checkPreconditionL(
+      this.metadata(),
+      this.metadata() >= 0L,
+      x -> "Metadata octets must be non-negative");
+    Preconditions.checkPreconditionL(
+      this.loading(),
+      this.loading() >= 0L,
+      x -> "Loading octets must be non-negative");
+
+    this.attributes().forEach((name, size) -> {
+      Preconditions.checkPreconditionL(
+        size.longValue(),
+        size.longValue() >= 0L,
+        x -> "Attribute octets must be non-negative");
+    });
+  }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.junreachable.UnreachableCodeException;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFTriangles;
+import java.util.Objects;
+
+/**
+ * Functions to estimate the memory footprint of meshes.
+ *
+ * The estimates for meshes that have already been loaded are based on the
+ * storage that actually holds each array. The estimates made from a header
+ * alone are upper bounds on the storage that {@link SMFMemoryMeshProducer}
+ * will allocate for a mesh with that header: packed storage is narrowed
+ * according to the values that actually arrive, and can only be smaller.
+ * Metadata sizes are not declared in headers, so header estimates do not
+ * include metadata. All arithmetic saturates at {@link Long#MAX_VALUE}, as
+ * the counts in a header are untrusted.
+ */
+
+public final class SMFMemoryMeshFootprints
+{
+  /*
+   * Assume a 64-bit JVM without compressed pointers, so that estimates
+   * err on the large side.
+   */
+
+  private static final long OBJECT_HEADER_OCTETS = 16L;
+  private static final long REFERENCE_OCTETS = 8L;
+
+  private SMFMemoryMeshFootprints()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Estimate the footprint of a mesh that has already been loaded.
+   *
+   * @param mesh The mesh
+   *
+   * @return The estimated footprint
+   */
+
+  public static SMFMemoryMeshFootprint ofMesh(
+    final SMFMemoryMeshType mesh)
+  {
+    Objects.requireNonNull(mesh, "Mesh");
+
+    final SMFMemoryMeshFootprint.Builder builder =
+      SMFMemoryMeshFootprint.builder();
+
+    mesh.arrays().forEach((name, array) -> {
+      builder.putAttributes(name, Long.valueOf(array.footprintOctets()));
+    });
+
+    long metadata = 0L;
+    for (final SMFMetadata meta : mesh.metadata()) {
+      metadata = add(metadata, byteArrayOctets(meta.data().length));
+    }
+
+    return builder
+      .setTriangles(mesh.triangles().footprintOctets())
+      .setMetadata(metadata)
+      .build();
+  }
+
+  /**
+   * Estimate the footprint of a mesh with the given header before it is
+   * loaded with {@link SMFMemoryMeshProducer}. The estimate includes the
+   * temporary buffers that the producer fills with unpacked values while
+   * triangles and attributes are being parsed.
+   *
+   * @param header The mesh header
+   *
+   * @return The estimated footprint
+   */
+
+  public static SMFMemoryMeshFootprint ofHeader(
+    final SMFHeader header)
+  {
+    Objects.requireNonNull(header, "Header");
+
+    final SMFMemoryMeshFootprint.Builder builder =
+      SMFMemoryMeshFootprint.builder();
+
+    final long vertices = header.vertexCount();
+    long staging_attribute = 0L;
+    for (final SMFAttribute attribute : header.attributesInOrder()) {
+      builder.putAttributes(
+        attribute.name(),
+        Long.valueOf(attributeOctets(attribute, vertices)));
+
+      final long staging =
+        multiply(vertices, 8L * (long) attribute.componentCount());
+      staging_attribute = Math.max(staging_attribute, staging);
+    }
+
+    /*
+     * The producer holds every triangle as three unpacked longs until the
+     * end of the mesh, and holds the values of one attribute at a time.
+     */
+
+    final SMFTriangles triangles = header.triangles();
+    final long staging_triangles =
+      multiply(triangles.triangleCount(), 3L * 8L);
+
+    return builder
+      .setTriangles(trianglesOctets(triangles))
+      .setLoading(add(staging_triangles, staging_attribute))
+      .build();
+  }
+
+  /**
+   * Estimate the number of octets of packed storage that will be used to
+   * hold the given attribute. The estimate is an upper bound.
+   *
+   * @param attribute The attribute
+   * @param vertices  The number of vertices
+   *
+   * @return The estimated number of octets
+   */
+
+  public static long attributeOctets(
+    final SMFAttribute attribute,
+    final long vertices)
+  {
+    Objects.requireNonNull(attribute, "Attribute");
+
+    final long bits = (long) attribute.componentSizeBits();
+    final long width;
+    switch (attribute.componentType()) {
+      case ELEMENT_TYPE_FLOATING: {
+        width = bits <= 32L ? 4L : 8L;
+        break;
+      }
+      case ELEMENT_TYPE_INTEGER_SIGNED: {
+        width = widthFor(bits);
+        break;
+      }
+      case ELEMENT_TYPE_INTEGER_UNSIGNED: {
+        /*
+         * Unsigned attribute values are narrowed as signed values, so an
+         * unsigned value may need the next wider type.
+         */
+
+        width = widthFor(Math.min(64L, bits + 1L));
+        break;
+      }
+      default: {
+        throw new UnreachableCodeException();
+      }
+    }
+
+    return multiply(
+      vertices, width * (long) attribute.componentCount());
+  }
+
+  /**
+   * Estimate the number of octets of packed storage that will be used to
+   * hold the given triangles. The estimate is an upper bound.
+   *
+   * @param triangles The triangles
+   *
+   * @return The estimated number of octets
+   */
+
+  public static long trianglesOctets(
+    final SMFTriangles triangles)
+  {
+    Objects.requireNonNull(triangles, "Triangles");
+
+    final long width =
+      widthFor((long) triangles.triangleIndexSizeBits());
+    return multiply(triangles.triangleCount(), 3L * width);
+  }
+
+  /**
+   * Estimate the number of octets retained by a list of {@code count}
+   * boxed values, each holding {@code components} eight-octet components.
+   *
+   * @param count      The number of list elements
+   * @param components The number of components per element
+   *
+   * @return The estimated number of octets
+   */
+
+  static long listOctets(
+    final long count,
+    final int components)
+  {
+    final long object =
+      align(OBJECT_HEADER_OCTETS + (8L * (long) components));
+    return multiply(count, REFERENCE_OCTETS + object);
+  }
+
+  /**
+   * Add two non-negative values, saturating at {@link Long#MAX_VALUE}.
+   *
+   * @param x A value
+   * @param y A value
+   *
+   * @return {@code x + y}
+   */
+
+  static long add(
+    final long x,
+    final long y)
+  {
+    final long r = x + y;
+    if (r < 0L) {
+      return Long.MAX_VALUE;
+    }
+    return r;
+  }
+
+  private static long byteArrayOctets(
+    final int length)
+  {
+    return align(OBJECT_HEADER_OCTETS + (long) length);
+  }
+
+  /**
+   * Multiply a count by a positive width. Counts are treated as unsigned,
+   * and the result saturates at {@link Long#MAX_VALUE}.
+   */
+
+  private static long multiply(
+    final long count,
+    final long width)
+  {
+    if (count < 0L || count > Long.MAX_VALUE / width) {
+      return Long.MAX_VALUE;
+    }
+    return count * width;
+  }
+
+  private static long widthFor(
+    final long bits)
+  {
+    if (bits <= 8L) {
+      return 1L;
+    }
+    if (bits <= 16L) {
+      return 2L;
+    }
+    if (bits <= 32L) {
+      return 4L;
+    }
+    return 8L;
+  }
+
+  private static long align(
+    final long octets)
+  {
+    return (octets + 7L) & ~7L;
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A temporary file mapped into memory in fixed-size segments.
+ *
+ * A single mapped buffer cannot exceed {@link Integer#MAX_VALUE} octets, so
+ * the file is mapped as a sequence of segments of {@code 2^30} octets. All
+ * accesses are made at offsets that are multiples of the access size, and
+ * the segment size is a multiple of every access size, so no access ever
+ * straddles two segments. The pages of a mapped file are paged in and out
+ * by the operating system on demand, so the file may be far larger than
+ * both the Java heap and physical memory.
+ *
+ * The file is deleted when it is closed. Any subsequent access raises
+ * {@link IllegalStateException}.
+ */
+
+final class SMFMemoryMeshMappedFile implements Closeable
+{
+  private static final int SEGMENT_SHIFT = 30;
+  private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+  private static final long SEGMENT_MASK = SEGMENT_SIZE - 1L;
+
+  private final FileChannel channel;
+  private final long size;
+  private ByteBuffer[] segments;
+
+  private SMFMemoryMeshMappedFile(
+    final FileChannel in_channel,
+    final long in_size,
+    final ByteBuffer[] in_segments)
+  {
+    this.channel = Objects.requireNonNull(in_channel, "Channel");
+    this.size = in_size;
+    this.segments = Objects.requireNonNull(in_segments, "Segments");
+  }
+
+  /**
+   * Create and map a new temporary file.
+   *
+   * @param directory The directory that will contain the file
+   * @param size      The size of the file in octets
+   * @param order     The byte order used to access the file
+   *
+   * @return A new mapped file, initially filled with zeroes
+   *
+   * @throws IOException On I/O errors
+   */
+
+  static SMFMemoryMeshMappedFile create(
+    final Path directory,
+    final long size,
+    final ByteOrder order)
+    throws IOException
+  {
+    Objects.requireNonNull(directory, "Directory");
+    Objects.requireNonNull(order, "Order");
+
+    final long count =
+      (size >>> SEGMENT_SHIFT) + ((size & SEGMENT_MASK) != 0L ? 1L : 0L);
+
+    if (size < 0L || count > (long) Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(String.format(
+        "Size %s is too large to be mapped", Long.toUnsignedString(size)));
+    }
+
+    final Path file = Files.createTempFile(directory, "smfj-", ".data");
+    final FileChannel channel =
+      FileChannel.open(file, READ, WRITE, DELETE_ON_CLOSE);
+
+    try {
+      final ByteBuffer[] segments = new ByteBuffer[(int) count];
+      for (int index = 0; index < segments.length; ++index) {
+        final long offset = (long) index << SEGMENT_SHIFT;
+        final long length = Math.min(SEGMENT_SIZE, size - offset);
+        segments[index] =
+          channel.map(FileChannel.MapMode.READ_WRITE, offset, length)
+            .order(order);
+      }
+      return new SMFMemoryMeshMappedFile(channel, size, segments);
+    } catch (final IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @param size           The number of elements
+   * @param components     The number of components per element
+   * @param component_size The size of each component in octets
+   *
+   * @return The number of octets required to hold the elements
+   *
+   * @throws IllegalArgumentException If the size is not representable
+   */
+
+  static long octets(
+    final long size,
+    final int components,
+    final int component_size)
+    throws IllegalArgumentException
+  {
+    final long element = (long) components * (long) component_size;
+    if (size < 0L || size > Long.MAX_VALUE / element) {
+      throw new IllegalArgumentException(String.format(
+        "Storage for %s elements of %d octets is too large",
+        Long.toUnsignedString(size),
+        Long.valueOf(element)));
+    }
+    return size * element;
+  }
+
+  private ByteBuffer segment(
+    final long offset)
+  {
+    final ByteBuffer[] s = this.segments;
+    if (s == null) {
+      throw new IllegalStateException("Storage has been closed");
+    }
+    return s[(int) (offset >>> SEGMENT_SHIFT)];
+  }
+
+  private static int within(
+    final long offset)
+  {
+    return (int) (offset & SEGMENT_MASK);
+  }
+
+  /**
+   * @return The size of the file in octets
+   */
+
+  long size()
+  {
+    return this.size;
+  }
+
+  byte getByte(
+    final long offset)
+  {
+    return this.segment(offset).get(within(offset));
+  }
+
+  short getShort(
+    final long offset)
+  {
+    return this.segment(offset).getShort(within(offset));
+  }
+
+  char getChar(
+    final long offset)
+  {
+    return this.segment(offset).getChar(within(offset));
+  }
+
+  int getInt(
+    final long offset)
+  {
+    return this.segment(offset).getInt(within(offset));
+  }
+
+  long getLong(
+    final long offset)
+  {
+    return this.segment(offset).getLong(within(offset));
+  }
+
+  float getFloat(
+    final long offset)
+  {
+    return this.segment(offset).getFloat(within(offset));
+  }
+
+  double getDouble(
+    final long offset)
+  {
+    return this.segment(offset).getDouble(within(offset));
+  }
+
+  void putByte(
+    final long offset,
+    final byte value)
+  {
+    this.segment(offset).put(within(offset), value);
+  }
+
+  void putShort(
+    final long offset,
+    final short value)
+  {
+    this.segment(offset).putShort(within(offset), value);
+  }
+
+  void putChar(
+    final long offset,
+    final char value)
+  {
+    this.segment(offset).putChar(within(offset), value);
+  }
+
+  void putInt(
+    final long offset,
+    final int value)
+  {
+    this.segment(offset).putInt(within(offset), value);
+  }
+
+  void putLong(
+    final long offset,
+    final long value)
+  {
+    this.segment(offset).putLong(within(offset), value);
+  }
+
+  void putFloat(
+    final long offset,
+    final float value)
+  {
+    this.segment(offset).putFloat(within(offset), value);
+  }
+
+  void putDouble(
+    final long offset,
+    final double value)
+  {
+    this.segment(offset).putDouble(within(offset), value);
+  }
+
+  /**
+   * @return {@code true} iff the file has been closed
+   */
+
+  boolean isClosed()
+  {
+    return this.segments == null;
+  }
+
+  /**
+   * Release the mapped segments and delete the file. The operating system
+   * reclaims the disk space once the JVM has unmapped the segments, which
+   * happens when they are garbage collected.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (this.segments != null) {
+      this.segments = null;
+      this.channel.close();
+    }
+  }
+}
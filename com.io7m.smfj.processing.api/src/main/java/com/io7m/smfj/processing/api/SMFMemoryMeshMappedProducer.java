@@ -0,0 +1,617 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.junreachable.UnreachableCodeException;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFErrorType;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
+import com.io7m.smfj.core.SMFWarningType;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataMetaType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataTrianglesType;
+import com.io7m.smfj.parser.api.SMFParserEventsHeaderType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The default implementation of the {@link SMFMemoryMeshMappedProducerType}
+ * interface.
+ *
+ * Each attribute array and the triangle list is held in its own temporary
+ * file in a given directory, mapped into memory and written in place as
+ * values arrive. Components and indices are stored at their declared sizes,
+ * so the files together occupy roughly the same space as the mesh data in a
+ * binary mesh file. Because the operating system pages mapped files in and
+ * out on demand, meshes far larger than the Java heap, and larger than
+ * physical memory, can be loaded, filtered, and serialized, provided that
+ * they are accessed sequentially, as the serializer and the standard
+ * filters do.
+ *
+ * The producer honours the attribute, triangle, and metadata selections of
+ * its {@link SMFMemoryMeshProducerConfiguration}. The preallocation and
+ * footprint limits do not apply, as nothing is allocated on the heap in
+ * proportion to the size of the mesh.
+ */
+
+public final class SMFMemoryMeshMappedProducer
+  implements SMFMemoryMeshMappedProducerType,
+  SMFParserEventsHeaderType,
+  SMFParserEventsBodyType,
+  SMFParserEventsDataTrianglesType,
+  SMFParserEventsDataAttributesNonInterleavedType,
+  SMFParserEventsDataMetaType,
+  SMFParserEventsDataAttributeValuesType
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFMemoryMeshMappedProducer.class);
+
+  private final SMFMemoryMeshProducerConfiguration configuration;
+  private final Path directory;
+  private final List<SMFErrorType> errors;
+  private final List<SMFMetadata> metadata;
+  private final List<SMFWarningType> warnings;
+  private final Map<SMFAttributeName, SMFAttributeArrayType> arrays;
+  private final Map<SMFAttributeName, Closeable> storages;
+  private SMFAttribute attribute_current;
+  private SMFAttributeArrayFloatingStorageMapped floating_current;
+  private SMFAttributeArrayIntegerStorageMapped integer_current;
+  private long elements_count;
+  private SMFAttributeArrayIntegerStorageMapped triangles;
+  private long triangles_count;
+  private SMFHeader header;
+  private SMFMemoryMesh mesh;
+  private boolean finished;
+  private boolean started;
+
+  private SMFMemoryMeshMappedProducer(
+    final SMFMemoryMeshProducerConfiguration in_configuration,
+    final Path in_directory)
+  {
+    this.configuration =
+      Objects.requireNonNull(in_configuration, "Configuration");
+    this.directory =
+      Objects.requireNonNull(in_directory, "Directory");
+    this.started = false;
+    this.errors = new ArrayList<>();
+    this.warnings = new ArrayList<>();
+    this.arrays = new HashMap<>();
+    this.storages = new HashMap<>();
+    this.metadata = new ArrayList<>();
+  }
+
+  /**
+   * Create a new producer.
+   *
+   * @param directory The directory that will hold the temporary files
+   *
+   * @return A new producer
+   */
+
+  public static SMFMemoryMeshMappedProducerType create(
+    final Path directory)
+  {
+    return create(
+      SMFMemoryMeshProducerConfiguration.builder().build(),
+      directory);
+  }
+
+  /**
+   * Create a new producer.
+   *
+   * @param configuration The producer configuration
+   * @param directory     The directory that will hold the temporary files
+   *
+   * @return A new producer
+   */
+
+  public static SMFMemoryMeshMappedProducerType create(
+    final SMFMemoryMeshProducerConfiguration configuration,
+    final Path directory)
+  {
+    return new SMFMemoryMeshMappedProducer(configuration, directory);
+  }
+
+  @Override
+  public void onError(
+    final SMFErrorType e)
+  {
+    this.errors.add(e);
+  }
+
+  @Override
+  public void onWarning(
+    final SMFWarningType w)
+  {
+    this.warnings.add(w);
+  }
+
+  @Override
+  public void onStart()
+  {
+    if (this.started) {
+      throw new IllegalStateException("A mesh producer may not be reused");
+    }
+    this.started = true;
+  }
+
+  @Override
+  public Optional<SMFParserEventsHeaderType> onVersionReceived(
+    final SMFFormatVersion version)
+  {
+    Objects.requireNonNull(version, "Version");
+    return Optional.of(this);
+  }
+
+  @Override
+  public void onFinish()
+  {
+    if (this.errors.isEmpty()) {
+      for (final var attribute : this.header.attributesInOrder()) {
+        if (!this.arrays.containsKey(attribute.name())) {
+          this.release();
+          throw new IllegalStateException(String.format(
+            "Attribute %s is specified in the header but is not present in the mesh",
+            attribute.name().value()));
+        }
+      }
+
+      if (this.triangles_count != this.header.triangles().triangleCount()) {
+        this.release();
+        throw new IllegalStateException(String.format(
+          "Expected %d triangles but received %d",
+          Long.valueOf(this.header.triangles().triangleCount()),
+          Long.valueOf(this.triangles_count)));
+      }
+
+      this.mesh =
+        SMFMemoryMesh.builder()
+          .setArrays(this.arrays)
+          .setHeader(this.header)
+          .setTriangles(new SMFTriangleArrayPacked(this.triangles))
+          .setMetadata(this.metadata)
+          .build();
+    } else {
+      this.release();
+    }
+
+    this.finished = true;
+  }
+
+  private void release()
+  {
+    try {
+      this.close();
+    } catch (final IOException e) {
+      LOG.error("could not delete temporary storage: ", e);
+    }
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    IOException failure = null;
+    final List<Closeable> closing = new ArrayList<>(this.storages.values());
+    if (this.triangles != null) {
+      closing.add(this.triangles);
+    }
+
+    for (final Closeable storage : closing) {
+      try {
+        storage.close();
+      } catch (final IOException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public List<SMFErrorType> errors()
+  {
+    return List.copyOf(this.errors);
+  }
+
+  @Override
+  public List<SMFWarningType> warnings()
+  {
+    return List.copyOf(this.warnings);
+  }
+
+  @Override
+  public SMFHeader header()
+    throws IllegalStateException
+  {
+    if (this.header == null) {
+      throw new IllegalStateException("Header has not been parsed");
+    }
+    return this.header;
+  }
+
+  @Override
+  public SMFMemoryMesh mesh()
+    throws IllegalStateException
+  {
+    if (!this.finished) {
+      throw new IllegalStateException("Mesh parsing has not yet finished");
+    }
+    if (this.errors.isEmpty() && this.mesh != null) {
+      return this.mesh;
+    }
+    throw new IllegalStateException("Mesh parsing failed");
+  }
+
+  @Override
+  public Optional<SMFParserEventsDataAttributesNonInterleavedType> onAttributesNonInterleaved()
+  {
+    return Optional.of(this);
+  }
+
+  @Override
+  public Optional<SMFParserEventsDataTrianglesType> onTriangles()
+  {
+    if (this.configuration.triangles()) {
+      this.triangles_count = 0L;
+      return Optional.of(this);
+    }
+    return Optional.empty();
+  }
+
+  private long nextElement()
+  {
+    final long index = this.elements_count;
+    this.elements_count = index + 1L;
+    return index;
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerSigned1(
+    final long x)
+  {
+    final long index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerSigned2(
+    final long x,
+    final long y)
+  {
+    final long index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerSigned3(
+    final long x,
+    final long y,
+    final long z)
+  {
+    final long index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+    this.integer_current.put(index, 2, z);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerSigned4(
+    final long x,
+    final long y,
+    final long z,
+    final long w)
+  {
+    final long index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+    this.integer_current.put(index, 2, z);
+    this.integer_current.put(index, 3, w);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerUnsigned1(
+    final long x)
+  {
+    final long index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerUnsigned2(
+    final long x,
+    final long y)
+  {
+    final long index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerUnsigned3(
+    final long x,
+    final long y,
+    final long z)
+  {
+    final long index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+    this.integer_current.put(index, 2, z);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerUnsigned4(
+    final long x,
+    final long y,
+    final long z,
+    final long w)
+  {
+    final long index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+    this.integer_current.put(index, 2, z);
+    this.integer_current.put(index, 3, w);
+  }
+
+  @Override
+  public void onDataAttributeValueFloat1(
+    final double x)
+  {
+    final long index = this.nextElement();
+    this.floating_current.put(index, 0, x);
+  }
+
+  @Override
+  public void onDataAttributeValueFloat2(
+    final double x,
+    final double y)
+  {
+    final long index = this.nextElement();
+    this.floating_current.put(index, 0, x);
+    this.floating_current.put(index, 1, y);
+  }
+
+  @Override
+  public void onDataAttributeValueFloat3(
+    final double x,
+    final double y,
+    final double z)
+  {
+    final long index = this.nextElement();
+    this.floating_current.put(index, 0, x);
+    this.floating_current.put(index, 1, y);
+    this.floating_current.put(index, 2, z);
+  }
+
+  @Override
+  public void onDataAttributeValueFloat4(
+    final double x,
+    final double y,
+    final double z,
+    final double w)
+  {
+    final long index = this.nextElement();
+    this.floating_current.put(index, 0, x);
+    this.floating_current.put(index, 1, y);
+    this.floating_current.put(index, 2, z);
+    this.floating_current.put(index, 3, w);
+  }
+
+  @Override
+  public void onDataAttributeValueFinish()
+  {
+    LOG.debug("finished attribute {}", this.attribute_current.name().value());
+
+    if (this.elements_count != this.header.vertexCount()) {
+      throw new IllegalStateException(String.format(
+        "Attribute %s: Expected %d values but received %d",
+        this.attribute_current.name().value(),
+        Long.valueOf(this.header.vertexCount()),
+        Long.valueOf(this.elements_count)));
+    }
+
+    this.floating_current = null;
+    this.integer_current = null;
+  }
+
+  @Override
+  public void onDataTriangle(
+    final long v0,
+    final long v1,
+    final long v2)
+  {
+    final long index = this.triangles_count;
+    this.triangles.put(index, 0, v0);
+    this.triangles.put(index, 1, v1);
+    this.triangles.put(index, 2, v2);
+    this.triangles_count = index + 1L;
+  }
+
+  @Override
+  public void onDataTrianglesFinish()
+  {
+
+  }
+
+  @Override
+  public Optional<SMFParserEventsBodyType> onHeaderParsed(
+    final SMFHeader in_header)
+  {
+    Objects.requireNonNull(in_header, "Header");
+
+    final List<SMFAttribute> attributes = new ArrayList<>();
+    for (final SMFAttribute attribute : in_header.attributesInOrder()) {
+      if (this.configuration.isAttributeIncluded(attribute.name())) {
+        attributes.add(attribute);
+      }
+    }
+
+    SMFHeader projected = in_header.withAttributesInOrder(attributes);
+    if (!this.configuration.triangles()) {
+      projected = projected.withTriangles(
+        projected.triangles().withTriangleCount(0L));
+    }
+
+    try {
+      this.triangles =
+        SMFAttributeArrayIntegerStorageMapped.allocate(
+          this.directory,
+          projected.triangles().triangleCount(),
+          3,
+          projected.triangles().triangleIndexSizeBits(),
+          false);
+    } catch (final IOException | IllegalArgumentException e) {
+      this.errors.add(SMFProcessingError.of(
+        String.format("Could not allocate triangle storage: %s", e.getMessage()),
+        Optional.of(e)));
+      return Optional.empty();
+    }
+
+    this.header = projected;
+    this.triangles_count = 0L;
+    return Optional.of(this);
+  }
+
+  @Override
+  public Optional<SMFParserEventsDataAttributeValuesType> onDataAttributeStart(
+    final SMFAttribute attribute)
+  {
+    Objects.requireNonNull(attribute, "Attribute");
+
+    final SMFAttributeName name = attribute.name();
+    if (!this.configuration.isAttributeIncluded(name)) {
+      return Optional.empty();
+    }
+    if (!this.header.attributesByName().containsKey(name)) {
+      throw new IllegalStateException(String.format(
+        "Attribute %s is not specified in the header",
+        name.value()));
+    }
+
+    this.attribute_current = attribute;
+    this.elements_count = 0L;
+
+    final long size = this.header.vertexCount();
+    final int count = attribute.componentCount();
+    final int bits = attribute.componentSizeBits();
+
+    final Closeable storage;
+    final SMFAttributeArrayType array;
+    try {
+      switch (attribute.componentType()) {
+        case ELEMENT_TYPE_INTEGER_SIGNED: {
+          this.integer_current =
+            SMFAttributeArrayIntegerStorageMapped.allocate(
+              this.directory, size, count, bits, true);
+          storage = this.integer_current;
+          array = SMFMemoryMeshOffHeapProducer.signedArray(
+            this.integer_current, count);
+          break;
+        }
+        case ELEMENT_TYPE_INTEGER_UNSIGNED: {
+          this.integer_current =
+            SMFAttributeArrayIntegerStorageMapped.allocate(
+              this.directory, size, count, bits, false);
+          storage = this.integer_current;
+          array = SMFMemoryMeshOffHeapProducer.unsignedArray(
+            this.integer_current, count);
+          break;
+        }
+        case ELEMENT_TYPE_FLOATING: {
+          this.floating_current =
+            SMFAttributeArrayFloatingStorageMapped.allocate(
+              this.directory, size, count, bits);
+          storage = this.floating_current;
+          array = SMFMemoryMeshOffHeapProducer.floatingArray(
+            this.floating_current, count);
+          break;
+        }
+        default: {
+          throw new UnreachableCodeException();
+        }
+      }
+    } catch (final IOException | IllegalArgumentException e) {
+      this.errors.add(SMFProcessingError.of(
+        String.format(
+          "Could not allocate storage for attribute %s: %s",
+          name.value(),
+          e.getMessage()),
+        Optional.of(e)));
+      return Optional.empty();
+    }
+
+    final Closeable previous = this.storages.put(name, storage);
+    if (previous != null) {
+      try {
+        previous.close();
+      } catch (final IOException e) {
+        LOG.error("could not delete temporary storage: ", e);
+      }
+    }
+    this.arrays.put(name, array);
+    return Optional.of(this);
+  }
+
+  @Override
+  public void onDataAttributesNonInterleavedFinish()
+  {
+
+  }
+
+  @Override
+  public void onMetaData(
+    final SMFSchemaIdentifier schema,
+    final byte[] data)
+  {
+    Objects.requireNonNull(schema, "Schema");
+    Objects.requireNonNull(data, "Data");
+    this.metadata.add(SMFMetadata.of(schema, data));
+  }
+
+  @Override
+  public Optional<SMFParserEventsDataMetaType> onMeta(
+    final SMFSchemaIdentifier schema)
+  {
+    Objects.requireNonNull(schema, "Schema");
+    if (this.configuration.metadataExcluded().contains(schema.name())) {
+      return Optional.empty();
+    }
+    return Optional.of(this);
+  }
+}
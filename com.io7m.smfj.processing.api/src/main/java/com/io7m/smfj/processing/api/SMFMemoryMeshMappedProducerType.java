@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.io.IOException;
+
+/**
+ * A mesh producer that holds attribute arrays and triangles in temporary
+ * memory-mapped files rather than on the Java heap. The produced mesh is an
+ * ordinary {@link SMFMemoryMesh}, and so can be passed to any filter, but
+ * its data remains valid only until the producer is closed.
+ */
+
+public interface SMFMemoryMeshMappedProducerType
+  extends SMFMemoryMeshProducerType, AutoCloseable
+{
+  /**
+   * Delete the temporary files that hold the mesh data. Any subsequent
+   * access to the data of the produced mesh, or of any mesh derived from it
+   * that shares its arrays or triangles, raises
+   * {@link IllegalStateException}.
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Override
+  void close()
+    throws IOException;
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.junreachable.UnreachableCodeException;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFTriangles;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An in-memory copy of a mesh whose attribute arrays and triangles are held
+ * in off-heap buffers.
+ *
+ * Each attribute array and the triangle list occupies its own direct buffer,
+ * laid out exactly as the mesh header declares: components and indices are
+ * stored at their declared sizes and in the header's data byte order.
+ * Values are decoded on demand by the typed accessors, and the raw buffers
+ * are available for consumers that can use them directly.
+ *
+ * A mesh must be closed when it is no longer needed. Closing a mesh releases
+ * all references to its buffers, and any subsequent access to array or
+ * triangle data raises {@link IllegalStateException}. The native memory
+ * itself is reclaimed by the JVM once the buffers become unreachable.
+ *
+ * @see SMFMemoryMeshOffHeapProducer
+ */
+
+public final class SMFMemoryMeshOffHeap implements AutoCloseable
+{
+  private final SMFHeader header;
+  private final Map<SMFAttributeName, SMFAttributeArrayType> arrays;
+  private final Map<SMFAttributeName, SMFMemoryMeshOffHeapBufferType> buffers;
+  private final SMFTriangleArrayOffHeap triangles;
+  private final List<SMFMetadata> metadata;
+  private boolean closed;
+
+  SMFMemoryMeshOffHeap(
+    final SMFHeader in_header,
+    final Map<SMFAttributeName, SMFAttributeArrayType> in_arrays,
+    final Map<SMFAttributeName, SMFMemoryMeshOffHeapBufferType> in_buffers,
+    final SMFTriangleArrayOffHeap in_triangles,
+    final List<SMFMetadata> in_metadata)
+  {
+    this.header =
+      Objects.requireNonNull(in_header, "Header");
+    this.arrays =
+      Map.copyOf(Objects.requireNonNull(in_arrays, "Arrays"));
+    this.buffers =
+      Map.copyOf(Objects.requireNonNull(in_buffers, "Buffers"));
+    this.triangles =
+      Objects.requireNonNull(in_triangles, "Triangles");
+    this.metadata =
+      List.copyOf(Objects.requireNonNull(in_metadata, "Metadata"));
+  }
+
+  /**
+   * Create a mesh over existing buffers. The buffers are used directly and
+   * are not copied: each buffer must hold the data for its attribute, or for
+   * the triangles, starting at the buffer's current position and laid out
+   * exactly as the header declares. The buffers may be read-only, and must
+   * not be modified while the mesh is in use.
+   *
+   * @param header     The mesh header
+   * @param attributes The buffers holding the data for each attribute
+   * @param triangles  The buffer holding the triangle data
+   * @param metadata   The mesh metadata
+   *
+   * @return A mesh over the given buffers
+   *
+   * @throws IllegalArgumentException If the buffers do not match the header
+   */
+
+  public static SMFMemoryMeshOffHeap wrap(
+    final SMFHeader header,
+    final Map<SMFAttributeName, ByteBuffer> attributes,
+    final ByteBuffer triangles,
+    final List<SMFMetadata> metadata)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(header, "Header");
+    Objects.requireNonNull(attributes, "Attributes");
+    Objects.requireNonNull(triangles, "Triangles");
+    Objects.requireNonNull(metadata, "Metadata");
+
+    final long size = header.vertexCount();
+    final ByteOrder order = header.dataByteOrder();
+    final Map<SMFAttributeName, SMFAttributeArrayType> arrays =
+      new HashMap<>(attributes.size());
+    final Map<SMFAttributeName, SMFMemoryMeshOffHeapBufferType> buffers =
+      new HashMap<>(attributes.size());
+
+    for (final SMFAttribute attribute : header.attributesInOrder()) {
+      final SMFAttributeName name = attribute.name();
+      final ByteBuffer buffer = attributes.get(name);
+      if (buffer == null) {
+        throw new IllegalArgumentException(String.format(
+          "No buffer provided for attribute %s", name.value()));
+      }
+
+      final int count = attribute.componentCount();
+      final int bits = attribute.componentSizeBits();
+      switch (attribute.componentType()) {
+        case ELEMENT_TYPE_INTEGER_SIGNED: {
+          final SMFAttributeArrayIntegerStorageOffHeap storage =
+            SMFAttributeArrayIntegerStorageOffHeap.wrap(
+              buffer, size, count, bits, true, order);
+          buffers.put(name, storage);
+          arrays.put(name, SMFMemoryMeshOffHeapProducer.signedArray(
+            storage, count));
+          break;
+        }
+        case ELEMENT_TYPE_INTEGER_UNSIGNED: {
+          final SMFAttributeArrayIntegerStorageOffHeap storage =
+            SMFAttributeArrayIntegerStorageOffHeap.wrap(
+              buffer, size, count, bits, false, order);
+          buffers.put(name, storage);
+          arrays.put(name, SMFMemoryMeshOffHeapProducer.unsignedArray(
+            storage, count));
+          break;
+        }
+        case ELEMENT_TYPE_FLOATING: {
+          final SMFAttributeArrayFloatingStorageOffHeap storage =
+            SMFAttributeArrayFloatingStorageOffHeap.wrap(
+              buffer, size, count, bits, order);
+          buffers.put(name, storage);
+          arrays.put(name, SMFMemoryMeshOffHeapProducer.floatingArray(
+            storage, count));
+          break;
+        }
+        default: {
+          throw new UnreachableCodeException();
+        }
+      }
+    }
+
+    for (final SMFAttributeName name : attributes.keySet()) {
+      if (!header.attributesByName().containsKey(name)) {
+        throw new IllegalArgumentException(String.format(
+          "Attribute %s is not specified in the header", name.value()));
+      }
+    }
+
+    final SMFTriangles header_triangles = header.triangles();
+    return new SMFMemoryMeshOffHeap(
+      header,
+      arrays,
+      buffers,
+      SMFTriangleArrayOffHeap.wrap(
+        triangles,
+        header_triangles.triangleCount(),
+        header_triangles.triangleIndexSizeBits(),
+        order),
+      metadata);
+  }
+
+  static int bufferOctets(
+    final long size,
+    final int components,
+    final int component_size)
+  {
+    if (size < 0L) {
+      throw new IllegalArgumentException(String.format(
+        "Storage for %s elements exceeds the maximum buffer size of %d octets",
+        Long.toUnsignedString(size),
+        Integer.valueOf(Integer.MAX_VALUE)));
+    }
+    final long octets =
+      Math.multiplyExact(Math.multiplyExact(size, components), component_size);
+    if (octets > (long) Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(String.format(
+        "Storage for %d elements requires %d octets, exceeding the maximum buffer size of %d octets",
+        Long.valueOf(size),
+        Long.valueOf(octets),
+        Integer.valueOf(Integer.MAX_VALUE)));
+    }
+    return (int) octets;
+  }
+
+  /**
+   * @return The mesh header
+   */
+
+  public SMFHeader header()
+  {
+    return this.header;
+  }
+
+  /**
+   * @return The mesh attribute arrays
+   */
+
+  public Map<SMFAttributeName, SMFAttributeArrayType> arrays()
+  {
+    return this.arrays;
+  }
+
+  /**
+   * @return The parsed metadata
+   */
+
+  public List<SMFMetadata> metadata()
+  {
+    return this.metadata;
+  }
+
+  /**
+   * @return The triangles
+   */
+
+  public SMFTriangleArrayType triangles()
+  {
+    return this.triangles;
+  }
+
+  /**
+   * Retrieve the buffer that holds the data for the given attribute. The
+   * returned buffer is a read-only view in the header's data byte order.
+   *
+   * @param name The attribute name
+   *
+   * @return The attribute data
+   *
+   * @throws IllegalArgumentException If the attribute does not exist
+   * @throws IllegalStateException    If the mesh has been closed
+   */
+
+  public ByteBuffer attributeBuffer(
+    final SMFAttributeName name)
+    throws IllegalArgumentException, IllegalStateException
+  {
+    Objects.requireNonNull(name, "Name");
+    final SMFMemoryMeshOffHeapBufferType buffer = this.buffers.get(name);
+    if (buffer == null) {
+      throw new IllegalArgumentException(String.format(
+        "No such attribute: %s", name.value()));
+    }
+    return buffer.view();
+  }
+
+  /**
+   * Retrieve the buffer that holds the triangle data. The returned buffer is
+   * a read-only view in the header's data byte order.
+   *
+   * @return The triangle data
+   *
+   * @throws IllegalStateException If the mesh has been closed
+   */
+
+  public ByteBuffer trianglesBuffer()
+    throws IllegalStateException
+  {
+    return this.triangles.view();
+  }
+
+  /**
+   * @return The total size in bytes of all of the mesh's buffers
+   */
+
+  public long sizeOctets()
+  {
+    long size = this.triangles.sizeOctets();
+    for (final SMFMemoryMeshOffHeapBufferType buffer : this.buffers.values()) {
+      size = Math.addExact(size, buffer.sizeOctets());
+    }
+    return size;
+  }
+
+  /**
+   * @return {@code true} iff the mesh has been closed
+   */
+
+  public boolean isClosed()
+  {
+    return this.closed;
+  }
+
+  @Override
+  public void close()
+  {
+    if (!this.closed) {
+      this.closed = true;
+      for (final SMFMemoryMeshOffHeapBufferType buffer : this.buffers.values()) {
+        buffer.close();
+      }
+      this.triangles.close();
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format(
+      "SMFMemoryMeshOffHeap{vertices=%d, triangles=%d}",
+      Long.valueOf(this.header.vertexCount()),
+      Long.valueOf(this.header.triangles().triangleCount()));
+  }
+}
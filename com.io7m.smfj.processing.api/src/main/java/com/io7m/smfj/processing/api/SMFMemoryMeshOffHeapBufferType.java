@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The type of off-heap buffers owned by an {@link SMFMemoryMeshOffHeap}.
+ */
+
+interface SMFMemoryMeshOffHeapBufferType
+{
+  /**
+   * @return A read-only view of the buffer in the buffer's byte order
+   *
+   * @throws IllegalStateException If the buffer has been closed
+   */
+
+  ByteBuffer view()
+    throws IllegalStateException;
+
+  /**
+   * @return The size of the buffer in bytes
+   */
+
+  long sizeOctets();
+
+  /**
+   * Release the buffer. Any subsequent access raises
+   * {@link IllegalStateException}.
+   */
+
+  void close();
+}
@@ -0,0 +1,551 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.junreachable.UnreachableCodeException;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFErrorType;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
+import com.io7m.smfj.core.SMFWarningType;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributeValuesType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataAttributesNonInterleavedType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataMetaType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataTrianglesType;
+import com.io7m.smfj.parser.api.SMFParserEventsHeaderType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The default implementation of the {@link SMFMemoryMeshOffHeapProducerType}
+ * interface.
+ *
+ * Storage for each attribute is allocated when the attribute's data begins,
+ * and values are encoded directly into it as they arrive, so no boxed or
+ * on-heap copy of the mesh data is ever made.
+ */
+
+public final class SMFMemoryMeshOffHeapProducer
+  implements SMFMemoryMeshOffHeapProducerType,
+  SMFParserEventsHeaderType,
+  SMFParserEventsBodyType,
+  SMFParserEventsDataTrianglesType,
+  SMFParserEventsDataAttributesNonInterleavedType,
+  SMFParserEventsDataMetaType,
+  SMFParserEventsDataAttributeValuesType
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFMemoryMeshOffHeapProducer.class);
+
+  private final List<SMFErrorType> errors;
+  private final List<SMFMetadata> metadata;
+  private final List<SMFWarningType> warnings;
+  private final Map<SMFAttributeName, SMFAttributeArrayType> arrays;
+  private final Map<SMFAttributeName, SMFMemoryMeshOffHeapBufferType> buffers;
+  private SMFAttribute attribute_current;
+  private SMFAttributeArrayFloatingStorageOffHeap floating_current;
+  private SMFAttributeArrayIntegerStorageOffHeap integer_current;
+  private int elements_count;
+  private SMFTriangleArrayOffHeap triangles;
+  private int triangles_count;
+  private SMFHeader header;
+  private SMFMemoryMeshOffHeap mesh;
+  private boolean finished;
+  private boolean started;
+
+  private SMFMemoryMeshOffHeapProducer()
+  {
+    this.started = false;
+    this.errors = new ArrayList<>();
+    this.warnings = new ArrayList<>();
+    this.arrays = new HashMap<>();
+    this.buffers = new HashMap<>();
+    this.metadata = new ArrayList<>();
+  }
+
+  /**
+   * @return A new off-heap mesh producer
+   */
+
+  public static SMFMemoryMeshOffHeapProducerType create()
+  {
+    return new SMFMemoryMeshOffHeapProducer();
+  }
+
+  @Override
+  public void onError(
+    final SMFErrorType e)
+  {
+    this.errors.add(e);
+  }
+
+  @Override
+  public void onWarning(
+    final SMFWarningType w)
+  {
+    this.warnings.add(w);
+  }
+
+  @Override
+  public void onStart()
+  {
+    if (this.started) {
+      throw new IllegalStateException("A mesh producer may not be reused");
+    }
+    this.started = true;
+  }
+
+  @Override
+  public Optional<SMFParserEventsHeaderType> onVersionReceived(
+    final SMFFormatVersion version)
+  {
+    Objects.requireNonNull(version, "Version");
+    return Optional.of(this);
+  }
+
+  @Override
+  public void onFinish()
+  {
+    if (this.errors.isEmpty()) {
+      for (final var attribute : this.header.attributesInOrder()) {
+        if (!this.arrays.containsKey(attribute.name())) {
+          this.release();
+          throw new IllegalStateException(String.format(
+            "Attribute %s is specified in the header but is not present in the mesh",
+            attribute.name().value()));
+        }
+      }
+
+      if (this.triangles == null) {
+        this.triangles = this.allocateTriangles();
+      }
+      if ((long) this.triangles_count
+        != this.header.triangles().triangleCount()) {
+        this.release();
+        throw new IllegalStateException(String.format(
+          "Expected %d triangles but received %d",
+          Long.valueOf(this.header.triangles().triangleCount()),
+          Integer.valueOf(this.triangles_count)));
+      }
+
+      this.mesh = new SMFMemoryMeshOffHeap(
+        this.header,
+        this.arrays,
+        this.buffers,
+        this.triangles,
+        this.metadata);
+    } else {
+      this.release();
+    }
+
+    this.finished = true;
+  }
+
+  private void release()
+  {
+    for (final SMFMemoryMeshOffHeapBufferType buffer : this.buffers.values()) {
+      buffer.close();
+    }
+    if (this.triangles != null) {
+      this.triangles.close();
+    }
+  }
+
+  @Override
+  public List<SMFErrorType> errors()
+  {
+    return List.copyOf(this.errors);
+  }
+
+  @Override
+  public List<SMFWarningType> warnings()
+  {
+    return List.copyOf(this.warnings);
+  }
+
+  @Override
+  public SMFHeader header()
+    throws IllegalStateException
+  {
+    if (this.header == null) {
+      throw new IllegalStateException("Header has not been parsed");
+    }
+    return this.header;
+  }
+
+  @Override
+  public SMFMemoryMeshOffHeap mesh()
+    throws IllegalStateException
+  {
+    if (!this.finished) {
+      throw new IllegalStateException("Mesh parsing has not yet finished");
+    }
+    if (this.errors.isEmpty() && this.mesh != null) {
+      return this.mesh;
+    }
+    throw new IllegalStateException("Mesh parsing failed");
+  }
+
+  @Override
+  public Optional<SMFParserEventsDataAttributesNonInterleavedType> onAttributesNonInterleaved()
+  {
+    return Optional.of(this);
+  }
+
+  @Override
+  public Optional<SMFParserEventsDataTrianglesType> onTriangles()
+  {
+    this.triangles = this.allocateTriangles();
+    this.triangles_count = 0;
+    return Optional.of(this);
+  }
+
+  private SMFTriangleArrayOffHeap allocateTriangles()
+  {
+    return SMFTriangleArrayOffHeap.allocate(
+      this.header.triangles().triangleCount(),
+      this.header.triangles().triangleIndexSizeBits(),
+      this.header.dataByteOrder());
+  }
+
+  private int nextElement()
+  {
+    final int index = this.elements_count;
+    this.elements_count = index + 1;
+    return index;
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerSigned1(
+    final long x)
+  {
+    final int index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerSigned2(
+    final long x,
+    final long y)
+  {
+    final int index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerSigned3(
+    final long x,
+    final long y,
+    final long z)
+  {
+    final int index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+    this.integer_current.put(index, 2, z);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerSigned4(
+    final long x,
+    final long y,
+    final long z,
+    final long w)
+  {
+    final int index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+    this.integer_current.put(index, 2, z);
+    this.integer_current.put(index, 3, w);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerUnsigned1(
+    final long x)
+  {
+    final int index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerUnsigned2(
+    final long x,
+    final long y)
+  {
+    final int index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerUnsigned3(
+    final long x,
+    final long y,
+    final long z)
+  {
+    final int index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+    this.integer_current.put(index, 2, z);
+  }
+
+  @Override
+  public void onDataAttributeValueIntegerUnsigned4(
+    final long x,
+    final long y,
+    final long z,
+    final long w)
+  {
+    final int index = this.nextElement();
+    this.integer_current.put(index, 0, x);
+    this.integer_current.put(index, 1, y);
+    this.integer_current.put(index, 2, z);
+    this.integer_current.put(index, 3, w);
+  }
+
+  @Override
+  public void onDataAttributeValueFloat1(
+    final double x)
+  {
+    final int index = this.nextElement();
+    this.floating_current.put(index, 0, x);
+  }
+
+  @Override
+  public void onDataAttributeValueFloat2(
+    final double x,
+    final double y)
+  {
+    final int index = this.nextElement();
+    this.floating_current.put(index, 0, x);
+    this.floating_current.put(index, 1, y);
+  }
+
+  @Override
+  public void onDataAttributeValueFloat3(
+    final double x,
+    final double y,
+    final double z)
+  {
+    final int index = this.nextElement();
+    this.floating_current.put(index, 0, x);
+    this.floating_current.put(index, 1, y);
+    this.floating_current.put(index, 2, z);
+  }
+
+  @Override
+  public void onDataAttributeValueFloat4(
+    final double x,
+    final double y,
+    final double z,
+    final double w)
+  {
+    final int index = this.nextElement();
+    this.floating_current.put(index, 0, x);
+    this.floating_current.put(index, 1, y);
+    this.floating_current.put(index, 2, z);
+    this.floating_current.put(index, 3, w);
+  }
+
+  @Override
+  public void onDataAttributeValueFinish()
+  {
+    LOG.debug("finished attribute {}", this.attribute_current.name().value());
+
+    if ((long) this.elements_count != this.header.vertexCount()) {
+      throw new IllegalStateException(String.format(
+        "Attribute %s: Expected %d values but received %d",
+        this.attribute_current.name().value(),
+        Long.valueOf(this.header.vertexCount()),
+        Integer.valueOf(this.elements_count)));
+    }
+  }
+
+  @Override
+  public void onDataTriangle(
+    final long v0,
+    final long v1,
+    final long v2)
+  {
+    final int index = this.triangles_count;
+    this.triangles.put(index, v0, v1, v2);
+    this.triangles_count = index + 1;
+  }
+
+  @Override
+  public void onDataTrianglesFinish()
+  {
+
+  }
+
+  @Override
+  public Optional<SMFParserEventsBodyType> onHeaderParsed(
+    final SMFHeader in_header)
+  {
+    this.header = Objects.requireNonNull(in_header, "Header");
+    return Optional.of(this);
+  }
+
+  @Override
+  public Optional<SMFParserEventsDataAttributeValuesType> onDataAttributeStart(
+    final SMFAttribute attribute)
+  {
+    Objects.requireNonNull(attribute, "Attribute");
+
+    final SMFAttributeName name = attribute.name();
+    if (!this.header.attributesByName().containsKey(name)) {
+      throw new IllegalStateException(String.format(
+        "Attribute %s is not specified in the header",
+        name.value()));
+    }
+
+    this.attribute_current = attribute;
+    this.elements_count = 0;
+
+    final long size = this.header.vertexCount();
+    final int count = attribute.componentCount();
+    final int bits = attribute.componentSizeBits();
+
+    final SMFMemoryMeshOffHeapBufferType buffer;
+    final SMFAttributeArrayType array;
+    switch (attribute.componentType()) {
+      case ELEMENT_TYPE_INTEGER_SIGNED: {
+        this.integer_current =
+          SMFAttributeArrayIntegerStorageOffHeap.allocate(
+            size, count, bits, true, this.header.dataByteOrder());
+        buffer = this.integer_current;
+        array = signedArray(this.integer_current, count);
+        break;
+      }
+      case ELEMENT_TYPE_INTEGER_UNSIGNED: {
+        this.integer_current =
+          SMFAttributeArrayIntegerStorageOffHeap.allocate(
+            size, count, bits, false, this.header.dataByteOrder());
+        buffer = this.integer_current;
+        array = unsignedArray(this.integer_current, count);
+        break;
+      }
+      case ELEMENT_TYPE_FLOATING: {
+        this.floating_current =
+          SMFAttributeArrayFloatingStorageOffHeap.allocate(
+            size, count, bits, this.header.dataByteOrder());
+        buffer = this.floating_current;
+        array = floatingArray(this.floating_current, count);
+        break;
+      }
+      default: {
+        throw new UnreachableCodeException();
+      }
+    }
+
+    final SMFMemoryMeshOffHeapBufferType previous =
+      this.buffers.put(name, buffer);
+    if (previous != null) {
+      previous.close();
+    }
+    this.arrays.put(name, array);
+    return Optional.of(this);
+  }
+
+  static SMFAttributeArrayType floatingArray(
+    final SMFAttributeArrayFloatingStorageType storage,
+    final int count)
+  {
+    switch (count) {
+      case 4:
+        return new SMFAttributeArrayFloating4Packed(storage);
+      case 3:
+        return new SMFAttributeArrayFloating3Packed(storage);
+      case 2:
+        return new SMFAttributeArrayFloating2Packed(storage);
+      case 1:
+        return new SMFAttributeArrayFloating1Packed(storage);
+      default:
+        throw new UnreachableCodeException();
+    }
+  }
+
+  static SMFAttributeArrayType signedArray(
+    final SMFAttributeArrayIntegerStorageType storage,
+    final int count)
+  {
+    switch (count) {
+      case 4:
+        return new SMFAttributeArrayIntegerSigned4Packed(storage);
+      case 3:
+        return new SMFAttributeArrayIntegerSigned3Packed(storage);
+      case 2:
+        return new SMFAttributeArrayIntegerSigned2Packed(storage);
+      case 1:
+        return new SMFAttributeArrayIntegerSigned1Packed(storage);
+      default:
+        throw new UnreachableCodeException();
+    }
+  }
+
+  static SMFAttributeArrayType unsignedArray(
+    final SMFAttributeArrayIntegerStorageType storage,
+    final int count)
+  {
+    switch (count) {
+      case 4:
+        return new SMFAttributeArrayIntegerUnsigned4Packed(storage);
+      case 3:
+        return new SMFAttributeArrayIntegerUnsigned3Packed(storage);
+      case 2:
+        return new SMFAttributeArrayIntegerUnsigned2Packed(storage);
+      case 1:
+        return new SMFAttributeArrayIntegerUnsigned1Packed(storage);
+      default:
+        throw new UnreachableCodeException();
+    }
+  }
+
+  @Override
+  public void onDataAttributesNonInterleavedFinish()
+  {
+
+  }
+
+  @Override
+  public void onMetaData(
+    final SMFSchemaIdentifier schema,
+    final byte[] data)
+  {
+    Objects.requireNonNull(schema, "Schema");
+    Objects.requireNonNull(data, "Data");
+    this.metadata.add(SMFMetadata.of(schema, data));
+  }
+
+  @Override
+  public Optional<SMFParserEventsDataMetaType> onMeta(
+    final SMFSchemaIdentifier schema)
+  {
+    Objects.requireNonNull(schema, "Schema");
+    return Optional.of(this);
+  }
+}
@@ -16,12 +16,6 @@
 
 package com.io7m.smfj.processing.api;
 
-import com.io7m.jtensors.core.unparameterized.vectors.Vector2D;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector2L;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector3D;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector4D;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector4L;
 import com.io7m.junreachable.UnreachableCodeException;
 import com.io7m.smfj.core.SMFFormatVersion;
 import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
@@ -44,6 +38,8 @@ import java.util.Optional;
 
 public final class SMFMemoryMeshParser
 {
+  private static final int TRIANGLE_BLOCK_SIZE = 1024;
+
   private SMFMemoryMeshParser()
   {
     throw new UnreachableCodeException();
@@ -98,148 +94,138 @@ public final class SMFMemoryMeshParser
       this.events = Objects.requireNonNull(in_events, "Events");
     }
 
-    private static Boolean sendArray4D(
-      final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayFloating4Type array_4d)
-    {
-      final List<Vector4D> vv = array_4d.values();
-      for (int index = 0; index < array_4d.size(); ++index) {
-        final Vector4D v = vv.get(index);
-        events.onDataAttributeValueFloat4(v.x(), v.y(), v.z(), v.w());
-      }
-      return Boolean.TRUE;
-    }
-
-    private static Boolean sendArray3D(
-      final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayFloating3Type array_3d)
-    {
-      final List<Vector3D> vv = array_3d.values();
-      for (int index = 0; index < array_3d.size(); ++index) {
-        final Vector3D v = vv.get(index);
-        events.onDataAttributeValueFloat3(v.x(), v.y(), v.z());
-      }
-      return Boolean.TRUE;
-    }
-
-    private static Boolean sendArray2D(
-      final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayFloating2Type array_2d)
-    {
-      final List<Vector2D> vv = array_2d.values();
-      for (int index = 0; index < array_2d.size(); ++index) {
-        final Vector2D v = vv.get(index);
-        events.onDataAttributeValueFloat2(v.x(), v.y());
-      }
-      return Boolean.TRUE;
-    }
-
-    private static Boolean sendArray1D(
-      final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayFloating1Type array_1d)
-    {
-      final List<Double> vv = array_1d.values();
-      for (int index = 0; index < array_1d.size(); ++index) {
-        final Double v = vv.get(index);
-        events.onDataAttributeValueFloat1(v.doubleValue());
-      }
-      return Boolean.TRUE;
-    }
-
-    private static Boolean sendArray4L(
-      final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayIntegerSigned4Type array_4d)
-    {
-      final List<Vector4L> vv = array_4d.values();
-      for (int index = 0; index < array_4d.size(); ++index) {
-        final Vector4L v = vv.get(index);
-        events.onDataAttributeValueIntegerSigned4(v.x(), v.y(), v.z(), v.w());
-      }
-      return Boolean.TRUE;
-    }
-
-    private static Boolean sendArray3L(
-      final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayIntegerSigned3Type array_3d)
-    {
-      final List<Vector3L> vv = array_3d.values();
-      for (int index = 0; index < array_3d.size(); ++index) {
-        final Vector3L v = vv.get(index);
-        events.onDataAttributeValueIntegerSigned3(v.x(), v.y(), v.z());
-      }
-      return Boolean.TRUE;
-    }
-
-    private static Boolean sendArray2L(
-      final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayIntegerSigned2Type array_2d)
-    {
-      final List<Vector2L> vv = array_2d.values();
-      for (int index = 0; index < array_2d.size(); ++index) {
-        final Vector2L v = vv.get(index);
-        events.onDataAttributeValueIntegerSigned2(v.x(), v.y());
-      }
-      return Boolean.TRUE;
-    }
-
-    private static Boolean sendArray1L(
-      final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayIntegerSigned1Type array_1d)
-    {
-      final List<Long> vv = array_1d.values();
-      for (int index = 0; index < array_1d.size(); ++index) {
-        final Long v = vv.get(index);
-        events.onDataAttributeValueIntegerSigned1(v.longValue());
-      }
-      return Boolean.TRUE;
-    }
-
-    private static Boolean sendArray4UL(
+    private static void sendValues(
       final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayIntegerUnsigned4Type array_4d)
+      final SMFAttributeArrayCursor c)
     {
-      final List<Vector4L> vv = array_4d.values();
-      for (int index = 0; index < array_4d.size(); ++index) {
-        final Vector4L v = vv.get(index);
-        events.onDataAttributeValueIntegerUnsigned4(v.x(), v.y(), v.z(), v.w());
+      switch (c.componentType()) {
+        case ELEMENT_TYPE_FLOATING:
+          sendFloating(events, c);
+          break;
+        case ELEMENT_TYPE_INTEGER_SIGNED:
+          sendSigned(events, c);
+          break;
+        case ELEMENT_TYPE_INTEGER_UNSIGNED:
+          sendUnsigned(events, c);
+          break;
+        default:
+          throw new UnreachableCodeException();
       }
-      return Boolean.TRUE;
     }
 
-    private static Boolean sendArray3UL(
+    private static void sendFloating(
       final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayIntegerUnsigned3Type array_3d)
+      final SMFAttributeArrayCursor c)
     {
-      final List<Vector3L> vv = array_3d.values();
-      for (int index = 0; index < array_3d.size(); ++index) {
-        final Vector3L v = vv.get(index);
-        events.onDataAttributeValueIntegerUnsigned3(v.x(), v.y(), v.z());
+      switch (c.componentCount()) {
+        case 1:
+          while (c.next()) {
+            events.onDataAttributeValueFloat1(c.getDouble(0));
+          }
+          break;
+        case 2:
+          while (c.next()) {
+            events.onDataAttributeValueFloat2(c.getDouble(0), c.getDouble(1));
+          }
+          break;
+        case 3:
+          while (c.next()) {
+            events.onDataAttributeValueFloat3(
+              c.getDouble(0),
+              c.getDouble(1),
+              c.getDouble(2));
+          }
+          break;
+        case 4:
+          while (c.next()) {
+            events.onDataAttributeValueFloat4(
+              c.getDouble(0),
+              c.getDouble(1),
+              c.getDouble(2),
+              c.getDouble(3));
+          }
+          break;
+        default:
+          throw new UnreachableCodeException();
       }
-      return Boolean.TRUE;
     }
 
-    private static Boolean sendArray2UL(
+    private static void sendSigned(
       final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayIntegerUnsigned2Type array_2d)
+      final SMFAttributeArrayCursor c)
     {
-      final List<Vector2L> vv = array_2d.values();
-      for (int index = 0; index < array_2d.size(); ++index) {
-        final Vector2L v = vv.get(index);
-        events.onDataAttributeValueIntegerUnsigned2(v.x(), v.y());
+      switch (c.componentCount()) {
+        case 1:
+          while (c.next()) {
+            events.onDataAttributeValueIntegerSigned1(c.getLong(0));
+          }
+          break;
+        case 2:
+          while (c.next()) {
+            events.onDataAttributeValueIntegerSigned2(
+              c.getLong(0),
+              c.getLong(1));
+          }
+          break;
+        case 3:
+          while (c.next()) {
+            events.onDataAttributeValueIntegerSigned3(
+              c.getLong(0),
+              c.getLong(1),
+              c.getLong(2));
+          }
+          break;
+        case 4:
+          while (c.next()) {
+            events.onDataAttributeValueIntegerSigned4(
+              c.getLong(0),
+              c.getLong(1),
+              c.getLong(2),
+              c.getLong(3));
+          }
+          break;
+        default:
+          throw new UnreachableCodeException();
       }
-      return Boolean.TRUE;
     }
 
-    private static Boolean sendArray1UL(
+    private static void sendUnsigned(
       final SMFParserEventsDataAttributeValuesType events,
-      final SMFAttributeArrayIntegerUnsigned1Type array_1d)
+      final SMFAttributeArrayCursor c)
     {
-      final List<Long> vv = array_1d.values();
-      for (int index = 0; index < array_1d.size(); ++index) {
-        final Long v = vv.get(index);
-        events.onDataAttributeValueIntegerUnsigned1(v.longValue());
+      switch (c.componentCount()) {
+        case 1:
+          while (c.next()) {
+            events.onDataAttributeValueIntegerUnsigned1(c.getLong(0));
+          }
+          break;
+        case 2:
+          while (c.next()) {
+            events.onDataAttributeValueIntegerUnsigned2(
+              c.getLong(0),
+              c.getLong(1));
+          }
+          break;
+        case 3:
+          while (c.next()) {
+            events.onDataAttributeValueIntegerUnsigned3(
+              c.getLong(0),
+              c.getLong(1),
+              c.getLong(2));
+          }
+          break;
+        case 4:
+          while (c.next()) {
+            events.onDataAttributeValueIntegerUnsigned4(
+              c.getLong(0),
+              c.getLong(1),
+              c.getLong(2),
+              c.getLong(3));
+          }
+          break;
+        default:
+          throw new UnreachableCodeException();
       }
-      return Boolean.TRUE;
     }
 
     @Override
@@ -294,10 +280,16 @@ public final class SMFMemoryMeshParser
       if (t_opt.isPresent()) {
         final SMFParserEventsDataTrianglesType t = t_opt.get();
         try {
-          final List<Vector3L> triangles = this.mesh.triangles();
-          for (int index = 0; index < triangles.size(); ++index) {
-            final Vector3L tri = triangles.get(index);
-            t.onDataTriangle(tri.x(), tri.y(), tri.z());
+          final SMFTriangleArrayType triangles = this.mesh.triangles();
+          final long size = triangles.triangleCount();
+          final long[] block = new long[TRIANGLE_BLOCK_SIZE * 3];
+          for (long index = 0L; index < size; index += TRIANGLE_BLOCK_SIZE) {
+            final int count =
+              (int) Math.min((long) TRIANGLE_BLOCK_SIZE, size - index);
+            triangles.copyIndices(index, count, block, 0);
+            for (int k = 0; k < count * 3; k += 3) {
+              t.onDataTriangle(block[k], block[k + 1], block[k + 2]);
+            }
           }
         } finally {
           t.onDataTrianglesFinish();
@@ -323,20 +315,7 @@ public final class SMFMemoryMeshParser
               try {
                 final SMFAttributeArrayType array =
                   this.mesh.arrays().get(a.name());
-                array.matchArray(
-                  av,
-                  Sequential::sendArray4D,
-                  Sequential::sendArray3D,
-                  Sequential::sendArray2D,
-                  Sequential::sendArray1D,
-                  Sequential::sendArray4UL,
-                  Sequential::sendArray3UL,
-                  Sequential::sendArray2UL,
-                  Sequential::sendArray1UL,
-                  Sequential::sendArray4L,
-                  Sequential::sendArray3L,
-                  Sequential::sendArray2L,
-                  Sequential::sendArray1L);
+                sendValues(av, SMFAttributeArrayCursor.create(array));
               } finally {
                 av.onDataAttributeValueFinish();
               }
@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+/**
+ * The parts of a mesh, other than its attributes, that a filter may read or
+ * write.
+ *
+ * @see SMFMemoryMeshFilterAccessType
+ */
+
+public enum SMFMemoryMeshPart
+{
+  /**
+   * The schema identifier in the header.
+   */
+
+  SCHEMA_IDENTIFIER,
+
+  /**
+   * The byte order of the mesh data.
+   */
+
+  BYTE_ORDER,
+
+  /**
+   * The number of vertices.
+   */
+
+  VERTEX_COUNT,
+
+  /**
+   * The triangles, and their declaration in the header.
+   */
+
+  TRIANGLES,
+
+  /**
+   * The metadata, including its order.
+   */
+
+  METADATA
+}
@@ -17,12 +17,6 @@
 package com.io7m.smfj.processing.api;
 
 import com.io7m.jaffirm.core.Preconditions;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector2D;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector2L;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector3D;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector4D;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector4L;
 import com.io7m.junreachable.UnreachableCodeException;
 import com.io7m.smfj.core.SMFAttribute;
 import com.io7m.smfj.core.SMFAttributeName;
@@ -43,11 +37,31 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The default implementation of the {@link SMFMemoryMeshProducerType} interface.
+ *
+ * The producer uses the vertex and triangle counts declared in the header to
+ * preallocate primitive storage for each attribute and for the triangles, so
+ * that values are written in place as they arrive rather than into buffers
+ * that grow and are then copied. Because the header is untrusted input, the
+ * amount preallocated for any single buffer is limited; a mesh that really is
+ * larger than the limit is still accepted, but its buffers grow as values
+ * arrive beyond the preallocated portion.
+ *
+ * The producer can be configured to load only some attributes, to skip
+ * triangles, or to skip metadata of given schemas; see
+ * {@link SMFMemoryMeshProducerConfiguration}. Unwanted data is declined when
+ * the parser offers it, so parsers that can skip data do not decode it. The
+ * header of the resulting mesh describes only the data that was loaded.
+ *
+ * If a footprint limit is configured, the producer estimates the memory that
+ * the mesh will need from its header using
+ * {@link SMFMemoryMeshFootprints#ofHeader(SMFHeader)}, and refuses to load a
+ * mesh whose estimate exceeds the limit before allocating anything for it.
  */
 
 public final class SMFMemoryMeshProducer
@@ -62,36 +76,101 @@ public final class SMFMemoryMeshProducer
   private static final Logger LOG =
     LoggerFactory.getLogger(SMFMemoryMeshProducer.class);
 
-  private final List<Object> elements;
+  /**
+   * The default maximum number of octets preallocated for any single buffer.
+   */
+
+  public static final long DEFAULT_PREALLOCATION_LIMIT = 256L * 1024L * 1024L;
+
   private final List<SMFErrorType> errors;
   private final List<SMFMetadata> metadata;
   private final List<SMFWarningType> warnings;
-  private final List<Vector3L> triangles;
+  private final SMFMemoryMeshProducerConfiguration configuration;
   private final Map<SMFAttributeName, SMFAttributeArrayType> arrays;
   private SMFAttribute attribute_current;
+  private SMFChunkedDoubleArray elements_floating;
+  private SMFChunkedLongArray elements_integer;
+  private SMFChunkedLongArray triangles;
   private SMFHeader header;
   private SMFMemoryMesh mesh;
   private boolean finished;
   private boolean started;
 
-  private SMFMemoryMeshProducer()
+  private SMFMemoryMeshProducer(
+    final SMFMemoryMeshProducerConfiguration in_configuration)
   {
+    this.configuration =
+      Objects.requireNonNull(in_configuration, "Configuration");
     this.started = false;
     this.errors = new ArrayList<>();
     this.warnings = new ArrayList<>();
     this.arrays = new HashMap<>();
-    this.triangles = new ArrayList<>();
+    this.triangles = new SMFChunkedLongArray();
     this.metadata = new ArrayList<>();
-    this.elements = new ArrayList<>();
   }
 
   /**
+   * Create a new memory mesh producer that preallocates at most
+   * {@link #DEFAULT_PREALLOCATION_LIMIT} octets for any single buffer.
+   *
    * @return A new memory mesh producer
    */
 
   public static SMFMemoryMeshProducerType create()
   {
-    return new SMFMemoryMeshProducer();
+    return create(SMFMemoryMeshProducerConfiguration.builder().build());
+  }
+
+  /**
+   * Create a new memory mesh producer.
+   *
+   * @param preallocation_limit The maximum number of octets that will be
+   *                            preallocated for any single buffer based on
+   *                            the counts declared in the mesh header
+   *
+   * @return A new memory mesh producer
+   */
+
+  public static SMFMemoryMeshProducerType create(
+    final long preallocation_limit)
+  {
+    return create(
+      SMFMemoryMeshProducerConfiguration.builder()
+        .setPreallocationLimit(preallocation_limit)
+        .build());
+  }
+
+  /**
+   * Create a new memory mesh producer.
+   *
+   * @param configuration The producer configuration
+   *
+   * @return A new memory mesh producer
+   */
+
+  public static SMFMemoryMeshProducerType create(
+    final SMFMemoryMeshProducerConfiguration configuration)
+  {
+    return new SMFMemoryMeshProducer(configuration);
+  }
+
+  /**
+   * @param count      The declared number of elements
+   * @param components The number of eight-octet values per element
+   *
+   * @return The number of values to preallocate
+   */
+
+  private long preallocation(
+    final long count,
+    final int components)
+  {
+    final long limit = this.configuration.preallocationLimit() / 8L;
+    final long limit_count = limit / (long) components;
+    if (Long.compareUnsigned(count, limit_count) > 0) {
+      return limit_count * (long) components;
+    }
+    return count * (long) components;
   }
 
   @Override
@@ -150,7 +229,8 @@ public final class SMFMemoryMeshProducer
         SMFMemoryMesh.builder()
           .setArrays(this.arrays)
           .setHeader(this.header)
-          .setTriangles(this.triangles)
+          .setTriangles(new SMFTriangleArrayPacked(
+            SMFAttributeArrayIntegerStorage.packUnsigned(this.triangles, 3)))
           .setMetadata(this.metadata)
           .build();
     }
@@ -202,14 +282,17 @@ public final class SMFMemoryMeshProducer
   @Override
   public Optional<SMFParserEventsDataTrianglesType> onTriangles()
   {
-    return Optional.of(this);
+    if (this.configuration.triangles()) {
+      return Optional.of(this);
+    }
+    return Optional.empty();
   }
 
   @Override
   public void onDataAttributeValueIntegerSigned1(
     final long x)
   {
-    this.elements.add(Long.valueOf(x));
+    this.elements_integer.add(x);
   }
 
   @Override
@@ -217,7 +300,8 @@ public final class SMFMemoryMeshProducer
     final long x,
     final long y)
   {
-    this.elements.add(Vector2L.of(x, y));
+    this.elements_integer.add(x);
+    this.elements_integer.add(y);
   }
 
   @Override
@@ -226,7 +310,9 @@ public final class SMFMemoryMeshProducer
     final long y,
     final long z)
   {
-    this.elements.add(Vector3L.of(x, y, z));
+    this.elements_integer.add(x);
+    this.elements_integer.add(y);
+    this.elements_integer.add(z);
   }
 
   @Override
@@ -236,14 +322,17 @@ public final class SMFMemoryMeshProducer
     final long z,
     final long w)
   {
-    this.elements.add(Vector4L.of(x, y, z, w));
+    this.elements_integer.add(x);
+    this.elements_integer.add(y);
+    this.elements_integer.add(z);
+    this.elements_integer.add(w);
   }
 
   @Override
   public void onDataAttributeValueIntegerUnsigned1(
     final long x)
   {
-    this.elements.add(Long.valueOf(x));
+    this.elements_integer.add(x);
   }
 
   @Override
@@ -251,7 +340,8 @@ public final class SMFMemoryMeshProducer
     final long x,
     final long y)
   {
-    this.elements.add(Vector2L.of(x, y));
+    this.elements_integer.add(x);
+    this.elements_integer.add(y);
   }
 
   @Override
@@ -260,7 +350,9 @@ public final class SMFMemoryMeshProducer
     final long y,
     final long z)
   {
-    this.elements.add(Vector3L.of(x, y, z));
+    this.elements_integer.add(x);
+    this.elements_integer.add(y);
+    this.elements_integer.add(z);
   }
 
   @Override
@@ -270,14 +362,17 @@ public final class SMFMemoryMeshProducer
     final long z,
     final long w)
   {
-    this.elements.add(Vector4L.of(x, y, z, w));
+    this.elements_integer.add(x);
+    this.elements_integer.add(y);
+    this.elements_integer.add(z);
+    this.elements_integer.add(w);
   }
 
   @Override
   public void onDataAttributeValueFloat1(
     final double x)
   {
-    this.elements.add(Double.valueOf(x));
+    this.elements_floating.add(x);
   }
 
   @Override
@@ -285,7 +380,8 @@ public final class SMFMemoryMeshProducer
     final double x,
     final double y)
   {
-    this.elements.add(Vector2D.of(x, y));
+    this.elements_floating.add(x);
+    this.elements_floating.add(y);
   }
 
   @Override
@@ -294,7 +390,9 @@ public final class SMFMemoryMeshProducer
     final double y,
     final double z)
   {
-    this.elements.add(Vector3D.of(x, y, z));
+    this.elements_floating.add(x);
+    this.elements_floating.add(y);
+    this.elements_floating.add(z);
   }
 
   @Override
@@ -304,7 +402,10 @@ public final class SMFMemoryMeshProducer
     final double z,
     final double w)
   {
-    this.elements.add(Vector4D.of(x, y, z, w));
+    this.elements_floating.add(x);
+    this.elements_floating.add(y);
+    this.elements_floating.add(z);
+    this.elements_floating.add(w);
   }
 
   @Override
@@ -328,12 +429,9 @@ public final class SMFMemoryMeshProducer
         break;
       }
     }
-  }
 
-  @SuppressWarnings("unchecked")
-  private static <A, B extends A> List<B> unsafeListCast(final List<A> xs)
-  {
-    return (List<B>) xs;
+    this.elements_floating = null;
+    this.elements_integer = null;
   }
 
   private void finishFloatingAttribute()
@@ -342,33 +440,29 @@ public final class SMFMemoryMeshProducer
       case 4: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayFloating4.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayFloating4Packed(
+            SMFAttributeArrayFloatingStorage.pack(this.elements_floating, 4)));
         break;
       }
       case 3: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayFloating3.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayFloating3Packed(
+            SMFAttributeArrayFloatingStorage.pack(this.elements_floating, 3)));
         break;
       }
       case 2: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayFloating2.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayFloating2Packed(
+            SMFAttributeArrayFloatingStorage.pack(this.elements_floating, 2)));
         break;
       }
       case 1: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayFloating1.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayFloating1Packed(
+            SMFAttributeArrayFloatingStorage.pack(this.elements_floating, 1)));
         break;
       }
       default: {
@@ -383,33 +477,29 @@ public final class SMFMemoryMeshProducer
       case 4: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayIntegerUnsigned4.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayIntegerUnsigned4Packed(
+            SMFAttributeArrayIntegerStorage.pack(this.elements_integer, 4)));
         break;
       }
       case 3: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayIntegerUnsigned3.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayIntegerUnsigned3Packed(
+            SMFAttributeArrayIntegerStorage.pack(this.elements_integer, 3)));
         break;
       }
       case 2: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayIntegerUnsigned2.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayIntegerUnsigned2Packed(
+            SMFAttributeArrayIntegerStorage.pack(this.elements_integer, 2)));
         break;
       }
       case 1: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayIntegerUnsigned1.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayIntegerUnsigned1Packed(
+            SMFAttributeArrayIntegerStorage.pack(this.elements_integer, 1)));
         break;
       }
       default: {
@@ -424,33 +514,29 @@ public final class SMFMemoryMeshProducer
       case 4: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayIntegerSigned4.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayIntegerSigned4Packed(
+            SMFAttributeArrayIntegerStorage.pack(this.elements_integer, 4)));
         break;
       }
       case 3: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayIntegerSigned3.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayIntegerSigned3Packed(
+            SMFAttributeArrayIntegerStorage.pack(this.elements_integer, 3)));
         break;
       }
       case 2: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayIntegerSigned2.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayIntegerSigned2Packed(
+            SMFAttributeArrayIntegerStorage.pack(this.elements_integer, 2)));
         break;
       }
       case 1: {
         this.arrays.put(
           this.attribute_current.name(),
-          SMFAttributeArrayIntegerSigned1.builder()
-            .setValues(unsafeListCast(this.elements))
-            .build());
+          new SMFAttributeArrayIntegerSigned1Packed(
+            SMFAttributeArrayIntegerStorage.pack(this.elements_integer, 1)));
         break;
       }
       default: {
@@ -465,7 +551,9 @@ public final class SMFMemoryMeshProducer
     final long v1,
     final long v2)
   {
-    this.triangles.add(Vector3L.of(v0, v1, v2));
+    this.triangles.add(v0);
+    this.triangles.add(v1);
+    this.triangles.add(v2);
   }
 
   @Override
@@ -478,7 +566,45 @@ public final class SMFMemoryMeshProducer
   public Optional<SMFParserEventsBodyType> onHeaderParsed(
     final SMFHeader in_header)
   {
-    this.header = Objects.requireNonNull(in_header, "Header");
+    Objects.requireNonNull(in_header, "Header");
+
+    final List<SMFAttribute> attributes = new ArrayList<>();
+    for (final SMFAttribute attribute : in_header.attributesInOrder()) {
+      if (this.configuration.isAttributeIncluded(attribute.name())) {
+        attributes.add(attribute);
+      }
+    }
+
+    SMFHeader projected = in_header.withAttributesInOrder(attributes);
+    if (!this.configuration.triangles()) {
+      projected = projected.withTriangles(
+        projected.triangles().withTriangleCount(0L));
+    }
+
+    final SMFMemoryMeshFootprint footprint =
+      SMFMemoryMeshFootprints.ofHeader(projected);
+    LOG.debug(
+      "estimated footprint: {} octets retained, {} octets peak",
+      Long.valueOf(footprint.retained()),
+      Long.valueOf(footprint.peak()));
+
+    final OptionalLong limit_opt = this.configuration.footprintLimit();
+    if (limit_opt.isPresent()) {
+      final long limit = limit_opt.getAsLong();
+      if (footprint.peak() > limit) {
+        this.errors.add(SMFProcessingError.of(
+          String.format(
+            "The estimated footprint of the mesh (%d octets) exceeds the limit of %d octets",
+            Long.valueOf(footprint.peak()),
+            Long.valueOf(limit)),
+          Optional.empty()));
+        return Optional.empty();
+      }
+    }
+
+    this.header = projected;
+    this.triangles = new SMFChunkedLongArray(
+      this.preallocation(this.header.triangles().triangleCount(), 3));
     return Optional.of(this);
   }
 
@@ -487,8 +613,25 @@ public final class SMFMemoryMeshProducer
     final SMFAttribute attribute)
   {
     Objects.requireNonNull(attribute, "Attribute");
+    if (!this.configuration.isAttributeIncluded(attribute.name())) {
+      return Optional.empty();
+    }
+
     this.attribute_current = attribute;
-    this.elements.clear();
+
+    final long capacity =
+      this.preallocation(this.header.vertexCount(), attribute.componentCount());
+    switch (attribute.componentType()) {
+      case ELEMENT_TYPE_INTEGER_SIGNED:
+      case ELEMENT_TYPE_INTEGER_UNSIGNED: {
+        this.elements_integer = new SMFChunkedLongArray(capacity);
+        break;
+      }
+      case ELEMENT_TYPE_FLOATING: {
+        this.elements_floating = new SMFChunkedDoubleArray(capacity);
+        break;
+      }
+    }
     return Optional.of(this);
   }
 
@@ -513,6 +656,9 @@ public final class SMFMemoryMeshProducer
     final SMFSchemaIdentifier schema)
   {
     Objects.requireNonNull(schema, "Schema");
+    if (this.configuration.metadataExcluded().contains(schema.name())) {
+      return Optional.empty();
+    }
     return Optional.of(this);
   }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.jaffirm.core.Preconditions;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFSchemaName;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import org.immutables.value.Value;
+
+/**
+ * Configuration for memory mesh producers.
+ */
+
+@com.io7m.immutables.styles.ImmutablesStyleType
+@Value.Immutable
+public interface SMFMemoryMeshProducerConfigurationType
+{
+  /**
+   * @return The maximum number of octets that will be preallocated for any
+   * single buffer based on the counts declared in the mesh header
+   */
+
+  @Value.Default
+  default long preallocationLimit()
+  {
+    return SMFMemoryMeshProducer.DEFAULT_PREALLOCATION_LIMIT;
+  }
+
+  /**
+   * @return The maximum estimated footprint, in octets, of a mesh that will
+   * be loaded, or {@link OptionalLong#empty()} if meshes of any size will be
+   * loaded
+   *
+   * @see SMFMemoryMeshFootprints#ofHeader(com.io7m.smfj.core.SMFHeader)
+   */
+
+  OptionalLong footprintLimit();
+
+  /**
+   * @return The attributes that will be loaded, or {@link Optional#empty()}
+   * if all attributes not otherwise excluded will be loaded
+   */
+
+  Optional<Set<SMFAttributeName>> attributesIncluded();
+
+  /**
+   * @return The attributes that will not be loaded
+   */
+
+  Set<SMFAttributeName> attributesExcluded();
+
+  /**
+   * @return {@code true} iff triangles will be loaded
+   */
+
+  @Value.Default
+  default boolean triangles()
+  {
+    return true;
+  }
+
+  /**
+   * @return The schemas of metadata that will not be loaded
+   */
+
+  Set<SMFSchemaName> metadataExcluded();
+
+  /**
+   * @param name The attribute name
+   *
+   * @return {@code true} iff the given attribute will be loaded
+   */
+
+  default boolean isAttributeIncluded(
+    final SMFAttributeName name)
+  {
+    if (this.attributesExcluded().contains(name)) {
+      return false;
+    }
+    return this.attributesIncluded()
+      .map(included -> Boolean.valueOf(included.contains(name)))
+      .orElse(Boolean.TRUE)
+      .booleanValue();
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    final long limit = this.preallocationLimit();
+    Preconditions.checkPreconditionL(
+      limit,
+      limit >= 0L,
+      x -> "Preallocation limit must be non-negative");
+
+    this.footprintLimit().ifPresent(footprint -> {
+      Preconditions.checkPreconditionL(
+        footprint,
+        footprint >= 0L,
+        x -> "Footprint limit must be non-negative");
+    });
+  }
+}
@@ -16,32 +16,27 @@
 
 package com.io7m.smfj.processing.api;
 
-import com.io7m.jtensors.core.unparameterized.vectors.Vector2D;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector2L;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector3D;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector4D;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector4L;
 import com.io7m.junreachable.UnreachableCodeException;
 import com.io7m.smfj.core.SMFAttribute;
 import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFHeader;
-import com.io7m.smfj.core.SMFVoid;
 import com.io7m.smfj.serializer.api.SMFSerializerDataAttributesNonInterleavedType;
 import com.io7m.smfj.serializer.api.SMFSerializerDataAttributesValuesType;
 import com.io7m.smfj.serializer.api.SMFSerializerDataTrianglesType;
 import com.io7m.smfj.serializer.api.SMFSerializerType;
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
-import static com.io7m.smfj.core.SMFVoid.void_;
-
 /**
  * A memory mesh serializer.
  */
 
 public final class SMFMemoryMeshSerializer
 {
+  private static final int TRIANGLE_BLOCK_SIZE = 1024;
+
   private SMFMemoryMeshSerializer()
   {
     throw new UnreachableCodeException();
@@ -66,35 +61,71 @@ public final class SMFMemoryMeshSerializer
 
     final SMFHeader header = mesh.header();
     s.serializeHeader(header);
-    serializeNonInterleaved(mesh, s, header);
-    serializeTriangles(mesh, s);
-    serializeMetadata(mesh, s);
+    serializeNonInterleaved(mesh.arrays(), s, header);
+    serializeTriangles(mesh.triangles(), s);
+    serializeMetadata(mesh.metadata(), s);
+  }
+
+  /**
+   * Serialize the given off-heap mesh to the given serializer.
+   *
+   * @param mesh A mesh
+   * @param s    A serializer
+   *
+   * @throws IOException           On I/O errors
+   * @throws IllegalStateException If the mesh has been closed
+   */
+
+  public static void serialize(
+    final SMFMemoryMeshOffHeap mesh,
+    final SMFSerializerType s)
+    throws IOException, IllegalStateException
+  {
+    Objects.requireNonNull(mesh, "Mesh");
+    Objects.requireNonNull(s, "Serial");
+
+    if (mesh.isClosed()) {
+      throw new IllegalStateException("Mesh has been closed");
+    }
+
+    final SMFHeader header = mesh.header();
+    s.serializeHeader(header);
+    serializeNonInterleaved(mesh.arrays(), s, header);
+    serializeTriangles(mesh.triangles(), s);
+    serializeMetadata(mesh.metadata(), s);
   }
 
   private static void serializeMetadata(
-    final SMFMemoryMesh mesh,
+    final List<SMFMetadata> metadata,
     final SMFSerializerType s)
     throws IOException
   {
-    for (final SMFMetadata m : mesh.metadata()) {
+    for (final SMFMetadata m : metadata) {
       s.serializeMetadata(m.schema(), m.data());
     }
   }
 
   private static void serializeTriangles(
-    final SMFMemoryMesh mesh,
+    final SMFTriangleArrayType triangles,
     final SMFSerializerType s)
     throws IOException
   {
     try (SMFSerializerDataTrianglesType st = s.serializeTrianglesStart()) {
-      for (final Vector3L t : mesh.triangles()) {
-        st.serializeTriangle(t.x(), t.y(), t.z());
+      final long size = triangles.triangleCount();
+      final long[] block = new long[TRIANGLE_BLOCK_SIZE * 3];
+      for (long index = 0L; index < size; index += TRIANGLE_BLOCK_SIZE) {
+        final int count =
+          (int) Math.min((long) TRIANGLE_BLOCK_SIZE, size - index);
+        triangles.copyIndices(index, count, block, 0);
+        for (int k = 0; k < count * 3; k += 3) {
+          st.serializeTriangle(block[k], block[k + 1], block[k + 2]);
+        }
       }
     }
   }
 
   private static void serializeNonInterleaved(
-    final SMFMemoryMesh mesh,
+    final Map<SMFAttributeName, SMFAttributeArrayType> arrays,
     final SMFSerializerType s,
     final SMFHeader header)
     throws IOException
@@ -105,155 +136,144 @@ public final class SMFMemoryMeshSerializer
         final SMFAttributeName name = attribute.name();
         try (SMFSerializerDataAttributesValuesType sav =
                sv.serializeData(name)) {
-          final SMFAttributeArrayType array = mesh.arrays().get(name);
-          array.matchArray(
-            sav,
-            SMFMemoryMeshSerializer::serializeFloat4,
-            SMFMemoryMeshSerializer::serializeFloat3,
-            SMFMemoryMeshSerializer::serializeFloat2,
-            SMFMemoryMeshSerializer::serializeFloat1,
-            SMFMemoryMeshSerializer::serializeUnsigned4,
-            SMFMemoryMeshSerializer::serializeUnsigned3,
-            SMFMemoryMeshSerializer::serializeUnsigned2,
-            SMFMemoryMeshSerializer::serializeUnsigned1,
-            SMFMemoryMeshSerializer::serializeSigned4,
-            SMFMemoryMeshSerializer::serializeSigned3,
-            SMFMemoryMeshSerializer::serializeSigned2,
-            SMFMemoryMeshSerializer::serializeSigned1);
+          final SMFAttributeArrayType array = arrays.get(name);
+          serializeValues(sav, SMFAttributeArrayCursor.create(array));
         }
       }
     }
   }
 
-  private static SMFVoid serializeSigned1(
-    final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayIntegerSigned1Type y)
-    throws IOException
-  {
-    for (final Long v : y.values()) {
-      s.serializeValueIntegerSigned1(v.longValue());
-    }
-    return void_();
-  }
-
-  private static SMFVoid serializeSigned2(
-    final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayIntegerSigned2Type y)
-    throws IOException
-  {
-    for (final Vector2L v : y.values()) {
-      s.serializeValueIntegerSigned2(v.x(), v.y());
-    }
-    return void_();
-  }
-
-  private static SMFVoid serializeSigned3(
-    final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayIntegerSigned3Type y)
-    throws IOException
-  {
-    for (final Vector3L v : y.values()) {
-      s.serializeValueIntegerSigned3(v.x(), v.y(), v.z());
-    }
-    return void_();
-  }
-
-  private static SMFVoid serializeSigned4(
+  private static void serializeValues(
     final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayIntegerSigned4Type y)
+    final SMFAttributeArrayCursor c)
     throws IOException
   {
-    for (final Vector4L v : y.values()) {
-      s.serializeValueIntegerSigned4(v.x(), v.y(), v.z(), v.w());
+    switch (c.componentType()) {
+      case ELEMENT_TYPE_FLOATING:
+        serializeFloating(s, c);
+        break;
+      case ELEMENT_TYPE_INTEGER_SIGNED:
+        serializeSigned(s, c);
+        break;
+      case ELEMENT_TYPE_INTEGER_UNSIGNED:
+        serializeUnsigned(s, c);
+        break;
+      default:
+        throw new UnreachableCodeException();
     }
-    return void_();
   }
 
-  private static SMFVoid serializeUnsigned1(
+  private static void serializeFloating(
     final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayIntegerUnsigned1Type y)
+    final SMFAttributeArrayCursor c)
     throws IOException
   {
-    for (final Long v : y.values()) {
-      s.serializeValueIntegerUnsigned1(v.longValue());
-    }
-    return void_();
-  }
-
-  private static SMFVoid serializeUnsigned2(
-    final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayIntegerUnsigned2Type y)
-    throws IOException
-  {
-    for (final Vector2L v : y.values()) {
-      s.serializeValueIntegerUnsigned2(v.x(), v.y());
-    }
-    return void_();
-  }
-
-  private static SMFVoid serializeUnsigned3(
-    final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayIntegerUnsigned3Type y)
-    throws IOException
-  {
-    for (final Vector3L v : y.values()) {
-      s.serializeValueIntegerUnsigned3(v.x(), v.y(), v.z());
-    }
-    return void_();
-  }
-
-  private static SMFVoid serializeUnsigned4(
-    final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayIntegerUnsigned4Type y)
-    throws IOException
-  {
-    for (final Vector4L v : y.values()) {
-      s.serializeValueIntegerUnsigned4(v.x(), v.y(), v.z(), v.w());
-    }
-    return void_();
-  }
-
-  private static SMFVoid serializeFloat1(
-    final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayFloating1Type y)
-    throws IOException
-  {
-    for (final Double v : y.values()) {
-      s.serializeValueFloat1(v.doubleValue());
-    }
-    return void_();
-  }
-
-  private static SMFVoid serializeFloat2(
-    final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayFloating2Type y)
-    throws IOException
-  {
-    for (final Vector2D v : y.values()) {
-      s.serializeValueFloat2(v.x(), v.y());
+    switch (c.componentCount()) {
+      case 1:
+        while (c.next()) {
+          s.serializeValueFloat1(c.getDouble(0));
+        }
+        break;
+      case 2:
+        while (c.next()) {
+          s.serializeValueFloat2(c.getDouble(0), c.getDouble(1));
+        }
+        break;
+      case 3:
+        while (c.next()) {
+          s.serializeValueFloat3(
+            c.getDouble(0),
+            c.getDouble(1),
+            c.getDouble(2));
+        }
+        break;
+      case 4:
+        while (c.next()) {
+          s.serializeValueFloat4(
+            c.getDouble(0),
+            c.getDouble(1),
+            c.getDouble(2),
+            c.getDouble(3));
+        }
+        break;
+      default:
+        throw new UnreachableCodeException();
     }
-    return void_();
   }
 
-  private static SMFVoid serializeFloat3(
+  private static void serializeSigned(
     final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayFloating3Type y)
+    final SMFAttributeArrayCursor c)
     throws IOException
   {
-    for (final Vector3D v : y.values()) {
-      s.serializeValueFloat3(v.x(), v.y(), v.z());
+    switch (c.componentCount()) {
+      case 1:
+        while (c.next()) {
+          s.serializeValueIntegerSigned1(c.getLong(0));
+        }
+        break;
+      case 2:
+        while (c.next()) {
+          s.serializeValueIntegerSigned2(c.getLong(0), c.getLong(1));
+        }
+        break;
+      case 3:
+        while (c.next()) {
+          s.serializeValueIntegerSigned3(
+            c.getLong(0),
+            c.getLong(1),
+            c.getLong(2));
+        }
+        break;
+      case 4:
+        while (c.next()) {
+          s.serializeValueIntegerSigned4(
+            c.getLong(0),
+            c.getLong(1),
+            c.getLong(2),
+            c.getLong(3));
+        }
+        break;
+      default:
+        throw new UnreachableCodeException();
     }
-    return void_();
   }
 
-  private static SMFVoid serializeFloat4(
+  private static void serializeUnsigned(
     final SMFSerializerDataAttributesValuesType s,
-    final SMFAttributeArrayFloating4Type y)
+    final SMFAttributeArrayCursor c)
     throws IOException
   {
-    for (final Vector4D v : y.values()) {
-      s.serializeValueFloat4(v.x(), v.y(), v.z(), v.w());
+    switch (c.componentCount()) {
+      case 1:
+        while (c.next()) {
+          s.serializeValueIntegerUnsigned1(c.getLong(0));
+        }
+        break;
+      case 2:
+        while (c.next()) {
+          s.serializeValueIntegerUnsigned2(c.getLong(0), c.getLong(1));
+        }
+        break;
+      case 3:
+        while (c.next()) {
+          s.serializeValueIntegerUnsigned3(
+            c.getLong(0),
+            c.getLong(1),
+            c.getLong(2));
+        }
+        break;
+      case 4:
+        while (c.next()) {
+          s.serializeValueIntegerUnsigned4(
+            c.getLong(0),
+            c.getLong(1),
+            c.getLong(2),
+            c.getLong(3));
+        }
+        break;
+      default:
+        throw new UnreachableCodeException();
     }
-    return void_();
   }
 }
@@ -17,7 +17,6 @@
 package com.io7m.smfj.processing.api;
 
 import com.io7m.jaffirm.core.Preconditions;
-import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
 import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFHeader;
 import java.util.List;
@@ -26,6 +25,13 @@ import org.immutables.value.Value;
 
 /**
  * An immutable in-memory copy of a mesh.
+ *
+ * <p>Meshes derived from an existing mesh with the generated {@code with}
+ * methods share the unchanged attribute arrays, metadata, and triangles of
+ * the original by reference. Filters that only change the header or the
+ * metadata should use {@link SMFMemoryMesh#withHeader(SMFHeader)} or
+ * {@link SMFMemoryMesh#withMetadata(Iterable)} rather than rebuilding the
+ * mesh with a builder, as the builder copies every collection.</p>
  */
 
 @com.io7m.immutables.styles.ImmutablesStyleType
@@ -58,31 +64,48 @@ public interface SMFMemoryMeshType
    */
 
   @Value.Parameter
-  List<Vector3L> triangles();
+  SMFTriangleArrayType triangles();
 
   /**
-   * Check preconditions for the type.
+   * @return An estimate of the memory footprint of the mesh
+   *
+   * @see SMFMemoryMeshFootprints#ofMesh(SMFMemoryMeshType)
+   */
+
+  default SMFMemoryMeshFootprint footprint()
+  {
+    return SMFMemoryMeshFootprints.ofMesh(this);
+  }
+
+  /**
+   * Check preconditions for the type. The check only compares the element
+   * counts of the triangles and attribute arrays against the header, and
+   * never reads element data. This keeps the cost of deriving a new mesh
+   * from an existing one with the {@code with} methods proportional to the
+   * number of attributes rather than the number of vertices.
    */
 
   @Value.Check
   default void checkPreconditions()
   {
+    final SMFHeader header = this.header();
+
     {
-      final long triSize = (long) this.triangles().size();
-      final long triHCount = this.header().triangles().triangleCount();
+      final long triSize = this.triangles().triangleCount();
+      final long triHCount = header.triangles().triangleCount();
       Preconditions.checkPreconditionL(
         triSize,
         triSize == triHCount,
         x -> "Triangle list size must match header count");
     }
 
-    this.arrays().forEach((name, array) -> {
-      final long arraySize = array.size();
-      final long arrayVCount = this.header().vertexCount();
+    final long arrayVCount = header.vertexCount();
+    for (final SMFAttributeArrayType array : this.arrays().values()) {
+      final long arraySize = array.elementCount();
       Preconditions.checkPreconditionL(
         arraySize,
         arraySize == arrayVCount,
         x -> "Attribute array size must match header count");
-    });
+    }
   }
 }
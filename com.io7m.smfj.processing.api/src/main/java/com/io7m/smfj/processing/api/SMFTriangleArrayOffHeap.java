@@ -0,0 +1,262 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Off-heap triangle storage.
+ *
+ * Vertex indices are stored as {@code t0v0, t0v1, t0v2, t1v0, ...} in a
+ * direct buffer, at the mesh's declared triangle index size and in the given
+ * byte order. Indices are unsigned.
+ */
+
+final class SMFTriangleArrayOffHeap
+  implements SMFTriangleArrayType, SMFMemoryMeshOffHeapBufferType
+{
+  private final int index_size;
+  private final int size;
+  private final List<Vector3L> values;
+  private ByteBuffer buffer;
+
+  private SMFTriangleArrayOffHeap(
+    final ByteBuffer in_buffer,
+    final int in_index_size,
+    final int in_size)
+  {
+    this.buffer = in_buffer;
+    this.index_size = in_index_size;
+    this.size = in_size;
+    this.values = new SMFAttributeArrayView<>(
+      index -> Vector3L.of(this.v0(index), this.v1(index), this.v2(index)),
+      in_size);
+  }
+
+  /**
+   * Allocate storage.
+   *
+   * @param size            The number of triangles
+   * @param index_size_bits The size of each vertex index in bits
+   * @param order           The byte order
+   *
+   * @return New storage with all indices set to zero
+   */
+
+  static SMFTriangleArrayOffHeap allocate(
+    final long size,
+    final int index_size_bits,
+    final ByteOrder order)
+  {
+    Objects.requireNonNull(order, "Order");
+
+    final int octets =
+      SMFMemoryMeshOffHeap.bufferOctets(
+        size, 3, indexSize(index_size_bits));
+    return wrap(
+      ByteBuffer.allocateDirect(octets),
+      size, index_size_bits, order);
+  }
+
+  /**
+   * Create storage over an existing buffer. The buffer is used directly and
+   * is not copied: the storage covers the required number of octets starting
+   * at the buffer's current position.
+   *
+   * @param buffer          The buffer
+   * @param size            The number of triangles
+   * @param index_size_bits The size of each vertex index in bits
+   * @param order           The byte order
+   *
+   * @return New storage over the buffer
+   */
+
+  static SMFTriangleArrayOffHeap wrap(
+    final ByteBuffer buffer,
+    final long size,
+    final int index_size_bits,
+    final ByteOrder order)
+  {
+    Objects.requireNonNull(buffer, "Buffer");
+    Objects.requireNonNull(order, "Order");
+
+    final int index_size = indexSize(index_size_bits);
+    final int octets =
+      SMFMemoryMeshOffHeap.bufferOctets(size, 3, index_size);
+    if (buffer.remaining() < octets) {
+      throw new IllegalArgumentException(String.format(
+        "Buffer holds %d octets but %d octets are required",
+        Integer.valueOf(buffer.remaining()),
+        Integer.valueOf(octets)));
+    }
+    return new SMFTriangleArrayOffHeap(
+      buffer.slice(buffer.position(), octets).order(order),
+      index_size,
+      (int) size);
+  }
+
+  private static int indexSize(
+    final int size_bits)
+  {
+    switch (size_bits) {
+      case 8:
+      case 16:
+      case 32:
+      case 64:
+        return size_bits / 8;
+      default:
+        throw new IllegalArgumentException(String.format(
+          "Unsupported triangle index size: %d",
+          Integer.valueOf(size_bits)));
+    }
+  }
+
+  private ByteBuffer buffer()
+  {
+    final ByteBuffer b = this.buffer;
+    if (b == null) {
+      throw new IllegalStateException("Storage has been closed");
+    }
+    return b;
+  }
+
+  private long get(
+    final long index,
+    final int vertex)
+  {
+    final ByteBuffer b = this.buffer();
+    Objects.checkIndex(index, (long) this.size);
+    final int offset = (((int) index * 3) + vertex) * this.index_size;
+    switch (this.index_size) {
+      case 1:
+        return Byte.toUnsignedLong(b.get(offset));
+      case 2:
+        return Short.toUnsignedLong(b.getShort(offset));
+      case 4:
+        return Integer.toUnsignedLong(b.getInt(offset));
+      default:
+        return b.getLong(offset);
+    }
+  }
+
+  private void put(
+    final ByteBuffer b,
+    final int offset,
+    final long value)
+  {
+    switch (this.index_size) {
+      case 1:
+        b.put(offset, (byte) value);
+        break;
+      case 2:
+        b.putShort(offset, (short) value);
+        break;
+      case 4:
+        b.putInt(offset, (int) value);
+        break;
+      default:
+        b.putLong(offset, value);
+        break;
+    }
+  }
+
+  /**
+   * Set the triangle at the given index.
+   *
+   * @param index The triangle index
+   * @param v0    The first vertex index
+   * @param v1    The second vertex index
+   * @param v2    The third vertex index
+   */
+
+  void put(
+    final long index,
+    final long v0,
+    final long v1,
+    final long v2)
+  {
+    final ByteBuffer b = this.buffer();
+    Objects.checkIndex(index, (long) this.size);
+    final int offset = (int) index * 3 * this.index_size;
+    this.put(b, offset, v0);
+    this.put(b, offset + this.index_size, v1);
+    this.put(b, offset + (this.index_size * 2), v2);
+  }
+
+  @Override
+  public long triangleCount()
+  {
+    return (long) this.size;
+  }
+
+  @Override
+  public long v0(
+    final long index)
+  {
+    return this.get(index, 0);
+  }
+
+  @Override
+  public long v1(
+    final long index)
+  {
+    return this.get(index, 1);
+  }
+
+  @Override
+  public long v2(
+    final long index)
+  {
+    return this.get(index, 2);
+  }
+
+  @Override
+  public List<Vector3L> values()
+  {
+    return this.values;
+  }
+
+  @Override
+  public long sizeOctets()
+  {
+    return (long) this.size * (long) (3 * this.index_size);
+  }
+
+  @Override
+  public long footprintOctets()
+  {
+    return this.sizeOctets();
+  }
+
+  @Override
+  public ByteBuffer view()
+  {
+    final ByteBuffer b = this.buffer();
+    return b.asReadOnlyBuffer().order(b.order());
+  }
+
+  @Override
+  public void close()
+  {
+    this.buffer = null;
+  }
+}
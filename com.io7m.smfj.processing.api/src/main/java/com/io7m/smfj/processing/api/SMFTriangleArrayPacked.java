@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A triangle array backed by packed primitive storage rather than a list of
+ * boxed vectors. Vertex indices are held in the narrowest unsigned width that
+ * can represent every index, which is never wider than the mesh's declared
+ * triangle index size. The {@link #values()} list is a read-only view that
+ * constructs triangles on demand.
+ */
+
+public final class SMFTriangleArrayPacked implements SMFTriangleArrayType
+{
+  private final SMFAttributeArrayIntegerStorageType storage;
+  private final List<Vector3L> values;
+
+  SMFTriangleArrayPacked(
+    final SMFAttributeArrayIntegerStorageType in_storage)
+  {
+    this.storage = Objects.requireNonNull(in_storage, "Storage");
+    this.values = new SMFAttributeArrayView<>(
+      index -> Vector3L.of(this.v0(index), this.v1(index), this.v2(index)),
+      SMFAttributeArrayView.saturate(this.storage.size()));
+  }
+
+  /**
+   * Create an array from the given vertex indices. The indices are given in
+   * triangle order as {@code v0, v1, v2, v0, ...}, are treated as unsigned,
+   * and are copied.
+   *
+   * @param indices The vertex indices
+   *
+   * @return A new array
+   */
+
+  public static SMFTriangleArrayPacked of(
+    final long[] indices)
+  {
+    Objects.requireNonNull(indices, "Indices");
+
+    final SMFChunkedLongArray chunked = new SMFChunkedLongArray();
+    for (int index = 0; index < indices.length; ++index) {
+      chunked.add(indices[index]);
+    }
+    return new SMFTriangleArrayPacked(
+      SMFAttributeArrayIntegerStorage.packUnsigned(chunked, 3));
+  }
+
+  /**
+   * @return An array with no triangles
+   */
+
+  public static SMFTriangleArrayPacked empty()
+  {
+    return of(new long[0]);
+  }
+
+  /**
+   * @return The number of bytes used to hold the vertex indices
+   */
+
+  public long sizeOctets()
+  {
+    return this.storage.sizeOctets();
+  }
+
+  @Override
+  public long footprintOctets()
+  {
+    return this.storage.sizeOctets();
+  }
+
+  @Override
+  public long triangleCount()
+  {
+    return this.storage.size();
+  }
+
+  @Override
+  public long v0(
+    final long index)
+  {
+    return this.storage.get(index, 0);
+  }
+
+  @Override
+  public long v1(
+    final long index)
+  {
+    return this.storage.get(index, 1);
+  }
+
+  @Override
+  public long v2(
+    final long index)
+  {
+    return this.storage.get(index, 2);
+  }
+
+  @Override
+  public void copyIndices(
+    final long index,
+    final int count,
+    final long[] output,
+    final int output_offset)
+  {
+    this.storage.copy(index, count, output, output_offset);
+  }
+
+  @Override
+  public List<Vector3L> values()
+  {
+    return this.values;
+  }
+
+  @Override
+  public boolean equals(
+    final Object other)
+  {
+    if (this == other) {
+      return true;
+    }
+    if (other instanceof SMFTriangleArrayPacked) {
+      final SMFTriangleArrayPacked other_packed =
+        (SMFTriangleArrayPacked) other;
+      return this.storage.sameValues(other_packed.storage);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return this.storage.valuesHashCode();
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format(
+      "SMFTriangleArrayPacked{size=%d}",
+      Long.valueOf(this.triangleCount()));
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.processing.api;
+
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
+import java.util.List;
+
+/**
+ * The type of triangle arrays.
+ */
+
+public interface SMFTriangleArrayType
+{
+  /**
+   * @return The number of triangles
+   */
+
+  long triangleCount();
+
+  /**
+   * An estimate of the number of octets of memory retained by the triangle
+   * data. The default implementation assumes that triangles are held as a
+   * list of boxed vectors.
+   *
+   * @return The estimated number of octets retained by the triangles
+   */
+
+  default long footprintOctets()
+  {
+    return SMFMemoryMeshFootprints.listOctets(this.triangleCount(), 3);
+  }
+
+  /**
+   * @param index The triangle index
+   *
+   * @return The first vertex index of the triangle at {@code index}
+   */
+
+  long v0(long index);
+
+  /**
+   * @param index The triangle index
+   *
+   * @return The second vertex index of the triangle at {@code index}
+   */
+
+  long v1(long index);
+
+  /**
+   * @param index The triangle index
+   *
+   * @return The third vertex index of the triangle at {@code index}
+   */
+
+  long v2(long index);
+
+  /**
+   * Copy the vertex indices of {@code count} consecutive triangles, starting
+   * at triangle {@code index}, into {@code output} in the order
+   * {@code v0, v1, v2, v0, ...}. This is typically much cheaper than calling
+   * {@link #v0(long)}, {@link #v1(long)}, and {@link #v2(long)} for each
+   * triangle.
+   *
+   * @param index         The first triangle index
+   * @param count         The number of triangles
+   * @param output        The output array
+   * @param output_offset The offset of the first vertex index in
+   *                      {@code output}
+   */
+
+  default void copyIndices(
+    final long index,
+    final int count,
+    final long[] output,
+    final int output_offset)
+  {
+    int target = output_offset;
+    for (int triangle = 0; triangle < count; ++triangle) {
+      final long current = index + (long) triangle;
+      output[target] = this.v0(current);
+      output[target + 1] = this.v1(current);
+      output[target + 2] = this.v2(current);
+      target += 3;
+    }
+  }
+
+  /**
+   * @return A read-only view of the triangles, covering at most the first
+   * {@link Integer#MAX_VALUE} triangles
+   */
+
+  List<Vector3L> values();
+}
@@ -17,12 +17,18 @@
 package com.io7m.smfj.processing.main;
 
 import com.io7m.junreachable.UnreachableCodeException;
+import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFPartialLogged;
 import com.io7m.smfj.core.SMFSchemaIdentifier;
 import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshPart;
 import com.io7m.smfj.processing.api.SMFMetadata;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -30,10 +36,12 @@ import java.net.URI;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,7 +52,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterApplicationInfoAdd
-  implements SMFMemoryMeshFilterType
+  implements SMFMemoryMeshFilterStreamingType
 {
   private static final Logger LOG =
     LoggerFactory.getLogger(SMFMemoryMeshFilterApplicationInfoAdd.class);
@@ -137,6 +145,32 @@ public final class SMFMemoryMeshFilterApplicationInfoAdd
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
 
+    final var newMeta = new ArrayList<SMFMetadata>(m.metadata().size() + 1);
+    newMeta.addAll(m.metadata());
+    newMeta.add(applicationInfo());
+    return SMFPartialLogged.succeeded(m.withMetadata(newMeta));
+  }
+
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected List<SMFMetadata> metadataAdded()
+      {
+        return List.of(applicationInfo());
+      }
+    };
+  }
+
+  private static SMFMetadata applicationInfo()
+  {
     final ZonedDateTime time =
       ZonedDateTime.now(ZoneId.of("UTC"));
     final String time_text =
@@ -150,20 +184,36 @@ public final class SMFMemoryMeshFilterApplicationInfoAdd
       props.setProperty("smf.version", version());
       props.store(out, null);
 
-      final SMFMetadata appinfo =
-        SMFMetadata.of(
-          SMFSchemaIdentifier.of(
-            SMFSchemaName.of("com.io7m.smf.application"),
-            1,
-            0),
-          out.toByteArray());
-
-      final SMFMemoryMesh.Builder builder = SMFMemoryMesh.builder();
-      builder.from(m);
-      builder.addMetadata(appinfo);
-      return SMFPartialLogged.succeeded(builder.build());
+      return SMFMetadata.of(
+        SMFSchemaIdentifier.of(
+          SMFSchemaName.of("com.io7m.smf.application"),
+          1,
+          0),
+        out.toByteArray());
     } catch (final IOException e) {
       throw new UnreachableCodeException();
     }
   }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    return Objects.requireNonNull(required, "Required");
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    /*
+     * Metadata is written in order, so the filter reads the metadata it
+     * writes.
+     */
+
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addPartsRead(SMFMemoryMeshPart.METADATA)
+        .addPartsWritten(SMFMemoryMeshPart.METADATA)
+        .build());
+  }
 }
@@ -19,17 +19,23 @@ package com.io7m.smfj.processing.main;
 import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFAttributeArrayType;
 import com.io7m.smfj.processing.api.SMFFilterCommandChecks;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
 import com.io7m.smfj.processing.api.SMFProcessingError;
 import java.net.URI;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpectedGotValidation;
@@ -39,7 +45,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterAttributeRemove implements
-  SMFMemoryMeshFilterType
+  SMFMemoryMeshFilterStreamingType
 {
   /**
    * The command name.
@@ -125,29 +131,59 @@ public final class SMFMemoryMeshFilterAttributeRemove implements
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
 
+    return this.filterHeader(m.header()).map(newHeader -> {
+
+      /*
+       * Filter the array from the existing arrays.
+       */
+
+      final Map<SMFAttributeName, SMFAttributeArrayType> newArrays =
+        m.arrays()
+          .entrySet()
+          .stream()
+          .filter(e -> !Objects.equals(e.getKey(), this.source))
+          .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+      return SMFMemoryMesh.builder()
+        .from(m)
+        .setHeader(newHeader)
+        .setArrays(newArrays)
+        .build();
+    });
+  }
+
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected SMFPartialLogged<SMFHeader> filterHeader(
+        final SMFHeader in_header)
+      {
+        return SMFMemoryMeshFilterAttributeRemove.this.filterHeader(in_header);
+      }
+    };
+  }
+
+  private SMFPartialLogged<SMFHeader> filterHeader(
+    final SMFHeader origHeader)
+  {
     final List<SMFProcessingError> errors =
       SMFFilterCommandChecks.checkAttributeExists(
         List.of(),
-        m.header().attributesByName(),
+        origHeader.attributesByName(),
         this.source);
 
     if (!errors.isEmpty()) {
       return SMFPartialLogged.failed(errors);
     }
 
-    /*
-     * Filter the array from the existing arrays.
-     */
-
-    final Map<SMFAttributeName, SMFAttributeArrayType> newArrays =
-      m.arrays()
-        .entrySet()
-        .stream()
-        .filter(e -> !Objects.equals(e.getKey(), this.source))
-        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-    final SMFHeader origHeader = m.header();
-
     /*
      * Filter the attribute from the existing attributes.
      */
@@ -158,14 +194,28 @@ public final class SMFMemoryMeshFilterAttributeRemove implements
         .filter(attr -> !Objects.equals(attr.name(), this.source))
         .collect(Collectors.toList());
 
-    final SMFHeader newHeader =
-      origHeader.withAttributesInOrder(newAttributes);
-
     return SMFPartialLogged.succeeded(
-      SMFMemoryMesh.builder()
-        .from(m)
-        .setHeader(newHeader)
-        .setArrays(newArrays)
+      origHeader.withAttributesInOrder(newAttributes));
+  }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    Objects.requireNonNull(required, "Required");
+    return required.map(names -> {
+      final Set<SMFAttributeName> result = new HashSet<>(names);
+      result.add(this.source);
+      return Set.copyOf(result);
+    });
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addAttributesRemoved(this.source)
         .build());
   }
 }
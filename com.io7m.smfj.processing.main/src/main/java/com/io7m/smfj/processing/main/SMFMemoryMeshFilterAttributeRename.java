@@ -21,17 +21,22 @@ import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFErrorType;
 import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFAttributeArrayType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.stream.Collectors;
 
@@ -44,7 +49,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterAttributeRename implements
-  SMFMemoryMeshFilterType
+  SMFMemoryMeshFilterStreamingType
 {
   /**
    * The command name.
@@ -136,8 +141,58 @@ public final class SMFMemoryMeshFilterAttributeRename implements
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
 
+    return this.filterHeader(m.header()).map(new_header -> {
+
+      /*
+       * Rename array.
+       */
+
+      final HashMap<SMFAttributeName, SMFAttributeArrayType> newArrays =
+        new HashMap<>(m.arrays());
+
+      final var array = newArrays.get(this.source);
+      newArrays.remove(this.source);
+      newArrays.put(this.target, array);
+
+      return SMFMemoryMesh.builder()
+        .from(m)
+        .setHeader(new_header)
+        .setArrays(newArrays)
+        .build();
+    });
+  }
+
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected SMFPartialLogged<SMFHeader> filterHeader(
+        final SMFHeader in_header)
+      {
+        return SMFMemoryMeshFilterAttributeRename.this.filterHeader(in_header);
+      }
+
+      @Override
+      protected SMFAttributeName filterAttributeName(
+        final SMFAttributeName name)
+      {
+        return SMFMemoryMeshFilterAttributeRename.this.replaceName(name);
+      }
+    };
+  }
+
+  private SMFPartialLogged<SMFHeader> filterHeader(
+    final SMFHeader orig_header)
+  {
     final SortedMap<SMFAttributeName, SMFAttribute> by_name =
-      m.header().attributesByName();
+      orig_header.attributesByName();
 
     /*
      * Check the source attribute exists, and check that no attribute
@@ -152,20 +207,6 @@ public final class SMFMemoryMeshFilterAttributeRename implements
       return SMFPartialLogged.failed(errors);
     }
 
-    final Map<SMFAttributeName, SMFAttributeArrayType> arrays = m.arrays();
-    final SMFHeader orig_header = m.header();
-
-    /*
-     * Rename array.
-     */
-
-    final HashMap<SMFAttributeName, SMFAttributeArrayType> newArrays =
-      new HashMap<>(arrays);
-
-    final var array = newArrays.get(this.source);
-    newArrays.remove(this.source);
-    newArrays.put(this.target, array);
-
     /*
      * Rename attribute.
      */
@@ -176,15 +217,17 @@ public final class SMFMemoryMeshFilterAttributeRename implements
         .map(this::replaceAttribute)
         .collect(Collectors.toList());
 
-    final SMFHeader new_header =
-      orig_header.withAttributesInOrder(newAttributes);
-
     return SMFPartialLogged.succeeded(
-      SMFMemoryMesh.builder()
-        .from(m)
-        .setHeader(new_header)
-        .setArrays(newArrays)
-        .build());
+      orig_header.withAttributesInOrder(newAttributes));
+  }
+
+  private SMFAttributeName replaceName(
+    final SMFAttributeName name)
+  {
+    if (Objects.equals(name, this.source)) {
+      return this.target;
+    }
+    return name;
   }
 
   private SMFAttribute replaceAttribute(
@@ -195,4 +238,28 @@ public final class SMFMemoryMeshFilterAttributeRename implements
     }
     return attr;
   }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    Objects.requireNonNull(required, "Required");
+    return required.map(names -> {
+      final Set<SMFAttributeName> result = new HashSet<>(names);
+      result.add(this.source);
+      result.add(this.target);
+      return Set.copyOf(result);
+    });
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addAttributesRead(this.source, this.target)
+        .addAttributesRemoved(this.source)
+        .addAttributesAdded(this.target)
+        .build());
+  }
 }
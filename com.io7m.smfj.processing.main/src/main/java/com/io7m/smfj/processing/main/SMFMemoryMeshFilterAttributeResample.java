@@ -20,15 +20,21 @@ import com.io7m.smfj.core.SMFAttribute;
 import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
 import com.io7m.smfj.processing.api.SMFProcessingError;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.stream.Collectors;
 
@@ -40,7 +46,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterAttributeResample implements
-  SMFMemoryMeshFilterType
+  SMFMemoryMeshFilterStreamingType
 {
   /**
    * The command name.
@@ -132,10 +138,34 @@ public final class SMFMemoryMeshFilterAttributeResample implements
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
 
-    final SMFHeader header = m.header();
+    return this.filterHeader(m.header()).map(m::withHeader);
+  }
 
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected SMFPartialLogged<SMFHeader> filterHeader(
+        final SMFHeader in_header)
+      {
+        return SMFMemoryMeshFilterAttributeResample.this.filterHeader(
+          in_header);
+      }
+    };
+  }
+
+  private SMFPartialLogged<SMFHeader> filterHeader(
+    final SMFHeader header)
+  {
     final SortedMap<SMFAttributeName, SMFAttribute> by_name =
-      m.header().attributesByName();
+      header.attributesByName();
 
     final var errors =
       new ArrayList<>(checkAttributeExists(List.of(), by_name, this.attribute));
@@ -153,14 +183,8 @@ public final class SMFMemoryMeshFilterAttributeResample implements
                    replaceExistingWithResampled(original, resampled, existing))
             .collect(Collectors.toList());
 
-        final SMFHeader new_header =
-          header.withAttributesInOrder(newAttributes);
-
         return SMFPartialLogged.succeeded(
-          SMFMemoryMesh.builder()
-            .from(m)
-            .setHeader(new_header)
-            .build());
+          header.withAttributesInOrder(newAttributes));
       } catch (final UnsupportedOperationException e) {
         errors.add(SMFProcessingError.of(e.getMessage(), Optional.of(e)));
       }
@@ -179,4 +203,26 @@ public final class SMFMemoryMeshFilterAttributeResample implements
     }
     return existing;
   }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    Objects.requireNonNull(required, "Required");
+    return required.map(names -> {
+      final Set<SMFAttributeName> result = new HashSet<>(names);
+      result.add(this.attribute);
+      return Set.copyOf(result);
+    });
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addAttributesRead(this.attribute)
+        .addAttributesModified(this.attribute)
+        .build());
+  }
 }
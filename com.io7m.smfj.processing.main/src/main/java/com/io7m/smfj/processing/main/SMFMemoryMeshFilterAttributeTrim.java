@@ -20,9 +20,12 @@ import com.io7m.smfj.core.SMFAttribute;
 import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFAttributeArrayType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
 import com.io7m.smfj.processing.api.SMFProcessingError;
 import java.net.URI;
@@ -44,7 +47,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterAttributeTrim
-  implements SMFMemoryMeshFilterType
+  implements SMFMemoryMeshFilterStreamingType
 {
   /**
    * The command name.
@@ -133,10 +136,46 @@ public final class SMFMemoryMeshFilterAttributeTrim
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
 
-    final SMFHeader header = m.header();
+    return this.filterHeader(m.header()).map(new_header -> {
+      final Map<SMFAttributeName, SMFAttributeArrayType> new_arrays =
+        m.arrays()
+          .entrySet()
+          .stream()
+          .filter(p -> this.attributes.contains(p.getKey()))
+          .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+      return SMFMemoryMesh.builder()
+        .from(m)
+        .setArrays(new_arrays)
+        .setHeader(new_header)
+        .build();
+    });
+  }
 
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected SMFPartialLogged<SMFHeader> filterHeader(
+        final SMFHeader in_header)
+      {
+        return SMFMemoryMeshFilterAttributeTrim.this.filterHeader(in_header);
+      }
+    };
+  }
+
+  private SMFPartialLogged<SMFHeader> filterHeader(
+    final SMFHeader header)
+  {
     final SortedMap<SMFAttributeName, SMFAttribute> by_name =
-      m.header().attributesByName();
+      header.attributesByName();
 
     List<SMFProcessingError> errors = new ArrayList<>();
     for (final SMFAttributeName name : this.attributes) {
@@ -150,23 +189,18 @@ public final class SMFMemoryMeshFilterAttributeTrim
           .filter(a -> this.attributes.contains(a.name()))
           .collect(Collectors.toList());
 
-      final Map<SMFAttributeName, SMFAttributeArrayType> new_arrays =
-        m.arrays()
-          .entrySet()
-          .stream()
-          .filter(p -> this.attributes.contains(p.getKey()))
-          .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-      final SMFHeader new_header =
-        header.withAttributesInOrder(new_by_order);
       return SMFPartialLogged.succeeded(
-        SMFMemoryMesh.builder()
-          .from(m)
-          .setArrays(new_arrays)
-          .setHeader(new_header)
-          .build());
+        header.withAttributesInOrder(new_by_order));
     }
 
     return SMFPartialLogged.failed(errors);
   }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    Objects.requireNonNull(required, "Required");
+    return Optional.of(this.attributes);
+  }
 }
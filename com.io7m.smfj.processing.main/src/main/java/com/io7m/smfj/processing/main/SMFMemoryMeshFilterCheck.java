@@ -19,17 +19,24 @@ package com.io7m.smfj.processing.main;
 import com.io7m.smfj.core.SMFAttribute;
 import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFComponentType;
+import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
 import com.io7m.smfj.processing.api.SMFProcessingError;
 import java.net.URI;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 
 import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpectedGotValidation;
 
@@ -38,7 +45,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterCheck implements
-  SMFMemoryMeshFilterType
+  SMFMemoryMeshFilterStreamingType
 {
   /**
    * The command name.
@@ -156,8 +163,33 @@ public final class SMFMemoryMeshFilterCheck implements
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
 
+    return this.filterHeader(m.header()).map(ignored -> m);
+  }
+
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected SMFPartialLogged<SMFHeader> filterHeader(
+        final SMFHeader in_header)
+      {
+        return SMFMemoryMeshFilterCheck.this.filterHeader(in_header);
+      }
+    };
+  }
+
+  private SMFPartialLogged<SMFHeader> filterHeader(
+    final SMFHeader header)
+  {
     final Map<SMFAttributeName, SMFAttribute> by_name =
-      m.header().attributesByName();
+      header.attributesByName();
 
     if (by_name.containsKey(this.config.name())) {
       final SMFAttribute attr = by_name.get(this.config.name());
@@ -176,7 +208,7 @@ public final class SMFMemoryMeshFilterCheck implements
       }
 
       if (size_ok && count_ok && type_ok) {
-        return SMFPartialLogged.succeeded(m);
+        return SMFPartialLogged.succeeded(header);
       }
 
       final List<SMFProcessingError> errors =
@@ -229,4 +261,24 @@ public final class SMFMemoryMeshFilterCheck implements
     return List.of(SMFProcessingError.of(sb.toString(), Optional.empty()));
   }
 
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    Objects.requireNonNull(required, "Required");
+    return required.map(names -> {
+      final Set<SMFAttributeName> result = new HashSet<>(names);
+      result.add(this.config.name());
+      return Set.copyOf(result);
+    });
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addAttributesRead(this.config.name())
+        .build());
+  }
 }
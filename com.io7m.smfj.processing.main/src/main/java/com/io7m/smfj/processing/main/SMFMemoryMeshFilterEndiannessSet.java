@@ -16,15 +16,23 @@
 
 package com.io7m.smfj.processing.main;
 
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshPart;
 import java.net.URI;
 import java.nio.ByteOrder;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpectedGotValidation;
 
@@ -33,7 +41,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterEndiannessSet
-  implements SMFMemoryMeshFilterType
+  implements SMFMemoryMeshFilterStreamingType
 {
   /**
    * The command name.
@@ -131,7 +139,49 @@ public final class SMFMemoryMeshFilterEndiannessSet
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
 
-    final var newHeader = m.header().withDataByteOrder(this.byteOrder);
-    return SMFPartialLogged.succeeded(m.withHeader(newHeader));
+    return this.filterHeader(m.header()).map(m::withHeader);
+  }
+
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected SMFPartialLogged<SMFHeader> filterHeader(
+        final SMFHeader in_header)
+      {
+        return SMFMemoryMeshFilterEndiannessSet.this.filterHeader(in_header);
+      }
+    };
+  }
+
+  private SMFPartialLogged<SMFHeader> filterHeader(
+    final SMFHeader header)
+  {
+    return SMFPartialLogged.succeeded(header.withDataByteOrder(this.byteOrder));
+  }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    return Objects.requireNonNull(required, "Required");
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addPartsWritten(SMFMemoryMeshPart.BYTE_ORDER)
+        .addPartsReplaced(SMFMemoryMeshPart.BYTE_ORDER)
+        .setCanFail(false)
+        .build());
   }
 }
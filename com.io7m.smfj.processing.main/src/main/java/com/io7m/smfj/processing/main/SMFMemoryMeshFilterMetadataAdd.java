@@ -16,12 +16,19 @@
 
 package com.io7m.smfj.processing.main;
 
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
 import com.io7m.smfj.core.SMFSchemaIdentifier;
 import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshPart;
 import com.io7m.smfj.processing.api.SMFMetadata;
 import com.io7m.smfj.processing.api.SMFProcessingError;
 import java.io.IOException;
@@ -34,6 +41,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,7 +52,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterMetadataAdd
-  implements SMFMemoryMeshFilterType
+  implements SMFMemoryMeshFilterStreamingType
 {
   /**
    * The command name.
@@ -148,24 +156,85 @@ public final class SMFMemoryMeshFilterMetadataAdd
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
 
+    return this.load(context).map(meta -> {
+      final var newMeta = new ArrayList<>(m.metadata());
+      newMeta.add(meta);
+      return m.withMetadata(newMeta);
+    });
+  }
+
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      private SMFMetadata meta;
+
+      /*
+       * The metadata file is read when the header arrives so that a missing
+       * file is reported before any data has been delivered.
+       */
+
+      @Override
+      protected SMFPartialLogged<SMFHeader> filterHeader(
+        final SMFHeader in_header)
+      {
+        final SMFPartialLogged<SMFMetadata> result =
+          SMFMemoryMeshFilterMetadataAdd.this.load(context);
+        if (result.isFailed()) {
+          return SMFPartialLogged.failed(result.errors(), result.warnings());
+        }
+        this.meta = result.get();
+        return SMFPartialLogged.succeeded(in_header);
+      }
+
+      @Override
+      protected List<SMFMetadata> metadataAdded()
+      {
+        return List.of(this.meta);
+      }
+    };
+  }
+
+  private SMFPartialLogged<SMFMetadata> load(
+    final SMFFilterCommandContext context)
+  {
     final Path file = context.resolvePath(this.meta_file);
     LOG.debug("resolved metadata file: {}", file);
 
     try (InputStream stream = Files.newInputStream(file)) {
       final byte[] data = stream.readAllBytes();
-      final SMFMetadata meta = SMFMetadata.of(this.schema_id, data);
-
-      final var newMeta = new ArrayList<>(m.metadata());
-      newMeta.add(meta);
-
-      return SMFPartialLogged.succeeded(
-        SMFMemoryMesh.builder()
-          .from(m)
-          .setMetadata(newMeta)
-          .build());
+      return SMFPartialLogged.succeeded(SMFMetadata.of(this.schema_id, data));
     } catch (final IOException e) {
       return SMFPartialLogged.failed(
         SMFProcessingError.of(e.getMessage(), Optional.of(e)));
     }
   }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    return Objects.requireNonNull(required, "Required");
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    /*
+     * Metadata is written in order, so the filter reads the metadata it
+     * writes.
+     */
+
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addPartsRead(SMFMemoryMeshPart.METADATA)
+        .addPartsWritten(SMFMemoryMeshPart.METADATA)
+        .build());
+  }
 }
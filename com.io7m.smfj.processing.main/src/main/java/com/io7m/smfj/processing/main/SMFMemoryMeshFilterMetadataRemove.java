@@ -16,12 +16,19 @@
 
 package com.io7m.smfj.processing.main;
 
+import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
 import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
-import com.io7m.smfj.processing.api.SMFMetadata;
+import com.io7m.smfj.processing.api.SMFMemoryMeshPart;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,7 +45,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterMetadataRemove
-  implements SMFMemoryMeshFilterType
+  implements SMFMemoryMeshFilterStreamingType
 {
   /**
    * The command name.
@@ -182,29 +189,44 @@ public final class SMFMemoryMeshFilterMetadataRemove
     final var filteredMeta =
       m.metadata()
         .stream()
-        .filter(this::shouldPreserve)
+        .filter(meta -> this.shouldPreserve(meta.schema()))
         .collect(Collectors.toList());
 
-    return SMFPartialLogged.succeeded(
-      SMFMemoryMesh.builder()
-        .from(m)
-        .setMetadata(filteredMeta)
-        .build());
+    return SMFPartialLogged.succeeded(m.withMetadata(filteredMeta));
   }
 
-  private boolean shouldPreserve(final SMFMetadata meta)
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected boolean filterMetadata(
+        final SMFSchemaIdentifier schema)
+      {
+        return SMFMemoryMeshFilterMetadataRemove.this.shouldPreserve(schema);
+      }
+    };
+  }
+
+  private boolean shouldPreserve(final SMFSchemaIdentifier schema)
   {
     final boolean version_matches;
     final boolean schema_matches;
 
     if (this.name.isPresent()) {
       final SMFSchemaName s = this.name.get();
-      schema_matches = Objects.equals(meta.schema().name(), s);
+      schema_matches = Objects.equals(schema.name(), s);
       if (this.version.isPresent()) {
         final Version v = this.version.get();
         version_matches =
-          v.major == meta.schema().versionMajor()
-            && v.minor == meta.schema().versionMinor();
+          v.major == schema.versionMajor()
+            && v.minor == schema.versionMinor();
       } else {
         version_matches = true;
       }
@@ -219,12 +241,12 @@ public final class SMFMemoryMeshFilterMetadataRemove
         LOG.debug(
           "removing matched {} -> {}",
           this.matchString(),
-          meta.schema().toHumanString());
+          schema.toHumanString());
       } else {
         LOG.debug(
           "preserving unmatched {} -> {}",
           this.matchString(),
-          meta.schema().toHumanString());
+          schema.toHumanString());
       }
     }
 
@@ -249,4 +271,26 @@ public final class SMFMemoryMeshFilterMetadataRemove
     }
     return sb.toString();
   }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    return Objects.requireNonNull(required, "Required");
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    /*
+     * Metadata is written in order, so the filter reads the metadata it
+     * writes.
+     */
+
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addPartsRead(SMFMemoryMeshPart.METADATA)
+        .addPartsWritten(SMFMemoryMeshPart.METADATA)
+        .build());
+  }
 }
@@ -16,17 +16,25 @@
 
 package com.io7m.smfj.processing.main;
 
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
 import com.io7m.smfj.core.SMFSchemaIdentifier;
 import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshPart;
 import com.io7m.smfj.processing.api.SMFProcessingError;
 import java.net.URI;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpectedGotValidation;
 
@@ -35,7 +43,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterSchemaCheck
-  implements SMFMemoryMeshFilterType
+  implements SMFMemoryMeshFilterStreamingType
 {
   /**
    * The command name.
@@ -128,12 +136,37 @@ public final class SMFMemoryMeshFilterSchemaCheck
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
 
+    return this.filterHeader(m.header()).map(ignored -> m);
+  }
+
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected SMFPartialLogged<SMFHeader> filterHeader(
+        final SMFHeader in_header)
+      {
+        return SMFMemoryMeshFilterSchemaCheck.this.filterHeader(in_header);
+      }
+    };
+  }
+
+  private SMFPartialLogged<SMFHeader> filterHeader(
+    final SMFHeader header)
+  {
     final Optional<SMFSchemaIdentifier> received_opt =
-      m.header().schemaIdentifier();
+      header.schemaIdentifier();
     if (received_opt.isPresent()) {
       final SMFSchemaIdentifier received = received_opt.get();
       if (Objects.equals(received, this.config)) {
-        return SMFPartialLogged.succeeded(m);
+        return SMFPartialLogged.succeeded(header);
       }
     }
 
@@ -155,4 +188,20 @@ public final class SMFMemoryMeshFilterSchemaCheck
     return SMFPartialLogged.failed(
       SMFProcessingError.of(sb.toString(), Optional.empty()));
   }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    return Objects.requireNonNull(required, "Required");
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addPartsRead(SMFMemoryMeshPart.SCHEMA_IDENTIFIER)
+        .build());
+  }
 }
@@ -16,24 +16,32 @@
 
 package com.io7m.smfj.processing.main;
 
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
 import com.io7m.smfj.core.SMFSchemaIdentifier;
 import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFFilterCommandParsing;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshPart;
 import java.net.URI;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * A filter that checks the existence and type of an attribute.
  */
 
 public final class SMFMemoryMeshFilterSchemaSet implements
-  SMFMemoryMeshFilterType
+  SMFMemoryMeshFilterStreamingType
 {
   /**
    * The command name.
@@ -128,7 +136,50 @@ public final class SMFMemoryMeshFilterSchemaSet implements
   {
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
-    return SMFPartialLogged.succeeded(m.withHeader(m.header().withSchemaIdentifier(
-      this.config)));
+
+    return this.filterHeader(m.header()).map(m::withHeader);
+  }
+
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected SMFPartialLogged<SMFHeader> filterHeader(
+        final SMFHeader in_header)
+      {
+        return SMFMemoryMeshFilterSchemaSet.this.filterHeader(in_header);
+      }
+    };
+  }
+
+  private SMFPartialLogged<SMFHeader> filterHeader(
+    final SMFHeader header)
+  {
+    return SMFPartialLogged.succeeded(header.withSchemaIdentifier(this.config));
+  }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    return Objects.requireNonNull(required, "Required");
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addPartsWritten(SMFMemoryMeshPart.SCHEMA_IDENTIFIER)
+        .addPartsReplaced(SMFMemoryMeshPart.SCHEMA_IDENTIFIER)
+        .setCanFail(false)
+        .build());
   }
 }
@@ -18,8 +18,11 @@ package com.io7m.smfj.processing.main;
 
 import com.io7m.smfj.core.SMFHeader;
 import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
 import com.io7m.smfj.processing.api.SMFProcessingError;
 import com.io7m.smfj.validation.api.SMFSchema;
@@ -47,7 +50,7 @@ import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpected
  */
 
 public final class SMFMemoryMeshFilterSchemaValidate implements
-  SMFMemoryMeshFilterType
+  SMFMemoryMeshFilterStreamingType
 {
   private static final Logger LOG =
     LoggerFactory.getLogger(SMFMemoryMeshFilterSchemaValidate.class);
@@ -160,6 +163,33 @@ public final class SMFMemoryMeshFilterSchemaValidate implements
     Objects.requireNonNull(context, "Context");
     Objects.requireNonNull(m, "Mesh");
 
+    return this.filterHeader(context, m.header()).map(ignored -> m);
+  }
+
+  @Override
+  public SMFParserEventsType filterStreaming(
+    final SMFFilterCommandContext context,
+    final SMFParserEventsType events)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(events, "Events");
+
+    return new SMFMemoryMeshFilterStreamingEvents(events)
+    {
+      @Override
+      protected SMFPartialLogged<SMFHeader> filterHeader(
+        final SMFHeader in_header)
+      {
+        return SMFMemoryMeshFilterSchemaValidate.this.filterHeader(
+          context, in_header);
+      }
+    };
+  }
+
+  private SMFPartialLogged<SMFHeader> filterHeader(
+    final SMFFilterCommandContext context,
+    final SMFHeader header)
+  {
     final Path file = context.resolvePath(this.schema_file);
     LOG.debug("resolved schema file: {}", file);
 
@@ -181,7 +211,7 @@ public final class SMFMemoryMeshFilterSchemaValidate implements
 
         final SMFSchema schema = resultSchema.get();
         final SMFPartialLogged<SMFHeader> validationResult =
-          validator.validate(m.header(), schema);
+          validator.validate(header, schema);
 
         if (validationResult.isFailed()) {
           return resultSchema.flatMap(x -> {
@@ -193,7 +223,7 @@ public final class SMFMemoryMeshFilterSchemaValidate implements
 
         return resultSchema.flatMap(ignored0 -> {
           return validationResult.flatMap(ignored1 -> {
-            return SMFPartialLogged.succeeded(m);
+            return SMFPartialLogged.succeeded(header);
           });
         });
       }
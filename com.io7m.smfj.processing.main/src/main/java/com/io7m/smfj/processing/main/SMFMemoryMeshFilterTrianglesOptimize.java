@@ -16,19 +16,23 @@
 
 package com.io7m.smfj.processing.main;
 
-import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
+import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.core.SMFPartialLogged;
 import com.io7m.smfj.core.SMFTriangles;
 import com.io7m.smfj.processing.api.SMFFilterCommandContext;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterAccess;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshPart;
 import com.io7m.smfj.processing.api.SMFProcessingError;
+import com.io7m.smfj.processing.api.SMFTriangleArrayType;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 
 import static com.io7m.smfj.processing.api.SMFFilterCommandParsing.errorExpectedGotValidation;
 
@@ -45,6 +49,8 @@ public final class SMFMemoryMeshFilterTrianglesOptimize implements
 
   public static final String NAME = "triangles-optimize";
 
+  private static final int TRIANGLE_BLOCK_SIZE = 1024;
+
   private static final String SYNTAX =
     "(<size> | '-') ('validate' | 'no-validate')";
 
@@ -79,12 +85,12 @@ public final class SMFMemoryMeshFilterTrianglesOptimize implements
   }
 
   private static SMFProcessingError nonexistentVertex(
-    final int triangle,
+    final long triangle,
     final long vertex)
   {
     return error(
       "Triangle %d points to nonexistent vertex %d",
-      Integer.valueOf(triangle),
+      Long.valueOf(triangle),
       Long.valueOf(vertex));
   }
 
@@ -194,32 +200,40 @@ public final class SMFMemoryMeshFilterTrianglesOptimize implements
 
     final List<SMFProcessingError> errors = new ArrayList<>();
     final long vertices = m.header().vertexCount();
-    final List<Vector3L> triangles = m.triangles();
+    final SMFTriangleArrayType triangles = m.triangles();
     final OptionalInt optimize_opt = this.config.optimize();
 
-    long max = 0L;
-    for (int index = 0; index < triangles.size(); ++index) {
-      final Vector3L triangle = triangles.get(index);
-
-      final long v0 = triangle.x();
-      final long v1 = triangle.y();
-      final long v2 = triangle.z();
+    final long size = triangles.triangleCount();
+    final long[] block = new long[TRIANGLE_BLOCK_SIZE * 3];
 
-      if (this.config.validate()) {
-        if (Long.compareUnsigned(v0, vertices) >= 0) {
-          errors.add(nonexistentVertex(index, v0));
-        }
-        if (Long.compareUnsigned(v1, vertices) >= 0) {
-          errors.add(nonexistentVertex(index, v1));
-        }
-        if (Long.compareUnsigned(v2, vertices) >= 0) {
-          errors.add(nonexistentVertex(index, v2));
+    long max = 0L;
+    for (long base = 0L; base < size; base += TRIANGLE_BLOCK_SIZE) {
+      final int count =
+        (int) Math.min((long) TRIANGLE_BLOCK_SIZE, size - base);
+      triangles.copyIndices(base, count, block, 0);
+
+      for (int offset = 0; offset < count; ++offset) {
+        final long index = base + (long) offset;
+        final long v0 = block[offset * 3];
+        final long v1 = block[(offset * 3) + 1];
+        final long v2 = block[(offset * 3) + 2];
+
+        if (this.config.validate()) {
+          if (Long.compareUnsigned(v0, vertices) >= 0) {
+            errors.add(nonexistentVertex(index, v0));
+          }
+          if (Long.compareUnsigned(v1, vertices) >= 0) {
+            errors.add(nonexistentVertex(index, v1));
+          }
+          if (Long.compareUnsigned(v2, vertices) >= 0) {
+            errors.add(nonexistentVertex(index, v2));
+          }
         }
-      }
 
-      max = Math.max(max, v0);
-      max = Math.max(max, v1);
-      max = Math.max(max, v2);
+        max = Math.max(max, v0);
+        max = Math.max(max, v1);
+        max = Math.max(max, v2);
+      }
     }
 
     final int triangle_size = optimize(m, optimize_opt, max);
@@ -231,4 +245,22 @@ public final class SMFMemoryMeshFilterTrianglesOptimize implements
     }
     return SMFPartialLogged.failed(errors);
   }
+
+  @Override
+  public Optional<Set<SMFAttributeName>> attributesRequired(
+    final Optional<Set<SMFAttributeName>> required)
+  {
+    return Objects.requireNonNull(required, "Required");
+  }
+
+  @Override
+  public Optional<SMFMemoryMeshFilterAccess> access()
+  {
+    return Optional.of(
+      SMFMemoryMeshFilterAccess.builder()
+        .addPartsRead(SMFMemoryMeshPart.TRIANGLES)
+        .addPartsRead(SMFMemoryMeshPart.VERTEX_COUNT)
+        .addPartsWritten(SMFMemoryMeshPart.TRIANGLES)
+        .build());
+  }
 }
@@ -32,6 +32,7 @@ module com.io7m.smfj.processing.main
   requires com.io7m.jtensors.core;
   requires com.io7m.junreachable.core;
   requires com.io7m.smfj.core;
+  requires com.io7m.smfj.parser.api;
   requires com.io7m.smfj.processing.api;
   requires com.io7m.smfj.validation.api;
   requires org.slf4j;
@@ -18,16 +18,19 @@
 
 package com.io7m.smfj.tests.format.binary2;
 
+import com.io7m.smfj.core.SMFAttributeName;
 import com.io7m.smfj.format.binary2.SMFFormatBinary2;
 import com.io7m.smfj.format.xml.SMFFormatXML;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
 import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerConfiguration;
 import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
 import com.io7m.smfj.tests.processing.SMFMemoryMeshTesting;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -110,6 +113,34 @@ public final class SMFFormatBinary2Test
     SMFMemoryMeshTesting.checkStandardMesh(meshes.mesh());
   }
 
+  @Test
+  public void testValidProjected()
+    throws Exception
+  {
+    final var name = SMFAttributeName.of("f32_3");
+    final var format = new SMFFormatBinary2();
+    final var meshes =
+      SMFMemoryMeshProducer.create(
+        SMFMemoryMeshProducerConfiguration.builder()
+          .setAttributesIncluded(Set.of(name))
+          .setTriangles(false)
+          .build());
+
+    try (var stream = resource("smfFull_validAll0.smfb")) {
+      try (var parser = format.parserCreateSequential(meshes, TEST, stream)) {
+        parser.parse();
+      }
+    }
+    logEverything(meshes);
+    Assertions.assertTrue(meshes.errors().isEmpty());
+
+    final var mesh = meshes.mesh();
+    Assertions.assertEquals(1L, (long) mesh.arrays().size());
+    Assertions.assertTrue(mesh.arrays().containsKey(name));
+    Assertions.assertEquals(0L, mesh.triangles().triangleCount());
+    Assertions.assertEquals(5L, (long) mesh.metadata().size());
+  }
+
   @Test
   public void testInvalid0()
     throws Exception
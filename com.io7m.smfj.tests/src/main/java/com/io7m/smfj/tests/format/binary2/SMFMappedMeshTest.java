@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.tests.format.binary2;
+
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.format.binary2.SMFFormatBinary2;
+import com.io7m.smfj.format.binary2.SMFMappedMesh;
+import com.io7m.smfj.processing.api.SMFAttributeArrayType;
+import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.tests.TestDirectories;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class SMFMappedMeshTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFMappedMeshTest.class);
+
+  private static Path resource(
+    final String name)
+    throws IOException
+  {
+    final var path = String.format("/com/io7m/smfj/tests/format/binary2/%s", name);
+    final var file = TestDirectories.temporaryDirectory().resolve(name);
+    try (var stream = SMFMappedMeshTest.class.getResourceAsStream(path)) {
+      if (stream == null) {
+        throw new FileNotFoundException(path);
+      }
+      Files.copy(stream, file);
+    }
+    return file;
+  }
+
+  private static SMFMemoryMesh parse(
+    final Path file)
+    throws IOException
+  {
+    final var format = new SMFFormatBinary2();
+    final var meshes = SMFMemoryMeshProducer.create();
+
+    try (var stream = Files.newInputStream(file)) {
+      try (var parser =
+             format.parserCreateSequential(meshes, file.toUri(), stream)) {
+        parser.parse();
+      }
+    }
+    Assertions.assertTrue(meshes.errors().isEmpty());
+    return meshes.mesh();
+  }
+
+  private static SMFMappedMesh open(
+    final Path file)
+    throws IOException
+  {
+    final var result = SMFMappedMesh.open(file);
+    result.errors().forEach(e -> LOG.error("{}", e.fullMessage()));
+    result.warnings().forEach(e -> LOG.warn("{}", e.fullMessage()));
+    Assertions.assertTrue(result.isSucceeded());
+    return result.get();
+  }
+
+  private static void checkSame(
+    final String name)
+    throws IOException
+  {
+    final var file = resource(name);
+    final var mesh0 = parse(file);
+
+    try (var mesh1 = open(file)) {
+      Assertions.assertEquals(file, mesh1.path());
+      Assertions.assertEquals(mesh0.header(), mesh1.header());
+      Assertions.assertEquals(mesh0.metadata(), mesh1.metadata());
+      Assertions.assertEquals(
+        mesh0.triangles().values(), mesh1.triangles().values());
+      Assertions.assertEquals(mesh0.arrays().size(), mesh1.arrays().size());
+
+      for (final Map.Entry<SMFAttributeName, SMFAttributeArrayType> pair :
+        mesh0.arrays().entrySet()) {
+        final SMFAttributeName attribute = pair.getKey();
+        Assertions.assertEquals(
+          pair.getValue(),
+          mesh1.arrays().get(attribute),
+          attribute.value());
+      }
+    }
+  }
+
+  @Test
+  public void testValid0()
+    throws Exception
+  {
+    checkSame("smfFull_validAll0.smfb");
+  }
+
+  @Test
+  public void testValid1()
+    throws Exception
+  {
+    checkSame("smfFull_validAll1.smfb");
+  }
+
+  @Test
+  public void testBuffers()
+    throws Exception
+  {
+    try (var mesh = open(resource("smfFull_validAll0.smfb"))) {
+      for (final var attribute : mesh.header().attributesInOrder()) {
+        final ByteBuffer buffer = mesh.attributeBuffer(attribute.name());
+        Assertions.assertTrue(buffer.isReadOnly());
+        Assertions.assertTrue(buffer.isDirect());
+        Assertions.assertEquals(mesh.header().dataByteOrder(), buffer.order());
+        Assertions.assertEquals(
+          (long) attribute.sizeOctets() * mesh.header().vertexCount(),
+          (long) buffer.capacity());
+      }
+
+      final ByteBuffer triangles = mesh.trianglesBuffer();
+      Assertions.assertTrue(triangles.isReadOnly());
+      Assertions.assertEquals(
+        mesh.header().triangles().triangleCount()
+          * 3L
+          * (long) (mesh.header().triangles().triangleIndexSizeBits() / 8),
+        (long) triangles.capacity());
+    }
+  }
+
+  @Test
+  public void testClose()
+    throws Exception
+  {
+    final var mesh = open(resource("smfFull_validAll0.smfb"));
+    final var name = mesh.header().attributesInOrder().get(0).name();
+
+    Assertions.assertFalse(mesh.isClosed());
+    mesh.close();
+    Assertions.assertTrue(mesh.isClosed());
+    Assertions.assertThrows(
+      IllegalStateException.class,
+      () -> mesh.attributeBuffer(name));
+    Assertions.assertThrows(
+      IllegalStateException.class,
+      mesh::trianglesBuffer);
+  }
+
+  @Test
+  public void testInvalidShortFields()
+    throws Exception
+  {
+    final var result =
+      SMFMappedMesh.open(resource("smf_invalidShortFields0.smfb"));
+    Assertions.assertTrue(result.isFailed());
+  }
+
+  @Test
+  public void testInvalidTooFewTriangles()
+    throws Exception
+  {
+    final var result =
+      SMFMappedMesh.open(resource("smfFull_invalidTooFewTriangles0.smfb"));
+    result.errors().forEach(e -> LOG.error("{}", e.fullMessage()));
+    Assertions.assertTrue(result.isFailed());
+  }
+
+  @Test
+  public void testNotBinary()
+    throws Exception
+  {
+    final var file =
+      TestDirectories.temporaryDirectory().resolve("garbage.smfb");
+    Files.writeString(file, "Not a mesh");
+
+    final var result = SMFMappedMesh.open(file);
+    Assertions.assertTrue(result.isFailed());
+  }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.tests.format.obj;
+
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3D;
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.format.obj.SMFFormatOBJ;
+import com.io7m.smfj.format.text.SMFFormatText;
+import com.io7m.smfj.frontend.SMFFCopier;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
+import com.io7m.smfj.processing.api.SMFAttributeArrayFloating3Type;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshType;
+import com.io7m.smfj.tests.TestDirectories;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.io7m.smfj.tests.format.obj.SMFOBJParallelImporterTest.lineOf;
+
+public final class SMFOBJGroupedImporterTest
+{
+  private static final String GROUPS =
+    String.join(
+      "\n",
+      "v 0 0 0",
+      "v 1 0 0",
+      "v 1 1 0",
+      "v 0 1 0",
+      "vn 0 0 1",
+      "f 1 2 3",
+      "o a",
+      "f 1//1 3//1 4//1",
+      "g b",
+      "vt 0.5 0.5",
+      "f 2/1 3/1 4/1",
+      "f 2/1 4/1 1/1",
+      "o a",
+      "f 1//1 2//1 3//1",
+      "o empty",
+      "");
+
+  private Path directory;
+
+  @BeforeEach
+  public void setup()
+    throws IOException
+  {
+    this.directory = TestDirectories.temporaryDirectory();
+  }
+
+  private Path write(
+    final String name,
+    final String text)
+    throws IOException
+  {
+    final Path file = this.directory.resolve(name);
+    Files.writeString(file, text, StandardCharsets.UTF_8);
+    return file;
+  }
+
+  private Map<String, SMFMemoryMeshProducerType> parseGrouped(
+    final Path file,
+    final SMFMemoryMeshProducerType errors)
+    throws IOException
+  {
+    final Map<String, SMFMemoryMeshProducerType> meshes =
+      new LinkedHashMap<>();
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      try (var parser = new SMFFormatOBJ().parserCreateGrouped(
+        errors,
+        name -> {
+          final SMFMemoryMeshProducerType mesh = SMFMemoryMeshProducer.create();
+          meshes.put(name, mesh);
+          return Optional.of(mesh);
+        },
+        file.toUri(),
+        channel)) {
+        parser.parse();
+      }
+    }
+    return meshes;
+  }
+
+  private static List<Vector3D> positions(
+    final SMFMemoryMeshType mesh)
+  {
+    final SMFAttributeArrayFloating3Type array =
+      (SMFAttributeArrayFloating3Type) mesh.arrays()
+        .get(SMFAttributeName.of("POSITION"));
+    return array.values();
+  }
+
+  @Test
+  public void testGroups()
+    throws Exception
+  {
+    final Path file = this.write("groups.obj", GROUPS);
+    final SMFMemoryMeshProducerType errors = SMFMemoryMeshProducer.create();
+    final Map<String, SMFMemoryMeshProducerType> meshes =
+      this.parseGrouped(file, errors);
+
+    Assertions.assertEquals(List.of(), errors.errors());
+    Assertions.assertEquals(
+      List.of("default", "a", "b"), new ArrayList<>(meshes.keySet()));
+
+    for (final SMFMemoryMeshProducerType mesh : meshes.values()) {
+      Assertions.assertEquals(List.of(), mesh.errors());
+      Assertions.assertEquals(
+        16, mesh.header().triangles().triangleIndexSizeBits());
+    }
+
+    final SMFMemoryMeshType default_mesh = meshes.get("default").mesh();
+    Assertions.assertEquals(3L, default_mesh.header().vertexCount());
+    Assertions.assertEquals(1, default_mesh.header().attributesByName().size());
+    Assertions.assertEquals(
+      List.of(Vector3L.of(0L, 1L, 2L)), default_mesh.triangles().values());
+
+    final SMFMemoryMeshType a_mesh = meshes.get("a").mesh();
+    Assertions.assertEquals(4L, a_mesh.header().vertexCount());
+    Assertions.assertTrue(
+      a_mesh.header().attributesByName().containsKey(
+        SMFAttributeName.of("NORMAL")));
+    Assertions.assertEquals(
+      List.of(Vector3L.of(0L, 1L, 2L), Vector3L.of(0L, 3L, 1L)),
+      a_mesh.triangles().values());
+    Assertions.assertEquals(
+      List.of(
+        Vector3D.of(0.0, 0.0, 0.0),
+        Vector3D.of(1.0, 1.0, 0.0),
+        Vector3D.of(0.0, 1.0, 0.0),
+        Vector3D.of(1.0, 0.0, 0.0)),
+      positions(a_mesh));
+
+    final SMFMemoryMeshType b_mesh = meshes.get("b").mesh();
+    Assertions.assertEquals(4L, b_mesh.header().vertexCount());
+    Assertions.assertTrue(
+      b_mesh.header().attributesByName().containsKey(
+        SMFAttributeName.of("UV:0")));
+    Assertions.assertEquals(
+      List.of(Vector3L.of(0L, 1L, 2L), Vector3L.of(0L, 2L, 3L)),
+      b_mesh.triangles().values());
+  }
+
+  @Test
+  public void testGroupsToFiles()
+    throws Exception
+  {
+    final Path file = this.write("groups.obj", GROUPS);
+    final SMFFormatText format = new SMFFormatText();
+    final SMFMemoryMeshProducerType errors = SMFMemoryMeshProducer.create();
+    final List<OutputStream> streams = new ArrayList<>();
+
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      try (var parser = new SMFFormatOBJ().parserCreateGrouped(
+        errors,
+        name -> {
+          try {
+            final Path output = this.directory.resolve(name + ".smft");
+            final OutputStream stream = Files.newOutputStream(output);
+            streams.add(stream);
+            return Optional.of(SMFFCopier.create(
+              format.serializerCreate(
+                SMFFormatVersion.of(1, 0), output.toUri(), stream)));
+          } catch (final IOException e) {
+            throw new IllegalStateException(e);
+          }
+        },
+        file.toUri(),
+        channel)) {
+        parser.parse();
+      }
+    } finally {
+      for (final OutputStream stream : streams) {
+        stream.close();
+      }
+    }
+
+    Assertions.assertEquals(List.of(), errors.errors());
+    Assertions.assertEquals(3, streams.size());
+
+    final Map<String, SMFMemoryMeshProducerType> expected =
+      this.parseGrouped(file, SMFMemoryMeshProducer.create());
+    for (final Map.Entry<String, SMFMemoryMeshProducerType> entry
+      : expected.entrySet()) {
+      final Path output = this.directory.resolve(entry.getKey() + ".smft");
+      final SMFMemoryMeshProducerType received = SMFMemoryMeshProducer.create();
+      try (var stream = Files.newInputStream(output)) {
+        try (var parser = format.parserCreateSequential(
+          received, output.toUri(), stream)) {
+          parser.parse();
+        }
+      }
+      Assertions.assertEquals(List.of(), received.errors());
+      Assertions.assertEquals(entry.getValue().mesh(), received.mesh());
+    }
+  }
+
+  @Test
+  public void testSkipGroup()
+    throws Exception
+  {
+    final Path file = this.write("groups.obj", GROUPS);
+    final List<String> names = new ArrayList<>();
+    final SMFMemoryMeshProducerType errors = SMFMemoryMeshProducer.create();
+
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      try (var parser = new SMFFormatOBJ().parserCreateGrouped(
+        errors,
+        name -> {
+          names.add(name);
+          return Optional.<SMFParserEventsType>empty();
+        },
+        file.toUri(),
+        channel)) {
+        parser.parse();
+      }
+    }
+
+    Assertions.assertEquals(List.of(), errors.errors());
+    Assertions.assertEquals(List.of("default", "a", "b"), names);
+  }
+
+  @Test
+  public void testMixedReferencesPerGroup()
+    throws Exception
+  {
+    final Path file = this.write(
+      "mixed.obj",
+      String.join(
+        "\n",
+        "v 0 0 0",
+        "v 1 0 0",
+        "v 1 1 0",
+        "vt 0 0",
+        "g a",
+        "f 1 2 3",
+        "g b",
+        "f 1/1 2/1 3/1",
+        "g a",
+        "f 1/1 2/1 3/1",
+        ""));
+
+    final SMFMemoryMeshProducerType errors = SMFMemoryMeshProducer.create();
+    final Map<String, SMFMemoryMeshProducerType> meshes =
+      this.parseGrouped(file, errors);
+    Assertions.assertEquals(1, errors.errors().size());
+    Assertions.assertEquals(10, lineOf(errors.errors().get(0)));
+    Assertions.assertEquals(Map.of(), meshes);
+  }
+
+  @Test
+  public void testNonexistentReference()
+    throws Exception
+  {
+    final Path file = this.write(
+      "missing.obj",
+      String.join("\n", "v 0 0 0", "v 1 0 0", "g x", "f 1 2 3", ""));
+
+    final SMFMemoryMeshProducerType errors = SMFMemoryMeshProducer.create();
+    final Map<String, SMFMemoryMeshProducerType> meshes =
+      this.parseGrouped(file, errors);
+    Assertions.assertEquals(1, errors.errors().size());
+    Assertions.assertEquals(4, lineOf(errors.errors().get(0)));
+    Assertions.assertEquals(Map.of(), meshes);
+  }
+}
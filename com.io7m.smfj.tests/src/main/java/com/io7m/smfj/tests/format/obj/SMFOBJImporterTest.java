@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.tests.format.obj;
+
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.format.obj.SMFFormatOBJ;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public final class SMFOBJImporterTest
+{
+  private static SMFMemoryMeshProducerType parse(
+    final String... lines)
+    throws Exception
+  {
+    final var text = String.join("\n", lines) + "\n";
+    final SMFMemoryMeshProducerType meshes = SMFMemoryMeshProducer.create();
+    try (var stream =
+           new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII))) {
+      try (var parser = new SMFFormatOBJ().parserCreateSequential(
+        meshes, URI.create("urn:test"), stream)) {
+        parser.parse();
+      }
+    }
+    return meshes;
+  }
+
+  @Test
+  public void testDeduplicatePositionsOnly()
+    throws Exception
+  {
+    final var meshes = parse(
+      "v 0 0 0",
+      "v 1 0 0",
+      "v 1 1 0",
+      "v 0 1 0",
+      "f 1 2 3",
+      "f 1 3 4");
+
+    Assertions.assertEquals(List.of(), meshes.errors());
+    final var mesh = meshes.mesh();
+    Assertions.assertEquals(4L, mesh.header().vertexCount());
+    Assertions.assertEquals(
+      List.of(Vector3L.of(0L, 1L, 2L), Vector3L.of(0L, 2L, 3L)),
+      mesh.triangles().values());
+  }
+
+  @Test
+  public void testDeduplicateDistinctTriples()
+    throws Exception
+  {
+    final var meshes = parse(
+      "v 0 0 0",
+      "v 1 0 0",
+      "v 1 1 0",
+      "vt 0 0",
+      "vt 1 1",
+      "vn 0 0 1",
+      "f 1/1/1 2/1/1 3/1/1",
+      "f 1/2/1 2/1/1 3/2/1");
+
+    Assertions.assertEquals(List.of(), meshes.errors());
+    final var mesh = meshes.mesh();
+    Assertions.assertEquals(5L, mesh.header().vertexCount());
+    Assertions.assertEquals(
+      List.of(Vector3L.of(0L, 1L, 2L), Vector3L.of(3L, 1L, 4L)),
+      mesh.triangles().values());
+    Assertions.assertTrue(
+      mesh.arrays().containsKey(SMFAttributeName.of("UV:0")));
+    Assertions.assertTrue(
+      mesh.arrays().containsKey(SMFAttributeName.of("NORMAL")));
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.tests.format.obj;
+
+import com.io7m.smfj.core.SMFErrorType;
+import com.io7m.smfj.format.obj.SMFFormatOBJ;
+import com.io7m.smfj.format.obj.SMFOBJParallelImporter;
+import com.io7m.smfj.parser.api.SMFParseError;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.tests.TestDirectories;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class SMFOBJParallelImporterTest
+{
+  private static final int GRID = 24;
+
+  private Path directory;
+  private ExecutorService executor;
+
+  /**
+   * Generate a grid of triangles. If {@code relative} is {@code true}, faces
+   * are written immediately after the elements of each row using negative
+   * (relative) indices.
+   */
+
+  static String grid(
+    final boolean relative)
+  {
+    final StringBuilder b = new StringBuilder(65536);
+    b.append("# A generated grid\n");
+    b.append("o grid\n");
+    b.append("vn 0.0 0.0 1.0\n");
+
+    for (int y = 0; y < GRID; ++y) {
+      for (int x = 0; x < GRID; ++x) {
+        b.append(String.format(
+          Locale.ROOT,
+          "v %d.25 %d.5 0.0\n", Integer.valueOf(x), Integer.valueOf(y)));
+        b.append(String.format(
+          Locale.ROOT,
+          "vt %f %f\n",
+          Double.valueOf((double) x / GRID),
+          Double.valueOf((double) y / GRID)));
+      }
+
+      if (relative && y > 0) {
+        b.append("s 1\n");
+        for (int x = 0; x < GRID - 1; ++x) {
+          final int c0 = -(2 * GRID) + x;
+          final int c1 = c0 + 1;
+          final int c2 = c0 + GRID;
+          final int c3 = c2 + 1;
+          b.append(face(c0, c1, c3, -1));
+          b.append(face(c0, c3, c2, -1));
+        }
+      }
+    }
+
+    if (!relative) {
+      b.append("s 1\n");
+      for (int y = 1; y < GRID; ++y) {
+        for (int x = 0; x < GRID - 1; ++x) {
+          final int c0 = (y - 1) * GRID + x + 1;
+          final int c1 = c0 + 1;
+          final int c2 = c0 + GRID;
+          final int c3 = c2 + 1;
+          b.append(face(c0, c1, c3, 1));
+          b.append(face(c0, c3, c2, 1));
+        }
+      }
+    }
+    return b.toString();
+  }
+
+  private static String face(
+    final int v0,
+    final int v1,
+    final int v2,
+    final int n)
+  {
+    return String.format(
+      "f %d/%d/%d %d/%d/%d %d/%d/%d\n",
+      Integer.valueOf(v0), Integer.valueOf(v0), Integer.valueOf(n),
+      Integer.valueOf(v1), Integer.valueOf(v1), Integer.valueOf(n),
+      Integer.valueOf(v2), Integer.valueOf(v2), Integer.valueOf(n));
+  }
+
+  static int lineOf(
+    final SMFErrorType error)
+  {
+    return ((SMFParseError) error).lexical().line();
+  }
+
+  @BeforeEach
+  public void setup()
+    throws IOException
+  {
+    this.directory = TestDirectories.temporaryDirectory();
+    this.executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  public void tearDown()
+  {
+    this.executor.shutdown();
+  }
+
+  private Path write(
+    final String name,
+    final String text)
+    throws IOException
+  {
+    final Path file = this.directory.resolve(name);
+    Files.writeString(file, text, StandardCharsets.US_ASCII);
+    return file;
+  }
+
+  private SMFMemoryMeshProducerType parseParallel(
+    final Path file,
+    final int chunk_size)
+    throws IOException
+  {
+    final SMFMemoryMeshProducerType meshes = SMFMemoryMeshProducer.create();
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      try (var parser = SMFOBJParallelImporter.create(
+        file.toUri(), channel, meshes, this.executor, chunk_size)) {
+        parser.parse();
+      }
+    }
+    return meshes;
+  }
+
+  @Test
+  public void testSameAsSequential()
+    throws Exception
+  {
+    final Path file = this.write("grid.obj", grid(false));
+
+    final SMFMemoryMeshProducerType expected = SMFMemoryMeshProducer.create();
+    try (var stream = Files.newInputStream(file)) {
+      try (var parser = new SMFFormatOBJ().parserCreateSequential(
+        expected, file.toUri(), stream)) {
+        parser.parse();
+      }
+    }
+    Assertions.assertEquals(List.of(), expected.errors());
+
+    for (final int chunk_size : List.of(
+      Integer.valueOf(1),
+      Integer.valueOf(61),
+      Integer.valueOf(4096),
+      Integer.valueOf(SMFOBJParallelImporter.DEFAULT_CHUNK_SIZE))) {
+      final SMFMemoryMeshProducerType received =
+        this.parseParallel(file, chunk_size.intValue());
+      Assertions.assertEquals(List.of(), received.errors());
+      Assertions.assertEquals(expected.mesh(), received.mesh());
+    }
+  }
+
+  @Test
+  public void testRelativeIndices()
+    throws Exception
+  {
+    final Path absolute = this.write("absolute.obj", grid(false));
+    final Path relative = this.write("relative.obj", grid(true));
+
+    final SMFMemoryMeshProducerType expected =
+      this.parseParallel(absolute, 4096);
+    Assertions.assertEquals(List.of(), expected.errors());
+
+    for (final int chunk_size : List.of(
+      Integer.valueOf(1),
+      Integer.valueOf(97),
+      Integer.valueOf(4096))) {
+      final SMFMemoryMeshProducerType received =
+        this.parseParallel(relative, chunk_size.intValue());
+      Assertions.assertEquals(List.of(), received.errors());
+      Assertions.assertEquals(expected.mesh(), received.mesh());
+    }
+  }
+
+  @Test
+  public void testErrors()
+    throws Exception
+  {
+    final Path file = this.write(
+      "errors.obj",
+      String.join(
+        "\n",
+        "v 0 0 0",
+        "v 1 0 0",
+        "v 1 1 0",
+        "v 0 1 0",
+        "f 1 2 3 4",
+        "v x 0 0",
+        "f 1 2 9"));
+
+    for (final int chunk_size : List.of(
+      Integer.valueOf(1),
+      Integer.valueOf(4096))) {
+      final SMFMemoryMeshProducerType received =
+        this.parseParallel(file, chunk_size.intValue());
+      Assertions.assertEquals(2, received.errors().size());
+      Assertions.assertEquals(5, lineOf(received.errors().get(0)));
+      Assertions.assertEquals(6, lineOf(received.errors().get(1)));
+    }
+  }
+
+  @Test
+  public void testNonexistentReference()
+    throws Exception
+  {
+    final Path file = this.write(
+      "missing.obj",
+      String.join("\n", "v 0 0 0", "v 1 0 0", "v 1 1 0", "f 1 2 9", ""));
+
+    final SMFMemoryMeshProducerType received = this.parseParallel(file, 8);
+    Assertions.assertEquals(1, received.errors().size());
+    Assertions.assertEquals(4, lineOf(received.errors().get(0)));
+  }
+}
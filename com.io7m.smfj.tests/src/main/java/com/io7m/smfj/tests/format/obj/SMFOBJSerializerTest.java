@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.tests.format.obj;
+
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.format.obj.SMFFormatOBJ;
+import com.io7m.smfj.frontend.SMFSerializerProviders;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshSerializer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static com.io7m.smfj.core.SMFComponentType.ELEMENT_TYPE_FLOATING;
+import static com.io7m.smfj.tests.format.obj.SMFOBJParallelImporterTest.grid;
+
+public final class SMFOBJSerializerTest
+{
+  private static final URI TEST = URI.create("urn:test");
+
+  private static SMFMemoryMeshType parse(
+    final String text)
+    throws IOException
+  {
+    final SMFMemoryMeshProducerType meshes = SMFMemoryMeshProducer.create();
+    try (var stream =
+           new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))) {
+      try (var parser =
+             new SMFFormatOBJ().parserCreateSequential(meshes, TEST, stream)) {
+        parser.parse();
+      }
+    }
+    Assertions.assertEquals(List.of(), meshes.errors());
+    return meshes.mesh();
+  }
+
+  private static String serialize(
+    final SMFMemoryMeshType mesh)
+    throws IOException
+  {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (var serializer = new SMFFormatOBJ().serializerCreate(
+      SMFFormatVersion.of(1, 0), TEST, output)) {
+      SMFMemoryMeshSerializer.serialize(mesh, serializer);
+    }
+    return output.toString(StandardCharsets.US_ASCII);
+  }
+
+  @Test
+  public void testOutput()
+    throws Exception
+  {
+    final SMFMemoryMeshType mesh = parse(
+      String.join(
+        "\n",
+        "v 0.1 0 1",
+        "v 1 0 0",
+        "v 1 1 0",
+        "vt 0.5 0.25",
+        "f 1/1 2/1 3/1",
+        ""));
+
+    Assertions.assertEquals(
+      String.join(
+        "\n",
+        "# OBJ file",
+        "# Vertices: 3",
+        "# Triangles: 1",
+        "v 0.1 0.0 1.0",
+        "v 1.0 0.0 0.0",
+        "v 1.0 1.0 0.0",
+        "vt 0.5 0.25",
+        "vt 0.5 0.25",
+        "vt 0.5 0.25",
+        "f 1/1 2/2 3/3",
+        ""),
+      serialize(mesh));
+  }
+
+  @Test
+  public void testOutputNormals()
+    throws Exception
+  {
+    final SMFMemoryMeshType mesh = parse(
+      String.join(
+        "\n",
+        "v 0 0 0",
+        "v 1 0 0",
+        "v 1 1 0",
+        "vn 0 0 1",
+        "f 1//1 2//1 3//1",
+        ""));
+
+    final String text = serialize(mesh);
+    Assertions.assertTrue(text.contains("vn 0.0 0.0 1.0\n"), text);
+    Assertions.assertTrue(text.endsWith("f 1//1 2//2 3//3\n"), text);
+  }
+
+  @Test
+  public void testRoundTrip()
+    throws Exception
+  {
+    final SMFMemoryMeshType original = parse(grid(false));
+    final SMFMemoryMeshType received = parse(serialize(original));
+    Assertions.assertEquals(original, received);
+  }
+
+  @Test
+  public void testRejectsUnrepresentableAttribute()
+    throws Exception
+  {
+    final SMFHeader header =
+      SMFHeader.builder()
+        .setVertexCount(1L)
+        .setAttributesInOrder(List.of(
+          SMFAttribute.of(
+            SMFAttributeName.of("POSITION"), ELEMENT_TYPE_FLOATING, 4, 32)))
+        .build();
+
+    try (var serializer = new SMFFormatOBJ().serializerCreate(
+      SMFFormatVersion.of(1, 0), TEST, new ByteArrayOutputStream())) {
+      final IOException ex = Assertions.assertThrows(
+        IOException.class,
+        () -> serializer.serializeHeader(header));
+      Assertions.assertTrue(
+        ex.getMessage().contains("cannot be represented"), ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testRejectsNonFiniteValues()
+    throws Exception
+  {
+    final SMFAttributeName name = SMFAttributeName.of("POSITION");
+    final SMFHeader header =
+      SMFHeader.builder()
+        .setVertexCount(1L)
+        .setAttributesInOrder(List.of(
+          SMFAttribute.of(name, ELEMENT_TYPE_FLOATING, 3, 32)))
+        .build();
+
+    try (var serializer = new SMFFormatOBJ().serializerCreate(
+      SMFFormatVersion.of(1, 0), TEST, new ByteArrayOutputStream())) {
+      serializer.serializeHeader(header);
+      try (var vs = serializer.serializeVertexDataNonInterleavedStart()) {
+        try (var v = vs.serializeData(name)) {
+          final IOException ex = Assertions.assertThrows(
+            IOException.class,
+            () -> v.serializeValueFloat3(0.0, Double.NaN, 1.0));
+          Assertions.assertTrue(
+            ex.getMessage().contains("cannot be represented"),
+            ex.getMessage());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testUnsupportedVersion()
+  {
+    Assertions.assertThrows(
+      UnsupportedOperationException.class,
+      () -> new SMFFormatOBJ().serializerCreate(
+        SMFFormatVersion.of(2, 0), TEST, new ByteArrayOutputStream()));
+  }
+
+  @Test
+  public void testSuffixLookup()
+  {
+    final var provider =
+      SMFSerializerProviders.findSerializerProvider(
+        Optional.empty(), "mesh.obj");
+    Assertions.assertTrue(provider.isPresent());
+    Assertions.assertEquals(
+      "obj", provider.get().serializerFormat().suffix());
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.tests.format.obj;
+
+import com.io7m.smfj.format.obj.SMFFormatOBJ;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.tests.TestDirectories;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.io7m.smfj.tests.format.obj.SMFOBJParallelImporterTest.grid;
+import static com.io7m.smfj.tests.format.obj.SMFOBJParallelImporterTest.lineOf;
+
+public final class SMFOBJTwoPassImporterTest
+{
+  private Path directory;
+  private Path scratch;
+
+  @BeforeEach
+  public void setup()
+    throws IOException
+  {
+    this.directory = TestDirectories.temporaryDirectory();
+    this.scratch = Files.createDirectories(this.directory.resolve("scratch"));
+  }
+
+  private Path write(
+    final String name,
+    final String text)
+    throws IOException
+  {
+    final Path file = this.directory.resolve(name);
+    Files.writeString(file, text, StandardCharsets.US_ASCII);
+    return file;
+  }
+
+  private SMFMemoryMeshProducerType parseTwoPass(
+    final Path file)
+    throws IOException
+  {
+    final SMFMemoryMeshProducerType meshes = SMFMemoryMeshProducer.create();
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      try (var parser = new SMFFormatOBJ().parserCreateTwoPass(
+        meshes, file.toUri(), channel, this.scratch)) {
+        parser.parse();
+      }
+    }
+
+    try (var files = Files.list(this.scratch)) {
+      Assertions.assertEquals(0L, files.count());
+    }
+    return meshes;
+  }
+
+  @Test
+  public void testSameAsSequential()
+    throws Exception
+  {
+    final Path file = this.write("grid.obj", grid(false));
+
+    final SMFMemoryMeshProducerType expected = SMFMemoryMeshProducer.create();
+    try (var stream = Files.newInputStream(file)) {
+      try (var parser = new SMFFormatOBJ().parserCreateSequential(
+        expected, file.toUri(), stream)) {
+        parser.parse();
+      }
+    }
+    Assertions.assertEquals(List.of(), expected.errors());
+
+    final SMFMemoryMeshProducerType received = this.parseTwoPass(file);
+    Assertions.assertEquals(List.of(), received.errors());
+    Assertions.assertEquals(expected.mesh(), received.mesh());
+  }
+
+  @Test
+  public void testRelativeIndices()
+    throws Exception
+  {
+    final Path absolute = this.write("absolute.obj", grid(false));
+    final Path relative = this.write("relative.obj", grid(true));
+
+    final SMFMemoryMeshProducerType expected = this.parseTwoPass(absolute);
+    Assertions.assertEquals(List.of(), expected.errors());
+
+    final SMFMemoryMeshProducerType received = this.parseTwoPass(relative);
+    Assertions.assertEquals(List.of(), received.errors());
+    Assertions.assertEquals(expected.mesh(), received.mesh());
+  }
+
+  @Test
+  public void testForwardReference()
+    throws Exception
+  {
+    final Path file = this.write(
+      "forward.obj",
+      String.join("\n", "f 1 2 3", "v 0 0 0", "v 1 0 0", "v 1 1 0", ""));
+
+    final SMFMemoryMeshProducerType received = this.parseTwoPass(file);
+    Assertions.assertEquals(List.of(), received.errors());
+    Assertions.assertEquals(3L, received.header().vertexCount());
+    Assertions.assertEquals(1L, received.header().triangles().triangleCount());
+  }
+
+  @Test
+  public void testErrors()
+    throws Exception
+  {
+    final Path file = this.write(
+      "errors.obj",
+      String.join(
+        "\n",
+        "v 0 0 0",
+        "v 1 0 0",
+        "v 1 1 0",
+        "v 0 1 0",
+        "f 1 2 3 4",
+        "v x 0 0",
+        "f 1 2 9"));
+
+    final SMFMemoryMeshProducerType received = this.parseTwoPass(file);
+    Assertions.assertEquals(2, received.errors().size());
+    Assertions.assertEquals(5, lineOf(received.errors().get(0)));
+    Assertions.assertEquals(6, lineOf(received.errors().get(1)));
+  }
+
+  @Test
+  public void testNonexistentReference()
+    throws Exception
+  {
+    final Path file = this.write(
+      "missing.obj",
+      String.join("\n", "v 0 0 0", "v 1 0 0", "v 1 1 0", "f 1 2 9", ""));
+
+    final SMFMemoryMeshProducerType received = this.parseTwoPass(file);
+    Assertions.assertEquals(1, received.errors().size());
+    Assertions.assertEquals(4, lineOf(received.errors().get(0)));
+  }
+
+  @Test
+  public void testMixedReferences()
+    throws Exception
+  {
+    final Path file = this.write(
+      "mixed.obj",
+      String.join(
+        "\n",
+        "v 0 0 0",
+        "v 1 0 0",
+        "v 1 1 0",
+        "vt 0 0",
+        "f 1 2 3",
+        "f 1/1 2/1 3/1",
+        ""));
+
+    final SMFMemoryMeshProducerType received = this.parseTwoPass(file);
+    Assertions.assertEquals(1, received.errors().size());
+    Assertions.assertEquals(6, lineOf(received.errors().get(0)));
+  }
+}
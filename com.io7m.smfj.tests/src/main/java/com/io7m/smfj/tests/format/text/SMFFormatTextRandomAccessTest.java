@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.format.text;
+
+import com.io7m.smfj.format.text.SMFFormatText;
+import com.io7m.smfj.format.text.SMFTIndex;
+import com.io7m.smfj.format.text.SMFTIndexEntry;
+import com.io7m.smfj.format.text.SMFTIndexEntryKind;
+import com.io7m.smfj.format.text.SMFTIndexes;
+import com.io7m.smfj.parser.api.SMFParserEventsBodyType;
+import com.io7m.smfj.parser.api.SMFParserEventsDataTrianglesType;
+import com.io7m.smfj.parser.api.SMFParserEventsHeaderType;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
+import com.io7m.smfj.parser.api.SMFParserRandomAccessType;
+import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.tests.TestDirectories;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+public final class SMFFormatTextRandomAccessTest
+{
+  private Path file;
+
+  private static InputStream resource(
+    final String name)
+    throws IOException
+  {
+    final var path = String.format("/com/io7m/smfj/tests/format/text/%s", name);
+    final var url = SMFFormatTextRandomAccessTest.class.getResource(path);
+    if (url == null) {
+      throw new FileNotFoundException(path);
+    }
+    return url.openStream();
+  }
+
+  @BeforeEach
+  public void setup()
+    throws IOException
+  {
+    this.file = TestDirectories.temporaryDirectory().resolve("mesh.smft");
+    try (var stream = resource("no_warnings.smft")) {
+      Files.copy(stream, this.file);
+    }
+  }
+
+  @Test
+  public void testIndexBuild()
+    throws Exception
+  {
+    try (var channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      final SMFTIndex index =
+        SMFTIndexes.build(this.file.toUri(), channel);
+
+      Assertions.assertEquals(channel.size(), index.size());
+      Assertions.assertEquals(8, index.bodyLine());
+
+      final List<SMFTIndexEntry> entries = index.entries();
+      Assertions.assertEquals(8, entries.size());
+      Assertions.assertEquals(
+        SMFTIndexEntryKind.ENTRY_VERTICES_NONINTERLEAVED,
+        entries.get(0).kind());
+      Assertions.assertEquals(9, entries.get(0).line());
+      Assertions.assertEquals(
+        SMFTIndexEntryKind.ENTRY_ATTRIBUTE, entries.get(1).kind());
+      Assertions.assertEquals("f16_4", entries.get(1).name());
+      Assertions.assertEquals(10, entries.get(1).line());
+      Assertions.assertEquals(
+        SMFTIndexEntryKind.ENTRY_VERTICES_END, entries.get(2).kind());
+      Assertions.assertEquals(
+        SMFTIndexEntryKind.ENTRY_TRIANGLES, entries.get(3).kind());
+      Assertions.assertEquals(16, entries.get(3).line());
+      Assertions.assertEquals(4, index.metadata().size());
+      Assertions.assertEquals(20, index.metadata().get(0).line());
+    }
+  }
+
+  @Test
+  public void testSameAsSequential()
+    throws Exception
+  {
+    final SMFFormatText format = new SMFFormatText();
+    final URI uri = this.file.toUri();
+
+    final SMFMemoryMeshProducerType sequential =
+      SMFMemoryMeshProducer.create();
+    try (var stream = Files.newInputStream(this.file)) {
+      try (var parser = format.parserCreateSequential(sequential, uri, stream)) {
+        parser.parse();
+      }
+    }
+
+    final SMFMemoryMeshProducerType random =
+      SMFMemoryMeshProducer.create();
+    try (var channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      try (var parser = format.parserCreateRandomAccess(random, uri, channel)) {
+        parser.parse();
+      }
+    }
+
+    Assertions.assertEquals(List.of(), sequential.errors());
+    Assertions.assertEquals(List.of(), random.errors());
+
+    final SMFMemoryMesh expected = sequential.mesh();
+    final SMFMemoryMesh received = random.mesh();
+    Assertions.assertEquals(expected, received);
+  }
+
+  @Test
+  public void testDeclinedVerticesSkipped()
+    throws Exception
+  {
+    final SMFParserEventsType events =
+      Mockito.mock(SMFParserEventsType.class);
+    final SMFParserEventsHeaderType events_header =
+      Mockito.mock(SMFParserEventsHeaderType.class);
+    final SMFParserEventsBodyType events_body =
+      Mockito.mock(SMFParserEventsBodyType.class);
+    final SMFParserEventsDataTrianglesType events_triangles =
+      Mockito.mock(SMFParserEventsDataTrianglesType.class);
+
+    Mockito.when(events.onVersionReceived(ArgumentMatchers.any()))
+      .thenReturn(Optional.of(events_header));
+    Mockito.when(events_header.onHeaderParsed(ArgumentMatchers.any()))
+      .thenReturn(Optional.of(events_body));
+    Mockito.when(events_body.onAttributesNonInterleaved())
+      .thenReturn(Optional.empty());
+    Mockito.when(events_body.onTriangles())
+      .thenReturn(Optional.of(events_triangles));
+
+    final SMFFormatText format = new SMFFormatText();
+    try (var channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      final SMFTIndex index =
+        SMFTIndexes.build(this.file.toUri(), channel);
+      try (SMFParserRandomAccessType parser =
+             format.parserCreateRandomAccessIndexed(
+               events, this.file.toUri(), channel, index)) {
+        parser.parse();
+      }
+    }
+
+    Mockito.verify(events, Mockito.never()).onError(ArgumentMatchers.any());
+    Mockito.verify(events_header, Mockito.never())
+      .onError(ArgumentMatchers.any());
+    Mockito.verify(events_body, Mockito.never())
+      .onError(ArgumentMatchers.any());
+    Mockito.verify(events_triangles).onDataTriangle(0L, 1L, 2L);
+    Mockito.verify(events_triangles).onDataTrianglesFinish();
+    Mockito.verify(events).onFinish();
+  }
+
+  @Test
+  public void testSidecarRoundTrip()
+    throws Exception
+  {
+    final SMFTIndex created = SMFTIndexes.loadOrCreateSidecar(this.file);
+    Assertions.assertTrue(Files.isRegularFile(SMFTIndexes.sidecarFor(this.file)));
+
+    final SMFTIndex loaded = SMFTIndexes.loadOrCreateSidecar(this.file);
+    Assertions.assertEquals(created, loaded);
+
+    try (var channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      Assertions.assertEquals(
+        SMFTIndexes.build(this.file.toUri(), channel), loaded);
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.smfj.tests.format.text;
+
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.format.text.SMFTFloatEncoding;
+import com.io7m.smfj.format.text.implementation.HexFloats;
+import com.io7m.smfj.format.text.v1.SMFTV1Serializer;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import net.java.quickcheck.QuickCheck;
+import net.java.quickcheck.characteristic.AbstractCharacteristic;
+import net.java.quickcheck.generator.PrimitiveGenerators;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static com.io7m.smfj.core.SMFComponentType.ELEMENT_TYPE_FLOATING;
+
+public final class SMFTHexFloatsTest
+{
+  private static void checkExact(
+    final double x)
+  {
+    final String text = Double.toHexString(x);
+    Assertions.assertEquals(
+      Double.doubleToRawLongBits(x),
+      Double.doubleToRawLongBits(HexFloats.parseDouble(text)),
+      text);
+  }
+
+  @Test
+  public void testSpecialValues()
+  {
+    checkExact(0.0);
+    checkExact(-0.0);
+    checkExact(1.0);
+    checkExact(-1.5);
+    checkExact(Double.MIN_VALUE);
+    checkExact(-Double.MIN_VALUE);
+    checkExact(Double.MIN_NORMAL);
+    checkExact(Double.MAX_VALUE);
+    checkExact(Double.POSITIVE_INFINITY);
+    checkExact(Double.NEGATIVE_INFINITY);
+    Assertions.assertTrue(Double.isNaN(HexFloats.parseDouble("NaN")));
+  }
+
+  @Test
+  public void testRoundTrip()
+  {
+    QuickCheck.forAllVerbose(
+      PrimitiveGenerators.longs(),
+      new AbstractCharacteristic<Long>()
+      {
+        @Override
+        protected void doSpecify(final Long bits)
+          throws Throwable
+        {
+          final double x = Double.longBitsToDouble(bits.longValue());
+          if (!Double.isNaN(x)) {
+            checkExact(x);
+          }
+        }
+      });
+  }
+
+  @Test
+  public void testAgreesWithJDK()
+  {
+    final String[] inputs = {
+      "0x1p3",
+      "0X1.8P+1",
+      "0x1.p1",
+      "+0x1.0p-3",
+      "0x10p1",
+      "0x1.00000000000001p0",
+      "0x0.1p-1020",
+      "0x1.0p0d",
+      "1.25",
+      "-3e10",
+    };
+
+    for (final String input : inputs) {
+      Assertions.assertEquals(
+        Double.parseDouble(input),
+        HexFloats.parseDouble(input),
+        input);
+    }
+  }
+
+  @Test
+  public void testMalformed()
+  {
+    final String[] inputs = {
+      "0x",
+      "0xp1",
+      "0x1.0p",
+      "0x1.0q1",
+      "-",
+      "",
+    };
+
+    for (final String input : inputs) {
+      Assertions.assertThrows(
+        NumberFormatException.class,
+        () -> HexFloats.parseDouble(input),
+        input);
+    }
+  }
+
+  @Test
+  public void testSerializerHexadecimal()
+    throws Exception
+  {
+    final SMFHeader header =
+      SMFHeader.builder()
+        .setVertexCount(1L)
+        .addAttributesInOrder(SMFAttribute.of(
+          SMFAttributeName.of("x"), ELEMENT_TYPE_FLOATING, 3, 64))
+        .build();
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (SMFTV1Serializer serializer =
+           new SMFTV1Serializer(
+             SMFFormatVersion.of(1, 0),
+             URI.create("urn:x"),
+             out,
+             SMFTFloatEncoding.FLOAT_ENCODING_HEXADECIMAL)) {
+      serializer.serializeHeader(header);
+      try (var vs = serializer.serializeVertexDataNonInterleavedStart()) {
+        try (var v = vs.serializeData(SMFAttributeName.of("x"))) {
+          v.serializeValueFloat3(1.5, -0.25, 0.1);
+        }
+      }
+    }
+
+    final String text = out.toString(StandardCharsets.UTF_8);
+    Assertions.assertTrue(
+      text.contains("0x1.8p0 -0x1.0p-2 0x1.999999999999ap-4"), text);
+  }
+}
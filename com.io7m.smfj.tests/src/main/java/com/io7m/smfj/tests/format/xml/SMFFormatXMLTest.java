@@ -18,14 +18,27 @@
 
 package com.io7m.smfj.tests.format.xml;
 
+import com.io7m.smfj.core.SMFErrorType;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.format.text.SMFFormatText;
 import com.io7m.smfj.format.xml.SMFFormatXML;
+import com.io7m.smfj.format.xml.SMFXAttributeEncoding;
+import com.io7m.smfj.format.xml.SMFXValidation;
 import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
 import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshSerializer;
 import com.io7m.smfj.tests.processing.SMFMemoryMeshTesting;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -60,37 +73,367 @@ public final class SMFFormatXMLTest
 
   private static void checkFailure(final String file)
     throws IOException
+  {
+    for (final var validation : SMFXValidation.values()) {
+      final var format = new SMFFormatXML(validation);
+      final var meshes = SMFMemoryMeshProducer.create();
+
+      try (var stream = resource(file)) {
+        try (var parser = format.parserCreateSequential(meshes, TEST, stream)) {
+          parser.parse();
+        }
+      }
+      logEverything(meshes);
+
+      Assertions.assertFalse(
+        meshes.errors().isEmpty(),
+        "At least one error must have been logged with " + validation);
+    }
+  }
+
+  @Test
+  public void testAll()
+    throws Exception
   {
     final var format = new SMFFormatXML();
+
     final var meshes = SMFMemoryMeshProducer.create();
+    try (var stream = resource("all.smfx")) {
+      try (var parser = format.parserCreateSequential(meshes, TEST, stream)) {
+        parser.parse();
+      }
+    }
+    logEverything(meshes);
+
+    SMFMemoryMeshTesting.checkStandardMesh(meshes.mesh());
+  }
+
+  @Test
+  public void testAllStreaming()
+    throws Exception
+  {
+    for (final var validation : List.of(
+      SMFXValidation.VALIDATION_HEADER_ONLY,
+      SMFXValidation.VALIDATION_NONE)) {
+      final var format = new SMFFormatXML(validation);
 
-    try (var stream = resource(file)) {
+      final var meshes = SMFMemoryMeshProducer.create();
+      try (var stream = resource("all.smfx")) {
+        try (var parser = format.parserCreateSequential(meshes, TEST, stream)) {
+          parser.parse();
+        }
+      }
+      logEverything(meshes);
+
+      Assertions.assertEquals(List.of(), meshes.errors());
+      SMFMemoryMeshTesting.checkStandardMesh(meshes.mesh());
+    }
+  }
+
+  @Test
+  public void testStreamingInvalidHeaderValidated()
+    throws Exception
+  {
+    final var text =
+      new String(resource("all.smfx").readAllBytes(), StandardCharsets.UTF_8)
+        .replace("<sx:Header ", "<sx:Header unexpected=\"x\" ");
+
+    final var format = new SMFFormatXML(SMFXValidation.VALIDATION_HEADER_ONLY);
+    final var meshes = SMFMemoryMeshProducer.create();
+    try (var stream =
+           new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))) {
       try (var parser = format.parserCreateSequential(meshes, TEST, stream)) {
         parser.parse();
       }
     }
     logEverything(meshes);
 
-    Assertions.assertFalse(
-      meshes.errors().isEmpty(),
-      "At least one error must have been logged");
+    Assertions.assertFalse(meshes.errors().isEmpty());
+    Assertions.assertTrue(
+      meshes.errors().get(0).message().contains("Header is invalid"));
   }
 
   @Test
-  public void testAll()
+  public void testStreamingUndeclaredAttribute()
     throws Exception
   {
-    final var format = new SMFFormatXML();
+    final var text =
+      new String(resource("all.smfx").readAllBytes(), StandardCharsets.UTF_8)
+        .replace(
+          "<sx:AttributeData name=\"f16_4\"",
+          "<sx:AttributeData name=\"nope\"");
 
+    final var format = new SMFFormatXML(SMFXValidation.VALIDATION_NONE);
     final var meshes = SMFMemoryMeshProducer.create();
-    try (var stream = resource("all.smfx")) {
+    try (var stream =
+           new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))) {
       try (var parser = format.parserCreateSequential(meshes, TEST, stream)) {
         parser.parse();
       }
     }
     logEverything(meshes);
 
-    SMFMemoryMeshTesting.checkStandardMesh(meshes.mesh());
+    Assertions.assertFalse(meshes.errors().isEmpty());
+  }
+
+  @Test
+  public void testAttributeEncodingsRoundTrip()
+    throws Exception
+  {
+    final var original = SMFMemoryMeshProducer.create();
+    try (var stream = resource("all.smfx")) {
+      try (var parser =
+             new SMFFormatXML().parserCreateSequential(original, TEST, stream)) {
+        parser.parse();
+      }
+    }
+    Assertions.assertEquals(List.of(), original.errors());
+
+    for (final var encoding : SMFXAttributeEncoding.values()) {
+      final var output = new ByteArrayOutputStream();
+      final var writer =
+        new SMFFormatXML(SMFXValidation.VALIDATION_FULL, encoding);
+      try (var serializer =
+             writer.serializerCreate(SMFFormatVersion.of(2, 0), TEST, output)) {
+        SMFMemoryMeshSerializer.serialize(original.mesh(), serializer);
+      }
+
+      final var text = output.toString(StandardCharsets.UTF_8);
+      switch (encoding) {
+        case ATTRIBUTE_ENCODING_ELEMENTS:
+          Assertions.assertTrue(text.contains("<sx:AttributeFloat4"));
+          break;
+        case ATTRIBUTE_ENCODING_LIST:
+          Assertions.assertTrue(text.contains("<sx:AttributeListFloat>"));
+          Assertions.assertFalse(text.contains("<sx:AttributeFloat4"));
+          break;
+        case ATTRIBUTE_ENCODING_BASE64:
+          Assertions.assertTrue(text.contains("<sx:AttributeBase64>"));
+          Assertions.assertFalse(text.contains("<sx:AttributeFloat4"));
+          break;
+      }
+
+      for (final var validation : SMFXValidation.values()) {
+        LOG.debug("encoding {} validation {}", encoding, validation);
+        final var meshes = SMFMemoryMeshProducer.create();
+        final var format = new SMFFormatXML(validation);
+        try (var stream = new ByteArrayInputStream(output.toByteArray())) {
+          try (var parser = format.parserCreateSequential(meshes, TEST, stream)) {
+            parser.parse();
+          }
+        }
+        logEverything(meshes);
+
+        Assertions.assertEquals(List.of(), meshes.errors());
+        SMFMemoryMeshTesting.checkStandardMesh(meshes.mesh());
+      }
+    }
+  }
+
+  private static String largeMeshText(
+    final int count)
+  {
+    final StringBuilder b = new StringBuilder(count * 64);
+    b.append("smf 1 0\n");
+    b.append("vertices ").append(count).append('\n');
+    b.append("triangles 1 16\n");
+    b.append("attribute \"f64_4\" float 4 64\n");
+    b.append("attribute \"i32_3\" integer-signed 3 32\n");
+    b.append("attribute \"u16_1\" integer-unsigned 1 16\n");
+    b.append("end\n");
+
+    b.append("vertices-noninterleaved\n");
+    b.append("attribute \"f64_4\"\n");
+    for (int index = 0; index < count; ++index) {
+      b.append(index).append(".5 ");
+      b.append(-index).append(".25 ");
+      b.append(index * 2).append(".0 ");
+      b.append(count - index).append(".125\n");
+    }
+    b.append("attribute \"i32_3\"\n");
+    for (int index = 0; index < count; ++index) {
+      b.append(index * 1000).append(' ');
+      b.append(-index).append(' ');
+      b.append(index % 7).append('\n');
+    }
+    b.append("attribute \"u16_1\"\n");
+    for (int index = 0; index < count; ++index) {
+      b.append(index % 65536).append('\n');
+    }
+    b.append("end\n");
+
+    b.append("triangles\n");
+    b.append("0 1 2\n");
+    b.append("end\n");
+    return b.toString();
+  }
+
+  @Test
+  public void testAttributeEncodingsRoundTripLarge()
+    throws Exception
+  {
+    final var original = SMFMemoryMeshProducer.create();
+    final var source = largeMeshText(4096);
+    try (var stream =
+           new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8))) {
+      try (var parser =
+             new SMFFormatText().parserCreateSequential(original, TEST, stream)) {
+        parser.parse();
+      }
+    }
+    logEverything(original);
+    Assertions.assertEquals(List.of(), original.errors());
+
+    for (final var encoding : SMFXAttributeEncoding.values()) {
+      if (encoding == SMFXAttributeEncoding.ATTRIBUTE_ENCODING_ELEMENTS) {
+        continue;
+      }
+
+      final var output = new ByteArrayOutputStream();
+      final var writer =
+        new SMFFormatXML(SMFXValidation.VALIDATION_FULL, encoding);
+      try (var serializer =
+             writer.serializerCreate(SMFFormatVersion.of(2, 0), TEST, output)) {
+        SMFMemoryMeshSerializer.serialize(original.mesh(), serializer);
+      }
+
+      /*
+       * The text of each attribute must be several times larger than the
+       * chunks in which the serializer writes text and XML parsers deliver
+       * it.
+       */
+
+      final var text = output.toString(StandardCharsets.UTF_8);
+      final var start = text.indexOf('>', text.indexOf("<sx:AttributeData"));
+      final var end = text.indexOf("</sx:AttributeData>", start);
+      Assertions.assertTrue(
+        end - start > 4 * 8192,
+        "Attribute text must be large with " + encoding);
+
+      for (final var validation : SMFXValidation.values()) {
+        LOG.debug("encoding {} validation {}", encoding, validation);
+        final var meshes = SMFMemoryMeshProducer.create();
+        final var format = new SMFFormatXML(validation);
+        try (var stream = new ByteArrayInputStream(output.toByteArray())) {
+          try (var parser = format.parserCreateSequential(meshes, TEST, stream)) {
+            parser.parse();
+          }
+        }
+        logEverything(meshes);
+
+        Assertions.assertEquals(List.of(), meshes.errors());
+        Assertions.assertEquals(
+          original.mesh().header().attributesInOrder(),
+          meshes.mesh().header().attributesInOrder());
+        Assertions.assertEquals(
+          original.mesh().arrays(),
+          meshes.mesh().arrays());
+      }
+    }
+  }
+
+  @Test
+  public void testAttributeListWrongCount()
+    throws Exception
+  {
+    final var original = SMFMemoryMeshProducer.create();
+    try (var stream = resource("all.smfx")) {
+      try (var parser =
+             new SMFFormatXML().parserCreateSequential(original, TEST, stream)) {
+        parser.parse();
+      }
+    }
+
+    final var output = new ByteArrayOutputStream();
+    final var writer =
+      new SMFFormatXML(
+        SMFXValidation.VALIDATION_FULL,
+        SMFXAttributeEncoding.ATTRIBUTE_ENCODING_LIST);
+    try (var serializer =
+           writer.serializerCreate(SMFFormatVersion.of(2, 0), TEST, output)) {
+      SMFMemoryMeshSerializer.serialize(original.mesh(), serializer);
+    }
+
+    final var text =
+      output.toString(StandardCharsets.UTF_8)
+        .replace("<sx:AttributeListFloat>", "<sx:AttributeListFloat>1.0 ");
+
+    for (final var validation : SMFXValidation.values()) {
+      final var meshes = SMFMemoryMeshProducer.create();
+      final var format = new SMFFormatXML(validation);
+      try (var stream =
+             new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))) {
+        try (var parser = format.parserCreateSequential(meshes, TEST, stream)) {
+          parser.parse();
+        }
+      }
+      logEverything(meshes);
+
+      Assertions.assertFalse(
+        meshes.errors().isEmpty(),
+        "At least one error must have been logged with " + validation);
+    }
+  }
+
+  @Test
+  public void testReusedReaders()
+    throws Exception
+  {
+    final var format = new SMFFormatXML();
+
+    for (int index = 0; index < 8; ++index) {
+      final var file = index % 2 == 0 ? "all.smfx" : "invalid1.smfx";
+      final var meshes = SMFMemoryMeshProducer.create();
+      try (var stream = resource(file)) {
+        try (var parser = format.parserCreateSequential(meshes, TEST, stream)) {
+          parser.parse();
+        }
+      }
+      logEverything(meshes);
+
+      if (index % 2 == 0) {
+        Assertions.assertEquals(List.of(), meshes.errors());
+        SMFMemoryMeshTesting.checkStandardMesh(meshes.mesh());
+      } else {
+        Assertions.assertFalse(meshes.errors().isEmpty());
+      }
+
+      try (var stream = resource(file)) {
+        Assertions.assertEquals(
+          Boolean.valueOf(index % 2 == 0),
+          Boolean.valueOf(format.probe(stream).isSucceeded()));
+      }
+    }
+  }
+
+  @Test
+  public void testReusedReadersConcurrent()
+    throws Exception
+  {
+    final var format = new SMFFormatXML();
+    final var executor = Executors.newFixedThreadPool(4);
+
+    try {
+      final var futures = new ArrayList<Future<List<SMFErrorType>>>();
+      for (int index = 0; index < 32; ++index) {
+        futures.add(executor.submit(() -> {
+          final var meshes = SMFMemoryMeshProducer.create();
+          try (var stream = resource("all.smfx")) {
+            try (var parser =
+                   format.parserCreateSequential(meshes, TEST, stream)) {
+              parser.parse();
+            }
+          }
+          return meshes.errors();
+        }));
+      }
+
+      for (final var future : futures) {
+        Assertions.assertEquals(List.of(), future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
   }
 
   @Test
@@ -0,0 +1,293 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.frontend;
+
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.format.text.SMFFormatText;
+import com.io7m.smfj.frontend.SMFCompressedStreams;
+import com.io7m.smfj.frontend.SMFCompression;
+import com.io7m.smfj.frontend.SMFParserProviders;
+import com.io7m.smfj.frontend.SMFSerializerProviders;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshSerializer;
+import com.io7m.smfj.tests.TestDirectories;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class SMFCompressedStreamsTest
+{
+  private Path directory;
+
+  private static InputStream resource(
+    final String name)
+    throws IOException
+  {
+    final var path = String.format("/com/io7m/smfj/tests/format/text/%s", name);
+    final var url = SMFCompressedStreamsTest.class.getResource(path);
+    if (url == null) {
+      throw new FileNotFoundException(path);
+    }
+    return url.openStream();
+  }
+
+  private static byte[] randomBytes(
+    final int size)
+  {
+    final byte[] data = new byte[size];
+    new Random(0x534d46L + size).nextBytes(data);
+    return data;
+  }
+
+  @BeforeEach
+  public void setup()
+    throws IOException
+  {
+    this.directory = TestDirectories.temporaryDirectory();
+  }
+
+  @Test
+  public void testCompressionOfFileName()
+  {
+    Assertions.assertEquals(
+      SMFCompression.COMPRESSION_NONE,
+      SMFCompression.ofFileName("mesh.smft"));
+    Assertions.assertEquals(
+      SMFCompression.COMPRESSION_GZIP,
+      SMFCompression.ofFileName("mesh.smft.gz"));
+    Assertions.assertEquals(
+      SMFCompression.COMPRESSION_DEFLATE,
+      SMFCompression.ofFileName("mesh.smfx.deflate"));
+
+    Assertions.assertEquals("mesh.smft", SMFCompression.stripSuffix("mesh.smft"));
+    Assertions.assertEquals(
+      "mesh.smft", SMFCompression.stripSuffix("mesh.smft.gz"));
+    Assertions.assertEquals(
+      "mesh.smfx", SMFCompression.stripSuffix("mesh.smfx.deflate"));
+  }
+
+  @Test
+  public void testRoundTrip()
+    throws IOException
+  {
+    for (final String suffix : List.of("bin", "bin.gz", "bin.deflate")) {
+      for (final int size : List.of(
+        Integer.valueOf(0),
+        Integer.valueOf(1),
+        Integer.valueOf(65535),
+        Integer.valueOf(65536 * 3 + 7))) {
+
+        final Path file = this.directory.resolve(size + "." + suffix);
+        final byte[] data = randomBytes(size);
+        try (var output = SMFCompressedStreams.openOutput(file)) {
+          output.write(data, 0, data.length / 2);
+          output.flush();
+          for (int index = data.length / 2; index < data.length; ++index) {
+            output.write(data[index]);
+          }
+        }
+
+        try (var input = SMFCompressedStreams.openInput(file)) {
+          Assertions.assertArrayEquals(data, input.readAllBytes());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFlushReachesSink()
+    throws IOException
+  {
+    final var flushes = new AtomicInteger(0);
+    final var sink = new ByteArrayOutputStream()
+    {
+      @Override
+      public void flush()
+      {
+        flushes.incrementAndGet();
+      }
+    };
+
+    try (var stream =
+           SMFCompressedStreams.compressing(
+             sink, SMFCompression.COMPRESSION_GZIP)) {
+      stream.write(randomBytes(100_000));
+      stream.flush();
+
+      Assertions.assertTrue(
+        flushes.get() > 0, "Flush must reach the underlying stream");    }
+  }
+
+  @Test
+  public void testUncheckedSinkFailure()
+  {
+    final var sink = new ByteArrayOutputStream()
+    {
+      @Override
+      public synchronized void write(
+        final byte[] data,
+        final int offset,
+        final int length)
+      {
+        if (this.size() > 1024) {
+          throw new IllegalStateException("Sink failure");
+        }
+        super.write(data, offset, length);
+      }
+    };
+
+    final var ex = Assertions.assertThrows(IOException.class, () -> {
+      try (var stream =
+             SMFCompressedStreams.compressing(
+               sink, SMFCompression.COMPRESSION_GZIP)) {
+        for (int index = 0; index < 64; ++index) {
+          stream.write(randomBytes(65536));
+        }
+      }
+    });
+    Assertions.assertTrue(ex.getMessage().contains("Sink failure"));
+  }
+
+  @Test
+  public void testUncheckedSourceFailure()
+    throws IOException
+  {
+    final var compressed = new ByteArrayOutputStream();
+    try (var stream = new GZIPOutputStream(compressed)) {
+      stream.write(randomBytes(65536 * 4));
+    }
+
+    final var bytes = compressed.toByteArray();
+    final var source = new InputStream()
+    {
+      private int position;
+
+      @Override
+      public int read()
+      {
+        if (this.position > 1024) {
+          throw new IllegalStateException("Source failure");
+        }
+        final int b = bytes[this.position] & 0xff;
+        ++this.position;
+        return b;
+      }
+    };
+
+    final var ex = Assertions.assertThrows(IOException.class, () -> {
+      try (var stream =
+             SMFCompressedStreams.decompressing(
+               source, SMFCompression.COMPRESSION_GZIP)) {
+        stream.readAllBytes();
+      }
+    });
+    Assertions.assertTrue(ex.getMessage().contains("Source failure"));
+  }
+
+  @Test
+  public void testGzipCompatible()
+    throws IOException
+  {
+    final Path file = this.directory.resolve("data.gz");
+    final byte[] data = randomBytes(100000);
+    try (var output = SMFCompressedStreams.openOutput(file)) {
+      output.write(data);
+    }
+
+    try (var input = new GZIPInputStream(Files.newInputStream(file))) {
+      Assertions.assertArrayEquals(data, input.readAllBytes());
+    }
+  }
+
+  @Test
+  public void testCorruptInput()
+    throws IOException
+  {
+    final Path file = this.directory.resolve("data.deflate");
+    Files.write(file, randomBytes(1000));
+
+    Assertions.assertThrows(IOException.class, () -> {
+      try (var input = SMFCompressedStreams.openInput(file)) {
+        input.readAllBytes();
+      }
+    });
+  }
+
+  @Test
+  public void testProvidersIgnoreCompressionSuffix()
+  {
+    Assertions.assertEquals(
+      SMFFormatText.class,
+      SMFParserProviders.findParserProvider(Optional.empty(), "mesh.smft.gz")
+        .orElseThrow()
+        .getClass());
+    Assertions.assertEquals(
+      SMFFormatText.class,
+      SMFSerializerProviders.findSerializerProvider(
+        Optional.empty(), "mesh.smft.deflate")
+        .orElseThrow()
+        .getClass());
+  }
+
+  @Test
+  public void testMeshRoundTrip()
+    throws IOException
+  {
+    final SMFFormatText format = new SMFFormatText();
+    final Path file = this.directory.resolve("mesh.smft.gz");
+
+    final SMFMemoryMeshProducerType original = SMFMemoryMeshProducer.create();
+    try (var stream = resource("no_warnings.smft")) {
+      try (var parser =
+             format.parserCreateSequential(original, file.toUri(), stream)) {
+        parser.parse();
+      }
+    }
+    Assertions.assertEquals(List.of(), original.errors());
+
+    try (var stream = SMFCompressedStreams.openOutput(file)) {
+      try (var serializer = format.serializerCreate(
+        SMFFormatVersion.of(1, 0), file.toUri(), stream)) {
+        SMFMemoryMeshSerializer.serialize(original.mesh(), serializer);
+      }
+    }
+
+    final SMFMemoryMeshProducerType received = SMFMemoryMeshProducer.create();
+    try (var stream = SMFCompressedStreams.openInput(file)) {
+      try (var parser =
+             format.parserCreateSequential(received, file.toUri(), stream)) {
+        parser.parse();
+      }
+    }
+    Assertions.assertEquals(List.of(), received.errors());
+    Assertions.assertEquals(original.mesh(), received.mesh());
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.processing;
+
+import com.io7m.jtensors.core.unparameterized.vectors.Vector2L;
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3D;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFComponentType;
+import com.io7m.smfj.processing.api.SMFAttributeArrayCursor;
+import com.io7m.smfj.processing.api.SMFAttributeArrayFloating3;
+import com.io7m.smfj.processing.api.SMFAttributeArrayFloating3Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerSigned2;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerUnsigned4Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayType;
+import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.smfj.tests.processing.SMFMemoryMeshFilterTesting.WarningsAllowed.WARNINGS_DISALLOWED;
+
+public final class SMFAttributeArrayCursorTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFAttributeArrayCursorTest.class);
+
+  @Test
+  public void testPacked()
+  {
+    final SMFAttributeArrayFloating3Packed array =
+      SMFAttributeArrayFloating3Packed.of(new double[]{
+        1.0, 2.0, 3.0,
+        4.0, 5.0, 6.0,
+      });
+
+    final SMFAttributeArrayCursor c = SMFAttributeArrayCursor.create(array);
+    Assertions.assertSame(array, c.array());
+    Assertions.assertEquals(
+      SMFComponentType.ELEMENT_TYPE_FLOATING, c.componentType());
+    Assertions.assertEquals(3, c.componentCount());
+    Assertions.assertEquals(2L, c.elementCount());
+    Assertions.assertEquals(-1L, c.index());
+
+    Assertions.assertTrue(c.next());
+    Assertions.assertEquals(0L, c.index());
+    Assertions.assertEquals(1.0, c.getDouble(0));
+    Assertions.assertEquals(2.0, c.getDouble(1));
+    Assertions.assertEquals(3.0, c.getDouble(2));
+    Assertions.assertEquals(3L, c.getLong(2));
+
+    Assertions.assertTrue(c.next());
+    Assertions.assertEquals(1L, c.index());
+    Assertions.assertEquals(4.0, c.getDouble(0));
+    Assertions.assertEquals(5.0, c.getDouble(1));
+    Assertions.assertEquals(6.0, c.getDouble(2));
+
+    Assertions.assertFalse(c.next());
+    Assertions.assertFalse(c.next());
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class, () -> c.getDouble(0));
+
+    c.seek(0L);
+    Assertions.assertEquals(1.0, c.getDouble(0));
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class, () -> c.getDouble(3));
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class, () -> c.seek(2L));
+  }
+
+  @Test
+  public void testListBacked()
+  {
+    final SMFAttributeArrayFloating3 floating =
+      SMFAttributeArrayFloating3.of(List.of(
+        Vector3D.of(1.0, 2.0, 3.0),
+        Vector3D.of(4.0, 5.0, 6.0)));
+    final SMFAttributeArrayIntegerSigned2 signed =
+      SMFAttributeArrayIntegerSigned2.of(List.of(
+        Vector2L.of(-1L, 2L)));
+
+    final SMFAttributeArrayCursor c = SMFAttributeArrayCursor.create(floating);
+    Assertions.assertTrue(c.next());
+    Assertions.assertTrue(c.next());
+    Assertions.assertEquals(4.0, c.getDouble(0));
+    Assertions.assertEquals(5.0, c.getDouble(1));
+    Assertions.assertEquals(6.0, c.getDouble(2));
+    Assertions.assertFalse(c.next());
+
+    Assertions.assertSame(c, c.reset(signed));
+    Assertions.assertEquals(
+      SMFComponentType.ELEMENT_TYPE_INTEGER_SIGNED, c.componentType());
+    Assertions.assertEquals(2, c.componentCount());
+    Assertions.assertEquals(1L, c.elementCount());
+    Assertions.assertTrue(c.next());
+    Assertions.assertEquals(-1L, c.getLong(0));
+    Assertions.assertEquals(2L, c.getLong(1));
+    Assertions.assertEquals(-1.0, c.getDouble(0));
+    Assertions.assertFalse(c.next());
+  }
+
+  @Test
+  public void testUnsigned64()
+  {
+    final SMFAttributeArrayIntegerUnsigned4Packed array =
+      SMFAttributeArrayIntegerUnsigned4Packed.of(new long[]{
+        0xffff_ffff_ffff_ffffL, 0L, 1L, 0xffff_ffffL,
+      });
+
+    final SMFAttributeArrayCursor c = SMFAttributeArrayCursor.create(array);
+    Assertions.assertEquals(
+      SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED, c.componentType());
+    Assertions.assertTrue(c.next());
+    Assertions.assertEquals(0xffff_ffff_ffff_ffffL, c.getLong(0));
+    Assertions.assertEquals(18446744073709551615.0, c.getDouble(0));
+    Assertions.assertEquals(4294967295.0, c.getDouble(3));
+  }
+
+  @Test
+  public void testMatchesArrays()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+
+    final SMFMemoryMesh mesh = loader.mesh();
+    final SMFAttributeArrayCursor c =
+      SMFAttributeArrayCursor.create(
+        SMFAttributeArrayFloating3Packed.of(new double[0]));
+
+    for (final Map.Entry<SMFAttributeName, SMFAttributeArrayType> entry :
+      mesh.arrays().entrySet()) {
+      final SMFAttributeArrayType array = entry.getValue();
+      c.reset(array);
+
+      Assertions.assertEquals(array.elementCount(), c.elementCount());
+      Assertions.assertEquals(
+        mesh.header().attributesByName().get(entry.getKey()).componentType(),
+        c.componentType());
+      Assertions.assertEquals(
+        mesh.header().attributesByName().get(entry.getKey()).componentCount(),
+        c.componentCount());
+
+      long count = 0L;
+      while (c.next()) {
+        Assertions.assertEquals(count, c.index());
+        ++count;
+      }
+      Assertions.assertEquals(array.elementCount(), count);
+    }
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.processing;
+
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3D;
+import com.io7m.jtensors.core.unparameterized.vectors.Vector4L;
+import com.io7m.smfj.processing.api.SMFAttributeArrayFloating1Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayFloating2Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayFloating3;
+import com.io7m.smfj.processing.api.SMFAttributeArrayFloating3Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayFloating4Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerSigned1Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerSigned2Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerSigned3Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerSigned4Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerUnsigned1Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerUnsigned2Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerUnsigned3Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerUnsigned4Packed;
+import com.io7m.smfj.processing.api.SMFAttributeArrayType;
+import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.smfj.tests.processing.SMFMemoryMeshFilterTesting.WarningsAllowed.WARNINGS_DISALLOWED;
+
+public final class SMFAttributeArrayPackedTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFAttributeArrayPackedTest.class);
+
+  private static final List<Class<?>> PACKED = List.of(
+    SMFAttributeArrayFloating1Packed.class,
+    SMFAttributeArrayFloating2Packed.class,
+    SMFAttributeArrayFloating3Packed.class,
+    SMFAttributeArrayFloating4Packed.class,
+    SMFAttributeArrayIntegerSigned1Packed.class,
+    SMFAttributeArrayIntegerSigned2Packed.class,
+    SMFAttributeArrayIntegerSigned3Packed.class,
+    SMFAttributeArrayIntegerSigned4Packed.class,
+    SMFAttributeArrayIntegerUnsigned1Packed.class,
+    SMFAttributeArrayIntegerUnsigned2Packed.class,
+    SMFAttributeArrayIntegerUnsigned3Packed.class,
+    SMFAttributeArrayIntegerUnsigned4Packed.class);
+
+  @Test
+  public void testProducerBuildsPacked()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+
+    final SMFMemoryMesh mesh = loader.mesh();
+    SMFMemoryMeshTesting.checkStandardMesh(mesh);
+
+    Assertions.assertEquals(
+      mesh.header().attributesInOrder().size(),
+      mesh.arrays().size());
+    for (final SMFAttributeArrayType array : mesh.arrays().values()) {
+      Assertions.assertTrue(
+        PACKED.contains(array.getClass()),
+        array.getClass().getName());
+    }
+  }
+
+  @Test
+  public void testFloatingAccessors()
+  {
+    final SMFAttributeArrayFloating3Packed array =
+      SMFAttributeArrayFloating3Packed.of(new double[]{
+        1.0, 2.0, 3.0,
+        4.0, 5.0, 6.0,
+      });
+
+    Assertions.assertEquals(2, array.size());
+    Assertions.assertEquals(1.0, array.x(0));
+    Assertions.assertEquals(2.0, array.y(0));
+    Assertions.assertEquals(3.0, array.z(0));
+    Assertions.assertEquals(4.0, array.x(1));
+    Assertions.assertEquals(5.0, array.y(1));
+    Assertions.assertEquals(6.0, array.z(1));
+    Assertions.assertEquals(Vector3D.of(4.0, 5.0, 6.0), array.values().get(1));
+
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class, () -> array.x(2));
+    Assertions.assertThrows(
+      UnsupportedOperationException.class,
+      () -> array.values().set(0, Vector3D.of(0.0, 0.0, 0.0)));
+  }
+
+  @Test
+  public void testChunkBoundaries()
+  {
+    final int count = (1 << 20) + 1;
+    final double[] floating = new double[count * 3];
+    final long[] integer = new long[count * 3];
+    for (int index = 0; index < floating.length; ++index) {
+      floating[index] = (double) index;
+      integer[index] = (long) index * 1000L;
+    }
+
+    final SMFAttributeArrayFloating3Packed array_f =
+      SMFAttributeArrayFloating3Packed.of(floating);
+    final SMFAttributeArrayIntegerSigned3Packed array_i =
+      SMFAttributeArrayIntegerSigned3Packed.of(integer);
+
+    Assertions.assertEquals((long) count, array_f.elementCount());
+    Assertions.assertEquals((long) count, array_i.elementCount());
+    Assertions.assertEquals(count, array_f.size());
+    Assertions.assertEquals(count, array_i.values().size());
+
+    for (long index = 0L; index < (long) count; index += 4099L) {
+      final double base = (double) (index * 3L);
+      Assertions.assertEquals(base, array_f.x(index));
+      Assertions.assertEquals(base + 1.0, array_f.y(index));
+      Assertions.assertEquals(base + 2.0, array_f.z(index));
+      Assertions.assertEquals(index * 3000L, array_i.x(index));
+      Assertions.assertEquals(index * 3000L + 2000L, array_i.z(index));
+    }
+
+    final long last = (long) count - 1L;
+    Assertions.assertEquals((double) (last * 3L + 2L), array_f.z(last));
+    Assertions.assertEquals(last * 3000L + 2000L, array_i.z(last));
+    Assertions.assertEquals(
+      SMFAttributeArrayFloating3Packed.of(floating), array_f);
+
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class, () -> array_f.x((long) count));
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class, () -> array_i.x(-1L));
+  }
+
+  @Test
+  public void testFloatingNarrowing()
+  {
+    final SMFAttributeArrayFloating1Packed exact =
+      SMFAttributeArrayFloating1Packed.of(new double[]{0.5, -0.0, 1.0e30});
+    final SMFAttributeArrayFloating1Packed inexact =
+      SMFAttributeArrayFloating1Packed.of(new double[]{0.5, 0.1, 1.0e30});
+
+    Assertions.assertEquals(12L, exact.sizeOctets());
+    Assertions.assertEquals(-0.0, exact.value(1));
+    Assertions.assertEquals(24L, inexact.sizeOctets());
+    Assertions.assertEquals(0.1, inexact.value(1));
+    Assertions.assertNotEquals(exact, inexact);
+  }
+
+  @Test
+  public void testIntegerNarrowing()
+  {
+    Assertions.assertEquals(
+      3L, SMFAttributeArrayIntegerSigned1Packed.of(
+        new long[]{-128L, 0L, 127L}).sizeOctets());
+    Assertions.assertEquals(
+      6L, SMFAttributeArrayIntegerSigned1Packed.of(
+        new long[]{-129L, 0L, 127L}).sizeOctets());
+    Assertions.assertEquals(
+      12L, SMFAttributeArrayIntegerSigned1Packed.of(
+        new long[]{-1L, 0L, 65536L}).sizeOctets());
+    Assertions.assertEquals(
+      24L, SMFAttributeArrayIntegerSigned1Packed.of(
+        new long[]{-1L, 0L, 1L << 40}).sizeOctets());
+  }
+
+  @Test
+  public void testUnsigned64()
+  {
+    final SMFAttributeArrayIntegerUnsigned4Packed array =
+      SMFAttributeArrayIntegerUnsigned4Packed.of(new long[]{
+        0xffff_ffff_ffff_ffffL, 0L, 1L, 0xffff_ffffL,
+      });
+
+    Assertions.assertEquals(0xffff_ffff_ffff_ffffL, array.x(0));
+    Assertions.assertEquals(0L, array.y(0));
+    Assertions.assertEquals(1L, array.z(0));
+    Assertions.assertEquals(0xffff_ffffL, array.w(0));
+    Assertions.assertEquals(
+      Vector4L.of(0xffff_ffff_ffff_ffffL, 0L, 1L, 0xffff_ffffL),
+      array.values().get(0));
+  }
+
+  @Test
+  public void testEquality()
+  {
+    final SMFAttributeArrayFloating3Packed array0 =
+      SMFAttributeArrayFloating3Packed.of(new double[]{1.0, 2.0, 3.0});
+    final SMFAttributeArrayFloating3Packed array1 =
+      SMFAttributeArrayFloating3Packed.of(new double[]{1.0, 2.0, 3.0});
+    final SMFAttributeArrayFloating3 boxed =
+      SMFAttributeArrayFloating3.of(List.of(Vector3D.of(1.0, 2.0, 3.0)));
+
+    final SMFAttributeArrayFloating3Packed array2 =
+      SMFAttributeArrayFloating3Packed.of(new double[]{1.0, 2.0, 4.0});
+
+    Assertions.assertEquals(array0, array1);
+    Assertions.assertEquals(array0.hashCode(), array1.hashCode());
+    Assertions.assertNotEquals(array0, array2);
+
+    /*
+     * Packed arrays are only equal to other packed arrays, so that
+     * equality remains symmetric with the generated list-backed types.
+     */
+
+    Assertions.assertNotEquals(array0, boxed);
+    Assertions.assertNotEquals(boxed, array0);
+    Assertions.assertEquals(boxed.values(), array0.values());
+  }
+
+  @Test
+  public void testMatchArray()
+  {
+    final SMFAttributeArrayType array =
+      SMFAttributeArrayIntegerSigned2Packed.of(new long[]{1L, 2L});
+
+    final String result = array.matchArray(
+      "",
+      (x, y) -> "f4",
+      (x, y) -> "f3",
+      (x, y) -> "f2",
+      (x, y) -> "f1",
+      (x, y) -> "u4",
+      (x, y) -> "u3",
+      (x, y) -> "u2",
+      (x, y) -> "u1",
+      (x, y) -> "i4",
+      (x, y) -> "i3",
+      (x, y) -> "i2",
+      (x, y) -> "i1");
+
+    Assertions.assertEquals("i2", result);
+  }
+}
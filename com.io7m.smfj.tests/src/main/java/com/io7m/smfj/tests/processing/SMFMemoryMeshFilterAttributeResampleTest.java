@@ -180,6 +180,9 @@ public final class SMFMemoryMeshFilterAttributeResampleTest extends
     final SMFHeader header1 = mesh1.header();
 
     Assertions.assertEquals(mesh0.triangles(), mesh1.triangles());
+    Assertions.assertSame(mesh0.triangles(), mesh1.triangles());
+    Assertions.assertSame(arrays0, arrays1);
+    Assertions.assertSame(mesh0.metadata(), mesh1.metadata());
     Assertions.assertEquals(arrays0.size(), arrays1.size());
     Assertions.assertEquals(
       header0.attributesByName().size(),
@@ -22,6 +22,7 @@ import com.io7m.smfj.parser.api.SMFParserSequentialType;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
 import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
 import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerConfiguration;
 import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
 import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeTrim;
 import java.nio.file.FileSystem;
@@ -165,4 +166,54 @@ public final class SMFMemoryMeshFilterAttributeTrimTest extends
       mesh0.arrays().get(name_source),
       mesh1.arrays().get(name_source));
   }
+
+  @Test
+  public void testAttributesRequired()
+  {
+    final SMFAttributeName name = SMFAttributeName.of("f16_4");
+
+    final SMFMemoryMeshFilterType filter =
+      SMFMemoryMeshFilterAttributeTrim.create(Set.of(name));
+
+    Assertions.assertEquals(
+      Optional.of(Set.of(name)),
+      filter.attributesRequired(Optional.empty()));
+    Assertions.assertEquals(
+      Optional.of(Set.of(name)),
+      filter.attributesRequired(Optional.of(Set.of())));
+  }
+
+  @Test
+  public void testTrimProjected()
+    throws Exception
+  {
+    final SMFAttributeName name_source =
+      SMFAttributeName.of("f16_4");
+
+    final SMFMemoryMeshFilterType filter =
+      SMFMemoryMeshFilterAttributeTrim.create(Set.of(name_source));
+
+    final SMFMemoryMeshProducerType loader =
+      SMFMemoryMeshProducer.create(
+        SMFMemoryMeshProducerConfiguration.builder()
+          .setAttributesIncluded(filter.attributesRequired(Optional.empty()))
+          .build());
+
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    final SMFMemoryMesh mesh0 = loader.mesh();
+    Assertions.assertEquals(1L, mesh0.arrays().size());
+
+    final SMFPartialLogged<SMFMemoryMesh> r =
+      filter.filter(this.createContext(), mesh0);
+    Assertions.assertTrue(r.isSucceeded());
+
+    final SMFMemoryMesh mesh1 = r.get();
+    Assertions.assertEquals(1L, mesh1.arrays().size());
+    Assertions.assertTrue(
+      mesh1.header().attributesByName().containsKey(name_source));
+  }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.processing;
+
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFComponentType;
+import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
+import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.processing.api.SMFAttributeArrayType;
+import com.io7m.smfj.processing.api.SMFFilterCommandContext;
+import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterExecutor;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeRename;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeResample;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterCheck;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterCheckConfiguration;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterEndiannessSet;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterMetadataRemove;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterSchemaSet;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterTrianglesOptimize;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterTrianglesOptimizeConfiguration;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.smfj.tests.processing.SMFMemoryMeshFilterTesting.WarningsAllowed.WARNINGS_DISALLOWED;
+
+public final class SMFMemoryMeshFilterExecutorTest
+  extends SMFMemoryMeshFilterContract
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFMemoryMeshFilterExecutorTest.class);
+
+  private ExecutorService executor;
+
+  private static SMFMemoryMesh load()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+    try (var parser = SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+    return loader.mesh();
+  }
+
+  private static SMFMemoryMeshFilterType check(
+    final String name,
+    final int size)
+  {
+    return SMFMemoryMeshFilterCheck.create(
+      SMFMemoryMeshFilterCheckConfiguration.builder()
+        .setName(SMFAttributeName.of(name))
+        .setComponentType(SMFComponentType.ELEMENT_TYPE_FLOATING)
+        .setComponentSize(size)
+        .build());
+  }
+
+  private static void checkSame(
+    final SMFMemoryMesh expected,
+    final SMFMemoryMesh received)
+  {
+    Assertions.assertEquals(expected.header(), received.header());
+    Assertions.assertEquals(expected.metadata(), received.metadata());
+    Assertions.assertEquals(
+      expected.triangles().values(), received.triangles().values());
+    Assertions.assertEquals(
+      expected.arrays().keySet(), received.arrays().keySet());
+
+    for (final Map.Entry<SMFAttributeName, SMFAttributeArrayType> pair :
+      expected.arrays().entrySet()) {
+      final SMFAttributeName name = pair.getKey();
+      Assertions.assertEquals(
+        pair.getValue(), received.arrays().get(name), name.value());
+    }
+  }
+
+  @BeforeEach
+  public void setupExecutor()
+  {
+    this.executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  public void tearDownExecutor()
+  {
+    this.executor.shutdown();
+  }
+
+  private void checkEquivalent(
+    final SMFFilterCommandContext context,
+    final List<SMFMemoryMeshFilterType> filters)
+    throws Exception
+  {
+    final SMFMemoryMesh mesh = load();
+
+    final SMFPartialLogged<SMFMemoryMesh> expected =
+      SMFMemoryMeshFilterExecutor.createSequential()
+        .execute(context, filters, mesh);
+    final SMFPartialLogged<SMFMemoryMesh> received =
+      SMFMemoryMeshFilterExecutor.create(this.executor)
+        .execute(context, filters, mesh);
+
+    Assertions.assertEquals(expected.isSucceeded(), received.isSucceeded());
+    Assertions.assertEquals(expected.errors(), received.errors());
+    Assertions.assertEquals(expected.warnings(), received.warnings());
+    if (expected.isSucceeded()) {
+      checkSame(expected.get(), received.get());
+    }
+  }
+
+  @Test
+  public void testAttributes()
+    throws Exception
+  {
+    checkEquivalent(
+      this.createContext(),
+      List.of(
+        SMFMemoryMeshFilterAttributeResample.create(
+          SMFAttributeName.of("f32_3"), 64),
+        SMFMemoryMeshFilterAttributeResample.create(
+          SMFAttributeName.of("f32_4"), 16),
+        check("f64_4", 64),
+        SMFMemoryMeshFilterAttributeResample.create(
+          SMFAttributeName.of("f16_1"), 32),
+        check("f32_3", 64),
+        check("f16_1", 32)));
+  }
+
+  @Test
+  public void testMixed()
+    throws Exception
+  {
+    checkEquivalent(
+      this.createContext(),
+      List.of(
+        SMFMemoryMeshFilterTrianglesOptimize.create(
+          SMFMemoryMeshFilterTrianglesOptimizeConfiguration.of(
+            OptionalInt.of(8), true)),
+        SMFMemoryMeshFilterAttributeResample.create(
+          SMFAttributeName.of("f32_3"), 64),
+        SMFMemoryMeshFilterSchemaSet.create(
+          SMFSchemaIdentifier.of(SMFSchemaName.of("com.io7m.example"), 3, 4)),
+        SMFMemoryMeshFilterEndiannessSet.create(ByteOrder.LITTLE_ENDIAN),
+        SMFMemoryMeshFilterMetadataRemove.create(
+          Optional.of(SMFSchemaName.of("com.io7m.smf.example")),
+          Optional.empty()),
+        SMFMemoryMeshFilterAttributeRename.create(
+          SMFAttributeName.of("f32_3"), SMFAttributeName.of("renamed")),
+        SMFMemoryMeshFilterAttributeResample.create(
+          SMFAttributeName.of("f64_4"), 32),
+        SMFMemoryMeshFilterSchemaSet.create(
+          SMFSchemaIdentifier.of(SMFSchemaName.of("com.io7m.example"), 4, 0))));
+  }
+
+  @Test
+  public void testFailure()
+    throws Exception
+  {
+    checkEquivalent(
+      this.createContext(),
+      List.of(
+        SMFMemoryMeshFilterAttributeResample.create(
+          SMFAttributeName.of("f32_3"), 64),
+        check("f64_4", 16),
+        check("nonexistent", 32),
+        SMFMemoryMeshFilterAttributeResample.create(
+          SMFAttributeName.of("f16_1"), 32)));
+  }
+}
@@ -193,6 +193,9 @@ public final class SMFMemoryMeshFilterMetadataAddTest
     final SMFMemoryMesh mesh1 = r.get();
     Assertions.assertEquals(mesh0.arrays(), mesh1.arrays());
     Assertions.assertEquals(mesh0.triangles(), mesh1.triangles());
+    Assertions.assertSame(mesh0.arrays(), mesh1.arrays());
+    Assertions.assertSame(mesh0.triangles(), mesh1.triangles());
+    Assertions.assertSame(mesh0.header(), mesh1.header());
 
     final var metadataWithout = new ArrayList<>(mesh1.metadata());
     metadataWithout.remove(metadataWithout.size() - 1);
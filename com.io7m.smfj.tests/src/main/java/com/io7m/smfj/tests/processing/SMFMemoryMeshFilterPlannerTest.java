@@ -0,0 +1,229 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.processing;
+
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
+import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterPlan;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterPlanner;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeRemove;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeRename;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeResample;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeTrim;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterEndiannessSet;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterSchemaCheck;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterSchemaSet;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterTrianglesOptimize;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterTrianglesOptimizeConfiguration;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public final class SMFMemoryMeshFilterPlannerTest
+{
+  private static final SMFAttributeName X = SMFAttributeName.of("x");
+  private static final SMFAttributeName Y = SMFAttributeName.of("y");
+
+  private static SMFSchemaIdentifier schema(
+    final int major)
+  {
+    return SMFSchemaIdentifier.of(
+      SMFSchemaName.of("com.io7m.example"), major, 0);
+  }
+
+  private static SMFMemoryMeshFilterType optimize()
+  {
+    return SMFMemoryMeshFilterTrianglesOptimize.create(
+      SMFMemoryMeshFilterTrianglesOptimizeConfiguration.of(
+        OptionalInt.of(16), true));
+  }
+
+  @Test
+  public void testEmpty()
+  {
+    final SMFMemoryMeshFilterPlan plan =
+      SMFMemoryMeshFilterPlanner.plan(List.of());
+
+    Assertions.assertEquals(List.of(), plan.streamed());
+    Assertions.assertEquals(List.of(), plan.materialized());
+    Assertions.assertEquals(List.of(), plan.eliminated());
+  }
+
+  @Test
+  public void testResampleRemovedNotEliminated()
+  {
+    /*
+     * The resampling may fail (for example, resampling a floating point
+     * attribute to 8 bits), so eliminating it would change the outcome of
+     * the pipeline.
+     */
+
+    final SMFMemoryMeshFilterType resample =
+      SMFMemoryMeshFilterAttributeResample.create(X, 8);
+    final SMFMemoryMeshFilterType remove =
+      SMFMemoryMeshFilterAttributeRemove.create(X);
+
+    final SMFMemoryMeshFilterPlan plan =
+      SMFMemoryMeshFilterPlanner.plan(List.of(resample, remove));
+
+    Assertions.assertEquals(List.of(resample, remove), plan.streamed());
+    Assertions.assertEquals(List.of(), plan.materialized());
+    Assertions.assertEquals(List.of(), plan.eliminated());
+  }
+
+  @Test
+  public void testEndiannessSetRepeatedEliminated()
+  {
+    final SMFMemoryMeshFilterType set0 =
+      SMFMemoryMeshFilterEndiannessSet.create(ByteOrder.BIG_ENDIAN);
+    final SMFMemoryMeshFilterType set1 =
+      SMFMemoryMeshFilterEndiannessSet.create(ByteOrder.LITTLE_ENDIAN);
+
+    final SMFMemoryMeshFilterPlan plan =
+      SMFMemoryMeshFilterPlanner.plan(List.of(set0, set1));
+
+    Assertions.assertEquals(List.of(set1), plan.streamed());
+    Assertions.assertEquals(List.of(set0), plan.eliminated());
+  }
+
+  @Test
+  public void testResampleRenamedNotEliminated()
+  {
+    final SMFMemoryMeshFilterType resample =
+      SMFMemoryMeshFilterAttributeResample.create(X, 64);
+    final SMFMemoryMeshFilterType rename =
+      SMFMemoryMeshFilterAttributeRename.create(X, Y);
+    final SMFMemoryMeshFilterType remove =
+      SMFMemoryMeshFilterAttributeRemove.create(X);
+
+    final SMFMemoryMeshFilterPlan plan =
+      SMFMemoryMeshFilterPlanner.plan(List.of(resample, rename, remove));
+
+    Assertions.assertEquals(List.of(), plan.eliminated());
+    Assertions.assertEquals(List.of(resample, rename, remove), plan.filters());
+  }
+
+  @Test
+  public void testSchemaSetRepeatedEliminated()
+  {
+    final SMFMemoryMeshFilterType set0 =
+      SMFMemoryMeshFilterSchemaSet.create(schema(1));
+    final SMFMemoryMeshFilterType set1 =
+      SMFMemoryMeshFilterSchemaSet.create(schema(2));
+    final SMFMemoryMeshFilterType set2 =
+      SMFMemoryMeshFilterSchemaSet.create(schema(3));
+
+    final SMFMemoryMeshFilterPlan plan =
+      SMFMemoryMeshFilterPlanner.plan(List.of(set0, set1, set2));
+
+    Assertions.assertEquals(List.of(set2), plan.streamed());
+    Assertions.assertEquals(List.of(set0, set1), plan.eliminated());
+  }
+
+  @Test
+  public void testSchemaSetReadNotEliminated()
+  {
+    final SMFMemoryMeshFilterType set0 =
+      SMFMemoryMeshFilterSchemaSet.create(schema(1));
+    final SMFMemoryMeshFilterType check =
+      SMFMemoryMeshFilterSchemaCheck.create(schema(1));
+    final SMFMemoryMeshFilterType set1 =
+      SMFMemoryMeshFilterSchemaSet.create(schema(2));
+
+    final SMFMemoryMeshFilterPlan plan =
+      SMFMemoryMeshFilterPlanner.plan(List.of(set0, check, set1));
+
+    Assertions.assertEquals(List.of(set0, check, set1), plan.streamed());
+    Assertions.assertEquals(List.of(), plan.eliminated());
+  }
+
+  @Test
+  public void testRemoveRepeatedNotEliminated()
+  {
+    final SMFMemoryMeshFilterType remove0 =
+      SMFMemoryMeshFilterAttributeRemove.create(X);
+    final SMFMemoryMeshFilterType remove1 =
+      SMFMemoryMeshFilterAttributeRemove.create(X);
+
+    final SMFMemoryMeshFilterPlan plan =
+      SMFMemoryMeshFilterPlanner.plan(List.of(remove0, remove1));
+
+    Assertions.assertEquals(List.of(remove0, remove1), plan.streamed());
+    Assertions.assertEquals(List.of(), plan.eliminated());
+  }
+
+  @Test
+  public void testStreamingMovedAhead()
+  {
+    final SMFMemoryMeshFilterType optimize = optimize();
+    final SMFMemoryMeshFilterType remove =
+      SMFMemoryMeshFilterAttributeRemove.create(X);
+    final SMFMemoryMeshFilterType set =
+      SMFMemoryMeshFilterSchemaSet.create(schema(1));
+
+    final SMFMemoryMeshFilterPlan plan =
+      SMFMemoryMeshFilterPlanner.plan(List.of(optimize, remove, set));
+
+    Assertions.assertEquals(List.of(remove, set), plan.streamed());
+    Assertions.assertEquals(List.of(optimize), plan.materialized());
+    Assertions.assertEquals(List.of(), plan.eliminated());
+  }
+
+  @Test
+  public void testWithoutOptimization()
+  {
+    final SMFMemoryMeshFilterType set0 =
+      SMFMemoryMeshFilterSchemaSet.create(schema(1));
+    final SMFMemoryMeshFilterType optimize = optimize();
+    final SMFMemoryMeshFilterType set1 =
+      SMFMemoryMeshFilterSchemaSet.create(schema(2));
+
+    final SMFMemoryMeshFilterPlan plan =
+      SMFMemoryMeshFilterPlanner.planWithoutOptimization(
+        List.of(set0, optimize, set1));
+
+    Assertions.assertEquals(List.of(set0), plan.streamed());
+    Assertions.assertEquals(List.of(optimize, set1), plan.materialized());
+    Assertions.assertEquals(List.of(), plan.eliminated());
+  }
+
+  @Test
+  public void testBarrierNotCrossed()
+  {
+    final SMFMemoryMeshFilterType resample =
+      SMFMemoryMeshFilterAttributeResample.create(X, 64);
+    final SMFMemoryMeshFilterType trim =
+      SMFMemoryMeshFilterAttributeTrim.create(Set.of(X, Y));
+    final SMFMemoryMeshFilterType optimize = optimize();
+    final SMFMemoryMeshFilterType remove =
+      SMFMemoryMeshFilterAttributeRemove.create(X);
+
+    final SMFMemoryMeshFilterPlan plan =
+      SMFMemoryMeshFilterPlanner.plan(
+        List.of(resample, trim, optimize, remove));
+
+    Assertions.assertEquals(List.of(resample, trim, remove), plan.streamed());
+    Assertions.assertEquals(List.of(optimize), plan.materialized());
+    Assertions.assertEquals(List.of(), plan.eliminated());
+  }
+}
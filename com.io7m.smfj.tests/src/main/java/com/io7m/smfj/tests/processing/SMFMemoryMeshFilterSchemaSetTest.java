@@ -165,5 +165,8 @@ public final class SMFMemoryMeshFilterSchemaSetTest extends
       r.get().header().schemaIdentifier().get());
 
     checkMeshesSame(loader.mesh(), r.get());
+    Assertions.assertSame(loader.mesh().arrays(), r.get().arrays());
+    Assertions.assertSame(loader.mesh().triangles(), r.get().triangles());
+    Assertions.assertSame(loader.mesh().metadata(), r.get().metadata());
   }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.processing;
+
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFComponentType;
+import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.core.SMFSchemaIdentifier;
+import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.parser.api.SMFParserEventsType;
+import com.io7m.smfj.processing.api.SMFAttributeArrayType;
+import com.io7m.smfj.processing.api.SMFFilterCommandContext;
+import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingEvents;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterStreamingType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeRemove;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeRename;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeResample;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeTrim;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterCheck;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterCheckConfiguration;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterEndiannessSet;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterMetadataAdd;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterMetadataRemove;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterSchemaSet;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.smfj.tests.processing.SMFMemoryMeshFilterTesting.WarningsAllowed.WARNINGS_DISALLOWED;
+
+public final class SMFMemoryMeshFilterStreamingTest
+  extends SMFMemoryMeshFilterContract
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFMemoryMeshFilterStreamingTest.class);
+
+  private static SMFMemoryMesh filterInMemory(
+    final SMFFilterCommandContext context,
+    final List<SMFMemoryMeshFilterType> filters)
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+    try (var parser = SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    SMFMemoryMesh mesh = loader.mesh();
+    for (final SMFMemoryMeshFilterType filter : filters) {
+      final SMFPartialLogged<SMFMemoryMesh> result =
+        filter.filter(context, mesh);
+      Assertions.assertTrue(result.isSucceeded(), filter.name());
+      mesh = result.get();
+    }
+    return mesh;
+  }
+
+  private static SMFMemoryMeshProducerType filterStreaming(
+    final SMFFilterCommandContext context,
+    final List<SMFMemoryMeshFilterType> filters)
+    throws Exception
+  {
+    final List<SMFMemoryMeshFilterStreamingType> streaming = new ArrayList<>();
+    for (final SMFMemoryMeshFilterType filter : filters) {
+      streaming.add((SMFMemoryMeshFilterStreamingType) filter);
+    }
+
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+    final SMFParserEventsType events =
+      SMFMemoryMeshFilterStreamingEvents.chain(context, streaming, loader);
+    try (var parser = SMFTestFiles.createParser(events, "all.smft")) {
+      loader.errors().forEach(e -> LOG.error("{}", e.fullMessage()));
+    }
+    return loader;
+  }
+
+  private static void checkSame(
+    final SMFMemoryMesh expected,
+    final SMFMemoryMesh received)
+  {
+    Assertions.assertEquals(expected.header(), received.header());
+    Assertions.assertEquals(expected.metadata(), received.metadata());
+    Assertions.assertEquals(
+      expected.triangles().values(), received.triangles().values());
+    Assertions.assertEquals(
+      expected.arrays().keySet(), received.arrays().keySet());
+
+    for (final Map.Entry<SMFAttributeName, SMFAttributeArrayType> pair :
+      expected.arrays().entrySet()) {
+      final SMFAttributeName name = pair.getKey();
+      Assertions.assertEquals(
+        pair.getValue(), received.arrays().get(name), name.value());
+    }
+  }
+
+  private static void checkEquivalent(
+    final SMFFilterCommandContext context,
+    final List<SMFMemoryMeshFilterType> filters)
+    throws Exception
+  {
+    final SMFMemoryMesh expected = filterInMemory(context, filters);
+    final SMFMemoryMeshProducerType loader = filterStreaming(context, filters);
+    Assertions.assertEquals(List.of(), loader.errors());
+    checkSame(expected, loader.mesh());
+  }
+
+  @Test
+  public void testAttributes()
+    throws Exception
+  {
+    final SMFAttributeName f32_3 = SMFAttributeName.of("f32_3");
+    final SMFAttributeName renamed = SMFAttributeName.of("renamed");
+
+    checkEquivalent(
+      this.createContext(),
+      List.of(
+        SMFMemoryMeshFilterAttributeRename.create(f32_3, renamed),
+        SMFMemoryMeshFilterAttributeRemove.create(SMFAttributeName.of("f16_4")),
+        SMFMemoryMeshFilterAttributeResample.create(renamed, 64),
+        SMFMemoryMeshFilterCheck.create(
+          SMFMemoryMeshFilterCheckConfiguration.builder()
+            .setName(renamed)
+            .setComponentType(SMFComponentType.ELEMENT_TYPE_FLOATING)
+            .setComponentSize(64)
+            .build())));
+  }
+
+  @Test
+  public void testTrim()
+    throws Exception
+  {
+    checkEquivalent(
+      this.createContext(),
+      List.of(
+        SMFMemoryMeshFilterAttributeTrim.create(
+          Set.of(SMFAttributeName.of("u8_1"), SMFAttributeName.of("i64_4")))));
+  }
+
+  @Test
+  public void testHeader()
+    throws Exception
+  {
+    checkEquivalent(
+      this.createContext(),
+      List.of(
+        SMFMemoryMeshFilterSchemaSet.create(
+          SMFSchemaIdentifier.of(SMFSchemaName.of("com.io7m.example"), 3, 4)),
+        SMFMemoryMeshFilterEndiannessSet.create(ByteOrder.LITTLE_ENDIAN)));
+  }
+
+  @Test
+  public void testMetadata()
+    throws Exception
+  {
+    final Path path = this.filesystem.getPath("/data");
+    try (OutputStream out = Files.newOutputStream(path)) {
+      out.write(new byte[]{(byte) 0x0, (byte) 0x1, (byte) 0x2, (byte) 0x3});
+    }
+
+    final Path root =
+      this.filesystem.getRootDirectories().iterator().next();
+
+    checkEquivalent(
+      SMFFilterCommandContext.of(root, root),
+      List.of(
+        SMFMemoryMeshFilterMetadataRemove.create(
+          Optional.of(SMFSchemaName.of("com.io7m.smf.example")),
+          Optional.empty()),
+        SMFMemoryMeshFilterMetadataAdd.create(
+          SMFSchemaIdentifier.of(SMFSchemaName.of("com.io7m.example"), 1, 0),
+          path)));
+  }
+
+  @Test
+  public void testMetadataMissing()
+    throws Exception
+  {
+    final Path root =
+      this.filesystem.getRootDirectories().iterator().next();
+
+    final SMFMemoryMeshProducerType loader =
+      filterStreaming(
+        SMFFilterCommandContext.of(root, root),
+        List.of(
+          SMFMemoryMeshFilterMetadataAdd.create(
+            SMFSchemaIdentifier.of(SMFSchemaName.of("com.io7m.example"), 1, 0),
+            this.filesystem.getPath("/nonexistent"))));
+
+    Assertions.assertFalse(loader.errors().isEmpty());
+  }
+
+  @Test
+  public void testHeaderErrors()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader =
+      filterStreaming(
+        this.createContext(),
+        List.of(
+          SMFMemoryMeshFilterAttributeRename.create(
+            SMFAttributeName.of("nonexistent"),
+            SMFAttributeName.of("other"))));
+
+    Assertions.assertFalse(loader.errors().isEmpty());
+    Assertions.assertThrows(IllegalStateException.class, loader::mesh);
+  }
+}
@@ -69,7 +69,7 @@ public final class SMFMemoryMeshFilterTrianglesOptimizeTest extends
   {
     final long max = (long) (Math.pow(2.0, bits) - 1.0);
 
-    final List<Vector3L> triangles = mesh.triangles();
+    final List<Vector3L> triangles = mesh.triangles().values();
     for (int index = 0; index < triangles.size(); ++index) {
       final Vector3L triangle = triangles.get(index);
       Assertions.assertTrue(Long.compareUnsigned(triangle.x(), max) <= 0);
@@ -0,0 +1,212 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.processing;
+
+import com.io7m.jaffirm.core.PreconditionViolationException;
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3D;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFComponentType;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFTriangles;
+import com.io7m.smfj.processing.api.SMFAttributeArrayFloating3;
+import com.io7m.smfj.processing.api.SMFAttributeArrayType;
+import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFootprint;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFootprints;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerConfiguration;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.smfj.tests.processing.SMFMemoryMeshFilterTesting.WarningsAllowed.WARNINGS_DISALLOWED;
+
+public final class SMFMemoryMeshFootprintsTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFMemoryMeshFootprintsTest.class);
+
+  @Test
+  public void testHeaderEstimateBoundsMesh()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+
+    final SMFMemoryMesh mesh = loader.mesh();
+    final SMFMemoryMeshFootprint actual = mesh.footprint();
+    final SMFMemoryMeshFootprint estimate =
+      SMFMemoryMeshFootprints.ofHeader(mesh.header());
+
+    Assertions.assertEquals(
+      mesh.arrays().keySet(), actual.attributes().keySet());
+    Assertions.assertEquals(
+      mesh.arrays().keySet(), estimate.attributes().keySet());
+
+    for (final Map.Entry<SMFAttributeName, SMFAttributeArrayType> entry :
+      mesh.arrays().entrySet()) {
+      final long array_size = entry.getValue().footprintOctets();
+      Assertions.assertEquals(
+        array_size, actual.attributes().get(entry.getKey()).longValue());
+      Assertions.assertTrue(
+        array_size <= estimate.attributes().get(entry.getKey()).longValue(),
+        entry.getKey().value());
+    }
+
+    Assertions.assertTrue(actual.triangles() <= estimate.triangles());
+    Assertions.assertTrue(actual.metadata() > 0L);
+    Assertions.assertEquals(0L, estimate.metadata());
+    Assertions.assertEquals(0L, actual.loading());
+    Assertions.assertTrue(estimate.loading() > 0L);
+    Assertions.assertTrue(estimate.peak() > estimate.retained());
+  }
+
+  @Test
+  public void testAttributeOctets()
+  {
+    final SMFAttributeName name = SMFAttributeName.of("x");
+
+    Assertions.assertEquals(
+      10L * 3L * 4L,
+      SMFMemoryMeshFootprints.attributeOctets(
+        SMFAttribute.of(name, SMFComponentType.ELEMENT_TYPE_FLOATING, 3, 16),
+        10L));
+    Assertions.assertEquals(
+      10L * 3L * 8L,
+      SMFMemoryMeshFootprints.attributeOctets(
+        SMFAttribute.of(name, SMFComponentType.ELEMENT_TYPE_FLOATING, 3, 64),
+        10L));
+    Assertions.assertEquals(
+      10L * 2L,
+      SMFMemoryMeshFootprints.attributeOctets(
+        SMFAttribute.of(
+          name, SMFComponentType.ELEMENT_TYPE_INTEGER_SIGNED, 2, 8),
+        10L));
+    Assertions.assertEquals(
+      10L * 2L * 2L,
+      SMFMemoryMeshFootprints.attributeOctets(
+        SMFAttribute.of(
+          name, SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED, 2, 8),
+        10L));
+    Assertions.assertEquals(
+      10L * 8L,
+      SMFMemoryMeshFootprints.attributeOctets(
+        SMFAttribute.of(
+          name, SMFComponentType.ELEMENT_TYPE_INTEGER_UNSIGNED, 1, 64),
+        10L));
+    Assertions.assertEquals(
+      5L * 3L * 2L,
+      SMFMemoryMeshFootprints.trianglesOctets(SMFTriangles.of(5L, 16)));
+  }
+
+  @Test
+  public void testListBacked()
+  {
+    final SMFAttributeArrayFloating3 array =
+      SMFAttributeArrayFloating3.of(List.of(
+        Vector3D.of(1.0, 2.0, 3.0),
+        Vector3D.of(4.0, 5.0, 6.0)));
+
+    Assertions.assertTrue(array.footprintOctets() >= 2L * 3L * 8L);
+  }
+
+  @Test
+  public void testHostileHeaderSaturates()
+  {
+    final SMFAttribute attribute = SMFAttribute.of(
+      SMFAttributeName.of("x"), SMFComponentType.ELEMENT_TYPE_FLOATING, 4, 32);
+
+    final SMFHeader header =
+      SMFHeader.builder()
+        .setTriangles(SMFTriangles.of(Long.MAX_VALUE, 32))
+        .setVertexCount(-1L)
+        .setAttributesInOrder(List.of(attribute))
+        .build();
+
+    final SMFMemoryMeshFootprint estimate =
+      SMFMemoryMeshFootprints.ofHeader(header);
+
+    Assertions.assertEquals(Long.MAX_VALUE, estimate.triangles());
+    Assertions.assertEquals(
+      Long.MAX_VALUE,
+      estimate.attributes().get(attribute.name()).longValue());
+    Assertions.assertEquals(Long.MAX_VALUE, estimate.retained());
+    Assertions.assertEquals(Long.MAX_VALUE, estimate.peak());
+  }
+
+  @Test
+  public void testProducerLimitExceeded()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader =
+      SMFMemoryMeshProducer.create(
+        SMFMemoryMeshProducerConfiguration.builder()
+          .setFootprintLimit(16L)
+          .build());
+
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    Assertions.assertFalse(loader.errors().isEmpty());
+    Assertions.assertTrue(
+      loader.errors().get(0).message().contains("footprint"));
+    Assertions.assertThrows(IllegalStateException.class, loader::mesh);
+  }
+
+  @Test
+  public void testProducerLimitSufficient()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader =
+      SMFMemoryMeshProducer.create(
+        SMFMemoryMeshProducerConfiguration.builder()
+          .setFootprintLimit(1_000_000L)
+          .build());
+
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+    SMFMemoryMeshTesting.checkStandardMesh(loader.mesh());
+  }
+
+  @Test
+  public void testProducerLimitNegative()
+  {
+    Assertions.assertThrows(
+      PreconditionViolationException.class,
+      () -> SMFMemoryMeshProducerConfiguration.builder()
+        .setFootprintLimit(-1L)
+        .build());
+  }
+}
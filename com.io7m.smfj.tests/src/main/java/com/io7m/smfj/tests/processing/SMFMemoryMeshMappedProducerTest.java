@@ -0,0 +1,268 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.processing;
+
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFPartialLogged;
+import com.io7m.smfj.core.SMFTriangles;
+import com.io7m.smfj.format.text.SMFFormatText;
+import com.io7m.smfj.parser.api.SMFParserSequentialType;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerUnsigned1Type;
+import com.io7m.smfj.processing.api.SMFAttributeArrayType;
+import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshFilterType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshMappedProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshMappedProducerType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerConfiguration;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshSerializer;
+import com.io7m.smfj.processing.main.SMFMemoryMeshFilterAttributeRemove;
+import com.io7m.smfj.serializer.api.SMFSerializerType;
+import com.io7m.smfj.tests.TestDirectories;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.smfj.tests.processing.SMFMemoryMeshFilterTesting.WarningsAllowed.WARNINGS_DISALLOWED;
+
+public final class SMFMemoryMeshMappedProducerTest
+  extends SMFMemoryMeshFilterContract
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFMemoryMeshMappedProducerTest.class);
+
+  private static SMFMemoryMesh loadHeap()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+    Assertions.assertTrue(loader.errors().isEmpty());
+    return loader.mesh();
+  }
+
+  private static SMFMemoryMesh loadMapped(
+    final SMFMemoryMeshMappedProducerType loader)
+    throws Exception
+  {
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+    Assertions.assertTrue(loader.errors().isEmpty());
+    return loader.mesh();
+  }
+
+  private static long fileCount(
+    final Path directory)
+    throws Exception
+  {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+
+  @Test
+  public void testAll()
+    throws Exception
+  {
+    final SMFMemoryMesh mesh0 = loadHeap();
+
+    final Path directory = TestDirectories.temporaryDirectory();
+    try (var loader = SMFMemoryMeshMappedProducer.create(directory)) {
+      final SMFMemoryMesh mesh1 = loadMapped(loader);
+      SMFMemoryMeshTesting.checkStandardMesh(mesh1);
+
+      Assertions.assertEquals(mesh0.header(), mesh1.header());
+      Assertions.assertEquals(mesh0.metadata(), mesh1.metadata());
+      Assertions.assertEquals(
+        mesh0.triangles().values(), mesh1.triangles().values());
+      Assertions.assertEquals(mesh0.arrays().size(), mesh1.arrays().size());
+
+      for (final Map.Entry<SMFAttributeName, SMFAttributeArrayType> pair :
+        mesh0.arrays().entrySet()) {
+        final SMFAttributeName name = pair.getKey();
+        Assertions.assertEquals(
+          pair.getValue(),
+          mesh1.arrays().get(name),
+          name.value());
+      }
+
+      Assertions.assertEquals(
+        (long) mesh1.arrays().size() + 1L, fileCount(directory));
+    }
+
+    Assertions.assertEquals(0L, fileCount(directory));
+  }
+
+  @Test
+  public void testFilter()
+    throws Exception
+  {
+    final SMFAttributeName name = SMFAttributeName.of("f32_3");
+    final SMFMemoryMeshFilterType filter =
+      SMFMemoryMeshFilterAttributeRemove.create(name);
+
+    try (var loader = SMFMemoryMeshMappedProducer.create(
+      TestDirectories.temporaryDirectory())) {
+      final SMFMemoryMesh mesh0 = loadMapped(loader);
+      final SMFPartialLogged<SMFMemoryMesh> result =
+        filter.filter(this.createContext(), mesh0);
+      Assertions.assertTrue(result.isSucceeded());
+
+      final SMFMemoryMesh mesh1 = result.get();
+      Assertions.assertFalse(mesh1.arrays().containsKey(name));
+      Assertions.assertSame(mesh0.triangles(), mesh1.triangles());
+
+      for (final SMFAttributeName other : mesh1.arrays().keySet()) {
+        Assertions.assertSame(
+          mesh0.arrays().get(other),
+          mesh1.arrays().get(other),
+          other.value());
+      }
+    }
+  }
+
+  @Test
+  public void testClose()
+    throws Exception
+  {
+    final SMFMemoryMeshMappedProducerType loader =
+      SMFMemoryMeshMappedProducer.create(TestDirectories.temporaryDirectory());
+
+    final SMFMemoryMesh mesh = loadMapped(loader);
+    final SMFAttributeName name = SMFAttributeName.of("u16_1");
+    final SMFAttributeArrayIntegerUnsigned1Type array =
+      (SMFAttributeArrayIntegerUnsigned1Type) mesh.arrays().get(name);
+
+    Assertions.assertEquals(127L, array.value(0));
+
+    loader.close();
+    loader.close();
+
+    Assertions.assertThrows(
+      IllegalStateException.class, () -> array.value(0));
+    Assertions.assertThrows(
+      IllegalStateException.class, () -> mesh.triangles().v0(0));
+
+    final SMFFormatText fmt = new SMFFormatText();
+    try (SMFSerializerType serial =
+           fmt.serializerCreate(
+             SMFFormatVersion.of(1, 0),
+             URI.create("urn:test"),
+             new ByteArrayOutputStream())) {
+      Assertions.assertThrows(
+        IllegalStateException.class,
+        () -> SMFMemoryMeshSerializer.serialize(mesh, serial));
+    }
+  }
+
+  @Test
+  public void testHostileHeader()
+    throws Exception
+  {
+    /*
+     * The triangle storage size is representable, but is too large to be
+     * mapped.
+     */
+
+    final SMFHeader header =
+      SMFHeader.builder()
+        .setTriangles(SMFTriangles.of(Long.MAX_VALUE / 3L, 8))
+        .build();
+
+    try (var loader = SMFMemoryMeshMappedProducer.create(
+      TestDirectories.temporaryDirectory())) {
+      loader.onStart();
+      loader.onVersionReceived(SMFFormatVersion.of(1, 0));
+      Assertions.assertEquals(Optional.empty(), loader.onHeaderParsed(header));
+      Assertions.assertEquals(1, loader.errors().size());
+    }
+  }
+
+  @Test
+  public void testSerialize()
+    throws Exception
+  {
+    final SMFFormatText fmt = new SMFFormatText();
+    final URI uri = URI.create("urn:test");
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    try (var loader = SMFMemoryMeshMappedProducer.create(
+      TestDirectories.temporaryDirectory())) {
+      final SMFMemoryMesh mesh = loadMapped(loader);
+      try (SMFSerializerType serial =
+             fmt.serializerCreate(SMFFormatVersion.of(1, 0), uri, output)) {
+        SMFMemoryMeshSerializer.serialize(mesh, serial);
+      }
+    }
+
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+    try (SMFParserSequentialType parser =
+           fmt.parserCreateSequential(
+             loader, uri, new ByteArrayInputStream(output.toByteArray()))) {
+      parser.parse();
+    }
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+    SMFMemoryMeshTesting.checkStandardMesh(loader.mesh());
+  }
+
+  @Test
+  public void testProjection()
+    throws Exception
+  {
+    final SMFAttributeName name = SMFAttributeName.of("f32_3");
+    final Path directory = TestDirectories.temporaryDirectory();
+
+    try (var loader = SMFMemoryMeshMappedProducer.create(
+      SMFMemoryMeshProducerConfiguration.builder()
+        .setAttributesIncluded(Set.of(name))
+        .setTriangles(false)
+        .build(),
+      directory)) {
+      final SMFMemoryMesh mesh = loadMapped(loader);
+      final SMFHeader header = mesh.header();
+      Assertions.assertEquals(3L, header.vertexCount());
+      Assertions.assertEquals(1L, (long) header.attributesInOrder().size());
+      Assertions.assertEquals(name, header.attributesInOrder().get(0).name());
+      Assertions.assertEquals(1L, (long) mesh.arrays().size());
+      Assertions.assertEquals(3L, mesh.arrays().get(name).elementCount());
+      Assertions.assertEquals(0L, header.triangles().triangleCount());
+      Assertions.assertEquals(0L, mesh.triangles().triangleCount());
+      Assertions.assertEquals(2L, fileCount(directory));
+    }
+
+    Assertions.assertEquals(0L, fileCount(directory));
+  }
+}
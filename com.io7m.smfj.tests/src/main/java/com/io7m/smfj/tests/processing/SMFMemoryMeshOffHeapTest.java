@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.processing;
+
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.format.text.SMFFormatText;
+import com.io7m.smfj.parser.api.SMFParserSequentialType;
+import com.io7m.smfj.processing.api.SMFAttributeArrayFloating3Type;
+import com.io7m.smfj.processing.api.SMFAttributeArrayIntegerUnsigned1Type;
+import com.io7m.smfj.processing.api.SMFAttributeArrayType;
+import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshOffHeap;
+import com.io7m.smfj.processing.api.SMFMemoryMeshOffHeapProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshOffHeapProducerType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.processing.api.SMFMemoryMeshSerializer;
+import com.io7m.smfj.serializer.api.SMFSerializerType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.smfj.tests.processing.SMFMemoryMeshFilterTesting.WarningsAllowed.WARNINGS_DISALLOWED;
+
+public final class SMFMemoryMeshOffHeapTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFMemoryMeshOffHeapTest.class);
+
+  private static SMFMemoryMesh loadHeap()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+    Assertions.assertTrue(loader.errors().isEmpty());
+    return loader.mesh();
+  }
+
+  private static SMFMemoryMeshOffHeap loadOffHeap()
+    throws Exception
+  {
+    final SMFMemoryMeshOffHeapProducerType loader =
+      SMFMemoryMeshOffHeapProducer.create();
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      loader.errors().forEach(e -> LOG.error("{}", e.fullMessage()));
+    }
+    Assertions.assertTrue(loader.errors().isEmpty());
+    return loader.mesh();
+  }
+
+  @Test
+  public void testAll()
+    throws Exception
+  {
+    final SMFMemoryMesh mesh0 = loadHeap();
+
+    try (SMFMemoryMeshOffHeap mesh1 = loadOffHeap()) {
+      Assertions.assertEquals(mesh0.header(), mesh1.header());
+      Assertions.assertEquals(mesh0.metadata(), mesh1.metadata());
+      Assertions.assertEquals(
+        mesh0.triangles().values(), mesh1.triangles().values());
+      Assertions.assertEquals(mesh0.arrays().size(), mesh1.arrays().size());
+
+      for (final Map.Entry<SMFAttributeName, SMFAttributeArrayType> pair :
+        mesh0.arrays().entrySet()) {
+        final SMFAttributeName name = pair.getKey();
+        Assertions.assertEquals(
+          pair.getValue(),
+          mesh1.arrays().get(name),
+          name.value());
+      }
+    }
+  }
+
+  @Test
+  public void testBuffers()
+    throws Exception
+  {
+    try (SMFMemoryMeshOffHeap mesh = loadOffHeap()) {
+      final SMFAttributeName name = SMFAttributeName.of("f32_3");
+      final ByteBuffer buffer = mesh.attributeBuffer(name);
+      final SMFAttributeArrayFloating3Type array =
+        (SMFAttributeArrayFloating3Type) mesh.arrays().get(name);
+
+      Assertions.assertTrue(buffer.isReadOnly());
+      Assertions.assertTrue(buffer.isDirect());
+      Assertions.assertEquals(mesh.header().dataByteOrder(), buffer.order());
+      Assertions.assertEquals(3 * 3 * 4, buffer.capacity());
+      for (int index = 0; index < array.size(); ++index) {
+        Assertions.assertEquals(
+          array.x(index), (double) buffer.getFloat((index * 12)));
+        Assertions.assertEquals(
+          array.y(index), (double) buffer.getFloat((index * 12) + 4));
+        Assertions.assertEquals(
+          array.z(index), (double) buffer.getFloat((index * 12) + 8));
+      }
+
+      final SMFAttributeName name_u8 = SMFAttributeName.of("u8_1");
+      Assertions.assertEquals(3, mesh.attributeBuffer(name_u8).capacity());
+
+      final ByteBuffer triangles = mesh.trianglesBuffer();
+      Assertions.assertEquals(3, triangles.capacity());
+      Assertions.assertEquals(0, triangles.get(0));
+      Assertions.assertEquals(1, triangles.get(1));
+      Assertions.assertEquals(2, triangles.get(2));
+
+      Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> mesh.attributeBuffer(SMFAttributeName.of("nonexistent")));
+    }
+  }
+
+  @Test
+  public void testClose()
+    throws Exception
+  {
+    final SMFMemoryMeshOffHeap mesh = loadOffHeap();
+    final SMFAttributeName name = SMFAttributeName.of("u16_1");
+    final SMFAttributeArrayIntegerUnsigned1Type array =
+      (SMFAttributeArrayIntegerUnsigned1Type) mesh.arrays().get(name);
+
+    Assertions.assertFalse(mesh.isClosed());
+    Assertions.assertEquals(127L, array.value(0));
+
+    mesh.close();
+    mesh.close();
+
+    Assertions.assertTrue(mesh.isClosed());
+    Assertions.assertThrows(
+      IllegalStateException.class, () -> array.value(0));
+    Assertions.assertThrows(
+      IllegalStateException.class, () -> mesh.triangles().v0(0));
+    Assertions.assertThrows(
+      IllegalStateException.class, () -> mesh.attributeBuffer(name));
+
+    final SMFFormatText fmt = new SMFFormatText();
+    try (SMFSerializerType serial =
+           fmt.serializerCreate(
+             SMFFormatVersion.of(1, 0),
+             URI.create("urn:test"),
+             new ByteArrayOutputStream())) {
+      Assertions.assertThrows(
+        IllegalStateException.class,
+        () -> SMFMemoryMeshSerializer.serialize(mesh, serial));
+    }
+  }
+
+  @Test
+  public void testSerialize()
+    throws Exception
+  {
+    final SMFFormatText fmt = new SMFFormatText();
+    final URI uri = URI.create("urn:test");
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    try (SMFMemoryMeshOffHeap mesh = loadOffHeap()) {
+      try (SMFSerializerType serial =
+             fmt.serializerCreate(SMFFormatVersion.of(1, 0), uri, output)) {
+        SMFMemoryMeshSerializer.serialize(mesh, serial);
+      }
+    }
+
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+    try (SMFParserSequentialType parser =
+           fmt.parserCreateSequential(
+             loader, uri, new ByteArrayInputStream(output.toByteArray()))) {
+      parser.parse();
+    }
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+    SMFMemoryMeshTesting.checkStandardMesh(loader.mesh());
+  }
+}
@@ -16,10 +16,21 @@
 
 package com.io7m.smfj.tests.processing;
 
+import com.io7m.jaffirm.core.PreconditionViolationException;
+import com.io7m.smfj.core.SMFAttribute;
+import com.io7m.smfj.core.SMFAttributeName;
+import com.io7m.smfj.core.SMFComponentType;
 import com.io7m.smfj.core.SMFErrorType;
+import com.io7m.smfj.core.SMFFormatVersion;
+import com.io7m.smfj.core.SMFHeader;
+import com.io7m.smfj.core.SMFSchemaName;
+import com.io7m.smfj.core.SMFTriangles;
 import com.io7m.smfj.processing.api.SMFMemoryMesh;
 import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerConfiguration;
 import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -73,4 +84,120 @@ public final class SMFMemoryMeshProducerTest
     SMFMemoryMeshTesting.checkStandardMesh(mesh);
   }
 
+  @Test
+  public void testAllNoPreallocation()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create(0L);
+
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+
+    final SMFMemoryMesh mesh = loader.mesh();
+    SMFMemoryMeshTesting.checkStandardMesh(mesh);
+  }
+
+  @Test
+  public void testPreallocationLimitNegative()
+  {
+    Assertions.assertThrows(
+      PreconditionViolationException.class,
+      () -> SMFMemoryMeshProducer.create(-1L));
+  }
+
+  @Test
+  public void testHostileHeader()
+  {
+    final SMFAttribute attribute = SMFAttribute.of(
+      SMFAttributeName.of("x"), SMFComponentType.ELEMENT_TYPE_FLOATING, 4, 32);
+
+    final SMFHeader header =
+      SMFHeader.builder()
+        .setTriangles(SMFTriangles.of(Long.MAX_VALUE, 32))
+        .setVertexCount(-1L)
+        .setAttributesInOrder(List.of(attribute))
+        .build();
+
+    final SMFMemoryMeshProducer loader =
+      (SMFMemoryMeshProducer) SMFMemoryMeshProducer.create(1024L);
+
+    loader.onStart();
+    loader.onVersionReceived(SMFFormatVersion.of(1, 0));
+    loader.onHeaderParsed(header);
+    loader.onDataAttributeStart(attribute);
+    loader.onDataAttributeValueFloat4(1.0, 2.0, 3.0, 4.0);
+    loader.onDataAttributeValueFinish();
+    loader.onDataTriangle(0L, 0L, 0L);
+    loader.onDataTrianglesFinish();
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+  }
+
+  @Test
+  public void testProjection()
+    throws Exception
+  {
+    final SMFAttributeName name = SMFAttributeName.of("f32_3");
+
+    final SMFMemoryMeshProducerType loader =
+      SMFMemoryMeshProducer.create(
+        SMFMemoryMeshProducerConfiguration.builder()
+          .setAttributesIncluded(Set.of(name))
+          .setTriangles(false)
+          .addMetadataExcluded(SMFSchemaName.of("com.io7m.smf.example"))
+          .build());
+
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+
+    final SMFMemoryMesh mesh = loader.mesh();
+    final SMFHeader header = mesh.header();
+    Assertions.assertEquals(3L, header.vertexCount());
+    Assertions.assertEquals(1L, (long) header.attributesInOrder().size());
+    Assertions.assertEquals(name, header.attributesInOrder().get(0).name());
+    Assertions.assertEquals(1L, (long) mesh.arrays().size());
+    Assertions.assertEquals(3L, mesh.arrays().get(name).elementCount());
+    Assertions.assertEquals(0L, header.triangles().triangleCount());
+    Assertions.assertEquals(0L, mesh.triangles().triangleCount());
+    Assertions.assertEquals(1L, (long) mesh.metadata().size());
+    Assertions.assertEquals(
+      "com.io7m.smf.example.different",
+      mesh.metadata().get(0).schema().name().value());
+  }
+
+  @Test
+  public void testProjectionExcluded()
+    throws Exception
+  {
+    final SMFAttributeName name = SMFAttributeName.of("f32_3");
+
+    final SMFMemoryMeshProducerType loader =
+      SMFMemoryMeshProducer.create(
+        SMFMemoryMeshProducerConfiguration.builder()
+          .addAttributesExcluded(name)
+          .build());
+
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+
+    final SMFMemoryMesh mesh = loader.mesh();
+    Assertions.assertEquals(87L, (long) mesh.arrays().size());
+    Assertions.assertFalse(mesh.arrays().containsKey(name));
+    Assertions.assertFalse(
+      mesh.header().attributesByName().containsKey(name));
+    Assertions.assertEquals(1L, mesh.triangles().triangleCount());
+    Assertions.assertEquals(4L, (long) mesh.metadata().size());
+  }
 }
@@ -355,7 +355,7 @@ public final class SMFMemoryMeshTesting
     final SMFMemoryMesh mesh)
   {
     final Map<SMFAttributeName, SMFAttributeArrayType> arrays = mesh.arrays();
-    final List<Vector3L> triangles = mesh.triangles();
+    final List<Vector3L> triangles = mesh.triangles().values();
     final List<SMFMetadata> metas = mesh.metadata();
 
     {
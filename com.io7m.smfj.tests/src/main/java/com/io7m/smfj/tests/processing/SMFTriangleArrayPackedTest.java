@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.smfj.tests.processing;
+
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3L;
+import com.io7m.smfj.processing.api.SMFMemoryMesh;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducer;
+import com.io7m.smfj.processing.api.SMFMemoryMeshProducerType;
+import com.io7m.smfj.processing.api.SMFTriangleArrayPacked;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.io7m.smfj.tests.processing.SMFMemoryMeshFilterTesting.WarningsAllowed.WARNINGS_DISALLOWED;
+
+public final class SMFTriangleArrayPackedTest
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(SMFTriangleArrayPackedTest.class);
+
+  @Test
+  public void testProducerBuildsPacked()
+    throws Exception
+  {
+    final SMFMemoryMeshProducerType loader = SMFMemoryMeshProducer.create();
+
+    try (var parser =
+           SMFTestFiles.createParser(loader, "all.smft")) {
+      SMFMemoryMeshFilterTesting.logEverything(LOG, loader, WARNINGS_DISALLOWED);
+    }
+
+    Assertions.assertTrue(loader.errors().isEmpty());
+
+    final SMFMemoryMesh mesh = loader.mesh();
+    SMFMemoryMeshTesting.checkStandardMesh(mesh);
+
+    final SMFTriangleArrayPacked triangles =
+      (SMFTriangleArrayPacked) mesh.triangles();
+    Assertions.assertEquals(1L, triangles.triangleCount());
+    Assertions.assertEquals(3L, triangles.sizeOctets());
+    Assertions.assertEquals(
+      List.of(Vector3L.of(0L, 1L, 2L)), triangles.values());
+  }
+
+  @Test
+  public void testNarrowing()
+  {
+    Assertions.assertEquals(
+      3L, SMFTriangleArrayPacked.of(new long[]{0L, 1L, 255L}).sizeOctets());
+    Assertions.assertEquals(
+      6L, SMFTriangleArrayPacked.of(new long[]{0L, 1L, 65535L}).sizeOctets());
+    Assertions.assertEquals(
+      12L,
+      SMFTriangleArrayPacked.of(new long[]{0L, 1L, 0xffff_ffffL}).sizeOctets());
+    Assertions.assertEquals(
+      24L, SMFTriangleArrayPacked.of(new long[]{0L, 1L, -1L}).sizeOctets());
+
+    final SMFTriangleArrayPacked wide =
+      SMFTriangleArrayPacked.of(new long[]{255L, 65535L, 0xffff_ffffL});
+    Assertions.assertEquals(255L, wide.v0(0L));
+    Assertions.assertEquals(65535L, wide.v1(0L));
+    Assertions.assertEquals(0xffff_ffffL, wide.v2(0L));
+    Assertions.assertEquals(0L, SMFTriangleArrayPacked.empty().triangleCount());
+  }
+
+  @Test
+  public void testCopyIndices()
+  {
+    final SMFTriangleArrayPacked triangles =
+      SMFTriangleArrayPacked.of(new long[]{
+        0L, 1L, 2L,
+        3L, 4L, 5L,
+        6L, 7L, 8L,
+      });
+
+    final long[] output = new long[7];
+    triangles.copyIndices(1L, 2, output, 1);
+    Assertions.assertArrayEquals(
+      new long[]{0L, 3L, 4L, 5L, 6L, 7L, 8L}, output);
+
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class,
+      () -> triangles.copyIndices(2L, 2, output, 0));
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class,
+      () -> triangles.copyIndices(0L, 3, output, 0));
+  }
+
+  @Test
+  public void testEquality()
+  {
+    final SMFTriangleArrayPacked narrow =
+      SMFTriangleArrayPacked.of(new long[]{0L, 1L, 2L});
+    final SMFTriangleArrayPacked wide =
+      SMFTriangleArrayPacked.of(new long[]{0L, 1L, 70000L});
+
+    Assertions.assertEquals(
+      narrow, SMFTriangleArrayPacked.of(new long[]{0L, 1L, 2L}));
+    Assertions.assertEquals(
+      narrow.hashCode(),
+      SMFTriangleArrayPacked.of(new long[]{0L, 1L, 2L}).hashCode());
+    Assertions.assertNotEquals(narrow, wide);
+    Assertions.assertNotEquals(narrow, SMFTriangleArrayPacked.empty());
+  }
+}